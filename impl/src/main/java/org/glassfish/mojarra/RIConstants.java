@@ -46,6 +46,15 @@ public class RIConstants {
      */
     public static final String DYNAMIC_TRANSIENT_BUILD = RI_PREFIX + "dynamicTransientBuild";
 
+    /**
+     * Request-scoped flag set during a view build when a handler does something which a copy of the resulting component
+     * tree would not reproduce: it evaluates a non-literal tag attribute at build time, or it has an effect outside the
+     * tree, such as a request attribute or a listener which runs while the tree is built. Read by
+     * {@code FaceletViewHandlingStrategy.buildView} to decide whether the tree may become the prototype of the next
+     * builds of the same view (see {@code viewPrototypeCacheSize}).
+     */
+    public static final String UNCLONEABLE_BUILD = RI_PREFIX + "uncloneableBuild";
+
     /**
      * Request-scoped flag recording whether the render-time {@code buildView} re-applied the facelet ({@code TRUE}) or
      * skipped the re-apply for an already-populated static view ({@code FALSE}, see {@code refreshTransientBuildOnPSS}).
@@ -16,10 +16,19 @@
 
 package org.glassfish.mojarra.application;
 
+import static jakarta.faces.application.StateManager.IS_SAVING_STATE;
+import static java.lang.Boolean.TRUE;
+
 import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
 
 import jakarta.faces.application.StateManager;
 import jakarta.faces.context.FacesContext;
+import jakarta.faces.render.ResponseStateManager;
+import jakarta.faces.view.ViewDeclarationLanguage;
+
+import org.glassfish.mojarra.renderkit.ResponseStateManagerImpl;
 
 /**
  * <p>
@@ -42,4 +51,35 @@ public class StateManagerImpl extends StateManager {
                .writeState(context, state);
     }
 
+    /**
+     * Save the view and write its view state straight to the given writer, rather than returning it as a String as
+     * {@link #getViewState(FacesContext)} does.
+     *
+     * @param context the Faces context.
+     * @param writer the writer to write the view state to.
+     * @throws IOException when an I/O error occurs.
+     * @since 5.0
+     */
+    public void writeViewState(FacesContext context, Writer writer) throws IOException {
+        Object state = null;
+        String viewId = context.getViewRoot().getViewId();
+        ViewDeclarationLanguage vdl = context.getApplication().getViewHandler().getViewDeclarationLanguage(context, viewId);
+        if (vdl != null) {
+            Map<Object, Object> contextAttributes = context.getAttributes();
+            try {
+                contextAttributes.put(IS_SAVING_STATE, TRUE);
+                state = vdl.getStateManagementStrategy(context, viewId).saveView(context);
+            } finally {
+                contextAttributes.remove(IS_SAVING_STATE);
+            }
+        }
+
+        ResponseStateManager responseStateManager = context.getRenderKit().getResponseStateManager();
+        if (responseStateManager instanceof ResponseStateManagerImpl) {
+            ((ResponseStateManagerImpl) responseStateManager).writeViewState(context, state, writer);
+        } else {
+            writer.write(responseStateManager.getViewState(context, state));
+        }
+    }
+
 }
@@ -41,6 +41,7 @@ import org.glassfish.mojarra.config.InitFacesContext;
 import org.glassfish.mojarra.config.MojarraContextParam;
 import org.glassfish.mojarra.flow.FlowCDIContext;
 import org.glassfish.mojarra.renderkit.StateHelper;
+import org.glassfish.mojarra.util.ByteArrayGuardAESCTR;
 
 /**
  * <p>
@@ -57,6 +58,12 @@ public class WebappLifecycleListener {
     private ApplicationAssociate applicationAssociate;
     private final Set<HttpSession> activeSessions = ConcurrentHashMap.newKeySet();
 
+    /**
+     * Encrypts the token of every new session, created along with the first one, so that its key and pooled ciphers are
+     * set up once per application rather than per session.
+     */
+    private volatile ByteArrayGuardAESCTR tokenGuard;
+
 
     // ------------------------------------------------------------ Constructors
 
@@ -123,7 +130,7 @@ public class WebappLifecycleListener {
 
         // Try to avoid creating the token unless we actually have protected views
         if (haveProtectedViews(associate)) {
-            StateHelper.createAndStoreCryptographicallyStrongTokenInSession(event.getSession());
+            StateHelper.createAndStoreCryptographicallyStrongTokenInSession(event.getSession(), getTokenGuard());
         }
     }
 
@@ -174,6 +181,18 @@ public class WebappLifecycleListener {
 
     // --------------------------------------------------------- Private Methods
 
+    private ByteArrayGuardAESCTR getTokenGuard() {
+        ByteArrayGuardAESCTR guard = tokenGuard;
+
+        if (guard == null) {
+            // Two sessions created at once may both create a guard, which is harmless as the token is never decrypted.
+            guard = new ByteArrayGuardAESCTR();
+            tokenGuard = guard;
+        }
+
+        return guard;
+    }
+
     private ApplicationAssociate getAssociate() {
         if (applicationAssociate == null) {
             applicationAssociate = ApplicationAssociate.getInstance(servletContext);
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.resource;
+
+import static jakarta.servlet.http.HttpServletResponse.SC_PARTIAL_CONTENT;
+import static jakarta.servlet.http.HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Comparator.comparingLong;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import jakarta.faces.context.ExternalContext;
+
+/**
+ * <p>
+ * Support for the <code>Range</code> and <code>If-Range</code> request headers of RFC 9110, for resources of which the
+ * length is known up front and of which any part can be written on its own.
+ * </p>
+ *
+ * <p>
+ * Only the <code>bytes</code> unit is supported. A <code>Range</code> header which cannot be parsed, or which asks for
+ * more than {@value #MAX_RANGES} ranges, is ignored and the full content is served, as the RFC allows. Overlapping and
+ * adjacent ranges are coalesced, so that a request cannot make the response larger than the content. An
+ * <code>If-Range</code> header only matches a strong <code>ETag</code>, or the exact <code>Last-Modified</code> date of
+ * the response.
+ * </p>
+ *
+ * @since 5.0
+ */
+final class ByteRanges {
+
+    static final int MAX_RANGES = 16;
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    // ------------------------------------------------------------ Constructors
+
+    private ByteRanges() {
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param extContext the {@link ExternalContext} for the current request
+     * @param length the length of the content
+     * @param eTag the <code>ETag</code> of the response, if any
+     * @param lastModified the <code>Last-Modified</code> date of the response, if any
+     * @return the ranges of the content asked for by the current request, in ascending order, an empty list when none of
+     * them is satisfiable, or <code>null</code> when the full content is to be served.
+     */
+    static List<Range> get(ExternalContext extContext, long length, String eTag, String lastModified) {
+        Map<String, String> requestHeaders = extContext.getRequestHeaderMap();
+        String range = requestHeaders.get("Range");
+
+        if (range == null || !ifRangeMatches(requestHeaders.get("If-Range"), eTag, lastModified)) {
+            return null;
+        }
+
+        return parse(range, length);
+    }
+
+    /**
+     * @param range the value of the <code>Range</code> request header
+     * @param length the length of the content
+     * @return the satisfiable ranges in ascending order, coalesced, an empty list when none of them is satisfiable, or
+     * <code>null</code> when the header is to be ignored.
+     */
+    static List<Range> parse(String range, long length) {
+        if (!range.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length())) {
+            return null;
+        }
+
+        String[] specs = range.substring(BYTES_UNIT.length()).split(",");
+
+        if (specs.length > MAX_RANGES) {
+            return null;
+        }
+
+        List<Range> ranges = new ArrayList<>(specs.length);
+        int count = 0;
+
+        for (String spec : specs) {
+            spec = spec.trim();
+
+            if (spec.isEmpty()) {
+                continue;
+            }
+
+            count++;
+            int dash = spec.indexOf('-');
+
+            if (dash == -1) {
+                return null;
+            }
+
+            long first = parseLong(spec.substring(0, dash));
+            long last = parseLong(spec.substring(dash + 1));
+
+            if (dash == 0) {
+                // A suffix range, of which the last position is the length.
+                if (last == -1) {
+                    return null;
+                }
+
+                if (last > 0 && length > 0) {
+                    ranges.add(new Range(Math.max(0, length - last), length - 1));
+                }
+            } else {
+                if (first == -1 || dash + 1 < spec.length() && (last == -1 || last < first)) {
+                    return null;
+                }
+
+                if (first < length) {
+                    ranges.add(new Range(first, last == -1 ? length - 1 : Math.min(last, length - 1)));
+                }
+            }
+        }
+
+        return count > 0 ? coalesce(ranges) : null;
+    }
+
+    /**
+     * @param ifRange the value of the <code>If-Range</code> request header, if any
+     * @param eTag the <code>ETag</code> of the response, if any
+     * @param lastModified the <code>Last-Modified</code> date of the response, if any
+     * @return whether the <code>Range</code> request header is to be honored.
+     */
+    static boolean ifRangeMatches(String ifRange, String eTag, String lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+
+        ifRange = ifRange.trim();
+
+        if (ifRange.startsWith("\"")) {
+            return eTag != null && eTag.equals(ifRange);
+        }
+
+        return !ifRange.startsWith("W/") && lastModified != null && lastModified.equals(ifRange);
+    }
+
+    /**
+     * Sends a 206 response with the given ranges of the content, as a <code>multipart/byteranges</code> body when there is
+     * more than one, or a 416 response when there are none. The headers of the full response other than its length and
+     * type are expected to be set already.
+     *
+     * @param extContext the {@link ExternalContext} for the current request
+     * @param ranges the ranges as returned by {@link #get(ExternalContext, long, String, String)}
+     * @param length the length of the content
+     * @param contentType the type of the content, if any
+     * @param writer writes the given part of the content
+     * @throws IOException when writing the response fails
+     */
+    static void send(ExternalContext extContext, List<Range> ranges, long length, String contentType, RangeWriter writer) throws IOException {
+        if (ranges.isEmpty()) {
+            extContext.setResponseStatus(SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            extContext.setResponseHeader("Content-Range", "bytes */" + length);
+            return;
+        }
+
+        extContext.setResponseStatus(SC_PARTIAL_CONTENT);
+
+        if (ranges.size() == 1) {
+            Range range = ranges.get(0);
+            if (contentType != null) {
+                extContext.setResponseContentType(contentType);
+            }
+            extContext.setResponseHeader("Content-Range", range.toContentRange(length));
+            setResponseContentLength(extContext, range.length());
+            writer.write(range.first(), range.length(), extContext.getResponseOutputStream());
+            return;
+        }
+
+        String boundary = Long.toHexString(ThreadLocalRandom.current().nextLong()) + Long.toHexString(System.nanoTime());
+        byte[][] partHeaders = new byte[ranges.size()][];
+        byte[] end = ("\r\n--" + boundary + "--\r\n").getBytes(US_ASCII);
+        long contentLength = end.length;
+
+        for (int i = 0; i < partHeaders.length; i++) {
+            Range range = ranges.get(i);
+            StringBuilder partHeader = new StringBuilder("\r\n--").append(boundary).append("\r\n");
+            if (contentType != null) {
+                partHeader.append("Content-Type: ").append(contentType).append("\r\n");
+            }
+            partHeader.append("Content-Range: ").append(range.toContentRange(length)).append("\r\n\r\n");
+            partHeaders[i] = partHeader.toString().getBytes(US_ASCII);
+            contentLength += partHeaders[i].length + range.length();
+        }
+
+        extContext.setResponseContentType("multipart/byteranges; boundary=" + boundary);
+        setResponseContentLength(extContext, contentLength);
+        OutputStream out = extContext.getResponseOutputStream();
+
+        for (int i = 0; i < partHeaders.length; i++) {
+            out.write(partHeaders[i]);
+            writer.write(ranges.get(i).first(), ranges.get(i).length(), out);
+        }
+
+        out.write(end);
+    }
+
+    /**
+     * Sets the <code>Content-Length</code> response header, also when it does not fit an <code>int</code>.
+     *
+     * @param extContext the {@link ExternalContext} for the current request
+     * @param length the length of the response body
+     */
+    static void setResponseContentLength(ExternalContext extContext, long length) {
+        if (length <= Integer.MAX_VALUE) {
+            extContext.setResponseContentLength((int) length);
+        } else {
+            extContext.setResponseHeader("Content-Length", Long.toString(length));
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static List<Range> coalesce(List<Range> ranges) {
+        if (ranges.size() < 2) {
+            return ranges;
+        }
+
+        ranges.sort(comparingLong(Range::first));
+        List<Range> coalesced = new ArrayList<>(ranges.size());
+        Range current = ranges.get(0);
+
+        for (int i = 1; i < ranges.size(); i++) {
+            Range next = ranges.get(i);
+
+            if (next.first() <= current.last() + 1) {
+                current = new Range(current.first(), Math.max(current.last(), next.last()));
+            } else {
+                coalesced.add(current);
+                current = next;
+            }
+        }
+
+        coalesced.add(current);
+        return coalesced;
+    }
+
+    private static long parseLong(String value) {
+        if (value.isEmpty() || value.length() > 18) {
+            return -1;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return -1;
+            }
+        }
+
+        return Long.parseLong(value);
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * A range of the content, of which both positions are inclusive.
+     */
+    record Range(long first, long last) {
+
+        long length() {
+            return last - first + 1;
+        }
+
+        private String toContentRange(long length) {
+            return "bytes " + first + '-' + last + '/' + length;
+        }
+    }
+
+    /**
+     * Writes a part of the content.
+     */
+    @FunctionalInterface
+    interface RangeWriter {
+
+        void write(long offset, long length, OutputStream out) throws IOException;
+    }
+
+    // TEST: org.glassfish.mojarra.application.resource.ByteRangesTest
+}
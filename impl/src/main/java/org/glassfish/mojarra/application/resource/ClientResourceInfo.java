@@ -20,6 +20,8 @@ import static jakarta.faces.application.ResourceHandler.FACES_SCRIPT_LIBRARY_NAM
 import static jakarta.faces.application.ResourceHandler.FACES_SCRIPT_RESOURCE_NAME;
 
 import java.io.File;
+import java.net.URL;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -43,6 +45,8 @@ public class ClientResourceInfo extends ResourceInfo {
     boolean compressible;
     boolean supportsEL;
     private volatile long lastModified = Long.MIN_VALUE;
+    private volatile ELResourceTemplate elTemplate;
+    private volatile Map<String, URL> precompressedURLs;
 
     /**
      * Constructs a new <code>ClientResourceInfo</code> using the specified details. The {@link ResourceHelper} of the
@@ -112,6 +116,8 @@ public class ClientResourceInfo extends ResourceInfo {
         isDevStage = other.isDevStage;
         lastModified = other.lastModified;
         supportsEL = other.supportsEL;
+        elTemplate = other.elTemplate;
+        precompressedURLs = other.precompressedURLs;
     }
 
     // ---------------------------------------------------------- Public Methods
@@ -173,6 +179,34 @@ public class ClientResourceInfo extends ResourceInfo {
 
     }
 
+    /**
+     * @return the parsed content of this resource, if it {@link #supportsEL() supports EL} and was served before.
+     */
+    ELResourceTemplate getELTemplate() {
+        return elTemplate;
+    }
+
+    /**
+     * @param elTemplate the parsed content of this resource
+     */
+    void setELTemplate(ELResourceTemplate elTemplate) {
+        this.elTemplate = elTemplate;
+    }
+
+    /**
+     * @return the precompressed variants of this resource by content coding, if they were looked up before.
+     */
+    Map<String, URL> getPrecompressedURLs() {
+        return precompressedURLs;
+    }
+
+    /**
+     * @param precompressedURLs the precompressed variants of this resource by content coding
+     */
+    void setPrecompressedURLs(Map<String, URL> precompressedURLs) {
+        this.precompressedURLs = precompressedURLs;
+    }
+
     @Override
     public String toString() {
         return "ResourceInfo{" + "name='" + name + '\'' + ", version=\'" + (version != null ? version : "NONE") + '\'' + ", libraryName='" + libraryName
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.resource;
+
+import static java.util.Locale.ROOT;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jakarta.faces.context.ExternalContext;
+
+/**
+ * <p>
+ * Negotiation of the content coding of a resource response by the <code>Accept-Encoding</code> request header, quality
+ * values included, as described by RFC 9110.
+ * </p>
+ *
+ * <p>
+ * A coding which is not listed is acceptable when <code>*</code> is. Of the codings which are equally acceptable, the
+ * first one offered is chosen, and an acceptable coding is preferred over <code>identity</code> unless that has a
+ * higher quality value, explicitly or by <code>*</code>. A request without the header gets the <code>identity</code>
+ * coding, as before.
+ * </p>
+ *
+ * @since 5.0
+ */
+final class ContentEncodings {
+
+    /**
+     * The codings of which precompressed variants of a resource are looked up, by the suffix of their file name, in order
+     * of preference.
+     */
+    static final Map<String, String> PRECOMPRESSED_SUFFIXES;
+
+    static {
+        Map<String, String> suffixes = new LinkedHashMap<>();
+        suffixes.put("br", ".br");
+        suffixes.put("zstd", ".zst");
+        suffixes.put("gzip", ".gz");
+        PRECOMPRESSED_SUFFIXES = Collections.unmodifiableMap(suffixes);
+    }
+
+    private static final String IDENTITY = "identity";
+    private static final String ANY = "*";
+
+    // ------------------------------------------------------------ Constructors
+
+    private ContentEncodings() {
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param extContext the {@link ExternalContext} for the current request
+     * @param codings the codings the resource is available in, besides <code>identity</code>, in order of preference
+     * @return the coding to serve the resource with, or <code>null</code> for <code>identity</code>.
+     */
+    static String negotiate(ExternalContext extContext, Collection<String> codings) {
+        if (codings.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Float> accepted = parse(extContext.getRequestHeaderValuesMap().get("accept-encoding"));
+
+        if (accepted == null) {
+            return null;
+        }
+
+        String best = null;
+        float bestQuality = 0;
+
+        for (String coding : codings) {
+            float quality = getQuality(accepted, coding);
+
+            if (quality > bestQuality) {
+                best = coding;
+                bestQuality = quality;
+            }
+        }
+
+        // The identity coding is implicitly acceptable, but only preferred when it has a quality value of its own.
+        Float identityQuality = accepted.containsKey(IDENTITY) ? accepted.get(IDENTITY) : accepted.get(ANY);
+        return best != null && (identityQuality == null || bestQuality >= identityQuality) ? best : null;
+    }
+
+    /**
+     * @param values the values of the <code>Accept-Encoding</code> request header, if any
+     * @return the quality value per lower case coding, or <code>null</code> when there is no header.
+     */
+    static Map<String, Float> parse(String[] values) {
+        if (values == null) {
+            return null;
+        }
+
+        Map<String, Float> accepted = new HashMap<>();
+
+        for (String value : values) {
+            for (String element : value.split(",")) {
+                int semicolon = element.indexOf(';');
+                String coding = (semicolon == -1 ? element : element.substring(0, semicolon)).trim().toLowerCase(ROOT);
+
+                if (coding.isEmpty()) {
+                    continue;
+                }
+
+                float quality = semicolon == -1 ? 1 : parseQuality(element.substring(semicolon + 1));
+
+                if (quality >= 0) {
+                    accepted.put(coding.equals("x-gzip") ? "gzip" : coding, quality);
+                }
+            }
+        }
+
+        return accepted;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static float getQuality(Map<String, Float> accepted, String coding) {
+        Float quality = accepted.get(coding);
+
+        if (quality == null) {
+            quality = accepted.get(ANY);
+        }
+
+        return quality != null ? quality : 0;
+    }
+
+    /**
+     * @return the quality value of the given parameters, or -1 when it is invalid.
+     */
+    private static float parseQuality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            int equals = parameter.indexOf('=');
+
+            if (equals != -1 && parameter.substring(0, equals).trim().equalsIgnoreCase("q")) {
+                try {
+                    float quality = Float.parseFloat(parameter.substring(equals + 1).trim());
+                    return quality >= 0 && quality <= 1 ? quality : -1;
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+
+        return 1;
+    }
+
+    // TEST: org.glassfish.mojarra.application.resource.ContentEncodingsTest
+}
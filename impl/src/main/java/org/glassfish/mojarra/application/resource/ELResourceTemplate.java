@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.el.ELContext;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.ValueExpression;
+import jakarta.faces.context.FacesContext;
+
+/**
+ * <p>
+ * The content of a resource with EL expressions, parsed once into the literal runs between its expressions, so that
+ * serving it only evaluates the expressions instead of scanning the whole content for them. The output of the last few
+ * distinct sets of expression results is kept along with its gzip variant, since the results rarely differ between
+ * requests: they are typically resource URLs, which only differ per Faces servlet mapping.
+ * </p>
+ *
+ * <p>
+ * The output is the same as the one of the stream which evaluates the expressions while reading, quirks included: the
+ * byte right after an expression, or right after a <code>#</code> which does not start one, is never taken as the
+ * start of an expression. A template lives as long as the {@link ClientResourceInfo} it is kept on, which the
+ * {@link ResourceCache} drops after the resource update check period.
+ * </p>
+ *
+ * @since 5.0
+ */
+final class ELResourceTemplate {
+
+    private static final int MAX_VARIANTS = 4;
+
+    private final byte[][] literals;
+    private final ValueExpression[] expressions;
+    private final AtomicReferenceArray<Variant> variants = new AtomicReferenceArray<>(MAX_VARIANTS);
+    private final AtomicInteger nextVariant = new AtomicInteger();
+
+    // ------------------------------------------------------------ Constructors
+
+    private ELResourceTemplate(byte[][] literals, ValueExpression[] expressions) {
+        this.literals = literals;
+        this.expressions = expressions;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Parses the given content of the given resource.
+     *
+     * @param context the faces context
+     * @param info the resource
+     * @param in the content, which is read but not closed
+     * @return the template of the content
+     * @throws IOException when reading the content fails
+     * @throws jakarta.el.ELException when an expression refers to a resource in an invalid format
+     */
+    static ELResourceTemplate parse(FacesContext context, ClientResourceInfo info, InputStream in) throws IOException {
+        byte[] content = in.readAllBytes();
+        ELContext elContext = context.getELContext();
+        ExpressionFactory expressionFactory = context.getApplication().getExpressionFactory();
+        List<byte[]> literals = new ArrayList<>();
+        List<ValueExpression> expressions = new ArrayList<>();
+        ByteArrayOutputStream literal = new ByteArrayOutputStream(content.length);
+        int i = 0;
+
+        while (i < content.length) {
+            if (content[i] != '#' || i + 1 == content.length) {
+                literal.write(content[i++]);
+                continue;
+            }
+
+            if (content[i + 1] != '{') {
+                literal.write(content, i, 2);
+                i += 2;
+                continue;
+            }
+
+            int end = indexOf(content, '}', i + 2);
+
+            if (end == -1) {
+                // An unterminated expression is written without its opening characters.
+                literal.write(content, i + 2, content.length - i - 2);
+                break;
+            }
+
+            String expressionBody = ResourceHelper.resolveExpressionBody(info, latin1(content, i + 2, end));
+            literals.add(literal.toByteArray());
+            literal.reset();
+            expressions.add(expressionFactory.createValueExpression(elContext, "#{" + expressionBody + "}", String.class));
+            i = end + 1;
+
+            if (i < content.length) {
+                literal.write(content[i++]);
+            }
+        }
+
+        literals.add(literal.toByteArray());
+        return new ELResourceTemplate(literals.toArray(new byte[0][]), expressions.toArray(new ValueExpression[0]));
+    }
+
+    /**
+     * @return whether the content has any expression at all.
+     */
+    boolean hasExpressions() {
+        return expressions.length > 0;
+    }
+
+    /**
+     * Evaluates the expressions of this template, and returns the output for their results.
+     *
+     * @param context the faces context
+     * @param gzipped whether the gzip variant of the output is returned
+     * @return the output, which must not be modified
+     * @throws IOException when compressing the output fails
+     */
+    byte[] evaluate(FacesContext context, boolean gzipped) throws IOException {
+        ELContext elContext = context.getELContext();
+        String[] results = new String[expressions.length];
+
+        for (int i = 0; i < expressions.length; i++) {
+            Object value = expressions[i].getValue(elContext);
+            results[i] = value != null ? value.toString() : "";
+        }
+
+        Variant variant = null;
+
+        for (int i = 0; i < MAX_VARIANTS; i++) {
+            Variant candidate = variants.get(i);
+
+            if (candidate != null && Arrays.equals(candidate.results, results)) {
+                variant = candidate;
+                break;
+            }
+        }
+
+        if (variant == null) {
+            variant = new Variant(results, render(results));
+            variants.set(Math.floorMod(nextVariant.getAndIncrement(), MAX_VARIANTS), variant);
+        }
+
+        return gzipped ? variant.getGzippedContent() : variant.content;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private byte[] render(String[] results) {
+        int length = 0;
+
+        for (byte[] literal : literals) {
+            length += literal.length;
+        }
+
+        for (String result : results) {
+            length += result.length();
+        }
+
+        byte[] output = new byte[length];
+        int position = 0;
+
+        for (int i = 0; i < literals.length; i++) {
+            System.arraycopy(literals[i], 0, output, position, literals[i].length);
+            position += literals[i].length;
+
+            if (i < results.length) {
+                // Each character of a result is written as one byte, as the content is read as one character per byte.
+                for (int j = 0, resultLength = results[i].length(); j < resultLength; j++) {
+                    output[position++] = (byte) results[i].charAt(j);
+                }
+            }
+        }
+
+        return output;
+    }
+
+    private static int indexOf(byte[] content, char c, int from) {
+        for (int i = from; i < content.length; i++) {
+            if (content[i] == c) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static String latin1(byte[] content, int from, int to) {
+        char[] chars = new char[to - from];
+
+        for (int i = from; i < to; i++) {
+            chars[i - from] = (char) (content[i] & 0xFF);
+        }
+
+        return new String(chars);
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class Variant {
+
+        private final String[] results;
+        private final byte[] content;
+        private volatile byte[] gzippedContent;
+
+        private Variant(String[] results, byte[] content) {
+            this.results = results;
+            this.content = content;
+        }
+
+        private byte[] getGzippedContent() throws IOException {
+            byte[] gzipped = gzippedContent;
+
+            if (gzipped == null) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 2);
+
+                try (OutputStream out = new GZIPOutputStream(bytes)) {
+                    out.write(content);
+                }
+
+                gzipped = bytes.toByteArray();
+                gzippedContent = gzipped;
+            }
+
+            return gzipped;
+        }
+    }
+
+    // TEST: org.glassfish.mojarra.application.resource.ELResourceTemplateTest
+}
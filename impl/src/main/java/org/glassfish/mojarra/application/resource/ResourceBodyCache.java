@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.resource;
+
+import static java.util.Locale.US;
+import static java.util.logging.Level.FINE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.faces.application.Resource;
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.util.BoundedConcurrentCache;
+import org.glassfish.mojarra.util.FacesLogger;
+
+/**
+ * <p>
+ * The bodies of static resources, read once and then served from memory, along with their encoded variants and the
+ * response headers the resource handler would otherwise compute on every request. The encoded variants are the
+ * precompressed ones shipped with the resource, and a gzip variant compressed here where the resource is compressable
+ * and none was shipped. The <code>ETag</code> is strong, as it is derived from a hash of the body rather than from its
+ * size and timestamp.
+ * </p>
+ *
+ * <p>
+ * Only a plain {@link ResourceImpl} of a {@link ClientResourceInfo} without EL expressions is cached, as any other
+ * resource may produce a different body or different headers per request. The cache is bounded by the total size of
+ * the bodies, and a body larger than a sixteenth of that is not cached at all, so that one large resource cannot
+ * evict all others. A body expires as its {@link ResourceInfo} would in the {@link ResourceCache}.
+ * </p>
+ *
+ * @since 5.0
+ * @see org.glassfish.mojarra.config.MojarraContextParam#RESOURCE_BODY_CACHE_MAX_WEIGHT
+ */
+final class ResourceBodyCache {
+
+    private static final Logger LOGGER = FacesLogger.RESOURCE.getLogger();
+
+    private static final int MAX_SHARE = 16;
+    private static final int ETAG_HASH_LENGTH = 16;
+    private static final String RFC1123_DATE_PATTERN = "EEE, dd MMM yyyy HH:mm:ss zzz";
+    private static final TimeZone GMT = TimeZone.getTimeZone("GMT");
+
+    private final BoundedConcurrentCache<ResourceInfo, Body> bodies;
+    private final long maxBodySize;
+    private final long checkPeriod;
+    private final long initialTime;
+    private final String cacheControl;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param maxWeight the maximum total size of the cached bodies, in bytes
+     * @param checkPeriod the amount of minutes after which a cached body expires, or -1 when it never does
+     * @param initialTime the time the resource handler was created, which stands in for an unknown modification time
+     * @param cacheControl the value of the <code>Cache-Control</code> response header
+     */
+    ResourceBodyCache(long maxWeight, long checkPeriod, long initialTime, String cacheControl) {
+        bodies = new BoundedConcurrentCache<>(this::load, (info, body) -> body.isExpired(), maxWeight, Body::getWeight);
+        maxBodySize = maxWeight / MAX_SHARE;
+        this.checkPeriod = checkPeriod != -1 ? checkPeriod * 1000L * 60L : -1;
+        this.initialTime = initialTime;
+        this.cacheControl = cacheControl;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param resource the resource being served
+     * @return the cached body of the given resource, or <code>null</code> when the resource is not cacheable.
+     */
+    Body get(Resource resource) {
+        if (resource.getClass() != ResourceImpl.class) {
+            return null;
+        }
+
+        ResourceInfo info = ((ResourceImpl) resource).getResourceInfo();
+
+        if (!(info instanceof ClientResourceInfo) || ((ClientResourceInfo) info).supportsEL()) {
+            return null;
+        }
+
+        try {
+            Body body = bodies.get(info);
+            return body.content != null ? body : null;
+        } catch (ExecutionException e) {
+            if (LOGGER.isLoggable(FINE)) {
+                LOGGER.log(FINE, "Unable to cache " + info, e.getCause());
+            }
+
+            return null;
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private Body load(ResourceInfo info) throws IOException {
+        ClientResourceInfo resource = (ClientResourceInfo) info;
+        long checkTime = checkPeriod == -1 || info.getHelper() instanceof ClasspathResourceHelper ? Long.MAX_VALUE : System.currentTimeMillis() + checkPeriod;
+        FacesContext context = FacesContext.getCurrentInstance();
+        URL url = info.getHelper().getURL(info, context);
+
+        if (url == null) {
+            return new Body(checkTime);
+        }
+
+        URLConnection connection = url.openConnection();
+        connection.setUseCaches(false);
+        byte[] content;
+
+        try (InputStream in = connection.getInputStream()) {
+            long length = connection.getContentLengthLong();
+
+            if (length < 0 || length > maxBodySize) {
+                return new Body(checkTime);
+            }
+
+            content = in.readAllBytes();
+        }
+
+        Map<String, byte[]> encodedContents = new LinkedHashMap<>();
+
+        for (Map.Entry<String, URL> precompressed : info.getHelper().getPrecompressedURLs(resource, context).entrySet()) {
+            byte[] encodedContent = read(precompressed.getValue());
+            if (encodedContent != null) {
+                encodedContents.put(precompressed.getKey(), encodedContent);
+            }
+        }
+
+        if (resource.isCompressable() && !encodedContents.containsKey("gzip")) {
+            byte[] gzippedContent = gzip(content);
+            if (gzippedContent != null) {
+                encodedContents.put("gzip", gzippedContent);
+            }
+        }
+
+        long lastModified = resource.getLastModified(context);
+
+        if (lastModified == 0) {
+            lastModified = initialTime;
+        }
+
+        SimpleDateFormat format = new SimpleDateFormat(RFC1123_DATE_PATTERN, US);
+        format.setTimeZone(GMT);
+        return new Body(checkTime, content, encodedContents, hash(content), format.format(new Date(lastModified)), cacheControl);
+    }
+
+    private byte[] read(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        connection.setUseCaches(false);
+
+        try (InputStream in = connection.getInputStream()) {
+            long length = connection.getContentLengthLong();
+            return length < 0 || length > maxBodySize ? null : in.readAllBytes();
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 2);
+
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content);
+        }
+
+        return bytes.size() < content.length ? bytes.toByteArray() : null;
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, ETAG_HASH_LENGTH));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * The cached body of one resource, or the fact that it is not cacheable.
+     */
+    static final class Body {
+
+        private final long checkTime;
+        private final byte[] content;
+        private final Map<String, byte[]> encodedContents;
+        private final Map<String, String> encodedETags;
+        private final String eTag;
+        private final String lastModified;
+        private final String cacheControl;
+
+        private Body(long checkTime) {
+            this(checkTime, null, Collections.emptyMap(), null, null, null);
+        }
+
+        private Body(long checkTime, byte[] content, Map<String, byte[]> encodedContents, String hash, String lastModified, String cacheControl) {
+            this.checkTime = checkTime;
+            this.content = content;
+            this.encodedContents = encodedContents;
+            eTag = hash != null ? '"' + hash + '"' : null;
+            encodedETags = new HashMap<>(encodedContents.size() * 2);
+            for (String coding : encodedContents.keySet()) {
+                encodedETags.put(coding, "\"" + hash + '-' + coding + '"');
+            }
+            this.lastModified = lastModified;
+            this.cacheControl = cacheControl;
+        }
+
+        /**
+         * @return the content codings of the encoded variants of the body, in order of preference.
+         */
+        Set<String> getContentEncodings() {
+            return encodedContents.keySet();
+        }
+
+        /**
+         * @param coding the content coding of the variant being served, or <code>null</code> for the body as is
+         * @return the body as it is written to the response, which must not be modified.
+         */
+        byte[] getContent(String coding) {
+            return coding != null ? encodedContents.get(coding) : content;
+        }
+
+        /**
+         * @param coding the content coding of the variant being served, or <code>null</code> for the body as is
+         * @return the value of the <code>ETag</code> response header, which differs per variant.
+         */
+        String getETag(String coding) {
+            return coding != null ? encodedETags.get(coding) : eTag;
+        }
+
+        /**
+         * @return the value of the <code>Last-Modified</code> response header.
+         */
+        String getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * @return the value of the <code>Cache-Control</code> response header.
+         */
+        String getCacheControl() {
+            return cacheControl;
+        }
+
+        private boolean isExpired() {
+            return checkTime < System.currentTimeMillis();
+        }
+
+        private long getWeight() {
+            if (content == null) {
+                return 1;
+            }
+
+            long weight = content.length;
+
+            for (byte[] encodedContent : encodedContents.values()) {
+                weight += encodedContent.length;
+            }
+
+            return Math.max(1, weight);
+        }
+    }
+
+    // TEST: org.glassfish.mojarra.application.resource.ResourceBodyCacheTest
+}
@@ -18,6 +18,7 @@
 package org.glassfish.mojarra.application.resource;
 
 import static jakarta.faces.application.ProjectStage.Development;
+import static jakarta.servlet.RequestDispatcher.INCLUDE_REQUEST_URI;
 import static jakarta.servlet.http.HttpServletResponse.SC_NOT_FOUND;
 import static jakarta.servlet.http.HttpServletResponse.SC_NOT_MODIFIED;
 import static jakarta.servlet.http.MappingMatch.EXTENSION;
@@ -30,14 +31,22 @@ import static org.glassfish.mojarra.util.Util.getFacesMapping;
 import static org.glassfish.mojarra.util.Util.notNegative;
 import static org.glassfish.mojarra.util.Util.notNull;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -48,6 +57,7 @@ import jakarta.faces.application.ResourceHandler;
 import jakarta.faces.application.ResourceVisitOption;
 import jakarta.faces.context.ExternalContext;
 import jakarta.faces.context.FacesContext;
+import jakarta.servlet.http.HttpServletRequest;
 
 import org.glassfish.mojarra.application.ApplicationAssociate;
 import org.glassfish.mojarra.config.FacesContextParam;
@@ -67,6 +77,15 @@ public class ResourceHandlerImpl extends ResourceHandler {
     private static final Logger LOGGER = FacesLogger.APPLICATION.getLogger();
 
     private static final String CURRENT_NONCE = ResourceHandlerImpl.class.getName() + ".currentNonce";
+
+    // Request attributes of containers which send a file on behalf of the application, as defined by Tomcat.
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final long SENDFILE_MIN_LENGTH = 48 * 1024;
+    private static final String SENDFILE_REQUEST_FACADE = "org.apache.catalina.connector.RequestFacade";
+    private static final String SENDFILE_RESPONSE_FACADE = "org.apache.catalina.connector.ResponseFacade";
     
     ResourceManager manager;
     private String[] excludedExtensions;
@@ -75,6 +94,7 @@ public class ResourceHandlerImpl extends ResourceHandler {
     private boolean cspEnabled;
     private SecureRandom secureRandom;
     private final int resourceBufferSize;
+    private final ResourceBodyCache bodyCache;
 
     // ------------------------------------------------------------ Constructors
 
@@ -89,6 +109,13 @@ public class ResourceHandlerImpl extends ResourceHandler {
         initExclusions(context);
         maxAge = MojarraContextParam.DEFAULT_RESOURCE_MAX_AGE.getLong(context);
         resourceBufferSize = MojarraContextParam.RESOURCE_BUFFER_SIZE.getInt(context);
+        long bodyCacheMaxWeight = MojarraContextParam.RESOURCE_BODY_CACHE_MAX_WEIGHT.getLong(context);
+        if (bodyCacheMaxWeight > 0) {
+            String cacheControl = context.isProjectStage(Development) ? "no-store, must-revalidate" : "max-age=" + maxAge / 1000;
+            bodyCache = new ResourceBodyCache(bodyCacheMaxWeight, MojarraContextParam.RESOURCE_UPDATE_CHECK_PERIOD.getInt(context), creationTime, cacheControl);
+        } else {
+            bodyCache = null;
+        }
         cspEnabled = FacesContextParam.ENABLE_CSP_NONCE.isEnabled(context);
         if (cspEnabled) {
             secureRandom = new SecureRandom();
@@ -296,8 +323,22 @@ public class ResourceHandlerImpl extends ResourceHandler {
             }
         }
 
-        if (resource != null) {
-            if (resource.userAgentNeedsUpdate(context)) {
+        ResourceBodyCache.Body body = resource != null && bodyCache != null ? bodyCache.get(resource) : null;
+
+        if (body != null) {
+            handleCachedResourceRequest(context, resource, body);
+        } else if (resource != null) {
+            // Computing the response headers involves I/O, so they are computed once for the whole request.
+            Map<String, String> responseHeaders = resource.getResponseHeaders();
+            if (userAgentNeedsUpdate(context, resource, responseHeaders)) {
+                ClientResourceInfo info = getStaticResourceInfo(resource);
+                String coding = info != null ? info.getHelper().getContentEncoding(info, context) : null;
+                Path file = info != null ? getFile(context, resource, info, coding) : null;
+                if (file != null) {
+                    handleFileResourceRequest(context, resource, responseHeaders, file, coding);
+                    return;
+                }
+
                 ReadableByteChannel resourceChannel = null;
                 WritableByteChannel out = null;
                 ByteBuffer buf = allocateByteBuffer();
@@ -308,14 +349,18 @@ public class ResourceHandlerImpl extends ResourceHandler {
                         return;
                     }
                     resourceChannel = Channels.newChannel(in);
-                    out = Channels.newChannel(extContext.getResponseOutputStream());
                     extContext.setResponseBufferSize(buf.capacity());
                     String contentType = resource.getContentType();
                     if (contentType != null) {
                         extContext.setResponseContentType(resource.getContentType());
                     }
-                    handleHeaders(context, resource);
+                    handleHeaders(context, responseHeaders);
 
+                    if (isHeadRequest(extContext)) {
+                        return;
+                    }
+
+                    out = Channels.newChannel(extContext.getResponseOutputStream());
                     int size = 0;
                     for (int thisRead = resourceChannel.read(buf), totalWritten = 0; thisRead != -1; thisRead = resourceChannel.read(buf)) {
 
@@ -361,6 +406,242 @@ public class ResourceHandlerImpl extends ResourceHandler {
 
     }
 
+    /**
+     * Serves the given resource from its cached body, with a single write, or only the parts of it asked for by the
+     * <code>Range</code> header. A request whose <code>If-None-Match</code> header matches the <code>ETag</code> of the body
+     * gets a 304 response, and one without that header is checked by its <code>If-Modified-Since</code> header as usual.
+     */
+    private void handleCachedResourceRequest(FacesContext context, Resource resource, ResourceBodyCache.Body body) throws IOException {
+        ExternalContext extContext = context.getExternalContext();
+        String coding = ContentEncodings.negotiate(extContext, body.getContentEncodings());
+        String eTag = body.getETag(coding);
+        extContext.setResponseHeader("Cache-Control", body.getCacheControl());
+        extContext.setResponseHeader("Last-Modified", body.getLastModified());
+        extContext.setResponseHeader("ETag", eTag);
+        extContext.setResponseHeader("Accept-Ranges", "bytes");
+        if (!body.getContentEncodings().isEmpty()) {
+            extContext.setResponseHeader("Vary", "Accept-Encoding");
+        }
+
+        String ifNoneMatch = extContext.getRequestHeaderMap().get("If-None-Match");
+        if (ifNoneMatch != null ? matchesETag(ifNoneMatch, eTag) : !resource.userAgentNeedsUpdate(context)) {
+            send304(context);
+            return;
+        }
+
+        String contentType = resource.getContentType();
+        if (contentType != null) {
+            extContext.setResponseContentType(contentType);
+        }
+        if (coding != null) {
+            extContext.setResponseHeader("Content-Encoding", coding);
+        }
+
+        byte[] content = body.getContent(coding);
+        boolean head = isHeadRequest(extContext);
+        List<ByteRanges.Range> ranges = head ? null : ByteRanges.get(extContext, content.length, eTag, body.getLastModified());
+
+        try {
+            if (ranges != null) {
+                ByteRanges.send(extContext, ranges, content.length, contentType, (offset, length, out) -> out.write(content, (int) offset, (int) length));
+            } else {
+                extContext.setResponseContentLength(content.length);
+                if (!head) {
+                    extContext.getResponseOutputStream().write(content);
+                }
+            }
+        } catch (IOException ioe) {
+            if (Util.isConnectionAbort(ioe)) { // to be removed, when the exception is standardised in servlet.
+                send404(context, resource.getResourceName(), resource.getLibraryName(), false);
+            } else {
+                send404(context, resource.getResourceName(), resource.getLibraryName(), ioe, true);
+            }
+        }
+    }
+
+    /**
+     * Serves the given resource from the given file, which is read from the positions asked for by the <code>Range</code>
+     * header, if any, rather than from the start. The file is transferred by the channel of the file itself, so that the
+     * bytes can go straight to the response when the container allows, and the full file is handed over to the container
+     * when it supports sending files on its own.
+     */
+    private void handleFileResourceRequest(FacesContext context, Resource resource, Map<String, String> responseHeaders, Path file, String coding)
+            throws IOException {
+        ExternalContext extContext = context.getExternalContext();
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            long length = channel.size();
+            extContext.setResponseBufferSize(resourceBufferSize);
+            String contentType = resource.getContentType();
+            if (contentType != null) {
+                extContext.setResponseContentType(contentType);
+            }
+            handleHeaders(context, responseHeaders);
+
+            // The ranges of the compressed content would be taken for those of the uncompressed content, as both
+            // share the same validators.
+            if (coding != null) {
+                extContext.setResponseHeader("Content-Encoding", coding);
+            } else {
+                extContext.setResponseHeader("Accept-Ranges", "bytes");
+            }
+
+            boolean head = isHeadRequest(extContext);
+            List<ByteRanges.Range> ranges = head || coding != null ? null : ByteRanges.get(extContext, length, responseHeaders.get("ETag"), responseHeaders.get("Last-Modified"));
+            ByteRanges.RangeWriter writer = (offset, count, out) -> transfer(channel, offset, count, out);
+
+            if (ranges != null) {
+                ByteRanges.send(extContext, ranges, length, contentType, writer);
+            } else {
+                ByteRanges.setResponseContentLength(extContext, length);
+                if (!head && !sendFile(extContext, file, length)) {
+                    writer.write(0, length, extContext.getResponseOutputStream());
+                }
+            }
+        } catch (IOException ioe) {
+            if (Util.isConnectionAbort(ioe)) { // to be removed, when the exception is standardised in servlet.
+                send404(context, resource.getResourceName(), resource.getLibraryName(), false);
+            } else {
+                send404(context, resource.getResourceName(), resource.getLibraryName(), ioe, true);
+            }
+        }
+    }
+
+    /**
+     * Transfers the given part of the file to the response. When the response stream is not a channel itself, the file
+     * channel copies through a buffer of its own, as the copy loop would.
+     */
+    private static void transfer(FileChannel channel, long offset, long length, OutputStream out) throws IOException {
+        WritableByteChannel target = out instanceof WritableByteChannel ? (WritableByteChannel) out : Channels.newChannel(out);
+
+        for (long position = offset, end = offset + length; position < end;) {
+            long transferred = channel.transferTo(position, end - position, target);
+            if (transferred <= 0 && position >= channel.size()) {
+                throw new EOFException("Resource file was truncated while being served");
+            }
+            position += transferred;
+        }
+    }
+
+    /**
+     * Hands the given file over to the container, for containers which send a file when asked for by request attributes,
+     * such as Tomcat. As with the default servlet of Tomcat, small files are written as usual, and so are files of included
+     * requests, or of requests and responses which are wrapped, as a wrapper may well filter or take the body.
+     *
+     * @return whether the container sends the file.
+     */
+    private static boolean sendFile(ExternalContext extContext, Path file, long length) {
+        Map<String, Object> requestMap = extContext.getRequestMap();
+
+        if (length < SENDFILE_MIN_LENGTH || !Boolean.TRUE.equals(requestMap.get(SENDFILE_SUPPORTED)) || requestMap.get(INCLUDE_REQUEST_URI) != null
+                || !isClass(extContext.getRequest(), SENDFILE_REQUEST_FACADE) || !isClass(extContext.getResponse(), SENDFILE_RESPONSE_FACADE)) {
+            return false;
+        }
+
+        requestMap.put(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+        requestMap.put(SENDFILE_START, 0L);
+        requestMap.put(SENDFILE_END, length);
+        return true;
+    }
+
+    private static boolean isClass(Object object, String className) {
+        return object != null && object.getClass().getName().equals(className);
+    }
+
+    /**
+     * A request with an <code>If-None-Match</code> header is checked by the <code>ETag</code> of the resource, if it has
+     * one, instead of by its <code>If-Modified-Since</code> header, as RFC 9110 prescribes.
+     */
+    private static boolean userAgentNeedsUpdate(FacesContext context, Resource resource, Map<String, String> responseHeaders) {
+        String ifNoneMatch = context.getExternalContext().getRequestHeaderMap().get("If-None-Match");
+
+        if (ifNoneMatch != null) {
+            String eTag = responseHeaders.get("ETag");
+            if (eTag != null) {
+                return !matchesETag(ifNoneMatch, eTag);
+            }
+        }
+
+        return resource.userAgentNeedsUpdate(context);
+    }
+
+    /**
+     * @return the meta data of the given resource when it is served as is, that is, without EL expressions, otherwise
+     * <code>null</code>.
+     */
+    private static ClientResourceInfo getStaticResourceInfo(Resource resource) {
+        if (resource.getClass() != ResourceImpl.class) {
+            return null;
+        }
+
+        ResourceInfo info = ((ResourceImpl) resource).getResourceInfo();
+        return info instanceof ClientResourceInfo && !((ClientResourceInfo) info).supportsEL() ? (ClientResourceInfo) info : null;
+    }
+
+    /**
+     * @return the file the given resource is served from in the given content coding, which is its precompressed variant
+     * if it has one, or else the one with the compressed content written by the {@link ResourceHelper}, or
+     * <code>null</code> when it is not a regular file.
+     */
+    private static Path getFile(FacesContext context, Resource resource, ClientResourceInfo info, String coding) {
+        URL url;
+
+        if (coding != null) {
+            url = info.getHelper().getPrecompressedURLs(info, context).get(coding);
+            if (url == null) {
+                String compressedPath = info.getCompressedPath();
+                if (compressedPath == null) {
+                    return null;
+                }
+                Path file = Path.of(compressedPath, ResourceHelper.COMPRESSED_CONTENT_FILENAME);
+                return Files.isRegularFile(file) ? file : null;
+            }
+        } else {
+            url = resource.getURL();
+        }
+
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+
+        try {
+            Path file = Path.of(url.toURI());
+            return Files.isRegularFile(file) ? file : null;
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isHeadRequest(ExternalContext extContext) {
+        Object request = extContext.getRequest();
+        return request instanceof HttpServletRequest && "HEAD".equals(((HttpServletRequest) request).getMethod());
+    }
+
+    /**
+     * @param ifNoneMatch the value of the <code>If-None-Match</code> request header
+     * @param eTag the <code>ETag</code> of the response
+     * @return whether any of the entity tags in the header matches the given one, by weak comparison.
+     */
+    static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (eTag.startsWith("W/")) {
+            eTag = eTag.substring(2);
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+
+            if (candidate.equals("*") || candidate.equals(eTag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     private boolean libraryNameIsSafe(String libraryName) {
         assert null != libraryName;
         boolean result;
@@ -582,9 +863,9 @@ public class ResourceHandlerImpl extends ResourceHandler {
         return Stream.of(extensions).filter(extension -> !extension.isEmpty()).toArray(String[]::new);
     }
 
-    private void handleHeaders(FacesContext context, Resource resource) {
+    private void handleHeaders(FacesContext context, Map<String, String> responseHeaders) {
         ExternalContext extContext = context.getExternalContext();
-        for (Map.Entry<String, String> cur : resource.getResponseHeaders().entrySet()) {
+        for (Map.Entry<String, String> cur : responseHeaders.entrySet()) {
             extContext.setResponseHeader(cur.getKey(), cur.getValue());
         }
     }
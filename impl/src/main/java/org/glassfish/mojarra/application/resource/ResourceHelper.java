@@ -35,6 +35,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -82,7 +83,7 @@ public abstract class ResourceHelper {
     /**
      * Arbitrary file name to write the compressed bits to.
      */
-    private static final String COMPRESSED_CONTENT_FILENAME = "compressed-content";
+    static final String COMPRESSED_CONTENT_FILENAME = "compressed-content";
 
     private static final String[] EL_CONTENT_TYPES = { StylesheetRenderer.DEFAULT_CONTENT_TYPE, };
 
@@ -151,20 +152,20 @@ public abstract class ResourceHelper {
     }
 
     private InputStream getInputStreamFromClientInfo(ClientResourceInfo resource, FacesContext ctx) throws IOException {
+        if (resource.supportsEL() && !resource.isDevStage) {
+            return getEvaluatedInputStream(resource, ctx);
+        }
+
+        // The Content-Encoding header is only sent once the stream of the negotiated coding is open, so that the
+        // non-compressed content is never served as compressed content.
+        String coding = ctx.getExternalContext().getResponse() instanceof HttpServletResponse ? getContentEncoding(resource, ctx) : null;
         InputStream in = null;
 
-        if (resource.isCompressable() && clientAcceptsCompression(ctx)) {
+        if (coding != null) {
             if (!resource.supportsEL()) {
-                try {
-                    String path = resource.getCompressedPath();
-                    in = new BufferedInputStream(new FileInputStream(path + File.separatorChar + COMPRESSED_CONTENT_FILENAME));
-                } catch (IOException ioe) {
-                    if (LOGGER.isLoggable(Level.SEVERE)) {
-                        LOGGER.log(Level.SEVERE, ioe.getMessage(), ioe);
-                    }
-                    // return null so that the override code will try to serve
-                    // the non-compressed content
-                    in = null;
+                in = getPrecompressedInputStream(resource, ctx, coding);
+                if (in == null && "gzip".equals(coding)) {
+                    in = getCompressedInputStream(resource);
                 }
             } else {
                 byte[] buf = new byte[512];
@@ -177,6 +178,7 @@ public abstract class ResourceHelper {
                     for (int read = temp.read(buf); read != -1; read = temp.read(buf)) {
                         out.write(buf, 0, read);
                     }
+                    out.close();
                     in = new BufferedInputStream(new ByteArrayInputStream(baos.toByteArray()));
 
                 } catch (IOException ioe) {
@@ -185,6 +187,10 @@ public abstract class ResourceHelper {
                     }
                 }
             }
+
+            if (in != null) {
+                setContentEncoding(ctx, coding);
+            }
         }
 
         if (in == null) {
@@ -197,6 +203,94 @@ public abstract class ResourceHelper {
         return in;
     }
 
+    /**
+     * Returns a stream to the content of a resource with EL expressions as evaluated for the current request, from the
+     * template of the resource which is parsed on first use, so that the content is neither scanned nor compressed again
+     * for as long as the results of its expressions stay the same. A resource without any expression has its EL support
+     * disabled, as when it is read through an {@link ELEvaluatingInputStream}.
+     */
+    private InputStream getEvaluatedInputStream(ClientResourceInfo resource, FacesContext ctx) throws IOException {
+        ELResourceTemplate template = resource.getELTemplate();
+
+        if (template == null) {
+            try (InputStream in = getNonCompressedInputStream(resource, ctx)) {
+                if (in == null) {
+                    return null;
+                }
+
+                template = ELResourceTemplate.parse(ctx, resource, in);
+            }
+
+            if (template.hasExpressions()) {
+                resource.setELTemplate(template);
+            } else {
+                resource.disableEL();
+            }
+        }
+
+        boolean gzipped = ctx.getExternalContext().getResponse() instanceof HttpServletResponse && "gzip".equals(getContentEncoding(resource, ctx));
+        byte[] content = template.evaluate(ctx, gzipped);
+
+        if (gzipped) {
+            setContentEncoding(ctx, "gzip");
+        }
+
+        return new ByteArrayInputStream(content);
+    }
+
+    /**
+     * Returns a stream to the precompressed variant of the resource in the given coding, if it has one.
+     */
+    private InputStream getPrecompressedInputStream(ClientResourceInfo resource, FacesContext ctx, String coding) {
+        URL url = getPrecompressedURLs(resource, ctx).get(coding);
+
+        if (url == null) {
+            return null;
+        }
+
+        try {
+            URLConnection conn = url.openConnection();
+            conn.setUseCaches(false);
+            return conn.getInputStream();
+        } catch (IOException ioe) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Unable to read precompressed variant " + url, ioe);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns a stream to the content of the resource as compressed by {@link #compressContent(ClientResourceInfo)}, if
+     * it was.
+     */
+    private static InputStream getCompressedInputStream(ClientResourceInfo resource) {
+        String path = resource.getCompressedPath();
+        File file = path != null ? new File(path, COMPRESSED_CONTENT_FILENAME) : null;
+
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+
+        try {
+            return new BufferedInputStream(new FileInputStream(file));
+        } catch (IOException ioe) {
+            if (LOGGER.isLoggable(Level.SEVERE)) {
+                LOGGER.log(Level.SEVERE, ioe.getMessage(), ioe);
+            }
+            // return null so that the non-compressed content is served
+            return null;
+        }
+    }
+
+    /**
+     * Implementation Note: It is safe to cast to a <code>HttpServletResponse</code> as this method will only be called when
+     * handling a resource request, and only for a response of which that was checked.
+     */
+    private static void setContentEncoding(FacesContext ctx, String coding) {
+        ((HttpServletResponse) ctx.getExternalContext().getResponse()).setHeader("Content-Encoding", coding);
+    }
+
     /**
      * @param resource the resource to obtain a URL reference to
      * @param ctx the {@link FacesContext} for the current request
@@ -377,63 +471,6 @@ public abstract class ResourceHelper {
         }
     }
 
-    /**
-     * <p>
-     * This method attempt to verify that the user agent can accept a gzip encoded response by interrogating the
-     * <code>Accept-Encoding</code> requester header. If it is determined safe to send a gzip encoded response, send the
-     * <code>Content-Encoding</code> header with a value of <code>gzip</code>.
-     * </p>
-     *
-     * <p>
-     * See http://www.w3.org/Protocols/rfc2616/rfc2616-sec14.html RFC 2616, sec. 14 for details on the
-     * accept-encoding header.
-     * </p>
-     *
-     * <p>
-     * Implementation Note: It is safe to cast to a <code>HttpServletResponse</code> as this method will only be called when
-     * handling a resource request. Resource serving is outside of the Faces and Portlet lifecycle.
-     * </p>
-     *
-     * @param ctx the {@link FacesContext} for the current request
-     * @return <code>true</code> if compressed content can be sent to the client, otherwise <code>false</code>
-     */
-    protected boolean clientAcceptsCompression(FacesContext ctx) {
-
-        ExternalContext extCtx = ctx.getExternalContext();
-        Object response = extCtx.getResponse();
-        if (response instanceof HttpServletResponse) {
-            String[] values = extCtx.getRequestHeaderValuesMap().get("accept-encoding");
-            boolean gzipFound = false;
-            for (String value : values) {
-                if (value.contains("gzip;q=0")) {
-                    // gzip compression not accepted by the user-agent
-                    return false;
-                }
-                if (value.contains("gzip")) {
-                    // gzip compression explicitly listed as supported
-                    // by the user agent. Break here as we don't need to continue.
-                    gzipFound = true;
-                    break;
-                }
-                if (value.contains("*") && !value.contains("*;q=0,") && !value.endsWith("*;q=0")) {
-                    // gzip not explictly listed, but client sent *
-                    // meaning gzip is implicitly acceptable
-                    // keep looping to ensure we don't come across a
-                    // *;q=0 value.
-                    gzipFound = true;
-                }
-            }
-
-            if (gzipFound) {
-                ((HttpServletResponse) response).setHeader("Content-Encoding", "gzip");
-                return true;
-            }
-        }
-
-        return false;
-
-    }
-
     /**
      * <p>
      * Utility method to peform the necessary actions to compress content.
@@ -451,7 +488,8 @@ public abstract class ResourceHelper {
     protected ClientResourceInfo handleCompression(ClientResourceInfo resource) {
 
         try {
-            if (!resource.supportsEL() && !compressContent(resource)) {
+            // Precompressed gzip content takes the place of the content compressed here.
+            if (!resource.supportsEL() && !getPrecompressedURLs(resource, FacesContext.getCurrentInstance()).containsKey("gzip") && !compressContent(resource)) {
                 resource = rebuildAsNonCompressed(resource);
             }
         } catch (IOException ioe) {
@@ -488,8 +526,131 @@ public abstract class ResourceHelper {
 
     }
 
+    // ------------------------------------------------- Package Private Methods
+
+    /**
+     * Validates the body of an expression found in a resource, and resolves its <code>this</code> library name, if any,
+     * to the library or contract of the resource.
+     *
+     * @param info the resource the expression was found in
+     * @param expressionBody the expression without its <code>#{</code> and <code>}</code>
+     * @return the expression body to evaluate
+     * @throws ELException if the expression refers to a resource in an invalid format
+     */
+    static String resolveExpressionBody(ClientResourceInfo info, String expressionBody) {
+        int colon;
+        // If this expression contains a ":"
+        if (-1 != (colon = expressionBody.indexOf(":"))) {
+            // Make sure it contains only one ":"
+            if (!isPropertyValid(expressionBody)) {
+                String message = MessageUtils.getExceptionMessageString(MessageUtils.INVALID_RESOURCE_FORMAT_COLON_ERROR, expressionBody);
+                throw new ELException(message);
+            }
+            Map<String, Object> appMap = FacesContext.getCurrentInstance().getExternalContext().getApplicationMap();
+
+            String[] parts = Util.split(appMap, expressionBody, ":");
+            if (null == parts[0] || null == parts[1]) {
+                String message = MessageUtils.getExceptionMessageString(MessageUtils.INVALID_RESOURCE_FORMAT_NO_LIBRARY_NAME_ERROR, expressionBody);
+                throw new ELException(message);
+
+            }
+            try {
+                int mark = parts[0].indexOf("[") + 2;
+                char quoteMark = parts[0].charAt(mark - 1);
+                parts[0] = parts[0].substring(mark, colon);
+                if (parts[0].equals("this")) {
+                    LibraryInfo libInfo = info.getLibraryInfo();
+                    if (null != libInfo) {
+                        parts[0] = libInfo.getName();
+                    } else if (null != info.getContract()) {
+                        parts[0] = info.getContract();
+                    } else {
+                        throw new NullPointerException("Resource expression is not a library or resource library contract");
+                    }
+
+                    mark = parts[1].indexOf("]") - 1;
+                    parts[1] = parts[1].substring(0, mark);
+                    expressionBody = "resource[" + quoteMark + parts[0] + ":" + parts[1] + quoteMark + "]";
+                }
+            } catch (Exception e) {
+                String message = MessageUtils.getExceptionMessageString(MessageUtils.INVALID_RESOURCE_FORMAT_ERROR, expressionBody);
+                throw new ELException(message);
+
+            }
+        }
+        return expressionBody;
+    }
+
+    /**
+     * Looks up the precompressed variants of the given resource once, which are the files next to the resource of which
+     * the name has the suffix of a content coding, such as <code>.gz</code> or <code>.br</code>, as produced by build
+     * tools. A resource with EL expressions has none, as its content differs per request.
+     *
+     * @param info the resource
+     * @param ctx the {@link FacesContext} for the current request
+     * @return the URLs of the precompressed variants by content coding, in order of preference.
+     */
+    Map<String, URL> getPrecompressedURLs(ClientResourceInfo info, FacesContext ctx) {
+        Map<String, URL> urls = info.getPrecompressedURLs();
+
+        if (urls == null) {
+            urls = findPrecompressedURLs(info, ctx);
+            info.setPrecompressedURLs(urls);
+        }
+
+        return urls;
+    }
+
+    /**
+     * @param info the resource
+     * @param ctx the {@link FacesContext} for the current request
+     * @return the content coding the client prefers of those the given resource is available in, which includes gzip
+     * when the resource is compressable, or <code>null</code> when the resource is to be served as is.
+     */
+    String getContentEncoding(ClientResourceInfo info, FacesContext ctx) {
+        Collection<String> codings = getPrecompressedURLs(info, ctx).keySet();
+
+        if (info.isCompressable() && !codings.contains("gzip")) {
+            codings = new ArrayList<>(codings);
+            codings.add("gzip");
+        }
+
+        return ContentEncodings.negotiate(ctx.getExternalContext(), codings);
+    }
+
     // --------------------------------------------------------- Private Methods
 
+    private Map<String, URL> findPrecompressedURLs(ClientResourceInfo info, FacesContext ctx) {
+        URL url = info.supportsEL() ? null : getURL(info, ctx);
+
+        if (url == null) {
+            return Collections.emptyMap();
+        }
+
+        String fileName = url.getPath().substring(url.getPath().lastIndexOf('/') + 1);
+        Map<String, URL> urls = new LinkedHashMap<>();
+
+        for (Map.Entry<String, String> suffix : ContentEncodings.PRECOMPRESSED_SUFFIXES.entrySet()) {
+            try {
+                URL precompressed = new URL(url, fileName + suffix.getValue());
+                URLConnection conn = precompressed.openConnection();
+                conn.setUseCaches(false);
+                try (InputStream in = conn.getInputStream()) {
+                    urls.put(suffix.getKey(), precompressed);
+                }
+            } catch (IOException ioe) {
+                // No such variant.
+            }
+        }
+
+        return urls.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(urls);
+    }
+
+    private static boolean isPropertyValid(String property) {
+        int idx = property.indexOf(':');
+        return property.indexOf(':', idx + 1) == -1;
+    }
+
     private ClientResourceInfo rebuildAsNonCompressed(ClientResourceInfo resource) {
 
         LibraryInfo library = resource.getLibraryInfo();
@@ -727,47 +888,7 @@ public abstract class ResourceHelper {
             for (int i = 0, len = buf.size(); i < len; i++) {
                 chars[i] = (char) (int) buf.get(i);
             }
-            String expressionBody = new String(chars);
-            int colon;
-            // If this expression contains a ":"
-            if (-1 != (colon = expressionBody.indexOf(":"))) {
-                // Make sure it contains only one ":"
-                if (!isPropertyValid(expressionBody)) {
-                    String message = MessageUtils.getExceptionMessageString(MessageUtils.INVALID_RESOURCE_FORMAT_COLON_ERROR, expressionBody);
-                    throw new ELException(message);
-                }
-                Map<String, Object> appMap = FacesContext.getCurrentInstance().getExternalContext().getApplicationMap();
-
-                String[] parts = Util.split(appMap, expressionBody, ":");
-                if (null == parts[0] || null == parts[1]) {
-                    String message = MessageUtils.getExceptionMessageString(MessageUtils.INVALID_RESOURCE_FORMAT_NO_LIBRARY_NAME_ERROR, expressionBody);
-                    throw new ELException(message);
-
-                }
-                try {
-                    int mark = parts[0].indexOf("[") + 2;
-                    char quoteMark = parts[0].charAt(mark - 1);
-                    parts[0] = parts[0].substring(mark, colon);
-                    if (parts[0].equals("this")) {
-                        LibraryInfo libInfo = info.getLibraryInfo();
-                        if (null != libInfo) {
-                            parts[0] = libInfo.getName();
-                        } else if (null != info.getContract()) {
-                            parts[0] = info.getContract();
-                        } else {
-                            throw new NullPointerException("Resource expression is not a library or resource library contract");
-                        }
-
-                        mark = parts[1].indexOf("]") - 1;
-                        parts[1] = parts[1].substring(0, mark);
-                        expressionBody = "resource[" + quoteMark + parts[0] + ":" + parts[1] + quoteMark + "]";
-                    }
-                } catch (Exception e) {
-                    String message = MessageUtils.getExceptionMessageString(MessageUtils.INVALID_RESOURCE_FORMAT_ERROR, expressionBody);
-                    throw new ELException(message);
-
-                }
-            }
+            String expressionBody = resolveExpressionBody(info, new String(chars));
             ELContext elContext = ctx.getELContext();
             expressionEvaluated = true;
             ValueExpression ve = ctx.getApplication().getExpressionFactory().createValueExpression(elContext, "#{" + expressionBody + "}", String.class);
@@ -790,11 +911,6 @@ public abstract class ResourceHelper {
 
         }
 
-        private boolean isPropertyValid(String property) {
-            int idx = property.indexOf(':');
-            return property.indexOf(':', idx + 1) == -1;
-        }
-
     } // END ELEvaluatingInputStream
 
     protected List<String> getLocalizedPaths(String path, FacesContext ctx) {
@@ -201,6 +201,10 @@ public class ResourceImpl extends Resource implements Externalizable {
                 responseHeaders.put("Cache-Control", "max-age=" + (maxAge/1000));
             }
 
+            if (resourceInfo instanceof ClientResourceInfo && isEncodingNegotiated((ClientResourceInfo) resourceInfo)) {
+                responseHeaders.put("Vary", "Accept-Encoding");
+            }
+
             URL url = getURL();
             InputStream in = null;
             try {
@@ -384,6 +388,16 @@ public class ResourceImpl extends Resource implements Externalizable {
 
     }
 
+    // ------------------------------------------------- Package Private Methods
+
+    /**
+     * @return the meta data on this resource, looked up again when this resource was deserialized.
+     */
+    ResourceInfo getResourceInfo() {
+        initResourceInfo();
+        return resourceInfo;
+    }
+
     // --------------------------------------------------------- Private Methods
 
     /*
@@ -453,4 +467,11 @@ public class ResourceImpl extends Resource implements Externalizable {
         return ctx.getApplication().getResourceHandler().isResourceRequest(ctx);
     }
 
+    /**
+     * @return whether the content coding of the given resource depends on the <code>Accept-Encoding</code> request header.
+     */
+    private static boolean isEncodingNegotiated(ClientResourceInfo info) {
+        return info.isCompressable() || !info.getHelper().getPrecompressedURLs(info, FacesContext.getCurrentInstance()).isEmpty();
+    }
+
 }
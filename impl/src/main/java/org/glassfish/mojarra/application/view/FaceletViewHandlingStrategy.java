@@ -38,6 +38,7 @@ import static java.util.logging.Level.WARNING;
 import static org.glassfish.mojarra.RIConstants.DYNAMIC_TRANSIENT_BUILD;
 import static org.glassfish.mojarra.RIConstants.FACELETS_ENCODING_KEY;
 import static org.glassfish.mojarra.RIConstants.FLOW_DEFINITION_ID_SUFFIX;
+import static org.glassfish.mojarra.RIConstants.UNCLONEABLE_BUILD;
 import static org.glassfish.mojarra.RIConstants.VIEW_REBUILT_AT_RENDER;
 import static org.glassfish.mojarra.context.StateContext.getStateContext;
 import static org.glassfish.mojarra.facelets.tag.faces.ComponentSupport.DYNAMIC_COMPONENT;
@@ -66,6 +67,7 @@ import java.io.Writer;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -143,6 +145,7 @@ import org.glassfish.mojarra.renderkit.RenderKitUtils;
 import org.glassfish.mojarra.renderkit.html_basic.DoctypeRenderer;
 import org.glassfish.mojarra.util.Cache;
 import org.glassfish.mojarra.util.ComponentStruct;
+import org.glassfish.mojarra.util.ConcurrentLRUCache;
 import org.glassfish.mojarra.util.FacesLogger;
 import org.glassfish.mojarra.util.HtmlUtils;
 import org.glassfish.mojarra.util.RequestStateManager;
@@ -175,6 +178,7 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
     private int responseBufferSize;
     private boolean refreshTransientBuildOnPSS;
     private StateSavingMethod stateSavingMethod;
+    private ConcurrentLRUCache<String, ViewPrototype> viewPrototypes;
 
     private Cache<Resource, BeanInfo> metadataCache;
     private Map<String, List<String>> contractMappings;
@@ -348,7 +352,7 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
         try {
             ctx.getAttributes().put(IS_BUILDING_INITIAL_STATE, Boolean.TRUE);
             stateCtx.setTrackViewModifications(false);
-            facelet.apply(ctx, view);
+            applyOrCopyPrototype(ctx, facelet, view);
 
             if (facelet instanceof XMLFrontMatterSaver) {
                 XMLFrontMatterSaver frontMatterSaver = (XMLFrontMatterSaver) facelet;
@@ -402,6 +406,58 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
                 && !ctx.getAttributes().containsKey(DYNAMIC_TRANSIENT_BUILD);
     }
 
+    /**
+     * Populates the given view, which is being built for the first time, by applying its facelet. When prototypes are
+     * enabled ({@code viewPrototypeCacheSize}) and the view is empty, the tree is instead copied from the prototype
+     * which an earlier build of the view left behind, if any and as long as the facelet was not refreshed since. Else
+     * the tree the facelet builds becomes the prototype, unless a handler flagged the build as depending on the request
+     * ({@link RIConstants#DYNAMIC_TRANSIENT_BUILD}, {@link RIConstants#UNCLONEABLE_BUILD}), which is remembered as well
+     * so that the tree is not inspected again. A facelet with a handler not known to flag such a build is flagged as a
+     * whole by its {@code EncodingHandler}.
+     * <p>
+     * A view with an {@code f:metadata} facet is never copied, as the metadata facet is built ahead of the rest of the
+     * view, so the view is no longer empty by the time it is populated.
+     */
+    private void applyOrCopyPrototype(FacesContext ctx, Facelet facelet, UIViewRoot view) throws IOException {
+        if (viewPrototypes == null || view.getChildCount() > 0 || view.getFacetCount() > 0) {
+            facelet.apply(ctx, view);
+            return;
+        }
+
+        String viewId = view.getViewId();
+        ViewPrototype prototype = viewPrototypes.get(viewId);
+
+        if (prototype != null && prototype.getFacelet() == facelet) {
+            if (prototype.isCloneable()) {
+                prototype.copyTo(ctx, view);
+            } else {
+                facelet.apply(ctx, view);
+            }
+
+            return;
+        }
+
+        Map<Object, Object> attributes = ctx.getAttributes();
+        Object dynamicTransientBuild = attributes.remove(DYNAMIC_TRANSIENT_BUILD);
+        Object uncloneableBuild = attributes.remove(UNCLONEABLE_BUILD);
+        Set<String> attributeNamesBefore = new HashSet<>(view.getAttributes().keySet());
+
+        facelet.apply(ctx, view);
+
+        boolean uncloneable = attributes.containsKey(DYNAMIC_TRANSIENT_BUILD) || attributes.containsKey(UNCLONEABLE_BUILD);
+        ViewPrototype captured = uncloneable ? ViewPrototype.uncloneable(facelet) : ViewPrototype.capture(ctx, facelet, view, attributeNamesBefore);
+        viewPrototypes.put(viewId, captured);
+        LOGGER.log(FINE, () -> "View " + viewId + (captured.isCloneable() ? " is" : " is not") + " copied from a prototype from now on");
+
+        if (dynamicTransientBuild != null) {
+            attributes.putIfAbsent(DYNAMIC_TRANSIENT_BUILD, dynamicTransientBuild);
+        }
+
+        if (uncloneableBuild != null) {
+            attributes.putIfAbsent(UNCLONEABLE_BUILD, uncloneableBuild);
+        }
+    }
+
     /**
      * @see jakarta.faces.view.ViewDeclarationLanguage#renderView(jakarta.faces.context.FacesContext,
      * jakarta.faces.component.UIViewRoot)
@@ -868,6 +924,8 @@ public class FaceletViewHandlingStrategy extends ViewHandlingStrategy {
         responseBufferSize = FacesContextParam.FACELETS_BUFFER_SIZE.getInt(context);
         refreshTransientBuildOnPSS = MojarraContextParam.REFRESH_TRANSIENT_BUILD_ON_PSS.isEnabled(context);
         stateSavingMethod = FacesContextParam.STATE_SAVING_METHOD.getEnum(context);
+        int viewPrototypeCacheSize = MojarraContextParam.VIEW_PROTOTYPE_CACHE_SIZE.getInt(context);
+        viewPrototypes = viewPrototypeCacheSize > 0 ? new ConcurrentLRUCache<>(viewPrototypeCacheSize) : null;
 
         LOGGER.fine("Initialization Successful");
 
@@ -0,0 +1,582 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.view;
+
+import static java.util.logging.Level.FINE;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import jakarta.el.Expression;
+import jakarta.el.MethodExpression;
+import jakarta.faces.FacesException;
+import jakarta.faces.FacesWrapper;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.event.ComponentSystemEvent;
+import jakarta.faces.event.ComponentSystemEventListener;
+import jakarta.faces.event.PhaseListener;
+import jakarta.faces.event.PostRenderViewEvent;
+import jakarta.faces.event.PreRenderViewEvent;
+import jakarta.faces.event.SystemEventListener;
+import jakarta.faces.view.facelets.Facelet;
+
+import org.glassfish.mojarra.facelets.compiler.UILeaf;
+import org.glassfish.mojarra.renderkit.ApplicationObjectInputStream;
+import org.glassfish.mojarra.util.FacesLogger;
+
+/**
+ * <p>
+ * The component tree of a view as its facelet built it, which the next builds of the same view copy instead of
+ * applying the facelet again. This saves running every tag handler, creating every component through the application
+ * and wiring every attribute and expression.
+ * </p>
+ *
+ * <p>
+ * A copy of a component is a new instance of its class, which restores the full state the component had right after
+ * it was built. Every copy restores a copy of that state of its own, so that no copy shares a mutable attribute,
+ * converter or listener with another, but the state is copied structurally rather than deserialized: its arrays, maps
+ * and lists are copied, while its strings, boxed primitives, enums and expressions are shared, since they cannot change.
+ * Expressions in particular are not parsed again for every copy. Only any other value, such as the saver of an attached
+ * converter, is kept serialized and deserialized for every copy, with the expressions it references shared as well. The
+ * leaves facelets create for template text have no state, and are copied by {@link UILeaf#copy()} instead. A copy is put
+ * into the view without publishing any event, because the tree it was copied from already shows the outcome of those
+ * events, such as component resources relocated to the head.
+ * </p>
+ *
+ * <p>
+ * The view root itself is not copied, as a new one is created for every build, but what the facelet added to it is:
+ * its attributes, its phase listeners, such as those of <code>f:phaseListener</code>, and its listeners for
+ * {@link PreRenderViewEvent} and {@link PostRenderViewEvent}, such as those of <code>f:event</code>. These are shared by
+ * all copies, as they do not change once the tree is built.
+ * </p>
+ *
+ * <p>
+ * A tree is only {@link #isCloneable() cloneable} when its build did not depend on the request, which the strategy
+ * tells from the flags tag handlers set while building it, and when every component can be copied: it has a public
+ * no-arg constructor, no <code>binding</code>, a serializable state, and it is not a leaf which cannot be copied.
+ * </p>
+ *
+ * @since 5.0
+ * @see org.glassfish.mojarra.config.MojarraContextParam#VIEW_PROTOTYPE_CACHE_SIZE
+ */
+final class ViewPrototype {
+
+    private static final Logger LOGGER = FacesLogger.APPLICATION.getLogger();
+
+    private static final List<Class<? extends ComponentSystemEvent>> VIEW_EVENT_CLASSES = List.of(PreRenderViewEvent.class, PostRenderViewEvent.class);
+
+    private final Facelet facelet;
+    private final Node root;
+    private final StateCopier copier;
+    private final Map<String, Object> attributes;
+    private final List<PhaseListener> phaseListeners;
+    private final Map<Class<? extends ComponentSystemEvent>, List<ComponentSystemEventListener>> viewEventListeners;
+    private final boolean transientFlag;
+    private final MethodExpression beforePhaseListener;
+    private final MethodExpression afterPhaseListener;
+
+    // ------------------------------------------------------------ Constructors
+
+    private ViewPrototype(Facelet facelet, Node root, StateCopier copier, UIViewRoot view, Map<String, Object> attributes,
+            Map<Class<? extends ComponentSystemEvent>, List<ComponentSystemEventListener>> viewEventListeners) {
+        this.facelet = facelet;
+        this.root = root;
+        this.copier = copier;
+        this.attributes = attributes;
+        this.viewEventListeners = viewEventListeners;
+        phaseListeners = view != null ? List.copyOf(view.getPhaseListeners()) : null;
+        transientFlag = view != null && view.isTransient();
+        beforePhaseListener = view != null ? view.getBeforePhaseListener() : null;
+        afterPhaseListener = view != null ? view.getAfterPhaseListener() : null;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param facelet the facelet of the view
+     * @return a prototype which tells that the view built by the given facelet is not cloneable.
+     */
+    static ViewPrototype uncloneable(Facelet facelet) {
+        return new ViewPrototype(facelet, null, null, null, null, null);
+    }
+
+    /**
+     * Captures the tree the given facelet just built in the given view, which was empty before. This must be done before
+     * the initial state of the tree is marked, because the prototype needs the full state of its components.
+     *
+     * @param context the faces context
+     * @param facelet the facelet which built the view
+     * @param view the view
+     * @param attributeNamesBefore the names of the attributes the view had before it was built
+     * @return the prototype, which is not {@link #isCloneable() cloneable} when a component cannot be copied.
+     */
+    static ViewPrototype capture(FacesContext context, Facelet facelet, UIViewRoot view, Set<String> attributeNamesBefore) {
+        StateCopier copier = new StateCopier();
+        Node root;
+
+        try {
+            root = Node.capture(context, view, false, copier);
+        } catch (IOException e) {
+            LOGGER.log(FINE, e, () -> "View " + view.getViewId() + " cannot be copied, because the state of its components cannot be serialized");
+            return uncloneable(facelet);
+        }
+
+        Map<Class<? extends ComponentSystemEvent>, List<ComponentSystemEventListener>> viewEventListeners = captureViewEventListeners(view);
+
+        if (root == null || viewEventListeners == null) {
+            return uncloneable(facelet);
+        }
+
+        Map<String, Object> attributes = new HashMap<>();
+
+        for (Entry<String, Object> attribute : view.getAttributes().entrySet()) {
+            if (!attributeNamesBefore.contains(attribute.getKey())) {
+                attributes.put(attribute.getKey(), attribute.getValue());
+            }
+        }
+
+        return new ViewPrototype(facelet, root, copier, view, attributes, viewEventListeners);
+    }
+
+    /**
+     * @return the facelet which built the tree of this prototype, which must still be the facelet of the view for this
+     * prototype to be of any use.
+     */
+    Facelet getFacelet() {
+        return facelet;
+    }
+
+    /**
+     * @return whether the view can be built by {@link #copyTo(FacesContext, UIViewRoot)}.
+     */
+    boolean isCloneable() {
+        return root != null;
+    }
+
+    /**
+     * Copies the tree of this prototype into the given view, which must be empty, as if its facelet was applied to it.
+     *
+     * @param context the faces context
+     * @param view the view
+     */
+    void copyTo(FacesContext context, UIViewRoot view) {
+        boolean processingEvents = context.isProcessingEvents();
+        context.setProcessingEvents(false);
+
+        try {
+            root.copyChildrenTo(context, view, copier);
+        } finally {
+            context.setProcessingEvents(processingEvents);
+        }
+
+        view.getAttributes().putAll(attributes);
+
+        for (PhaseListener phaseListener : phaseListeners) {
+            if (!view.getPhaseListeners().contains(phaseListener)) {
+                view.addPhaseListener(phaseListener);
+            }
+        }
+
+        for (Entry<Class<? extends ComponentSystemEvent>, List<ComponentSystemEventListener>> entry : viewEventListeners.entrySet()) {
+            for (ComponentSystemEventListener listener : entry.getValue()) {
+                view.subscribeToEvent(entry.getKey(), listener);
+            }
+        }
+
+        if (transientFlag) {
+            view.setTransient(true);
+        }
+
+        if (beforePhaseListener != null) {
+            view.setBeforePhaseListener(beforePhaseListener);
+        }
+
+        if (afterPhaseListener != null) {
+            view.setAfterPhaseListener(afterPhaseListener);
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    /**
+     * @return the listeners the given view has for the events it publishes itself, unwrapped from the adapters
+     * {@link UIComponent#subscribeToEvent(Class, ComponentSystemEventListener)} wraps them in, or <code>null</code> when
+     * any of them cannot be unwrapped.
+     */
+    private static Map<Class<? extends ComponentSystemEvent>, List<ComponentSystemEventListener>> captureViewEventListeners(UIViewRoot view) {
+        Map<Class<? extends ComponentSystemEvent>, List<ComponentSystemEventListener>> viewEventListeners = new HashMap<>();
+
+        for (Class<? extends ComponentSystemEvent> eventClass : VIEW_EVENT_CLASSES) {
+            List<SystemEventListener> listeners = view.getListenersForEventClass(eventClass);
+
+            if (listeners == null || listeners.isEmpty()) {
+                continue;
+            }
+
+            List<ComponentSystemEventListener> unwrapped = new ArrayList<>(listeners.size());
+
+            for (SystemEventListener listener : listeners) {
+                if (listener instanceof FacesWrapper<?> wrapper && wrapper.getWrapped() instanceof ComponentSystemEventListener componentListener) {
+                    unwrapped.add(componentListener);
+                } else {
+                    return null;
+                }
+            }
+
+            viewEventListeners.put(eventClass, unwrapped);
+        }
+
+        return viewEventListeners;
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class Node {
+
+        private static final Node[] NO_NODES = {};
+        private static final String[] NO_NAMES = {};
+
+        private final Constructor<? extends UIComponent> constructor;
+        private final Object state;
+        private final UILeaf leaf;
+        private final Node[] children;
+        private final String[] facetNames;
+        private final Node[] facets;
+
+        private Node(Constructor<? extends UIComponent> constructor, Object state, UILeaf leaf, Node[] children, String[] facetNames, Node[] facets) {
+            this.constructor = constructor;
+            this.state = state;
+            this.leaf = leaf;
+            this.children = children;
+            this.facetNames = facetNames;
+            this.facets = facets;
+        }
+
+        /**
+         * Captures the given component and the components below it, along with the state of those which are not leaves.
+         *
+         * @return the node, or <code>null</code> when the given component or any component below it cannot be copied.
+         * @throws IOException when the state of a component cannot be serialized.
+         */
+        static Node capture(FacesContext context, UIComponent component, boolean withState, StateCopier copier) throws IOException {
+            if (component instanceof UILeaf leaf) {
+                UILeaf copy = leaf.copy();
+                return copy != null ? new Node(null, null, copy, NO_NODES, NO_NAMES, NO_NODES) : null;
+            }
+
+            Constructor<? extends UIComponent> constructor = null;
+            Object state = null;
+
+            if (withState) {
+                if (component.getValueExpression("binding") != null) {
+                    return null;
+                }
+
+                try {
+                    constructor = component.getClass().getConstructor();
+                } catch (NoSuchMethodException e) {
+                    return null;
+                }
+
+                state = copier.capture(component.saveState(context));
+            }
+
+            Node[] children = NO_NODES;
+            int childCount = component.getChildCount();
+
+            if (childCount > 0) {
+                children = new Node[childCount];
+                List<UIComponent> list = component.getChildren();
+
+                for (int i = 0; i < childCount; i++) {
+                    if ((children[i] = capture(context, list.get(i), true, copier)) == null) {
+                        return null;
+                    }
+                }
+            }
+
+            String[] facetNames = NO_NAMES;
+            Node[] facets = NO_NODES;
+            int facetCount = component.getFacetCount();
+
+            if (facetCount > 0) {
+                facetNames = new String[facetCount];
+                facets = new Node[facetCount];
+                int i = 0;
+
+                for (Entry<String, UIComponent> facet : component.getFacets().entrySet()) {
+                    facetNames[i] = facet.getKey();
+
+                    if ((facets[i++] = capture(context, facet.getValue(), true, copier)) == null) {
+                        return null;
+                    }
+                }
+            }
+
+            return new Node(constructor, state, null, children, facetNames, facets);
+        }
+
+        UIComponent copy(FacesContext context, StateCopier copier) {
+            if (leaf != null) {
+                return leaf.copy();
+            }
+
+            UIComponent component;
+
+            try {
+                component = constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new FacesException(e);
+            }
+
+            component.restoreState(context, copier.copy(state));
+            copyChildrenTo(context, component, copier);
+            return component;
+        }
+
+        void copyChildrenTo(FacesContext context, UIComponent component, StateCopier copier) {
+            if (children.length > 0) {
+                List<UIComponent> list = component.getChildren();
+
+                for (Node child : children) {
+                    list.add(child.copy(context, copier));
+                }
+            }
+
+            if (facets.length > 0) {
+                Map<String, UIComponent> map = component.getFacets();
+
+                for (int i = 0; i < facets.length; i++) {
+                    map.put(facetNames[i], facets[i].copy(context, copier));
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the saved states of the components. The states are captured once into templates, which are independent of
+     * the tree they were saved from, and every copy is a fresh copy of such a template.
+     */
+    private static final class StateCopier {
+
+        private static final Set<Class<?>> IMMUTABLE_CLASSES = Set.of(String.class, Boolean.class, Character.class, Byte.class, Short.class,
+                Integer.class, Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class, Locale.class);
+
+        /**
+         * The expressions referenced by serialized values, which are all captured before the first copy is made.
+         */
+        private final List<Expression> expressions = new ArrayList<>();
+        private final Map<Expression, Integer> expressionIndices = new IdentityHashMap<>();
+
+        /**
+         * @param state the state as the component saved it
+         * @return the template of the given state, which shares nothing mutable with it.
+         * @throws IOException when a value in the state cannot be serialized.
+         */
+        Object capture(Object state) throws IOException {
+            return template(state, new IdentityHashMap<>());
+        }
+
+        /**
+         * @param template the template returned by {@link #capture(Object)}
+         * @return a copy of the template, which shares nothing mutable with any other copy.
+         */
+        Object copy(Object template) {
+            return copy(template, new IdentityHashMap<>());
+        }
+
+        private Object template(Object value, Map<Object, Object> templates) throws IOException {
+            if (isImmutable(value)) {
+                return value;
+            }
+
+            Object template = templates.get(value);
+
+            if (template != null) {
+                return template;
+            }
+
+            if (value instanceof Object[] array) {
+                Object[] arrayTemplate = (Object[]) Array.newInstance(array.getClass().getComponentType(), array.length);
+                templates.put(value, arrayTemplate);
+
+                for (int i = 0; i < array.length; i++) {
+                    arrayTemplate[i] = template(array[i], templates);
+                }
+
+                return arrayTemplate;
+            }
+
+            if (value.getClass() == ArrayList.class) {
+                List<?> list = (List<?>) value;
+                List<Object> listTemplate = new ArrayList<>(list.size());
+                templates.put(value, listTemplate);
+
+                for (Object element : list) {
+                    listTemplate.add(template(element, templates));
+                }
+
+                return listTemplate;
+            }
+
+            if (value.getClass() == HashMap.class) {
+                Map<?, ?> map = (Map<?, ?>) value;
+                Map<Object, Object> mapTemplate = new HashMap<>(Math.max(map.size() * 4 / 3 + 1, 16));
+                templates.put(value, mapTemplate);
+
+                for (Entry<?, ?> entry : map.entrySet()) {
+                    mapTemplate.put(template(entry.getKey(), templates), template(entry.getValue(), templates));
+                }
+
+                return mapTemplate;
+            }
+
+            template = new SerializedValue(serialize(value));
+            templates.put(value, template);
+            return template;
+        }
+
+        private Object copy(Object template, Map<Object, Object> copies) {
+            if (isImmutable(template)) {
+                return template;
+            }
+
+            Object copy = copies.get(template);
+
+            if (copy != null) {
+                return copy;
+            }
+
+            if (template instanceof Object[] array) {
+                Object[] arrayCopy = (Object[]) Array.newInstance(array.getClass().getComponentType(), array.length);
+                copies.put(template, arrayCopy);
+
+                for (int i = 0; i < array.length; i++) {
+                    arrayCopy[i] = copy(array[i], copies);
+                }
+
+                return arrayCopy;
+            }
+
+            if (template instanceof ArrayList<?> list) {
+                List<Object> listCopy = new ArrayList<>(list.size());
+                copies.put(template, listCopy);
+
+                for (Object element : list) {
+                    listCopy.add(copy(element, copies));
+                }
+
+                return listCopy;
+            }
+
+            if (template instanceof HashMap<?, ?> map) {
+                Map<Object, Object> mapCopy = new HashMap<>(Math.max(map.size() * 4 / 3 + 1, 16));
+                copies.put(template, mapCopy);
+
+                for (Entry<?, ?> entry : map.entrySet()) {
+                    mapCopy.put(copy(entry.getKey(), copies), copy(entry.getValue(), copies));
+                }
+
+                return mapCopy;
+            }
+
+            copy = deserialize(((SerializedValue) template).bytes);
+            copies.put(template, copy);
+            return copy;
+        }
+
+        private static boolean isImmutable(Object value) {
+            return value == null || value instanceof Expression || value instanceof Enum || IMMUTABLE_CLASSES.contains(value.getClass());
+        }
+
+        private byte[] serialize(Object value) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes) {
+                {
+                    enableReplaceObject(true);
+                }
+
+                @Override
+                protected Object replaceObject(Object object) {
+                    if (object instanceof Expression expression) {
+                        return new ExpressionReference(expressionIndices.computeIfAbsent(expression, $ -> {
+                            expressions.add(expression);
+                            return expressions.size() - 1;
+                        }));
+                    }
+
+                    return object;
+                }
+            }) {
+                out.writeObject(value);
+            }
+
+            return bytes.toByteArray();
+        }
+
+        private Object deserialize(byte[] bytes) {
+            try (ObjectInputStream in = new ApplicationObjectInputStream(new ByteArrayInputStream(bytes)) {
+                {
+                    enableResolveObject(true);
+                }
+
+                @Override
+                protected Object resolveObject(Object object) {
+                    return object instanceof ExpressionReference reference ? expressions.get(reference.index) : object;
+                }
+            }) {
+                return in.readObject();
+            } catch (IOException | ClassNotFoundException e) {
+                throw new FacesException(e);
+            }
+        }
+    }
+
+    /**
+     * A value of a state which is neither immutable nor an array, map or list, as it is serialized.
+     */
+    private record SerializedValue(byte[] bytes) {
+    }
+
+    /**
+     * Stands in for an expression in a serialized value, so that the expression itself is shared rather than serialized.
+     */
+    private record ExpressionReference(int index) implements Serializable {
+    }
+
+    // TEST: org.glassfish.mojarra.application.view.ViewPrototypeTest
+}
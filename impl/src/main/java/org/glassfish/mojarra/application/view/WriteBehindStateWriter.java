@@ -26,10 +26,13 @@ import java.util.Map;
 import jakarta.faces.application.StateManager;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.context.ResponseWriter;
+import jakarta.faces.render.ResponseStateManager;
 import jakarta.faces.view.ViewDeclarationLanguage;
 
 import org.glassfish.mojarra.RIConstants;
+import org.glassfish.mojarra.application.StateManagerImpl;
 import org.glassfish.mojarra.io.FastStringWriter;
+import org.glassfish.mojarra.renderkit.ResponseStateManagerImpl;
 import org.glassfish.mojarra.util.Util;
 
 /**
@@ -180,17 +183,18 @@ final class WriteBehindStateWriter extends Writer {
      */
     public void flushToWriter() throws IOException {
 
-        // Save the state to a new instance of StringWriter to
-        // avoid multiple serialization steps if the view contains
-        // multiple forms.
         StateManager stateManager = Util.getStateManager(context);
         ResponseWriter origWriter = context.getResponseWriter();
-        StringBuilder stateBuilder = getState(stateManager, origWriter);
         StringBuilder builder = fWriter.getBuffer();
 
+        if (builder.indexOf(RIConstants.SAVESTATE_FIELD_MARKER) != -1) {
+            // Save the state before any of the buffered content goes out, so that a failure to save it doesn't leave a
+            // half written response behind.
+            saveState(stateManager);
+        }
+
         // Begin writing...
         int totalLen = builder.length();
-        int stateLen = stateBuilder.length();
         int pos = 0;
         int tildeIdx = getNextDelimiterIndex(builder, pos);
         while (pos < totalLen) {
@@ -210,28 +214,10 @@ final class WriteBehindStateWriter extends Writer {
                     // at the beginning of pos, if so, write our
                     // state out.
                     if (builder.indexOf(RIConstants.SAVESTATE_FIELD_MARKER, pos) == tildeIdx) {
-                        // buf is effectively zero'd out at this point
-                        int statePos = 0;
-                        while (statePos < stateLen) {
-                            if (stateLen - statePos > bufSize) {
-                                // enough state to fill the buffer
-                                stateBuilder.getChars(statePos, statePos + bufSize, buf, 0);
-                                orig.write(buf);
-                                statePos += bufSize;
-                            } else {
-                                int slen = stateLen - statePos;
-                                stateBuilder.getChars(statePos, stateLen, buf, 0);
-                                orig.write(buf, 0, slen);
-                                statePos += slen;
-                            }
-
-                        }
+                        writeState(stateManager, origWriter);
                         // Push us past the last '~' at the end of the marker
                         pos += len + STATE_MARKER_LEN;
                         tildeIdx = getNextDelimiterIndex(builder, pos);
-
-                        stateBuilder = getState(stateManager, origWriter);
-                        stateLen = stateBuilder.length();
                     } else {
                         pos = tildeIdx;
                         tildeIdx = getNextDelimiterIndex(builder, tildeIdx + 1);
@@ -262,7 +248,40 @@ final class WriteBehindStateWriter extends Writer {
     }
 
     /**
-     * Get the state.
+     * Save the view once, in order to avoid multiple serialization steps if the view contains multiple forms.
+     *
+     * <p>
+     * With the default state managers, the saved state is serialized, compressed and encrypted as well, so that only its
+     * encoding is left to do while the response is written.
+     * </p>
+     *
+     * @param stateManager the state manager.
+     * @throws IOException when an I/O error occurs.
+     */
+    private void saveState(StateManager stateManager) throws IOException {
+        String viewId = context.getViewRoot().getViewId();
+
+        ViewDeclarationLanguage vdl = context.getApplication().getViewHandler().getViewDeclarationLanguage(context, viewId);
+        if (vdl != null) {
+            Map<Object, Object> contextAttributes = context.getAttributes();
+            try {
+                contextAttributes.put(IS_SAVING_STATE, TRUE);
+
+                state = vdl.getStateManagementStrategy(context, viewId)
+                                  .saveView(context);
+            } finally {
+                contextAttributes.remove(IS_SAVING_STATE);
+            }
+        }
+
+        ResponseStateManager responseStateManager = context.getRenderKit().getResponseStateManager();
+        if (stateManager.getClass() == StateManagerImpl.class && responseStateManager instanceof ResponseStateManagerImpl) {
+            state = ((ResponseStateManagerImpl) responseStateManager).prepareState(context, state);
+        }
+    }
+
+    /**
+     * Write the state straight to the original writer, rather than buffering it first.
      *
      * <p>
      * In Faces it is required by the specification that the view state hidden input in each h:form has a unique id. So we
@@ -271,32 +290,12 @@ final class WriteBehindStateWriter extends Writer {
      *
      * @param stateManager the state manager.
      * @param origWriter the original response writer.
-     * @return the state.
      * @throws IOException when an I/O error occurs.
      */
-    private StringBuilder getState(StateManager stateManager, ResponseWriter origWriter) throws IOException {
-        FastStringWriter stateWriter = new FastStringWriter(stateManager.isSavingStateInClient(context) ? bufSize : 128);
-        context.setResponseWriter(origWriter.cloneWithWriter(stateWriter));
-        if (state == null) {
-            String viewId = context.getViewRoot().getViewId();
-
-            ViewDeclarationLanguage vdl = context.getApplication().getViewHandler().getViewDeclarationLanguage(context, viewId);
-            if (vdl != null) {
-                Map<Object, Object> contextAttributes = context.getAttributes();
-                try {
-                    contextAttributes.put(IS_SAVING_STATE, TRUE);
-
-                    state = vdl.getStateManagementStrategy(context, viewId)
-                                      .saveView(context);
-                } finally {
-                    contextAttributes.remove(IS_SAVING_STATE);
-                }
-            }
-        }
+    private void writeState(StateManager stateManager, ResponseWriter origWriter) throws IOException {
+        context.setResponseWriter(origWriter.cloneWithWriter(orig));
         stateManager.writeState(context, state);
         context.setResponseWriter(origWriter);
-
-        return stateWriter.getBuffer();
     }
 
     /**
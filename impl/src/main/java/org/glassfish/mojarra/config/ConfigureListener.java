@@ -73,6 +73,7 @@ import jakarta.websocket.server.ServerEndpointConfig;
 import org.glassfish.mojarra.application.ApplicationAssociate;
 import org.glassfish.mojarra.application.WebappLifecycleListener;
 import org.glassfish.mojarra.el.ELContextImpl;
+import org.glassfish.mojarra.facelets.impl.FaceletWarmUp;
 import org.glassfish.mojarra.push.WebsocketEndpoint;
 import org.glassfish.mojarra.util.FacesLogger;
 import org.glassfish.mojarra.util.MojarraThreadFactory;
@@ -101,6 +102,7 @@ public class ConfigureListener implements ServletRequestListener, HttpSessionLis
             "Context param ''{0}'' must represent a number of 1 or greater, but was: ''{1}''.";
 
     private ScheduledThreadPoolExecutor webResourcePool;
+    private FaceletWarmUp faceletWarmUp;
 
     protected WebappLifecycleListener webAppListener;
     protected WebConfiguration webConfig;
@@ -247,6 +249,14 @@ public class ConfigureListener implements ServletRequestListener, HttpSessionLis
             webConfig.doPostBringupActions();
             configManager.publishPostConfigEvent();
 
+            if (MojarraContextParam.FACELETS_WARM_UP.isEnabled(initFacesContext)) {
+                faceletWarmUp = FaceletWarmUp.start(initFacesContext);
+
+                if (faceletWarmUp != null) {
+                    faceletWarmUp.await(MojarraContextParam.FACELETS_WARM_UP_TIMEOUT.getLong(servletContext));
+                }
+            }
+
         } catch (Throwable t) {
             LOGGER.log(SEVERE, "Critical error during deployment: ", t);
             caughtThrowable = t;
@@ -325,6 +335,11 @@ public class ConfigureListener implements ServletRequestListener, HttpSessionLis
                 webResourcePool.shutdownNow();
             }
 
+            if (faceletWarmUp != null) {
+                faceletWarmUp.cancel();
+                faceletWarmUp = null;
+            }
+
             if (LOGGER.isLoggable(FINE)) {
                 LOGGER.log(FINE, "ConfigureListener.contextDestroyed({0})", context.getServletContextName());
             }
@@ -72,6 +72,8 @@ public enum MojarraContextParam implements ContextParam {
 
     CLIENT_STATE_WRITE_BUFFER_SIZE("clientStateWriteBufferSize", 8192),
 
+    COMPACT_CLIENT_STATE("compactClientState", false),
+
     COMPRESSABLE_MIME_TYPES("compressableMimeTypes", EMPTY_STRING_ARRAY, Separator.COMMA),
 
     COMPRESS_VIEW_STATE("compressViewState", true),
@@ -107,6 +109,8 @@ public enum MojarraContextParam implements ContextParam {
 
     ENABLE_CLIENT_STATE_DEBUGGING("enableClientStateDebugging", false),
 
+    ENABLE_CLIENT_STATE_DICTIONARY("enableClientStateDictionary", false),
+
     /**
      * Also enabled when {@code web.xml} declares {@code <distributable/>}, which no context parameter can observe.
      *
@@ -118,10 +122,49 @@ public enum MojarraContextParam implements ContextParam {
 
     ENABLE_SCRIPTS_IN_ATTRIBUTE_VALUES("enableScriptsInAttributeValues", true),
 
+    /**
+     * Only honored by the default {@link org.glassfish.mojarra.renderkit.SessionViewStateStore}.
+     */
+    ENABLE_SERVER_STATE_DELTAS("enableServerStateDeltas", false),
+
     ENABLE_TRANSITION_TIME_NO_OP_FLASH("enableTransitionTimeNoOpFlash", false),
 
+    ENABLE_UTF8_RESPONSE_OUTPUT_STREAM("enableUtf8ResponseOutputStream", false),
+
     ENABLE_VIEW_STATE_ID_RENDERING("enableViewStateIdRendering", true),
 
+    /**
+     * Maximum total weight of each facelet cache, counted in compilation units, that is, in tags, namespace declarations
+     * and runs of consecutive text.
+     *
+     * @see org.glassfish.mojarra.util.BoundedConcurrentCache
+     */
+    FACELET_CACHE_MAX_WEIGHT("faceletCacheMaxWeight", -1L),
+
+    /**
+     * Maximum amount of value expressions shared between view builds, where 0, the default, disables sharing them.
+     *
+     * @see org.glassfish.mojarra.facelets.el.ExpressionCache
+     */
+    FACELETS_EXPRESSION_CACHE_SIZE("faceletsExpressionCacheSize", 0),
+
+    /**
+     * Only has effect when {@link FacesContextParam#FACELETS_REFRESH_PERIOD} is positive.
+     */
+    FACELETS_REFRESH_WATCH("faceletsRefreshWatch", false),
+
+    /**
+     * Compiles every facelet of the application at startup.
+     *
+     * @see org.glassfish.mojarra.facelets.impl.FaceletWarmUp
+     */
+    FACELETS_WARM_UP("faceletsWarmUp", false),
+
+    /**
+     * Amount of milliseconds startup waits for {@link #FACELETS_WARM_UP} before leaving the remainder to the background.
+     */
+    FACELETS_WARM_UP_TIMEOUT("faceletsWarmUpTimeout", 0L),
+
     FORCE_ALWAYS_WRITE_FLASH_COOKIE("forceAlwaysWriteFlashCookie", false),
 
     FORCE_LOAD_CONFIGURATION("forceLoadConfiguration", false),
@@ -130,6 +173,12 @@ public enum MojarraContextParam implements ContextParam {
 
     INJECTION_PROVIDER("injectionProvider", ""),
 
+    /**
+     * Whether the children of a component tag with a <code>lazyBuild="true"</code> attribute are built when first needed.
+     * Only a panel other than a panel grid, a form and a naming container support the attribute.
+     */
+    LAZY_BUILD("lazyBuild", false),
+
     NUMBER_OF_ACTIVE_VIEW_MAPS("numberOfActiveViewMaps", 25),
 
     NUMBER_OF_CONCURRENT_FLASH_USERS("numberOfConcurrentFlashUsers", 5000),
@@ -160,6 +209,12 @@ public enum MojarraContextParam implements ContextParam {
 
     REGISTER_CONVERTER_PROPERTY_EDITORS("registerConverterPropertyEditors", false),
 
+    /**
+     * Maximum total size in bytes of the static resource bodies served from memory, where 0 disables serving them from
+     * memory. Development does not cache them, so that a changed resource is served as is.
+     */
+    RESOURCE_BODY_CACHE_MAX_WEIGHT("resourceBodyCacheMaxWeight", 10485760L, projectStage -> projectStage == ProjectStage.Development ? 0L : 10485760L),
+
     RESOURCE_BUFFER_SIZE("resourceBufferSize", 2048),
 
     /**
@@ -174,8 +229,28 @@ public enum MojarraContextParam implements ContextParam {
 
     USE_FACELETS_ID("useFaceletsID", false),
 
+    /**
+     * Maximum amount of views whose component tree is kept as the prototype of their next builds, where 0 disables it.
+     * Views with an {@code f:metadata} facet, and views built with a tag handler outside this implementation other than
+     * the plain component, converter, validator and behavior handlers, are always built from their facelet.
+     */
+    VIEW_PROTOTYPE_CACHE_SIZE("viewPrototypeCacheSize", 0),
+
     VIEW_STATE_AUTOCOMPLETE("viewStateAutocomplete", "one-time-code"),
 
+    /**
+     * Fully qualified class name of the {@code org.glassfish.mojarra.spi.ViewStateStore} implementation which keeps the view
+     * states when the state saving method is server, such as {@code org.glassfish.mojarra.renderkit.MappedFileViewStateStore}.
+     * When empty, or when it does not denote a usable store, the {@code org.glassfish.mojarra.renderkit.SessionViewStateStore} is
+     * used, which keeps them in the session.
+     */
+    VIEW_STATE_STORE("viewStateStore", ""),
+
+    /**
+     * How large the file of {@code org.glassfish.mojarra.renderkit.MappedFileViewStateStore} is, in megabytes.
+     */
+    VIEW_STATE_STORE_FILE_SIZE("viewStateStoreFileSize", 256),
+
     /**
      * How long a websocket may stay idle before it is closed, in milliseconds, where zero means it never is.
      */
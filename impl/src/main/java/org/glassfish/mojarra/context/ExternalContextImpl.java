@@ -17,6 +17,7 @@
 
 package org.glassfish.mojarra.context;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.glassfish.mojarra.RIConstants.PUSH_RESOURCE_URLS_KEY_NAME;
 import static org.glassfish.mojarra.context.UrlBuilder.PROTOCOL_SEPARATOR;
 import static org.glassfish.mojarra.context.UrlBuilder.WEBSOCKET_PROTOCOL;
@@ -72,6 +73,7 @@ import org.glassfish.mojarra.util.CollectionsUtils;
 import org.glassfish.mojarra.util.FacesLogger;
 import org.glassfish.mojarra.util.MessageUtils;
 import org.glassfish.mojarra.util.MojarraVersion;
+import org.glassfish.mojarra.util.ObjectPool;
 import org.glassfish.mojarra.util.TypedCollections;
 import org.glassfish.mojarra.util.Util;
 
@@ -106,6 +108,7 @@ public class ExternalContextImpl extends ExternalContext {
 
     private Flash flash;
     private final boolean distributable;
+    private final boolean utf8ResponseOutputStream;
 
     private enum PREDEFINED_COOKIE_PROPERTIES {
         domain, maxAge, path, secure, httpOnly, attribute;
@@ -152,6 +155,7 @@ public class ExternalContextImpl extends ExternalContext {
         }
 
         distributable = MojarraContextParam.ENABLE_DISTRIBUTABLE.isEnabled(servletContext);
+        utf8ResponseOutputStream = MojarraContextParam.ENABLE_UTF8_RESPONSE_OUTPUT_STREAM.isEnabled(servletContext);
 
     }
 
@@ -819,11 +823,30 @@ public class ExternalContextImpl extends ExternalContext {
     @Override
     public Writer getResponseOutputWriter() throws IOException {
         if (responseOutputWriter == null) {
-            responseOutputWriter = new ResponseOutputWriter(response.getWriter());
+            responseOutputWriter = createResponseOutputWriter();
         }
         return responseOutputWriter;
     }
 
+    /**
+     * Encode a UTF-8 response ourselves straight to the output stream when so configured, as the writer of the container
+     * would only encode it once more. Anything which already obtained the writer of the container, such as a filter,
+     * rules the output stream out.
+     */
+    private ResponseOutputWriter createResponseOutputWriter() throws IOException {
+        if (utf8ResponseOutputStream && UTF_8.name().equalsIgnoreCase(response.getCharacterEncoding())) {
+            try {
+                return new Utf8ResponseOutputWriter(response.getOutputStream());
+            } catch (IllegalStateException e) {
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Response writer already obtained, not rendering to the response output stream", e);
+                }
+            }
+        }
+
+        return new ContainerResponseOutputWriter(response.getWriter());
+    }
+
     /**
      * Empty the cached {@link ResponseOutputWriter} without flushing it. Both {@code response.reset()} and
      * {@code response.sendError()} only clear the container buffer, so output still buffered in the wrapping
@@ -1057,6 +1080,7 @@ public class ExternalContextImpl extends ExternalContext {
             } catch (IOException ignored) {
                 // Best-effort at teardown; a genuine write failure surfaces via the container.
             }
+            responseOutputWriter.release();
             responseOutputWriter = null;
         }
 
@@ -1214,22 +1238,46 @@ public class ExternalContextImpl extends ExternalContext {
 
     /**
      * Buffering writer which coalesces the many small render-time writes into larger chunks before handing them to the
-     * container's writer, and which can additionally discard whatever is still buffered.
+     * container, and which can additionally discard whatever is still buffered.
      * <p>
      * The discard is what {@link BufferedWriter} cannot offer: aborting a partially rendered response requires
      * dropping the output that has not reached the container yet, as {@code response.reset()} only clears the
-     * container's own buffer. Output already drained to the container's writer is beyond reach, which matches the
+     * container's own buffer. Output already drained to the container is beyond reach, which matches the
      * container's own semantics -- once it is committed it can no longer be taken back.
      */
-    private static class ResponseOutputWriter extends Writer {
+    private abstract static class ResponseOutputWriter extends Writer {
+
+        static final int BUFFER_SIZE = 8192;
+
+        /**
+         * Drop what is still buffered, so that it never reaches the container.
+         */
+        abstract void discard();
+
+        /**
+         * Hand what is still buffered to the container, without flushing the container.
+         */
+        abstract void drain() throws IOException;
+
+        /**
+         * Return the resources of this writer at the end of the request, after it has been drained.
+         */
+        void release() {
+            // NOOP
+        }
+
+    }
 
-        private static final int BUFFER_SIZE = 8192;
+    /**
+     * Buffers characters for the writer of the container.
+     */
+    private static class ContainerResponseOutputWriter extends ResponseOutputWriter {
 
         private final Writer wrapped;
         private final char[] buffer = new char[BUFFER_SIZE];
         private int count;
 
-        private ResponseOutputWriter(Writer wrapped) {
+        private ContainerResponseOutputWriter(Writer wrapped) {
             this.wrapped = wrapped;
         }
 
@@ -1277,20 +1325,178 @@ public class ExternalContextImpl extends ExternalContext {
             wrapped.close();
         }
 
+        @Override
+        void discard() {
+            count = 0;
+        }
+
+        @Override
+        void drain() throws IOException {
+            if (count > 0) {
+                wrapped.write(buffer, 0, count);
+                count = 0;
+            }
+        }
+
+    }
+
+    /**
+     * Encodes characters as UTF-8 into a pooled byte buffer for the output stream of the container, which skips the
+     * <code>CharsetEncoder</code> behind the writer of the container. Like that encoder it replaces an unpaired surrogate
+     * with <code>?</code>.
+     */
+    private static class Utf8ResponseOutputWriter extends ResponseOutputWriter {
+
+        private static final ObjectPool<byte[]> BUFFERS = new ObjectPool<>(Runtime.getRuntime().availableProcessors() * 2,
+                () -> new byte[BUFFER_SIZE], $ -> {});
+
+        /**
+         * The longest encoding of a single character, which is a surrogate pair.
+         */
+        private static final int MAX_BYTES_PER_CHAR = 4;
+
+        private final OutputStream wrapped;
+        private byte[] buffer;
+        private int count;
+
         /**
-         * Drop what is still buffered, so that it never reaches the container's writer.
+         * The high surrogate of a pair whose low surrogate is yet to be written, or <code>0</code>.
          */
-        private void discard() {
+        private char highSurrogate;
+
+        private Utf8ResponseOutputWriter(OutputStream wrapped) {
+            this.wrapped = wrapped;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            byte[] buffer = buffer();
+
+            if (c < 0x80 && highSurrogate == 0 && count < BUFFER_SIZE) {
+                buffer[count++] = (byte) c;
+            } else {
+                encode(buffer, (char) c);
+            }
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            byte[] buffer = buffer();
+
+            for (int end = offset + length; offset < end; offset++) {
+                char c = chars[offset];
+
+                if (c < 0x80 && highSurrogate == 0 && count < BUFFER_SIZE) {
+                    buffer[count++] = (byte) c;
+                } else {
+                    encode(buffer, c);
+                }
+            }
+        }
+
+        @Override
+        public void write(String string, int offset, int length) throws IOException {
+            byte[] buffer = buffer();
+
+            for (int end = offset + length; offset < end; offset++) {
+                char c = string.charAt(offset);
+
+                if (c < 0x80 && highSurrogate == 0 && count < BUFFER_SIZE) {
+                    buffer[count++] = (byte) c;
+                } else {
+                    encode(buffer, c);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            drain();
+            wrapped.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (highSurrogate != 0) {
+                highSurrogate = 0;
+                write('?');
+            }
+
+            drain();
+            wrapped.close();
+        }
+
+        @Override
+        void discard() {
             count = 0;
+            highSurrogate = 0;
         }
 
-        private void drain() throws IOException {
+        @Override
+        void drain() throws IOException {
             if (count > 0) {
                 wrapped.write(buffer, 0, count);
                 count = 0;
             }
         }
 
+        @Override
+        void release() {
+            if (buffer != null) {
+                BUFFERS.release(buffer);
+                buffer = null;
+                count = 0;
+            }
+        }
+
+        /**
+         * Acquired lazily, so that a write after {@link #release()} still works.
+         */
+        private byte[] buffer() {
+            if (buffer == null) {
+                buffer = BUFFERS.acquire();
+            }
+
+            return buffer;
+        }
+
+        private void encode(byte[] buffer, char c) throws IOException {
+            if (count > BUFFER_SIZE - MAX_BYTES_PER_CHAR) {
+                drain();
+            }
+
+            if (highSurrogate != 0) {
+                char high = highSurrogate;
+                highSurrogate = 0;
+
+                if (Character.isLowSurrogate(c)) {
+                    int codePoint = Character.toCodePoint(high, c);
+                    buffer[count++] = (byte) (0xF0 | codePoint >> 18);
+                    buffer[count++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    buffer[count++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    buffer[count++] = (byte) (0x80 | codePoint & 0x3F);
+                    return;
+                }
+
+                buffer[count++] = '?';
+            }
+
+            if (c < 0x80) {
+                buffer[count++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[count++] = (byte) (0xC0 | c >> 6);
+                buffer[count++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c)) {
+                highSurrogate = c;
+            } else if (Character.isLowSurrogate(c)) {
+                buffer[count++] = '?';
+            } else {
+                buffer[count++] = (byte) (0xE0 | c >> 12);
+                buffer[count++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[count++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+
     }
 
 }
@@ -40,6 +40,7 @@ import java.util.logging.Logger;
 import jakarta.faces.FacesException;
 import jakarta.faces.FactoryFinder;
 import jakarta.faces.application.ResourceHandler;
+import jakarta.faces.application.StateManager;
 import jakarta.faces.component.NamingContainer;
 import jakarta.faces.component.UIComponent;
 import jakarta.faces.component.UIViewRoot;
@@ -62,6 +63,7 @@ import jakarta.faces.render.RenderKit;
 import jakarta.faces.render.RenderKitFactory;
 
 import org.glassfish.mojarra.RIConstants;
+import org.glassfish.mojarra.application.StateManagerImpl;
 import org.glassfish.mojarra.component.visit.PartialVisitContext;
 import org.glassfish.mojarra.renderkit.RenderKitUtils.PredefinedPostbackParameter;
 import org.glassfish.mojarra.util.FacesLogger;
@@ -503,8 +505,13 @@ public class PartialViewContextImpl extends PartialViewContext {
         String viewStateId = Util.getViewStateId(context);
 
         writer.startUpdate(viewStateId);
-        String state = context.getApplication().getStateManager().getViewState(context);
-        writer.write(state);
+        StateManager stateManager = context.getApplication().getStateManager();
+        if (stateManager.getClass() == StateManagerImpl.class) {
+            // Stream the state into the partial response rather than building it as a String first.
+            ((StateManagerImpl) stateManager).writeViewState(context, writer);
+        } else {
+            writer.write(stateManager.getViewState(context));
+        }
         writer.endUpdate();
 
         ClientWindow window = context.getExternalContext().getClientWindow();
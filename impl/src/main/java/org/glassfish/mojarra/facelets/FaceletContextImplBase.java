@@ -25,6 +25,8 @@ import jakarta.faces.view.facelets.Facelet;
 import jakarta.faces.view.facelets.FaceletContext;
 import jakarta.faces.view.facelets.FaceletException;
 
+import org.glassfish.mojarra.facelets.el.ExpressionCache;
+
 /**
  *
  * @author edburns
@@ -68,6 +70,28 @@ public abstract class FaceletContextImplBase extends FaceletContext {
         return generateUniqueId(base);
     }
 
+    /**
+     * Returns the cache through which tag handlers applying under this context create their value expressions, so that
+     * the next build of the same view reuses them.
+     *
+     * @return the expression cache, or {@code null} when value expressions are not shared between view builds
+     */
+    public ExpressionCache getExpressionCache() {
+        return null;
+    }
+
+    /**
+     * Returns a context through which tag handlers can be applied after this context moved on, such as when a subtree
+     * whose build was deferred is built. It sees the variables and template clients this context sees now, and generates
+     * unique ids within the given scope, so that they depend on neither when nor in which order such subtrees are built.
+     *
+     * @param idScope a unique id of this context, which the ids the returned context generates are derived from
+     * @return the scoped context, or {@code null} when building a subtree later on is unsupported
+     */
+    public FaceletContextImplBase createScopedContext(String idScope) {
+        return null;
+    }
+
     /**
      * Push the passed TemplateClient onto the stack for Definition Resolution
      *
@@ -16,6 +16,9 @@
 
 package org.glassfish.mojarra.facelets;
 
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.component.UniqueIdVendor;
+import jakarta.faces.context.FacesContext;
 import jakarta.faces.view.facelets.Facelet;
 import jakarta.faces.view.facelets.FaceletContext;
 
@@ -27,12 +30,19 @@ import jakarta.faces.view.facelets.FaceletContext;
  * array indexed per tag, so the same id costs an array increment. The slot belongs to the {@link Facelet} it was
  * reserved from, so it is re-reserved whenever a handler is applied from a different one.
  * <p>
+ * The id a tag generates the first time it is applied under an include path is the same string instance every build,
+ * as the context takes it from the first ids its Facelet caches per path. The component id the view root derives from
+ * it is then the same as well, so the slot remembers the last one and hands it out again instead of concatenating it
+ * anew for every build. Any other id, such as one from a tag repeated by <code>c:forEach</code>, misses and is
+ * derived as before.
+ * <p>
  * A handler holds one of these per instance and is shared across concurrent builds, hence the volatile: a stale read
  * only costs a re-reservation, never a wrong id.
  */
 public final class UniqueIdSlot {
 
     private volatile Reservation reservation;
+    private volatile ComponentId componentId;
 
     /**
      * Returns the next unique id for {@code tagId}, through the reserved slot where the context supports it and
@@ -65,6 +75,31 @@ public final class UniqueIdSlot {
         return context.generateUniqueId(tagId, current.owner, current.slot);
     }
 
+    /**
+     * Returns the component id {@code vendor} creates from {@code markId}, which is the last one created from the same
+     * instance of the mark id when the vendor is the view root. That one derives the id from the mark id alone, while
+     * any other vendor may count the ids it creates, and is always asked.
+     *
+     * @param context the faces context
+     * @param vendor the unique id vendor of the component
+     * @param markId the id generated for the tag, which seeds the component id
+     * @return the component id
+     */
+    public String createComponentId(FacesContext context, UniqueIdVendor vendor, String markId) {
+        if (vendor.getClass() != UIViewRoot.class) {
+            return vendor.createUniqueId(context, markId);
+        }
+
+        ComponentId current = componentId;
+
+        if (current == null || current.markId != markId) {
+            current = new ComponentId(markId, vendor.createUniqueId(context, markId));
+            componentId = current;
+        }
+
+        return current.id;
+    }
+
     private static final class Reservation {
 
         private final Facelet owner;
@@ -75,4 +110,15 @@ public final class UniqueIdSlot {
             this.slot = slot;
         }
     }
+
+    private static final class ComponentId {
+
+        private final String markId;
+        private final String id;
+
+        private ComponentId(String markId, String id) {
+            this.markId = markId;
+            this.id = id;
+        }
+    }
 }
@@ -62,8 +62,12 @@ final class CompilationManager {
 
     private final List<CompilationUnit> units;
 
+    private final List<TagUnit> tagUnits = new ArrayList<>();
+
     private int tagId;
 
+    private int unitCount;
+
     private boolean finished;
 
     private final String alias;
@@ -116,6 +120,15 @@ final class CompilationManager {
         return alias;
     }
 
+    /**
+     * @param value a string read from the source, such as the name or value of an attribute
+     * @return the equal string shared by all facelets of the compiler
+     * @see Compiler#getStringInterner()
+     */
+    public String intern(String value) {
+        return compiler.getStringInterner().intern(value);
+    }
+
     public FaceletsConfiguration getFaceletsConfiguration() {
         return faceletsConfig;
     }
@@ -142,7 +155,7 @@ final class CompilationManager {
         if (currentUnit() instanceof TextUnit) {
             unit = (TextUnit) currentUnit();
         } else {
-            unit = new TextUnit(alias, nextTagId());
+            unit = new TextUnit(alias, nextTagId(), compiler.getStringInterner());
             startUnit(unit);
         }
         unit.writeInstruction(value);
@@ -163,7 +176,7 @@ final class CompilationManager {
         if (currentUnit() instanceof TextUnit) {
             unit = (TextUnit) currentUnit();
         } else {
-            unit = new TextUnit(alias, nextTagId());
+            unit = new TextUnit(alias, nextTagId(), compiler.getStringInterner());
             startUnit(unit);
         }
         unit.write(value);
@@ -187,7 +200,7 @@ final class CompilationManager {
         if (currentUnit() instanceof TextUnit) {
             unit = (TextUnit) currentUnit();
         } else {
-            unit = new TextUnit(alias, nextTagId());
+            unit = new TextUnit(alias, nextTagId(), compiler.getStringInterner());
             startUnit(unit);
         }
 
@@ -273,7 +286,7 @@ final class CompilationManager {
             if (currentUnit() instanceof TextUnit) {
                 unit = (TextUnit) currentUnit();
             } else {
-                unit = new TextUnit(alias, nextTagId());
+                unit = new TextUnit(alias, nextTagId(), compiler.getStringInterner());
                 startUnit(unit);
             }
             unit.startTag(t);
@@ -350,6 +363,28 @@ final class CompilationManager {
         return units.get(0).createFaceletHandler();
     }
 
+    /**
+     * @return the amount of compilation units started so far, one per tag, per namespace declaration and per run of
+     * consecutive text, as a measure of the size of the handlers created from them.
+     */
+    public int getUnitCount() {
+        return unitCount;
+    }
+
+    /**
+     * @return whether every tag was compiled into a handler known to flag a build which may not be copied, see
+     * {@link TagUnit#isCloneable()}. Only meaningful once {@link #createFaceletHandler()} was called.
+     */
+    public boolean isCloneable() {
+        for (TagUnit tagUnit : tagUnits) {
+            if (!tagUnit.isCloneable()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     private CompilationUnit currentUnit() {
         if (!units.isEmpty()) {
             return units.get(units.size() - 1);
@@ -385,6 +420,12 @@ final class CompilationManager {
 
         currentUnit().addChild(unit);
         units.add(unit);
+        unitCount++;
+
+        if (unit instanceof TagUnit tagUnit) {
+            tagUnits.add(tagUnit);
+        }
+
         unit.startNotify(this);
     }
 
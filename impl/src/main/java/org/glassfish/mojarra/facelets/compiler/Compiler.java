@@ -36,6 +36,7 @@ import org.glassfish.mojarra.facelets.tag.CompositeTagLibrary;
 import org.glassfish.mojarra.facelets.tag.TagLibrary;
 import org.glassfish.mojarra.facelets.util.ReflectionUtil;
 import org.glassfish.mojarra.util.FacesLogger;
+import org.glassfish.mojarra.util.StringInterner;
 import org.glassfish.mojarra.util.Util;
 
 /**
@@ -66,6 +67,8 @@ public abstract class Compiler {
 
     private final Map<String, String> features = new HashMap<>();
 
+    private final StringInterner stringInterner = new StringInterner();
+
     /**
      *
      */
@@ -81,10 +84,23 @@ public abstract class Compiler {
 
     public final FaceletHandler metadataCompile(URL src, String alias) throws IOException {
 
-        return doMetadataCompile(src, alias);
+        return doMetadataCompile(src, alias, false);
+    }
+
+    /**
+     * @param src the URL of the view
+     * @param alias the alias of the view
+     * @param compileFacelet whether the full facelet of the view is about to be compiled as well, so that it may be
+     * compiled along with the metadata facelet
+     * @return the handler of the metadata facelet of the view
+     * @throws IOException when the view cannot be read
+     */
+    public final FaceletHandler metadataCompile(URL src, String alias, boolean compileFacelet) throws IOException {
+
+        return doMetadataCompile(src, alias, compileFacelet);
     }
 
-    protected abstract FaceletHandler doMetadataCompile(URL src, String alias) throws IOException;
+    protected abstract FaceletHandler doMetadataCompile(URL src, String alias, boolean compileFacelet) throws IOException;
 
     protected abstract FaceletHandler doCompile(URL src, String alias) throws IOException;
 
@@ -183,4 +199,12 @@ public abstract class Compiler {
     public final void setValidating(boolean validating) {
         this.validating = validating;
     }
+
+    /**
+     * @return the pool of strings shared by all facelets this compiler compiles, such as their literal text and the names
+     * and values of their tag attributes, which templates, includes and composite components repeat over and over.
+     */
+    public final StringInterner getStringInterner() {
+        return stringInterner;
+    }
 }
@@ -25,17 +25,32 @@ import jakarta.faces.view.facelets.FaceletContext;
 import jakarta.faces.view.facelets.FaceletHandler;
 
 import org.glassfish.mojarra.RIConstants;
+import org.glassfish.mojarra.facelets.tag.TagHandlerImpl;
 
 public class EncodingHandler implements FaceletHandler {
 
     private final FaceletHandler next;
     private final String encoding;
     private final CompilationMessageHolder messageHolder;
+    private final int weight;
+    private final boolean cloneable;
 
     public EncodingHandler(FaceletHandler next, String encoding, CompilationMessageHolder messageHolder) {
+        this(next, encoding, messageHolder, 1, false);
+    }
+
+    /**
+     * @param weight the amount of compilation units the handlers were created from, see {@link #getWeight()}
+     * @param cloneable whether all handlers are known to flag a build which may not be copied, else every build which
+     * applies them is flagged as such
+     * @since 5.0
+     */
+    public EncodingHandler(FaceletHandler next, String encoding, CompilationMessageHolder messageHolder, int weight, boolean cloneable) {
         this.next = next;
         this.encoding = encoding;
         this.messageHolder = messageHolder;
+        this.weight = weight;
+        this.cloneable = cloneable;
     }
 
     @Override
@@ -43,6 +58,9 @@ public class EncodingHandler implements FaceletHandler {
         FacesContext context = ctx.getFacesContext();
         Map<Object, Object> ctxAttributes = context.getAttributes();
         ctxAttributes.put("facelets.compilationMessages", messageHolder);
+        if (!cloneable) {
+            TagHandlerImpl.markUncloneableBuild(ctx);
+        }
         next.apply(ctx, parent);
         ctxAttributes.remove("facelets.compilationMessages");
         messageHolder.processCompilationMessages(ctx.getFacesContext());
@@ -51,6 +69,15 @@ public class EncodingHandler implements FaceletHandler {
         }
     }
 
+    /**
+     * @return the size of the compiled facelet, counted in the tags, text blocks and instructions it was compiled from,
+     * which weighs it in a bounded facelet cache.
+     * @since 5.0
+     */
+    public int getWeight() {
+        return weight;
+    }
+
     public static CompilationMessageHolder getCompilationMessageHolder(FaceletContext ctx) {
 
         return (CompilationMessageHolder) ctx.getFacesContext().getAttributes().get("facelets.compilationMessages");
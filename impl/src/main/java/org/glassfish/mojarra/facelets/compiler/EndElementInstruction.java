@@ -62,6 +62,10 @@ final class EndElementInstruction implements Instruction {
         return true;
     }
 
+    String getElement() {
+        return element;
+    }
+
     // --------------------------------------------------------- Private Methods
 
     private void warnUnhandledResources(FacesContext ctx, String target) {
@@ -0,0 +1,516 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets.compiler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.glassfish.mojarra.util.FacesLogger;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * <p>
+ * The facelets of an application parsed ahead of time by {@link FaceletPrecompiler}, which {@link SAXCompiler} compiles
+ * from rather than parsing the source again, as long as the source did not change since.
+ * </p>
+ *
+ * <p>
+ * Per facelet, the archive holds the SAX events which parsing its source yields, along with the SHA-256 hash of the
+ * source. Replaying these events into the compilation handler compiles the facelet exactly as parsing it would, with
+ * the tag libraries, decorators and facelets processing configuration of the running application, which is why the
+ * parse rather than the resulting handler tree is archived. The handler tree holds expressions and tag handlers created
+ * by the running application, which cannot be serialized at build time.
+ * </p>
+ *
+ * @since 5.0
+ */
+final class FaceletArchive {
+
+    private static final Logger LOGGER = FacesLogger.FACELETS_COMPILER.getLogger();
+
+    /**
+     * The name of the resource which {@link SAXCompiler} loads the archive from.
+     */
+    static final String RESOURCE_NAME = "META-INF/org.glassfish.mojarra.facelets.archive";
+
+    private static final int MAGIC = 0x4d464131; // MFA1
+    private static final int VERSION = 1;
+
+    private static final String DEFAULT_DTD = "org/glassfish/mojarra/xhtml/default.dtd";
+
+    private static final byte END = 0;
+    private static final byte START_DOCUMENT = 1;
+    private static final byte END_DOCUMENT = 2;
+    private static final byte START_DTD = 3;
+    private static final byte END_DTD = 4;
+    private static final byte START_PREFIX_MAPPING = 5;
+    private static final byte END_PREFIX_MAPPING = 6;
+    private static final byte START_ELEMENT = 7;
+    private static final byte END_ELEMENT = 8;
+    private static final byte CHARACTERS = 9;
+    private static final byte IGNORABLE_WHITESPACE = 10;
+    private static final byte COMMENT = 11;
+    private static final byte START_CDATA = 12;
+    private static final byte END_CDATA = 13;
+    private static final byte PROCESSING_INSTRUCTION = 14;
+
+    private final Map<String, Entry> entries;
+
+    // ------------------------------------------------------------ Constructors
+
+    FaceletArchive(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param loader the class loader of the application
+     * @return the archive of the application, or <code>null</code> if it has none or it cannot be read
+     */
+    static FaceletArchive load(ClassLoader loader) {
+        URL url = loader.getResource(RESOURCE_NAME);
+
+        if (url == null) {
+            return null;
+        }
+
+        try (InputStream in = url.openStream()) {
+            FaceletArchive archive = read(in);
+
+            if (LOGGER.isLoggable(FINE)) {
+                LOGGER.log(FINE, "Loaded {0} precompiled facelets from {1}", new Object[] { archive.entries.size(), url });
+            }
+
+            return archive;
+        } catch (IOException e) {
+            if (LOGGER.isLoggable(WARNING)) {
+                LOGGER.log(WARNING, "Ignoring precompiled facelets " + url + " which cannot be read", e);
+            }
+
+            return null;
+        }
+    }
+
+    static FaceletArchive read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new GZIPInputStream(in));
+
+        if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+            throw new IOException("Unsupported facelet archive format");
+        }
+
+        int size = data.readInt();
+        Map<String, Entry> entries = new HashMap<>(size * 2);
+
+        for (int i = 0; i < size; i++) {
+            String alias = data.readUTF();
+            byte[] hash = data.readNBytes(data.readInt());
+            boolean doctype = data.readBoolean();
+            byte[] events = data.readNBytes(data.readInt());
+            entries.put(alias, new Entry(hash, doctype, events));
+        }
+
+        return new FaceletArchive(entries);
+    }
+
+    void write(OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        DataOutputStream data = new DataOutputStream(gzip);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(entries.size());
+
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            Entry value = entry.getValue();
+            data.writeUTF(entry.getKey());
+            data.writeInt(value.hash.length);
+            data.write(value.hash);
+            data.writeBoolean(value.doctype);
+            data.writeInt(value.events.length);
+            data.write(value.events);
+        }
+
+        data.flush();
+        gzip.finish();
+    }
+
+    /**
+     * @param alias the alias of a facelet, which is its path within the web application
+     * @return the archived facelet, or <code>null</code> if there is none
+     */
+    Entry getEntry(String alias) {
+        return entries.get(alias);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Parses the given facelet source the way {@link SAXCompiler} does, without validation.
+     *
+     * @param source the facelet source
+     * @return the archived facelet
+     * @throws SAXException if the source is not well formed
+     */
+    static Entry record(byte[] source) throws IOException, SAXException {
+        Recorder recorder = new Recorder();
+
+        try {
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
+            factory.setFeature("http://xml.org/sax/features/validation", false);
+            factory.setValidating(false);
+            SAXParser parser = factory.newSAXParser();
+            XMLReader reader = parser.getXMLReader();
+            reader.setProperty("http://xml.org/sax/properties/lexical-handler", recorder);
+            parser.parse(new ByteArrayInputStream(source), recorder);
+        } catch (ParserConfigurationException e) {
+            throw new SAXException(e);
+        }
+
+        return new Entry(hash(source), recorder.doctype, recorder.finish());
+    }
+
+    static byte[] hash(byte[] source) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(source);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * A facelet in the archive.
+     */
+    static final class Entry {
+
+        private final byte[] hash;
+        private final boolean doctype;
+        private final byte[] events;
+
+        Entry(byte[] hash, boolean doctype, byte[] events) {
+            this.hash = hash;
+            this.doctype = doctype;
+            this.events = events;
+        }
+
+        /**
+         * @param source the current source of the facelet
+         * @return whether this entry was recorded from the same source
+         */
+        boolean isRecordedFrom(byte[] source) {
+            return MessageDigest.isEqual(hash, hash(source));
+        }
+
+        /**
+         * @return whether the source declares a DOCTYPE, which a parser may be configured to reject
+         */
+        boolean hasDoctype() {
+            return doctype;
+        }
+
+        /**
+         * Sends the events of parsing the source to the given handler, as the SAX parser would.
+         *
+         * @param handler the handler of the content and lexical events
+         * @throws SAXException if the handler throws it
+         */
+        <H extends ContentHandler & LexicalHandler> void replay(H handler) throws SAXException {
+            ReplayLocator locator = new ReplayLocator();
+            handler.setDocumentLocator(locator);
+
+            try {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(events));
+
+                for (byte type = in.readByte(); type != END; type = in.readByte()) {
+                    locator.lineNumber = in.readInt();
+                    locator.columnNumber = in.readInt();
+
+                    switch (type) {
+                    case START_DOCUMENT:
+                        handler.startDocument();
+                        break;
+                    case END_DOCUMENT:
+                        handler.endDocument();
+                        break;
+                    case START_DTD:
+                        handler.startDTD(readString(in), readString(in), readString(in));
+                        break;
+                    case END_DTD:
+                        handler.endDTD();
+                        break;
+                    case START_PREFIX_MAPPING:
+                        handler.startPrefixMapping(readString(in), readString(in));
+                        break;
+                    case END_PREFIX_MAPPING:
+                        handler.endPrefixMapping(readString(in));
+                        break;
+                    case START_ELEMENT:
+                        String uri = readString(in);
+                        String localName = readString(in);
+                        String qName = readString(in);
+                        AttributesImpl attributes = new AttributesImpl();
+
+                        for (int i = in.readInt(); i > 0; i--) {
+                            attributes.addAttribute(readString(in), readString(in), readString(in), readString(in), readString(in));
+                        }
+
+                        handler.startElement(uri, localName, qName, attributes);
+                        break;
+                    case END_ELEMENT:
+                        handler.endElement(readString(in), readString(in), readString(in));
+                        break;
+                    case CHARACTERS:
+                        char[] characters = readString(in).toCharArray();
+                        handler.characters(characters, 0, characters.length);
+                        break;
+                    case IGNORABLE_WHITESPACE:
+                        char[] whitespace = readString(in).toCharArray();
+                        handler.ignorableWhitespace(whitespace, 0, whitespace.length);
+                        break;
+                    case COMMENT:
+                        char[] comment = readString(in).toCharArray();
+                        handler.comment(comment, 0, comment.length);
+                        break;
+                    case START_CDATA:
+                        handler.startCDATA();
+                        break;
+                    case END_CDATA:
+                        handler.endCDATA();
+                        break;
+                    case PROCESSING_INSTRUCTION:
+                        handler.processingInstruction(readString(in), readString(in));
+                        break;
+                    default:
+                        throw new SAXException("Unknown event " + type + " in precompiled facelet");
+                    }
+                }
+            } catch (IOException e) {
+                throw new SAXException(e);
+            }
+        }
+
+        private static String readString(DataInputStream in) throws IOException {
+            int length = in.readInt();
+            return length == -1 ? null : new String(in.readNBytes(length), UTF_8);
+        }
+    }
+
+    private static final class ReplayLocator implements Locator {
+
+        private int lineNumber;
+        private int columnNumber;
+
+        @Override
+        public String getPublicId() {
+            return null;
+        }
+
+        @Override
+        public String getSystemId() {
+            return null;
+        }
+
+        @Override
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        @Override
+        public int getColumnNumber() {
+            return columnNumber;
+        }
+    }
+
+    /**
+     * Records the events of parsing a facelet, along with the location of the parser at each of them.
+     */
+    private static final class Recorder extends DefaultHandler implements LexicalHandler {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private Locator locator;
+        private boolean doctype;
+
+        @Override
+        public void setDocumentLocator(Locator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public InputSource resolveEntity(String publicId, String systemId) {
+            // Just like SAXCompiler, resolve every DTD to the one which declares the XHTML entities.
+            return new InputSource(FaceletArchive.class.getClassLoader().getResource(DEFAULT_DTD).toString());
+        }
+
+        @Override
+        public void startDocument() throws SAXException {
+            event(START_DOCUMENT);
+        }
+
+        @Override
+        public void endDocument() throws SAXException {
+            event(END_DOCUMENT);
+        }
+
+        @Override
+        public void startDTD(String name, String publicId, String systemId) throws SAXException {
+            doctype = true;
+            event(START_DTD, name, publicId, systemId);
+        }
+
+        @Override
+        public void endDTD() throws SAXException {
+            event(END_DTD);
+        }
+
+        @Override
+        public void startPrefixMapping(String prefix, String uri) throws SAXException {
+            event(START_PREFIX_MAPPING, prefix, uri);
+        }
+
+        @Override
+        public void endPrefixMapping(String prefix) throws SAXException {
+            event(END_PREFIX_MAPPING, prefix);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            event(START_ELEMENT, uri, localName, qName);
+
+            try {
+                int length = attributes.getLength();
+                out.writeInt(length);
+
+                for (int i = 0; i < length; i++) {
+                    writeStrings(attributes.getURI(i), attributes.getLocalName(i), attributes.getQName(i), attributes.getType(i), attributes.getValue(i));
+                }
+            } catch (IOException e) {
+                throw new SAXException(e);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            event(END_ELEMENT, uri, localName, qName);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            event(CHARACTERS, new String(ch, start, length));
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+            event(IGNORABLE_WHITESPACE, new String(ch, start, length));
+        }
+
+        @Override
+        public void comment(char[] ch, int start, int length) throws SAXException {
+            event(COMMENT, new String(ch, start, length));
+        }
+
+        @Override
+        public void startCDATA() throws SAXException {
+            event(START_CDATA);
+        }
+
+        @Override
+        public void endCDATA() throws SAXException {
+            event(END_CDATA);
+        }
+
+        @Override
+        public void processingInstruction(String target, String data) throws SAXException {
+            event(PROCESSING_INSTRUCTION, target, data);
+        }
+
+        @Override
+        public void startEntity(String name) {
+            // Not handled by SAXCompiler.
+        }
+
+        @Override
+        public void endEntity(String name) {
+            // Not handled by SAXCompiler.
+        }
+
+        private void event(byte type, String... strings) throws SAXException {
+            try {
+                out.writeByte(type);
+                out.writeInt(locator != null ? locator.getLineNumber() : -1);
+                out.writeInt(locator != null ? locator.getColumnNumber() : -1);
+                writeStrings(strings);
+            } catch (IOException e) {
+                throw new SAXException(e);
+            }
+        }
+
+        private void writeStrings(String... strings) throws IOException {
+            for (String string : strings) {
+                if (string == null) {
+                    out.writeInt(-1);
+                } else {
+                    byte[] utf8 = string.getBytes(UTF_8);
+                    out.writeInt(utf8.length);
+                    out.write(utf8);
+                }
+            }
+        }
+
+        byte[] finish() throws IOException {
+            out.writeByte(END);
+            out.flush();
+            return bytes.toByteArray();
+        }
+    }
+
+    // TEST: org.glassfish.mojarra.facelets.compiler.FaceletArchiveTest
+}
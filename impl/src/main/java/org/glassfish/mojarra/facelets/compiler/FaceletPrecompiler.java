@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets.compiler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.xml.sax.SAXException;
+
+/**
+ * <p>
+ * Parses the facelets of a web application at build time into the {@link FaceletArchive}, so that the application
+ * compiles them from the archive on first use rather than parsing them again, on every node and after every restart.
+ * A facelet which changed after it was precompiled is parsed as before.
+ * </p>
+ *
+ * <p>
+ * Usage: <code>java org.glassfish.mojarra.facelets.compiler.FaceletPrecompiler &lt;web application directory&gt;
+ * &lt;classes directory&gt; [extension...]</code>, for example from the <code>exec-maven-plugin</code> in the
+ * <code>prepare-package</code> phase with <code>src/main/webapp</code> and <code>target/classes</code>. Every file
+ * having one of the given extensions, <code>.xhtml</code> by default, is precompiled, including the templates and
+ * composite components of the application. Tag library descriptors are not facelets, and are read at startup as before.
+ * </p>
+ *
+ * @since 5.0
+ */
+public final class FaceletPrecompiler {
+
+    private static final List<String> DEFAULT_EXTENSIONS = List.of(".xhtml");
+
+    // ------------------------------------------------------------ Constructors
+
+    private FaceletPrecompiler() {
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: FaceletPrecompiler <web application directory> <classes directory> [extension...]");
+            System.exit(1);
+        }
+
+        List<String> extensions = args.length > 2 ? Arrays.asList(args).subList(2, args.length) : DEFAULT_EXTENSIONS;
+        Path archive = Path.of(args[1]).resolve(FaceletArchive.RESOURCE_NAME);
+        int size = precompile(Path.of(args[0]), extensions, archive);
+        System.out.println("Precompiled " + size + " facelets into " + archive);
+    }
+
+    /**
+     * @param webappDirectory the root directory of the web application
+     * @param extensions the extensions of the facelets
+     * @param archive the archive to write
+     * @return the number of precompiled facelets, which excludes those which are not well formed
+     * @throws IOException if a facelet cannot be read or the archive cannot be written
+     */
+    public static int precompile(Path webappDirectory, List<String> extensions, Path archive) throws IOException {
+        Map<String, FaceletArchive.Entry> entries = new TreeMap<>();
+
+        try (Stream<Path> files = Files.walk(webappDirectory)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                String alias = '/' + webappDirectory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+
+                if (extensions.stream().anyMatch(alias::endsWith)) {
+                    try {
+                        entries.put(alias, FaceletArchive.record(Files.readAllBytes(file)));
+                    } catch (SAXException e) {
+                        // Left to be parsed at runtime, which reports the error in context.
+                        System.err.println("Skipping " + alias + ": " + e.getMessage());
+                    }
+                }
+            }
+        }
+
+        Files.createDirectories(archive.getParent());
+
+        try (OutputStream out = Files.newOutputStream(archive)) {
+            new FaceletArchive(entries).write(out);
+        }
+
+        return entries.size();
+    }
+
+    // TEST: org.glassfish.mojarra.facelets.compiler.FaceletArchiveTest
+}
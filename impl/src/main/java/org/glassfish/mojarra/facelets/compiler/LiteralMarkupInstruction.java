@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets.compiler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import jakarta.el.ELContext;
+import jakarta.el.ExpressionFactory;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.context.ResponseWriter;
+
+import org.glassfish.mojarra.config.FaceletsConfiguration;
+import org.glassfish.mojarra.io.FastStringWriter;
+import org.glassfish.mojarra.renderkit.html_basic.HtmlResponseWriter;
+
+/**
+ * <p>
+ * A run of adjacent literal instructions which ends every element it starts, such as the static markup between two
+ * components of a template. Rather than escaping and writing the same text, elements and attributes instruction by
+ * instruction on every render, the run is rendered once per {@link HtmlResponseWriter#getPreRenderingKey()} and escape
+ * inline text setting, and written with a single bulk write from then on.
+ * </p>
+ *
+ * <p>
+ * The markup is rendered on first use rather than while compiling, since how it is escaped depends on the encoding of
+ * the response. When the response writer is not a {@link HtmlResponseWriter}, or is within a script, style or CDATA
+ * section, the instructions are written one by one as before.
+ * </p>
+ *
+ * @since 5.0
+ */
+final class LiteralMarkupInstruction implements Instruction {
+
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    private final Instruction[] instructions;
+
+    private final AtomicReferenceArray<char[]> rendered = new AtomicReferenceArray<>(HtmlResponseWriter.PRE_RENDERING_KEYS * 2);
+
+    // ------------------------------------------------------------ Constructors
+
+    private LiteralMarkupInstruction(Instruction[] instructions) {
+        this.instructions = instructions;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    @Override
+    public void write(FacesContext context) throws IOException {
+        ResponseWriter writer = context.getResponseWriter();
+        int key = writer.getClass() == HtmlResponseWriter.class ? ((HtmlResponseWriter) writer).getPreRenderingKey() : -1;
+
+        if (key == -1) {
+            for (Instruction instruction : instructions) {
+                instruction.write(context);
+            }
+
+            return;
+        }
+
+        key = key << 1 | (FaceletsConfiguration.getInstance(context).isEscapeInlineText(context) ? 1 : 0);
+        char[] markup = rendered.get(key);
+
+        if (markup == null) {
+            markup = render(context, writer);
+            rendered.set(key, markup);
+        }
+
+        ((HtmlResponseWriter) writer).writePreRendered(markup);
+    }
+
+    @Override
+    public Instruction apply(ExpressionFactory factory, ELContext ctx) {
+        return this;
+    }
+
+    @Override
+    public boolean isLiteral() {
+        return true;
+    }
+
+    /**
+     * @param instructions the instructions of a text unit
+     * @return the given instructions, with every longest run of literal instructions which ends every element it starts
+     * replaced by a single {@link LiteralMarkupInstruction}
+     */
+    static Instruction[] merge(List<Instruction> instructions) {
+        int size = instructions.size();
+        List<Instruction> merged = new ArrayList<>(size);
+        int start = 0;
+
+        while (start < size) {
+            int end = findRunEnd(instructions, start);
+
+            if (end - start > 1 || end > start && instructions.get(start) instanceof LiteralTextInstruction) {
+                merged.add(new LiteralMarkupInstruction(instructions.subList(start, end).toArray(new Instruction[0])));
+                start = end;
+            } else {
+                merged.add(instructions.get(start++));
+            }
+        }
+
+        return merged.toArray(new Instruction[merged.size()]);
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private char[] render(FacesContext context, ResponseWriter writer) throws IOException {
+        FastStringWriter buffer = new FastStringWriter(INITIAL_BUFFER_SIZE);
+        ResponseWriter bufferWriter = writer.cloneWithWriter(buffer);
+        context.setResponseWriter(bufferWriter);
+
+        try {
+            for (Instruction instruction : instructions) {
+                instruction.write(context);
+            }
+
+            bufferWriter.flush();
+        } finally {
+            context.setResponseWriter(writer);
+        }
+
+        return buffer.toString().toCharArray();
+    }
+
+    /**
+     * @return the end of the longest run starting at the given index which ends every element it starts, or the given
+     * index if there is none.
+     */
+    private static int findRunEnd(List<Instruction> instructions, int start) {
+        if (instructions.get(start) instanceof LiteralAttributeInstruction) {
+            return start; // belongs to an element which is started before the run
+        }
+
+        int size = instructions.size();
+        int depth = 0;
+        int end = start;
+
+        for (int i = start; i < size; i++) {
+            Instruction instruction = instructions.get(i);
+
+            if (instruction instanceof StartElementInstruction startElement) {
+                if (!isPreRenderable(startElement.getElement())) {
+                    break;
+                }
+
+                depth++;
+            } else if (instruction instanceof EndElementInstruction endElement) {
+                if (depth == 0 || !isPreRenderable(endElement.getElement())) {
+                    break;
+                }
+
+                depth--;
+            } else if (!(instruction instanceof LiteralAttributeInstruction || instruction instanceof LiteralTextInstruction
+                    || instruction instanceof LiteralCommentInstruction || instruction instanceof LiteralXMLInstruction)) {
+                break;
+            }
+
+            if (depth == 0) {
+                end = i + 1;
+            }
+        }
+
+        return end;
+    }
+
+    /**
+     * Script and style elements change how their body is escaped, the cdata element starts a CDATA section, and ending
+     * the head or body element renders the resources and messages which were not rendered elsewhere.
+     */
+    private static boolean isPreRenderable(String element) {
+        return !("script".equalsIgnoreCase(element) || "style".equalsIgnoreCase(element) || "cdata".equalsIgnoreCase(element)
+                || "head".equalsIgnoreCase(element) || "body".equalsIgnoreCase(element));
+    }
+
+    // TEST: org.glassfish.mojarra.facelets.compiler.LiteralMarkupInstructionTest
+}
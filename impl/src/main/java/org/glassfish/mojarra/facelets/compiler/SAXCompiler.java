@@ -18,9 +18,13 @@ package org.glassfish.mojarra.facelets.compiler;
 
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -29,6 +33,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 
+import jakarta.faces.component.Doctype;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.view.Location;
 import jakarta.faces.view.facelets.FaceletException;
@@ -42,6 +47,8 @@ import org.glassfish.mojarra.config.MojarraContextParam;
 import org.glassfish.mojarra.facelets.tag.TagAttributeImpl;
 import org.glassfish.mojarra.facelets.tag.TagAttributesImpl;
 import org.glassfish.mojarra.facelets.tag.faces.core.CoreLibrary;
+import org.glassfish.mojarra.util.ConcurrentLRUCache;
+import org.glassfish.mojarra.util.ObjectPool;
 import org.glassfish.mojarra.util.Util;
 import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
@@ -53,7 +60,8 @@ import org.xml.sax.ext.LexicalHandler;
 import org.xml.sax.helpers.DefaultHandler;
 
 /**
- * Compiler implementation that uses SAX
+ * Compiler implementation that uses SAX. A facelet which was precompiled by {@link FaceletPrecompiler} and did not change
+ * since is compiled from the events in the {@link FaceletArchive} rather than parsed again.
  *
  * @author Jacob Hookom
  * @see Compiler
@@ -98,7 +106,8 @@ public final class SAXCompiler extends Compiler {
             int len = attrs.getLength();
             TagAttributeImpl[] ta = new TagAttributeImpl[len];
             for (int i = 0; i < len; i++) {
-                ta[i] = new TagAttributeImpl(createLocation(), attrs.getURI(i), attrs.getLocalName(i), attrs.getQName(i), attrs.getValue(i));
+                ta[i] = new TagAttributeImpl(createLocation(), unit.intern(attrs.getURI(i)), unit.intern(attrs.getLocalName(i)), unit.intern(attrs.getQName(i)),
+                        unit.intern(attrs.getValue(i)));
             }
             return new TagAttributesImpl(ta);
         }
@@ -217,7 +226,7 @@ public final class SAXCompiler extends Compiler {
         public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
 
             TagAttributes tagAttrs = createAttributes(attributes);
-            Tag tag = new Tag(createLocation(), uri, localName, qName, tagAttrs);
+            Tag tag = new Tag(createLocation(), unit.intern(uri), unit.intern(localName), unit.intern(qName), tagAttrs);
             tagAttrs.setTag(tag);
             unit.pushTag(tag);
 
@@ -351,48 +360,319 @@ public final class SAXCompiler extends Compiler {
 
     }
 
+    /**
+     * Forwards a single parse to both the handler of the full facelet and the handler of its metadata facelet.
+     */
+    private static class CompilationHandlerPair extends DefaultHandler implements LexicalHandler {
+
+        private final CompilationHandler handler;
+        private final CompilationHandler metadataHandler;
+
+        // -------------------------------------------------------- Constructors
+
+        public CompilationHandlerPair(CompilationHandler handler, CompilationHandler metadataHandler) {
+            this.handler = handler;
+            this.metadataHandler = metadataHandler;
+        }
+
+        // ------------------------------------------------ Methods from Handlers
+
+        @Override
+        public void setDocumentLocator(Locator locator) {
+            handler.setDocumentLocator(locator);
+            metadataHandler.setDocumentLocator(locator);
+        }
+
+        @Override
+        public void startDocument() throws SAXException {
+            handler.startDocument();
+            metadataHandler.startDocument();
+        }
+
+        @Override
+        public void endDocument() throws SAXException {
+            handler.endDocument();
+            metadataHandler.endDocument();
+        }
+
+        @Override
+        public void startPrefixMapping(String prefix, String uri) throws SAXException {
+            handler.startPrefixMapping(prefix, uri);
+            metadataHandler.startPrefixMapping(prefix, uri);
+        }
+
+        @Override
+        public void endPrefixMapping(String prefix) throws SAXException {
+            handler.endPrefixMapping(prefix);
+            metadataHandler.endPrefixMapping(prefix);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            handler.startElement(uri, localName, qName, attributes);
+            metadataHandler.startElement(uri, localName, qName, attributes);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            handler.endElement(uri, localName, qName);
+            metadataHandler.endElement(uri, localName, qName);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            handler.characters(ch, start, length);
+            metadataHandler.characters(ch, start, length);
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+            handler.ignorableWhitespace(ch, start, length);
+            metadataHandler.ignorableWhitespace(ch, start, length);
+        }
+
+        @Override
+        public void processingInstruction(String target, String data) throws SAXException {
+            handler.processingInstruction(target, data);
+            metadataHandler.processingInstruction(target, data);
+        }
+
+        @Override
+        public void startDTD(String name, String publicId, String systemId) throws SAXException {
+            handler.startDTD(name, publicId, systemId);
+            metadataHandler.startDTD(name, publicId, systemId);
+        }
+
+        @Override
+        public void endDTD() throws SAXException {
+            handler.endDTD();
+            metadataHandler.endDTD();
+        }
+
+        @Override
+        public void startEntity(String name) throws SAXException {
+            handler.startEntity(name);
+            metadataHandler.startEntity(name);
+        }
+
+        @Override
+        public void endEntity(String name) throws SAXException {
+            handler.endEntity(name);
+            metadataHandler.endEntity(name);
+        }
+
+        @Override
+        public void startCDATA() throws SAXException {
+            handler.startCDATA();
+            metadataHandler.startCDATA();
+        }
+
+        @Override
+        public void endCDATA() throws SAXException {
+            handler.endCDATA();
+            metadataHandler.endCDATA();
+        }
+
+        @Override
+        public void comment(char[] ch, int start, int length) throws SAXException {
+            handler.comment(ch, start, length);
+            metadataHandler.comment(ch, start, length);
+        }
+
+        @Override
+        public void fatalError(SAXParseException e) throws SAXException {
+            handler.fatalError(e);
+        }
+
+        @Override
+        public InputSource resolveEntity(String publicId, String systemId) throws SAXException {
+            return handler.resolveEntity(publicId, systemId);
+        }
+
+    }
+
+    /**
+     * The configuration a pooled {@link SAXParser} was created with.
+     */
+    private record ParserConfiguration(boolean validating, Boolean disallowDoctypeDecl) {
+    }
+
+    /**
+     * A full facelet which was compiled along with its metadata facelet, until it is asked for.
+     */
+    private record CompiledFacelet(byte[] source, String encoding, FaceletHandler handler, Doctype doctype, String xmlDecl) {
+    }
+
+    /**
+     * The maximum amount of full facelets kept from compiling metadata facelets, of which there should normally be only
+     * as many as views being compiled at the same time.
+     */
+    private static final int MAX_COMPILED_ALONG_WITH_METADATA = 64;
+
+    private final FaceletArchive archive;
+    private final ConcurrentMap<ParserConfiguration, ObjectPool<SAXParser>> parsers = new ConcurrentHashMap<>();
+    private final ConcurrentLRUCache<String, CompiledFacelet> compiledAlongWithMetadata = new ConcurrentLRUCache<>(MAX_COMPILED_ALONG_WITH_METADATA);
+
     public SAXCompiler() {
         super();
+        archive = FaceletArchive.load(Util.getCurrentLoader(this));
     }
 
     @Override
     public FaceletHandler doCompile(URL src, String alias) throws IOException {
 
+        FaceletHandler compiled = getCompiledAlongWithMetadata(src);
+
+        if (compiled != null) {
+            return compiled;
+        }
+
         CompilationManager mgr = new CompilationManager(alias, this);
         CompilationHandler handler = new CompilationHandler(mgr, alias);
         return doCompile(mgr, handler, src, alias);
 
     }
 
+    /**
+     * Compiles the metadata facelet of a view, and, when the full facelet of the view is about to be compiled as well,
+     * that one along with it from the very same parse. The full facelet is kept until the view is compiled, which usually
+     * follows right away.
+     */
     @Override
-    public FaceletHandler doMetadataCompile(URL src, String alias) throws IOException {
+    public FaceletHandler doMetadataCompile(URL src, String alias, boolean compileFacelet) throws IOException {
 
-        CompilationManager mgr = new CompilationManager("metadata/" + alias, this);
-        CompilationHandler handler = new MetadataCompilationHandler(mgr, alias);
-        return doCompile(mgr, handler, src, alias);
+        if (!compileFacelet) {
+            CompilationManager mgr = new CompilationManager("metadata/" + alias, this);
+            return doCompile(mgr, new MetadataCompilationHandler(mgr, alias), src, alias);
+        }
+
+        CompilationManager metadataMgr = new CompilationManager("metadata/" + alias, this);
+        CompilationHandler metadataHandler = new MetadataCompilationHandler(metadataMgr, alias);
+        FacesContext context = FacesContext.getCurrentInstance();
+        String encoding = getEncoding(context);
+        byte[] source = readSource(src);
+        CompilationManager mgr = new CompilationManager(alias, this);
+        CompilationHandler handler = new CompilationHandler(mgr, alias);
+
+        // Compiling the metadata facelet by itself does not leave the doctype behind, so neither may compiling the full
+        // facelet along with it. They are saved again when the full facelet is asked for.
+        Doctype previousDoctype = Util.getDOCTYPEFromFacesContextAttributes(context);
+        String previousXmlDecl = Util.getXMLDECLFromFacesContextAttributes(context);
+
+        try {
+            parse(context, mgr, new CompilationHandlerPair(handler, metadataHandler), src, source, alias, encoding);
+        } catch (FaceletException e) {
+            Util.saveDOCTYPEToFacesContextAttributes(previousDoctype);
+            Util.saveXMLDECLToFacesContextAttributes(previousXmlDecl);
+
+            // The full facelet may be broken where the metadata facelet is not, which is then for compiling the full
+            // facelet to report.
+            if (log.isLoggable(Level.FINE)) {
+                log.log(Level.FINE, "Unable to compile " + alias + " along with its metadata, compiling its metadata by itself", e);
+            }
+
+            CompilationManager fallbackMgr = new CompilationManager("metadata/" + alias, this);
+            return doCompile(fallbackMgr, new MetadataCompilationHandler(fallbackMgr, alias), src, alias);
+        }
+
+        Doctype doctype = Util.getDOCTYPEFromFacesContextAttributes(context);
+        String xmlDecl = Util.getXMLDECLFromFacesContextAttributes(context);
+        Util.saveDOCTYPEToFacesContextAttributes(previousDoctype);
+        Util.saveXMLDECLToFacesContextAttributes(previousXmlDecl);
+        writeXmlDecl(new ByteArrayInputStream(source), encoding, metadataMgr);
+
+        compiledAlongWithMetadata.put(src.toExternalForm(), new CompiledFacelet(source, encoding, createFaceletHandler(mgr, encoding),
+                doctype != previousDoctype ? doctype : null, xmlDecl != previousXmlDecl ? xmlDecl : null));
+
+        return createFaceletHandler(metadataMgr, encoding);
     }
 
     protected FaceletHandler doCompile(CompilationManager mngr, CompilationHandler handler, URL src, String alias) throws IOException {
 
         FacesContext context = FacesContext.getCurrentInstance();
         String encoding = getEncoding(context);
-        try (InputStream is = new BufferedInputStream(src.openStream(), 1024);) {
+        byte[] source = getArchivedEntry(alias) != null ? readSource(src) : null;
+        parse(context, mngr, handler, src, source, alias, encoding);
+
+        return createFaceletHandler(mngr, encoding);
+
+    }
+
+    private <H extends DefaultHandler & LexicalHandler> void parse(FacesContext context, CompilationManager mngr, H handler, URL src, byte[] source,
+            String alias, String encoding) throws IOException {
+
+        FaceletArchive.Entry archived = source != null ? getArchivedEntry(alias) : null;
+
+        try (InputStream is = source != null ? new ByteArrayInputStream(source) : new BufferedInputStream(src.openStream(), 1024);) {
 
             writeXmlDecl(is, encoding, mngr);
-            SAXParser parser = createSAXParser(handler, context);
-            parser.parse(is, handler);
+
+            if (archived != null && archived.isRecordedFrom(source) && !(archived.hasDoctype() && isDisallowDoctypeDecl(context))) {
+                archived.replay(handler);
+            } else {
+                ObjectPool<SAXParser> pool = parsers.computeIfAbsent(getParserConfiguration(context), SAXCompiler::createParserPool);
+                SAXParser parser = pool.acquire();
+
+                try {
+                    XMLReader reader = parser.getXMLReader();
+                    reader.setProperty("http://xml.org/sax/properties/lexical-handler", handler);
+                    reader.setErrorHandler(handler);
+                    reader.setEntityResolver(handler);
+                    parser.parse(is, handler);
+                } finally {
+                    release(pool, parser);
+                }
+            }
         } catch (SAXException e) {
             throw new FaceletException("Error Parsing " + alias + ": " + e.getMessage(), e.getCause());
-        } catch (ParserConfigurationException e) {
-            throw new FaceletException("Error Configuring Parser " + alias + ": " + e.getMessage(), e.getCause());
         } catch (FaceletException e) {
             throw e;
         }
-        FaceletHandler result = new EncodingHandler(mngr.createFaceletHandler(), encoding, mngr.getCompilationMessageHolder());
-        mngr.setCompilationMessageHolder(null);
+    }
+
+    private FaceletArchive.Entry getArchivedEntry(String alias) {
+        return archive != null && !isValidating() ? archive.getEntry(alias) : null;
+    }
+
+    private FaceletHandler getCompiledAlongWithMetadata(URL src) throws IOException {
+        CompiledFacelet compiled = compiledAlongWithMetadata.remove(src.toExternalForm());
+
+        if (compiled == null) {
+            return null;
+        }
+
+        FacesContext context = FacesContext.getCurrentInstance();
+
+        if (!compiled.encoding().equals(getEncoding(context)) || !Arrays.equals(compiled.source(), readSource(src))) {
+            return null;
+        }
+
+        if (compiled.doctype() != null) {
+            Util.saveDOCTYPEToFacesContextAttributes(compiled.doctype());
+        }
 
+        if (compiled.xmlDecl() != null) {
+            Util.saveXMLDECLToFacesContextAttributes(compiled.xmlDecl());
+        }
+
+        return compiled.handler();
+    }
+
+    private static FaceletHandler createFaceletHandler(CompilationManager mngr, String encoding) {
+        FaceletHandler next = mngr.createFaceletHandler();
+        FaceletHandler result = new EncodingHandler(next, encoding, mngr.getCompilationMessageHolder(), mngr.getUnitCount(), mngr.isCloneable());
+        mngr.setCompilationMessageHolder(null);
         return result;
+    }
 
+    private static byte[] readSource(URL src) throws IOException {
+        try (InputStream is = src.openStream()) {
+            return is.readAllBytes();
+        }
+    }
+
+    private static boolean isDisallowDoctypeDecl(FacesContext context) {
+        return MojarraContextParam.DISALLOW_DOCTYPE_DECL.isSet(context) && MojarraContextParam.DISALLOW_DOCTYPE_DECL.isEnabled(context);
     }
 
     private String getEncoding(FacesContext context) {
@@ -429,21 +709,46 @@ public final class SAXCompiler extends Compiler {
         }
     }
 
-    private SAXParser createSAXParser(CompilationHandler handler, FacesContext context) throws SAXException, ParserConfigurationException {
-        SAXParserFactory factory = Util.createSAXParserFactory();
-        factory.setNamespaceAware(true);
-        factory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
-        factory.setFeature("http://xml.org/sax/features/validation", isValidating());
-        factory.setValidating(isValidating());
+    private ParserConfiguration getParserConfiguration(FacesContext context) {
+        Boolean disallowDoctypeDecl = null;
+
         if (MojarraContextParam.DISALLOW_DOCTYPE_DECL.isSet(context)) {
-            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", MojarraContextParam.DISALLOW_DOCTYPE_DECL.isEnabled(context));
-        }
-        SAXParser parser = factory.newSAXParser();
-        XMLReader reader = parser.getXMLReader();
-        reader.setProperty("http://xml.org/sax/properties/lexical-handler", handler);
-        reader.setErrorHandler(handler);
-        reader.setEntityResolver(handler);
-        return parser;
+            disallowDoctypeDecl = MojarraContextParam.DISALLOW_DOCTYPE_DECL.isEnabled(context);
+        }
+
+        return new ParserConfiguration(isValidating(), disallowDoctypeDecl);
+    }
+
+    private static ObjectPool<SAXParser> createParserPool(ParserConfiguration configuration) {
+        return new ObjectPool<>(Runtime.getRuntime().availableProcessors() * 2, () -> createSAXParser(configuration), $ -> {});
+    }
+
+    private static SAXParser createSAXParser(ParserConfiguration configuration) {
+        try {
+            SAXParserFactory factory = Util.createSAXParserFactory();
+            factory.setNamespaceAware(true);
+            factory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
+            factory.setFeature("http://xml.org/sax/features/validation", configuration.validating());
+            factory.setValidating(configuration.validating());
+            if (configuration.disallowDoctypeDecl() != null) {
+                factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", configuration.disallowDoctypeDecl());
+            }
+            return factory.newSAXParser();
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new FaceletException("Error Configuring Parser: " + e.getMessage(), e);
+        }
+    }
+
+    private static void release(ObjectPool<SAXParser> pool, SAXParser parser) {
+        try {
+            // Restores the configuration of the factory, and drops the handlers of the compilation.
+            parser.reset();
+        } catch (UnsupportedOperationException e) {
+            // Not reusable after all.
+            return;
+        }
+
+        pool.release(parser);
     }
 
 }
@@ -43,4 +43,8 @@ final class StartElementInstruction implements Instruction {
     public boolean isLiteral() {
         return true;
     }
+
+    String getElement() {
+        return element;
+    }
 }
@@ -21,6 +21,7 @@ import jakarta.faces.view.facelets.FaceletHandler;
 import jakarta.faces.view.facelets.Tag;
 import jakarta.faces.view.facelets.TagConfig;
 
+import org.glassfish.mojarra.facelets.tag.TagHandlerImpl;
 import org.glassfish.mojarra.facelets.tag.TagLibrary;
 import org.glassfish.mojarra.facelets.tag.ui.UILibrary;
 
@@ -41,6 +42,8 @@ class TagUnit extends CompilationUnit implements TagConfig {
 
     private final String name;
 
+    private boolean cloneable = true;
+
     public TagUnit(TagLibrary library, String namespace, String name, Tag tag, String id) {
         this.library = library;
         this.tag = tag;
@@ -70,7 +73,17 @@ class TagUnit extends CompilationUnit implements TagConfig {
 
     @Override
     public FaceletHandler createFaceletHandler() {
-        return library.createTagHandler(namespace, name, this);
+        FaceletHandler handler = library.createTagHandler(namespace, name, this);
+        cloneable = TagHandlerImpl.isKnownCloneable(handler);
+        return handler;
+    }
+
+    /**
+     * @return whether the handler this tag was compiled into is known to flag a build which may not be copied, see
+     * {@link TagHandlerImpl#isKnownCloneable(FaceletHandler)}.
+     */
+    boolean isCloneable() {
+        return cloneable;
     }
 
     @Override
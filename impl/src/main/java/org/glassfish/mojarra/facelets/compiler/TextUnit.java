@@ -29,6 +29,7 @@ import jakarta.faces.view.facelets.TagAttribute;
 import jakarta.faces.view.facelets.TagException;
 
 import org.glassfish.mojarra.facelets.el.ELText;
+import org.glassfish.mojarra.util.StringInterner;
 
 /**
  *
@@ -53,9 +54,12 @@ final class TextUnit extends CompilationUnit {
 
     private final String id;
 
-    public TextUnit(String alias, String id) {
+    private final StringInterner interner;
+
+    public TextUnit(String alias, String id, StringInterner interner) {
         this.alias = alias;
         this.id = id;
+        this.interner = interner;
         buffer = new StringBuilder();
         textBuffer = new StringBuilder();
         instructionBuffer = new ArrayList<>();
@@ -101,7 +105,7 @@ final class TextUnit extends CompilationUnit {
                 s = trimRight(s);
             }
             if (s.length() > 0) {
-                ELText txt = ELText.parse(s, alias);
+                ELText txt = ELText.parse(s, alias, interner);
                 if (txt != null) {
                     if (txt.isLiteral()) {
                         instructionBuffer.add(new LiteralTextInstruction(txt.toString()));
@@ -123,9 +127,9 @@ final class TextUnit extends CompilationUnit {
 
     public void writeInstruction(String text) {
         finishStartTag();
-        ELText el = ELText.parse(text);
+        ELText el = ELText.parse(text, null, interner);
         if (el.isLiteral()) {
-            addInstruction(new LiteralXMLInstruction(text));
+            addInstruction(new LiteralXMLInstruction(interner.intern(text)));
         } else {
             addInstruction(new XMLInstruction(el));
         }
@@ -135,9 +139,9 @@ final class TextUnit extends CompilationUnit {
     public void writeComment(String text) {
         finishStartTag();
 
-        ELText el = ELText.parse(text);
+        ELText el = ELText.parse(text, null, interner);
         if (el.isLiteral()) {
-            addInstruction(new LiteralCommentInstruction(text));
+            addInstruction(new LiteralCommentInstruction(interner.intern(text)));
         } else {
             addInstruction(new CommentInstruction(el));
         }
@@ -165,7 +169,7 @@ final class TextUnit extends CompilationUnit {
             String value = attr.getValue();
             buffer.append(' ').append(qname).append("=\"").append(value).append("\"");
 
-            ELText txt = ELText.parse(value);
+            ELText txt = ELText.parse(value, null, interner);
             if (txt != null) {
                 if (txt.isLiteral()) {
                     addInstruction(new LiteralAttributeInstruction(qname, txt.toString()));
@@ -222,9 +226,9 @@ final class TextUnit extends CompilationUnit {
                 if (child) {
                     s = trimRight(s);
                 }
-                ELText txt = ELText.parse(s);
+                ELText txt = ELText.parse(s, null, interner);
                 if (txt != null) {
-                    Instruction[] instructions = instructionBuffer.toArray(new Instruction[size]);
+                    Instruction[] instructions = LiteralMarkupInstruction.merge(instructionBuffer);
                     children.add(new UIInstructionHandler(alias, id, instructions, txt));
                     instructionBuffer.clear();
                 }
@@ -111,9 +111,9 @@ final class UIInstructionHandler extends AbstractUIHandler {
                 String mid = mapper != null ? mapper.getAliasedId(id) : id;
                 UIComponent ancestorNamingContainer = parent.getNamingContainer();
                 if (null != ancestorNamingContainer && ancestorNamingContainer instanceof UniqueIdVendor) {
-                    uid = ((UniqueIdVendor) ancestorNamingContainer).createUniqueId(ctx.getFacesContext(), mid);
+                    uid = idSlot.createComponentId(ctx.getFacesContext(), (UniqueIdVendor) ancestorNamingContainer, mid);
                 } else {
-                    uid = ComponentSupport.getViewRoot(ctx, parent).createUniqueId(ctx.getFacesContext(), mid);
+                    uid = idSlot.createComponentId(ctx.getFacesContext(), ComponentSupport.getViewRoot(ctx, parent), mid);
                 }
 
                 c.setId(uid);
@@ -44,6 +44,11 @@ public final class UIInstructions extends UILeaf {
         }
     }
 
+    @Override
+    public UILeaf copy() {
+        return copyTo(new UIInstructions(txt, instructions));
+    }
+
     @Override
     public String toString() {
         return txt != null ? txt.toString() : "UIInstructions[" + Arrays.asList(instructions) + "]";
@@ -214,4 +214,28 @@ public class UILeaf extends UIComponentBase implements UntargetableComponent {
         super.setTransient(tranzient);
     }
 
+    /**
+     * Returns a copy of this leaf for another component tree built from the same facelet, which renders the same and has
+     * the same id and attributes, but no parent yet.
+     *
+     * @return the copy, or <code>null</code> when this leaf cannot be copied.
+     */
+    public UILeaf copy() {
+        return null;
+    }
+
+    /**
+     * @param copy a new leaf which renders the same as this leaf.
+     * @return the given leaf, after giving it the id, attributes and transient flag of this leaf.
+     */
+    protected final UILeaf copyTo(UILeaf copy) {
+        copy.setId(getId());
+        copy.getAttributes().putAll(getAttributes());
+
+        if (!returnLocalTransient) {
+            copy.setTransient(super.isTransient());
+        }
+
+        return copy;
+    }
 }
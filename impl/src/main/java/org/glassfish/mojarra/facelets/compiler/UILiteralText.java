@@ -37,6 +37,11 @@ public final class UILiteralText extends UILeaf {
         }
     }
 
+    @Override
+    public UILeaf copy() {
+        return copyTo(new UILiteralText(text));
+    }
+
     @Override
     public String toString() {
         return text;
@@ -68,6 +68,11 @@ public final class UIText extends UILeaf {
         return true;
     }
 
+    @Override
+    public UILeaf copy() {
+        return copyTo(new UIText(alias, txt));
+    }
+
     @Override
     public String toString() {
         return txt.toString();
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets.component;
+
+import static jakarta.faces.application.StateManager.IS_BUILDING_INITIAL_STATE;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.faces.FacesException;
+import jakarta.faces.component.ContextCallback;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIForm;
+import jakarta.faces.component.UINamingContainer;
+import jakarta.faces.component.UIPanel;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.component.visit.VisitCallback;
+import jakarta.faces.component.visit.VisitContext;
+import jakarta.faces.component.visit.VisitResult;
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.component.visit.PartialVisitContext;
+import org.glassfish.mojarra.context.StateContext;
+
+/**
+ * <p>
+ * The panel which holds the children of a component tag with a <code>lazyBuild="true"</code> attribute, and which builds
+ * them only when they are first needed: when it is encoded, when a partial visit or {@link #invokeOnComponent} looks for
+ * a client id which may be within it, or when its restored state says that they were built by the previous request of
+ * the view. Any other visit, such as those which save the state of the view, sees it without children.
+ * </p>
+ *
+ * <p>
+ * Its children are built as part of the initial state of the view, so that partial state saving only saves what changed
+ * since, and whether they were built is the only state of its own.
+ * </p>
+ *
+ * @since 5.0
+ * @see org.glassfish.mojarra.config.MojarraContextParam#LAZY_BUILD
+ */
+public class LazyBuildPanel extends UIPanel {
+
+    /**
+     * Builds the children of a {@link LazyBuildPanel}.
+     */
+    @FunctionalInterface
+    public interface Builder {
+
+        /**
+         * @param context the faces context
+         * @param panel the panel to build the children of
+         * @throws IOException when an I/O exception occurs
+         */
+        void build(FacesContext context, LazyBuildPanel panel) throws IOException;
+    }
+
+    private enum PropertyKeys {
+        built
+    }
+
+    private static final String GRID_RENDERER_TYPE = "jakarta.faces.Grid";
+
+    private transient Builder builder;
+
+    // ------------------------------------------------------------ Constructors
+
+    public LazyBuildPanel() {
+        setRendererType(null);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Tells whether the given component may hold a panel in place of its children. This is only so for a plain panel, a
+     * form and a naming container, which render and process their children as one run of content. A panel grid puts each
+     * child in a cell of its own, a data component only takes its columns from its children, and a select component only
+     * takes its items from them, so they would all see the panel instead.
+     *
+     * @param component the component of a tag with a <code>lazyBuild="true"</code> attribute
+     * @return whether the children of the component can be built when they are first needed
+     */
+    public static boolean isSupportedParent(UIComponent component) {
+        if (component instanceof UIPanel) {
+            return !GRID_RENDERER_TYPE.equals(component.getRendererType());
+        }
+
+        return component instanceof UIForm || component instanceof UINamingContainer;
+    }
+
+    /**
+     * @param builder the builder which builds the children of this panel when they are first needed, in the current
+     * request only
+     */
+    public void setBuilder(Builder builder) {
+        this.builder = builder;
+    }
+
+    /**
+     * @return whether the children of this panel are yet to be built.
+     */
+    public boolean isBuildPending() {
+        return builder != null;
+    }
+
+    /**
+     * @return whether the children of this panel were built, in this request or, as far as its restored state says, in
+     * the previous request of the view.
+     */
+    public boolean isBuilt() {
+        return (Boolean) getStateHelper().eval(PropertyKeys.built, false);
+    }
+
+    /**
+     * Builds the children of this panel, if they are yet to be built.
+     *
+     * @param context the faces context
+     */
+    public void build(FacesContext context) {
+        Builder pending = builder;
+
+        if (pending == null) {
+            return;
+        }
+
+        builder = null;
+        StateContext stateContext = StateContext.getStateContext(context);
+        boolean trackViewModifications = stateContext.trackViewModifications();
+        Map<Object, Object> attributes = context.getAttributes();
+        Object buildingInitialState = attributes.put(IS_BUILDING_INITIAL_STATE, Boolean.TRUE);
+
+        try {
+            // The children are not dynamically added components, but part of the initial state of the view.
+            stateContext.setTrackViewModifications(false);
+            pending.build(context, this);
+
+            if (initialStateMarked()) {
+                markInitialStateOfChildren(this);
+            }
+        } catch (IOException e) {
+            throw new FacesException(e);
+        } finally {
+            stateContext.setTrackViewModifications(trackViewModifications);
+
+            if (buildingInitialState == null) {
+                attributes.remove(IS_BUILDING_INITIAL_STATE);
+            } else {
+                attributes.put(IS_BUILDING_INITIAL_STATE, buildingInitialState);
+            }
+        }
+
+        getStateHelper().put(PropertyKeys.built, true);
+    }
+
+    @Override
+    public void encodeBegin(FacesContext context) throws IOException {
+        build(context);
+        super.encodeBegin(context);
+    }
+
+    @Override
+    public boolean invokeOnComponent(FacesContext context, String clientId, ContextCallback callback) throws FacesException {
+        if (builder != null && mayContain(context, clientId)) {
+            build(context);
+        }
+
+        return super.invokeOnComponent(context, clientId, callback);
+    }
+
+    /**
+     * Visits this panel as {@link UIComponent#visitTree(VisitContext, VisitCallback)} does, but builds the children in
+     * between when its state, which the visit may just have restored, says that they were built, or when the visit
+     * looks for a client id which may be within it.
+     */
+    @Override
+    public boolean visitTree(VisitContext visitContext, VisitCallback callback) {
+        if (!isVisitable(visitContext)) {
+            return false;
+        }
+
+        FacesContext context = visitContext.getFacesContext();
+        pushComponentToEL(context, null);
+
+        try {
+            VisitResult result = visitContext.invokeVisitCallback(this, callback);
+
+            if (result == VisitResult.COMPLETE) {
+                return true;
+            }
+
+            if (result == VisitResult.ACCEPT) {
+                if (builder != null && (isBuilt() || isTargeted(visitContext))) {
+                    build(context);
+                }
+
+                Iterator<UIComponent> kids = getFacetsAndChildren();
+
+                while (kids.hasNext()) {
+                    if (kids.next().visitTree(visitContext, callback)) {
+                        return true;
+                    }
+                }
+            }
+        } finally {
+            popComponentFromEL(context);
+        }
+
+        return false;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private boolean isTargeted(VisitContext visitContext) {
+        Collection<String> ids = visitContext.getIdsToVisit();
+
+        if (ids == VisitContext.ALL_IDS) {
+            return false;
+        }
+
+        if (visitContext instanceof PartialVisitContext partialVisitContext) {
+            ids = partialVisitContext.getUnvisitedClientIds();
+        }
+
+        FacesContext context = visitContext.getFacesContext();
+
+        for (String id : ids) {
+            if (mayContain(context, id)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The children are yet to be built, so the best to tell is whether the client id is within the naming container this
+     * panel is in.
+     */
+    private boolean mayContain(FacesContext context, String clientId) {
+        UIComponent namingContainer = getNamingContainer();
+
+        if (namingContainer == null || namingContainer instanceof UIViewRoot) {
+            return true;
+        }
+
+        String prefix = namingContainer.getContainerClientId(context);
+        return clientId.length() > prefix.length() && clientId.startsWith(prefix)
+                && clientId.charAt(prefix.length()) == UINamingContainer.getSeparatorChar(context);
+    }
+
+    private static void markInitialStateOfChildren(UIComponent component) {
+        if (component.getChildCount() > 0) {
+            List<UIComponent> children = component.getChildren();
+
+            for (int i = 0, size = children.size(); i < size; i++) {
+                markInitialState(children.get(i));
+            }
+        }
+
+        if (component.getFacetCount() > 0) {
+            for (UIComponent facet : component.getFacets().values()) {
+                markInitialState(facet);
+            }
+        }
+    }
+
+    private static void markInitialState(UIComponent component) {
+        if (!component.isTransient()) {
+            component.markInitialState();
+            markInitialStateOfChildren(component);
+        }
+    }
+
+    // TEST: org.glassfish.mojarra.facelets.component.LazyBuildPanelTest
+}
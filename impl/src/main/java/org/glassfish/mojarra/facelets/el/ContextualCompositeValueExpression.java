@@ -16,6 +16,8 @@
 
 package org.glassfish.mojarra.facelets.el;
 
+import java.util.List;
+
 import jakarta.el.ELContext;
 import jakarta.el.ValueExpression;
 import jakarta.el.ValueReference;
@@ -80,7 +82,7 @@ import org.glassfish.mojarra.component.CompositeComponentStackManager;
  * {@link CompositeComponentStackManager#push(jakarta.faces.component.UIComponent)}.
  * </p>
  */
-public final class ContextualCompositeValueExpression extends ValueExpression {
+public final class ContextualCompositeValueExpression extends ValueExpression implements ExpressionCache.Fingerprinted {
 
     private static final long serialVersionUID = -2637560875633456679L;
 
@@ -215,6 +217,12 @@ public final class ContextualCompositeValueExpression extends ValueExpression {
         return location;
     }
 
+    @Override
+    public Object getFingerprint(ExpressionCache cache) {
+        Object originalFingerprint = cache.getFingerprint(originalVE);
+        return originalFingerprint != null ? List.of(ContextualCompositeValueExpression.class, String.valueOf(location), originalFingerprint) : null;
+    }
+
     // ----------------------------------------------------- Private Methods
 
     /**
@@ -62,4 +62,11 @@ public final class DefaultVariableMapper extends VariableMapper {
         return vars.put(name, expression);
     }
 
+    /**
+     * @return the variables set on this mapper, or <code>null</code> when none was ever set.
+     */
+    Map<String, ValueExpression> getVariables() {
+        return vars;
+    }
+
 }
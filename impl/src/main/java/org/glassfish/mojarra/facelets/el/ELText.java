@@ -32,6 +32,7 @@ import jakarta.faces.view.Location;
 import org.glassfish.mojarra.el.ELUtils;
 import org.glassfish.mojarra.util.HtmlUtils;
 import org.glassfish.mojarra.util.MessageUtils;
+import org.glassfish.mojarra.util.StringInterner;
 
 /**
  * Handles parsing EL Strings in accordance with the EL-API Specification. The parser accepts either <code>${..}</code>
@@ -178,7 +179,7 @@ public class ELText {
             if (ve instanceof ContextualCompositeValueExpression) {
                 result = new ELTextVariable(ve);
             } else {
-                result = new ELTextVariable(factory.createValueExpression(ctx, ve.getExpressionString(), String.class));
+                result = new ELTextVariable(ExpressionCache.createValueExpression(ctx, factory, ve.getExpressionString(), String.class));
             }
 
             return result;
@@ -297,6 +298,20 @@ public class ELText {
         return parse(null, null, in, alias);
     }
 
+    /**
+     * Factory method for creating an unvalidated ELText instance, like {@link #parse(String, String)}, whose literal
+     * fragments and expression strings are taken from the given pool of strings.
+     *
+     * @param in String to parse
+     * @param alias the alias
+     * @param interner the pool of strings shared by the compiled facelets
+     * @return ELText instance that knows if the String was literal or not
+     * @throws ELException when an EL exception occurs
+     */
+    public static ELText parse(String in, String alias, StringInterner interner) throws ELException {
+        return parse(null, null, in, alias, interner);
+    }
+
     public static ELText parse(ExpressionFactory fact, ELContext ctx, String in) throws ELException {
         return parse(null, null, in, null);
     }
@@ -315,6 +330,10 @@ public class ELText {
      * @throws ELException when an EL exception occurs
      */
     public static ELText parse(ExpressionFactory fact, ELContext ctx, String in, String alias) throws ELException {
+        return parse(fact, ctx, in, alias, null);
+    }
+
+    private static ELText parse(ExpressionFactory fact, ELContext ctx, String in, String alias, StringInterner interner) throws ELException {
         char[] ca = in.toCharArray();
         int i = 0;
         char c = 0;
@@ -340,15 +359,15 @@ public class ELText {
                 if (i < end) {
                     if ('{' == ca[i + 1]) {
                         if (buff.length() > 0) {
-                            text.add(new ELText(buff.toString()));
+                            text.add(new ELText(intern(interner, buff.toString())));
                             buff.setLength(0);
                         }
                         vlen = findVarLength(ca, i);
                         if (ctx != null && fact != null) {
-                            ve = fact.createValueExpression(ctx, new String(ca, i, vlen), String.class);
+                            ve = ExpressionCache.createValueExpression(ctx, fact, new String(ca, i, vlen), String.class);
                             t = new ELTextVariable(ve);
                         } else {
-                            String expr = new String(ca, i, vlen);
+                            String expr = intern(interner, new String(ca, i, vlen));
                             if (null != alias && ELUtils.isCompositeComponentExpr(expr)) {
                                 if (ELUtils.isCompositeComponentLookupWithArgs(expr)) {
                                     String message = MessageUtils.getExceptionMessageString(MessageUtils.ARGUMENTS_NOT_LEGAL_CC_ATTRS_EXPR);
@@ -376,8 +395,13 @@ public class ELText {
             i++;
         }
 
+        if (text.isEmpty() && buff.length() == len) {
+            // Entirely literal and nothing escaped, so there is no need for a copy of the input.
+            return new ELText(intern(interner, in));
+        }
+
         if (buff.length() > 0) {
-            text.add(new ELText(buff.toString()));
+            text.add(new ELText(intern(interner, buff.toString())));
             buff.setLength(0);
         }
 
@@ -391,6 +415,10 @@ public class ELText {
         }
     }
 
+    private static String intern(StringInterner interner, String string) {
+        return interner != null ? interner.intern(string) : string;
+    }
+
     private static int findVarLength(char[] ca, int s) throws ELException {
         int i = s;
         int len = ca.length;
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets.el;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.el.ELContext;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.ValueExpression;
+import jakarta.el.VariableMapper;
+
+import org.glassfish.mojarra.facelets.FaceletContextImplBase;
+import org.glassfish.mojarra.util.ConcurrentLRUCache;
+
+/**
+ * <p>
+ * A bounded cache of the value expressions created while applying facelets, shared by all threads, so that building the
+ * same view again does not parse the same expression strings again.
+ * </p>
+ *
+ * <p>
+ * A value expression captures, at the moment it is created, the expressions the variable mapper of the context maps its
+ * variables to, such as those of <code>ui:param</code> and <code>c:forEach</code>. A cached expression is therefore
+ * keyed not only by its expression string and expected type, but also by a fingerprint of what each of its variables is
+ * mapped to. An expression which came from this cache has the key it was cached by as its fingerprint, and expressions
+ * mapped by facelets themselves, such as {@link TagValueExpression} and the iteration expressions of
+ * <code>c:forEach</code>, have a {@link Fingerprinted fingerprint} which is the same for every build of the view, as long
+ * as the expressions they wrap have one as well. Any other mapped expression, such as the <code>varStatus</code> of
+ * <code>c:forEach</code> or an entry it iterates over, has no fingerprint, and an expression referring to it is neither
+ * looked up nor cached, as it would never be found again while holding on to data of the request it was created in.
+ * Expressions which call EL functions are never cached, because the function mapper in effect depends on the namespace
+ * prefixes of the facelet they appear in.
+ * </p>
+ *
+ * @since 5.0
+ * @see org.glassfish.mojarra.config.MojarraContextParam#FACELETS_EXPRESSION_CACHE_SIZE
+ */
+public final class ExpressionCache {
+
+    private static final String[] NOT_CACHEABLE = {};
+
+    private static final Set<String> RESERVED_WORDS = Set.of("and", "or", "not", "eq", "ne", "lt", "gt", "le", "ge", "true", "false", "null",
+            "instanceof", "empty", "div", "mod");
+
+    private final ConcurrentLRUCache<String, String[]> variables;
+    private final ConcurrentLRUCache<Key, ValueExpression> expressions;
+    private final ConcurrentLRUCache<Identity, Key> keys;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Constructs this cache.
+     *
+     * @param maxCapacity the maximum amount of value expressions, beyond which the least recently used ones are evicted.
+     * @throws IllegalArgumentException when the maximum capacity is less than 1.
+     */
+    public ExpressionCache(int maxCapacity) {
+        variables = new ConcurrentLRUCache<>(maxCapacity);
+        expressions = new ConcurrentLRUCache<>(maxCapacity);
+        keys = new ConcurrentLRUCache<>(maxCapacity);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Creates a value expression through the cache of the given context, if it has any, or else directly through the
+     * given expression factory.
+     *
+     * @param context the EL context, usually the facelet context being applied
+     * @param factory the expression factory
+     * @param expression the expression string
+     * @param expectedType the expected type of the value
+     * @return the value expression
+     */
+    public static ValueExpression createValueExpression(ELContext context, ExpressionFactory factory, String expression, Class<?> expectedType) {
+        ExpressionCache cache = context instanceof FaceletContextImplBase faceletContext ? faceletContext.getExpressionCache() : null;
+
+        if (cache == null) {
+            return factory.createValueExpression(context, expression, expectedType);
+        }
+
+        return cache.getValueExpression(context, factory, expression, expectedType);
+    }
+
+    /**
+     * @param context the EL context, whose variable mapper decides which cached expression is equivalent
+     * @param factory the expression factory, which creates the expression when it is not cached yet
+     * @param expression the expression string
+     * @param expectedType the expected type of the value
+     * @return the cached value expression, or a new one which is cached from now on
+     */
+    public ValueExpression getValueExpression(ELContext context, ExpressionFactory factory, String expression, Class<?> expectedType) {
+        String[] names = variables.get(expression);
+
+        if (names == null) {
+            names = findVariables(expression);
+            variables.put(expression, names);
+        }
+
+        if (names == NOT_CACHEABLE) {
+            return factory.createValueExpression(context, expression, expectedType);
+        }
+
+        VariableMapper mapper = context.getVariableMapper();
+        Object[] fingerprint = new Object[names.length];
+
+        if (mapper != null) {
+            for (int i = 0; i < names.length; i++) {
+                ValueExpression mapped = mapper.resolveVariable(names[i]);
+
+                if (mapped != null) {
+                    fingerprint[i] = getFingerprint(mapped);
+
+                    if (fingerprint[i] == null) {
+                        return factory.createValueExpression(context, expression, expectedType);
+                    }
+                }
+            }
+        }
+
+        Key key = new Key(expression, expectedType, fingerprint);
+        ValueExpression cached = expressions.get(key);
+
+        if (cached == null) {
+            cached = factory.createValueExpression(context, expression, expectedType);
+            expressions.put(key, cached);
+            keys.put(new Identity(cached), key);
+        }
+
+        return cached;
+    }
+
+    /**
+     * @param expression a value expression a variable is mapped to
+     * @return the fingerprint of the given value expression, which equals the fingerprint of another value expression
+     * only when both evaluate the same, or <code>null</code> when it has none
+     */
+    public Object getFingerprint(ValueExpression expression) {
+        if (expression instanceof Fingerprinted fingerprinted) {
+            return fingerprinted.getFingerprint(this);
+        }
+
+        // An expression whose key was evicted in the meanwhile has no fingerprint anymore, and is merely not shared anymore.
+        return keys.get(new Identity(expression));
+    }
+
+    /**
+     * @return the current amount of cached value expressions.
+     */
+    public int size() {
+        return expressions.size();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    /**
+     * Finds the names of the variables the given expression string may refer to. This errs on the side of too many, such
+     * as names of lambda parameters, which merely make the fingerprint longer than needed.
+     *
+     * @return the names, or {@link #NOT_CACHEABLE} when the expression calls a function.
+     */
+    static String[] findVariables(String expression) {
+        List<String> names = new ArrayList<>();
+        int length = expression.length();
+        int depth = 0;
+        char quote = 0;
+        char previous = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = expression.charAt(i);
+
+            if (depth == 0) {
+                if ((c == '#' || c == '$') && i + 1 < length && expression.charAt(i + 1) == '{' && (i == 0 || expression.charAt(i - 1) != '\\')) {
+                    depth = 1;
+                    previous = '{';
+                    i++;
+                }
+            } else if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                    previous = c;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int start = i;
+
+                while (i + 1 < length && Character.isJavaIdentifierPart(expression.charAt(i + 1))) {
+                    i++;
+                }
+
+                String name = expression.substring(start, i + 1);
+
+                if (previous != '.' && !RESERVED_WORDS.contains(name)) {
+                    int next = i + 1;
+
+                    while (next < length && Character.isWhitespace(expression.charAt(next))) {
+                        next++;
+                    }
+
+                    if (next < length && expression.charAt(next) == '(') {
+                        return NOT_CACHEABLE;
+                    }
+
+                    if (!names.contains(name)) {
+                        names.add(name);
+                    }
+                }
+
+                previous = 'a';
+            } else if (!Character.isWhitespace(c)) {
+                if (c == '{') {
+                    depth++;
+                } else if (c == '}') {
+                    depth--;
+                }
+
+                previous = c;
+            }
+        }
+
+        return names.toArray(new String[names.size()]);
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * A value expression which facelets map variables to, whose fingerprint does not change between builds of the view.
+     */
+    public interface Fingerprinted {
+
+        /**
+         * @param cache the cache asking for the fingerprint
+         * @return an object which equals the fingerprint of another value expression only when both evaluate the same,
+         * usually composed of {@link ExpressionCache#getFingerprint(ValueExpression)} of the wrapped expression, or
+         * <code>null</code> when the wrapped expression has none.
+         */
+        Object getFingerprint(ExpressionCache cache);
+    }
+
+    private record Identity(Object object) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Identity identity && identity.object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+    }
+
+    private record Key(String expression, Class<?> expectedType, Object[] fingerprint) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && key.expression.equals(expression) && key.expectedType == expectedType
+                    && Arrays.equals(key.fingerprint, fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * expression.hashCode() + System.identityHashCode(expectedType)) + Arrays.hashCode(fingerprint);
+        }
+    }
+
+    // TEST: org.glassfish.mojarra.facelets.el.ExpressionCacheTest
+}
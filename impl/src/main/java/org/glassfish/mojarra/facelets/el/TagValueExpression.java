@@ -20,6 +20,7 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.List;
 
 import jakarta.el.ELContext;
 import jakarta.el.ELException;
@@ -35,7 +36,7 @@ import jakarta.faces.view.facelets.TagAttribute;
  * @author Jacob Hookom
  * @version $Id$
  */
-public final class TagValueExpression extends ValueExpression implements Externalizable {
+public final class TagValueExpression extends ValueExpression implements Externalizable, ExpressionCache.Fingerprinted {
 
     private static final long serialVersionUID = 1L;
 
@@ -161,6 +162,12 @@ public final class TagValueExpression extends ValueExpression implements Externa
         return wrapped;
     }
 
+    @Override
+    public Object getFingerprint(ExpressionCache cache) {
+        Object wrappedFingerprint = cache.getFingerprint(wrapped);
+        return wrappedFingerprint != null ? List.of(TagValueExpression.class, tagAttribute, wrappedFingerprint) : null;
+    }
+
     @Override
     public String toString() {
         return tagAttribute;
@@ -16,8 +16,11 @@
 
 package org.glassfish.mojarra.facelets.el;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import jakarta.el.ELException;
 import jakarta.el.ValueExpression;
@@ -74,4 +77,46 @@ public class VariableMapperWrapper extends VariableMapper {
         }
         return vars.put(variable, expression);
     }
+
+    /**
+     * Returns a mapper which keeps resolving the variables the given mapper resolves now, even after the given mapper, or
+     * a mapper it wraps, is modified. The variables of the wrappers and default mappers the given mapper is composed of
+     * are copied, and any other mapper it ends in is wrapped as is.
+     *
+     * @param mapper the variable mapper to take a snapshot of
+     * @return the snapshot
+     */
+    public static VariableMapperWrapper snapshot(VariableMapper mapper) {
+        Deque<Map<String, ValueExpression>> scopes = new ArrayDeque<>();
+        VariableMapper current = mapper;
+
+        while (current instanceof VariableMapperWrapper wrapper) {
+            if (wrapper.vars != null) {
+                scopes.push(wrapper.vars);
+            }
+
+            current = wrapper.target;
+        }
+
+        if (current instanceof DefaultVariableMapper defaultMapper) {
+            if (defaultMapper.getVariables() != null) {
+                scopes.push(defaultMapper.getVariables());
+            }
+
+            current = null;
+        }
+
+        VariableMapperWrapper snapshot = new VariableMapperWrapper(current != null ? current : new DefaultVariableMapper());
+
+        // Outermost scope first, so that inner scopes override it, skipping the nulls which resolve against the outer one.
+        for (Map<String, ValueExpression> scope : scopes) {
+            for (Entry<String, ValueExpression> variable : scope.entrySet()) {
+                if (variable.getValue() != null) {
+                    snapshot.setVariable(variable.getKey(), variable.getValue());
+                }
+            }
+        }
+
+        return snapshot;
+    }
 }
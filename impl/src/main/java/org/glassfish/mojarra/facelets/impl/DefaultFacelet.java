@@ -47,6 +47,8 @@ import jakarta.faces.view.facelets.FaceletContext;
 import jakarta.faces.view.facelets.FaceletException;
 import jakarta.faces.view.facelets.FaceletHandler;
 
+import org.glassfish.mojarra.facelets.compiler.EncodingHandler;
+import org.glassfish.mojarra.facelets.el.ExpressionCache;
 import org.glassfish.mojarra.facelets.tag.faces.ComponentSupport;
 import org.glassfish.mojarra.util.FacesLogger;
 import org.glassfish.mojarra.util.Util;
@@ -66,6 +68,10 @@ final class DefaultFacelet extends Facelet implements XMLFrontMatterSaver {
 
     private final String alias;
 
+    /** The hash code of {@link #alias}, and 31 to the power of its length. See {@link #appendAliasHash(int)}. */
+    private final int aliasHash;
+    private final int aliasHashFactor;
+
     private final ExpressionFactory elFactory;
 
     private final DefaultFaceletFactory factory;
@@ -97,6 +103,8 @@ final class DefaultFacelet extends Facelet implements XMLFrontMatterSaver {
         this.src = src;
         this.root = root;
         this.alias = alias;
+        aliasHash = alias.hashCode();
+        aliasHashFactor = hashFactor(alias.length());
         this.mapper = factory.idMappers != null ? factory.idMappers.get(alias) : null;
         createTime = System.currentTimeMillis();
         refreshPeriodInMillis = this.factory.getRefreshPeriodInMillis();
@@ -221,6 +229,18 @@ final class DefaultFacelet extends Facelet implements XMLFrontMatterSaver {
         return alias;
     }
 
+    /**
+     * Returns the hash code of the string whose hash code is given followed by this Facelet's alias, which is what
+     * {@link String#hashCode()} of both concatenated returns, without concatenating them. The id prefix of a build is
+     * the hash code of the aliases of its include path, which this computes one Facelet at a time.
+     *
+     * @param hash the hash code of the string preceding the alias
+     * @return the hash code of that string followed by the alias
+     */
+    int appendAliasHash(int hash) {
+        return hash * aliasHashFactor + aliasHash;
+    }
+
     /**
      * Returns this Facelet's unique-id counter slot for the given tag, assigning the next free one if the tag has
      * none yet, for a tag handler to hold onto for as long as this (application-scoped) Facelet lives. Slots are
@@ -276,6 +296,13 @@ final class DefaultFacelet extends Facelet implements XMLFrontMatterSaver {
         return elFactory;
     }
 
+    /**
+     * @return the cache of value expressions shared by all facelets of the factory, or {@code null} when there is none
+     */
+    ExpressionCache getExpressionCache() {
+        return factory.getExpressionCache();
+    }
+
     /**
      * The time when this Facelet was created, NOT the URL source code
      *
@@ -305,6 +332,15 @@ final class DefaultFacelet extends Facelet implements XMLFrontMatterSaver {
         return src;
     }
 
+    /**
+     * The size of this Facelet, which weighs it in a bounded {@link DefaultFaceletCache}.
+     *
+     * @return the amount of tags, text blocks and instructions this Facelet was compiled from, or 1 when unknown
+     */
+    int getWeight() {
+        return root instanceof EncodingHandler encodingHandler ? Math.max(1, encodingHandler.getWeight()) : 1;
+    }
+
     /**
      * Given the passed FaceletContext, apply our child FaceletHandlers to the passed parent
      *
@@ -448,4 +484,12 @@ final class DefaultFacelet extends Facelet implements XMLFrontMatterSaver {
         return loader.getResource("META-INF/error-include.xhtml");
 
     }
+
+    private static int hashFactor(int length) {
+        int factor = 1;
+        for (int i = 0; i < length; i++) {
+            factor *= 31;
+        }
+        return factor;
+    }
 }
@@ -18,12 +18,14 @@ package org.glassfish.mojarra.facelets.impl;
 
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
 
 import jakarta.faces.FacesException;
 import jakarta.faces.view.facelets.FaceletCache;
 
+import org.glassfish.mojarra.util.BoundedConcurrentCache;
 import org.glassfish.mojarra.util.ConcurrentCache;
 import org.glassfish.mojarra.util.ExpiringConcurrentCache;
 import org.glassfish.mojarra.util.Util;
@@ -40,6 +42,32 @@ final class DefaultFaceletCache extends FaceletCache<DefaultFacelet> {
      * refresh'
      */
     DefaultFaceletCache(final long refreshPeriodInSeconds) {
+        this(refreshPeriodInSeconds, -1);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param refreshPeriod cache refresh period (in seconds). 0 means 'always refresh', negative value means 'never
+     * refresh'
+     * @param maxWeight the maximum total weight of each of the facelet and the metadata facelet caches, see
+     * {@link DefaultFacelet#getWeight()}. A value less than 1 means 'unbounded'
+     */
+    DefaultFaceletCache(final long refreshPeriodInSeconds, final long maxWeight) {
+        this(refreshPeriodInSeconds, maxWeight, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param refreshPeriod cache refresh period (in seconds). 0 means 'always refresh', negative value means 'never
+     * refresh'
+     * @param maxWeight the maximum total weight of each of the facelet and the metadata facelet caches, see
+     * {@link DefaultFacelet#getWeight()}. A value less than 1 means 'unbounded'
+     * @param watcher when not <code>null</code> and the refresh period is positive, the facelets in the file system are
+     * refreshed as soon as the watcher notices their modification, and only the others are refreshed by period
+     */
+    DefaultFaceletCache(final long refreshPeriodInSeconds, final long maxWeight, final FaceletWatcher watcher) {
 
         // We will be delegating object storage to the ExpiringCocurrentCache
         // Create Factory objects here for the cache. The objects will be delegating to our
@@ -47,19 +75,25 @@ final class DefaultFaceletCache extends FaceletCache<DefaultFacelet> {
 
         final boolean checkExpiry = refreshPeriodInSeconds > 0;
         final long refreshPeriodInMillis = refreshPeriodInSeconds >= 0 ? refreshPeriodInSeconds * 1000 : -1;
+        final FaceletWatcher checkWatcher = checkExpiry ? watcher : null;
 
         ConcurrentCache.Factory<URL, Record> faceletFactory = key -> {
             // Make sure that the expensive timestamp retrieval is not done
             // if no expiry check is going to be performed
-            long lastModified = checkExpiry ? Util.getLastModified(key) : 0;
-            return new Record(System.currentTimeMillis(), lastModified, getMemberFactory().newInstance(key), refreshPeriodInMillis);
+            Path watched = checkWatcher != null ? checkWatcher.watch(key) : null;
+            long version = watched != null ? checkWatcher.getVersion() : 0;
+            long lastModified = checkExpiry && watched == null ? Util.getLastModified(key) : 0;
+            return new Record(System.currentTimeMillis(), lastModified, getMemberFactory().newInstance(key), refreshPeriodInMillis, watched, version);
         };
 
         ConcurrentCache.Factory<URL, Record> metadataFaceletFactory = key -> {
             // Make sure that the expensive timestamp retrieval is not done
             // if no expiry check is going to be performed
-            long lastModified = checkExpiry ? Util.getLastModified(key) : 0;
-            return new Record(System.currentTimeMillis(), lastModified, getMetadataMemberFactory().newInstance(key), refreshPeriodInMillis);
+            Path watched = checkWatcher != null ? checkWatcher.watch(key) : null;
+            long version = watched != null ? checkWatcher.getVersion() : 0;
+            long lastModified = checkExpiry && watched == null ? Util.getLastModified(key) : 0;
+            return new Record(System.currentTimeMillis(), lastModified, getMetadataMemberFactory().newInstance(key), refreshPeriodInMillis, watched,
+                    version);
         };
 
         // No caching if refreshPeriod is 0
@@ -67,9 +101,16 @@ final class DefaultFaceletCache extends FaceletCache<DefaultFacelet> {
             _faceletCache = new NoCache(faceletFactory);
             _metadataFaceletCache = new NoCache(metadataFaceletFactory);
         } else {
-            ExpiringConcurrentCache.ExpiryChecker<URL, Record> checker = refreshPeriodInSeconds > 0 ? new ExpiryChecker() : new NeverExpired();
-            _faceletCache = new ExpiringConcurrentCache<>(faceletFactory, checker);
-            _metadataFaceletCache = new ExpiringConcurrentCache<>(metadataFaceletFactory, checker);
+            ExpiringConcurrentCache.ExpiryChecker<URL, Record> checker = refreshPeriodInSeconds > 0
+                    ? checkWatcher != null ? new WatchingExpiryChecker(checkWatcher) : new ExpiryChecker()
+                    : new NeverExpired();
+            if (maxWeight > 0) {
+                _faceletCache = new BoundedConcurrentCache<>(faceletFactory, checker, maxWeight, Record::getWeight);
+                _metadataFaceletCache = new BoundedConcurrentCache<>(metadataFaceletFactory, checker, maxWeight, Record::getWeight);
+            } else {
+                _faceletCache = new ExpiringConcurrentCache<>(faceletFactory, checker);
+                _metadataFaceletCache = new ExpiringConcurrentCache<>(metadataFaceletFactory, checker);
+            }
         }
     }
 
@@ -136,10 +177,12 @@ final class DefaultFaceletCache extends FaceletCache<DefaultFacelet> {
      * next expiry check should be performed
      */
     private static class Record {
-        Record(long creationTime, long lastModified, DefaultFacelet facelet, long refreshIntervalInMillis) {
+        Record(long creationTime, long lastModified, DefaultFacelet facelet, long refreshIntervalInMillis, Path watched, long version) {
             _facelet = facelet;
             _lastModified = lastModified;
             _refreshInterval = refreshIntervalInMillis;
+            _watched = watched;
+            _version = version;
 
             // There is no point in calculating the next refresh time if we are refreshing always/never
             _nextRefreshTime = _refreshInterval > 0 ? new AtomicLong(creationTime + refreshIntervalInMillis) : null;
@@ -149,10 +192,22 @@ final class DefaultFaceletCache extends FaceletCache<DefaultFacelet> {
             return _facelet;
         }
 
+        long getWeight() {
+            return _facelet.getWeight();
+        }
+
         long getLastModified() {
             return _lastModified;
         }
 
+        Path getWatched() {
+            return _watched;
+        }
+
+        long getVersion() {
+            return _version;
+        }
+
         long getNextRefreshTime() {
             // There is no point in calculating the next refresh time if we are refreshing always/never
             return _refreshInterval > 0 ? _nextRefreshTime.get() : 0;
@@ -167,6 +222,8 @@ final class DefaultFaceletCache extends FaceletCache<DefaultFacelet> {
         private final long _refreshInterval;
         private final AtomicLong _nextRefreshTime;
         private final DefaultFacelet _facelet;
+        private final Path _watched;
+        private final long _version;
     }
 
     private static class ExpiryChecker implements ExpiringConcurrentCache.ExpiryChecker<URL, Record> {
@@ -184,6 +241,28 @@ final class DefaultFaceletCache extends FaceletCache<DefaultFacelet> {
         }
     }
 
+    /**
+     * Asks the {@link FaceletWatcher} whether a facelet from the file system was modified, and falls back to the
+     * {@link ExpiryChecker} for any other.
+     */
+    private static class WatchingExpiryChecker extends ExpiryChecker {
+
+        private final FaceletWatcher watcher;
+
+        WatchingExpiryChecker(FaceletWatcher watcher) {
+            this.watcher = watcher;
+        }
+
+        @Override
+        public boolean isExpired(URL url, Record record) {
+            if (record.getWatched() != null) {
+                return watcher.isModified(record.getWatched(), record.getVersion());
+            }
+
+            return super.isExpired(url, record);
+        }
+    }
+
     private static class NeverExpired implements ExpiringConcurrentCache.ExpiryChecker<URL, Record> {
         @Override
         public boolean isExpired(URL key, Record value) {
@@ -44,6 +44,8 @@ import jakarta.faces.view.facelets.FaceletContext;
 import org.glassfish.mojarra.facelets.FaceletContextImplBase;
 import org.glassfish.mojarra.facelets.TemplateClient;
 import org.glassfish.mojarra.facelets.el.DefaultVariableMapper;
+import org.glassfish.mojarra.facelets.el.ExpressionCache;
+import org.glassfish.mojarra.facelets.el.VariableMapperWrapper;
 
 /**
  * Default FaceletContext implementation.
@@ -85,6 +87,8 @@ final class DefaultFaceletContext extends FaceletContextImplBase {
      */
     private String[] localIds;
     private final Map<Integer, Integer> prefixes;
+    /** The scope of a context created by {@link #createScopedContext(String)}, which the prefix is derived from. */
+    private final String idScope;
     private String prefix;
     private final StringBuilder uniqueIdBuilder = new StringBuilder(30);
 
@@ -96,6 +100,7 @@ final class DefaultFaceletContext extends FaceletContextImplBase {
         ids = ctx.ids;
         idCounters = ctx.idCounters;
         prefixes = ctx.prefixes;
+        idScope = ctx.idScope;
         varMapper = ctx.varMapper;
         faceletHierarchy = new ArrayList<>(ctx.faceletHierarchy.size() + 1);
         faceletHierarchy.addAll(ctx.faceletHierarchy);
@@ -109,6 +114,7 @@ final class DefaultFaceletContext extends FaceletContextImplBase {
         ids = new HashMap<>();
         idCounters = new IdentityHashMap<>();
         prefixes = new HashMap<>();
+        idScope = null;
         clients = new ArrayList<>(5);
         this.faces = faces;
         faceletHierarchy = new ArrayList<>(1);
@@ -122,6 +128,20 @@ final class DefaultFaceletContext extends FaceletContextImplBase {
         this.faces.getAttributes().put(FaceletContext.FACELET_CONTEXT_KEY, this);
     }
 
+    private DefaultFaceletContext(DefaultFaceletContext ctx, String idScope) {
+        this.ctx = ctx.ctx;
+        clients = new ArrayList<>(ctx.clients);
+        faces = ctx.faces;
+        fnMapper = ctx.fnMapper;
+        ids = new HashMap<>();
+        idCounters = new IdentityHashMap<>();
+        prefixes = new HashMap<>();
+        this.idScope = idScope;
+        varMapper = VariableMapperWrapper.snapshot(ctx.varMapper);
+        faceletHierarchy = new ArrayList<>(ctx.faceletHierarchy);
+        facelet = ctx.facelet;
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -245,6 +265,16 @@ final class DefaultFaceletContext extends FaceletContextImplBase {
         return facelet.getIdSlot(tagId);
     }
 
+    @Override
+    public ExpressionCache getExpressionCache() {
+        return facelet.getExpressionCache();
+    }
+
+    @Override
+    public FaceletContextImplBase createScopedContext(String idScope) {
+        return new DefaultFaceletContext(this, idScope);
+    }
+
     /**
      * Slot-based counterpart of {@link #generateUniqueId(String)}: same id, but the counter for {@code base} is read
      * from {@code owner}'s counter array at {@code slot} rather than looked up by tag id in a map. A tag handler
@@ -353,12 +383,12 @@ final class DefaultFaceletContext extends FaceletContextImplBase {
      */
     private String ensurePrefix() {
         if (prefix == null) {
-            StringBuilder builder = new StringBuilder(faceletHierarchy.size() * 30);
+            // The hash code of the scope followed by the aliases of the include path, without concatenating them.
+            int hash = idScope != null ? idScope.hashCode() : 0;
             for (int i = 0; i < faceletHierarchy.size(); i++) {
-                DefaultFacelet facelet = (DefaultFacelet) faceletHierarchy.get(i);
-                builder.append(facelet.getAlias());
+                hash = ((DefaultFacelet) faceletHierarchy.get(i)).appendAliasHash(hash);
             }
-            Integer prefixInt = builder.toString().hashCode();
+            Integer prefixInt = hash;
 
             Integer cnt = prefixes.get(prefixInt);
             if (cnt == null) {
@@ -64,6 +64,7 @@ import org.glassfish.mojarra.application.resource.ResourceManager;
 import org.glassfish.mojarra.config.MojarraContextParam;
 import org.glassfish.mojarra.context.FacesFileNotFoundException;
 import org.glassfish.mojarra.facelets.compiler.Compiler;
+import org.glassfish.mojarra.facelets.el.ExpressionCache;
 import org.glassfish.mojarra.util.Cache;
 import org.glassfish.mojarra.util.FacesLogger;
 import org.glassfish.mojarra.util.Util;
@@ -97,6 +98,8 @@ public class DefaultFaceletFactory {
 
     Cache<String, IdMapper> idMappers;
 
+    private ExpressionCache expressionCache;
+
     // ------------------------------------------------------------ Constructors
 
     public DefaultFaceletFactory() {
@@ -116,6 +119,8 @@ public class DefaultFaceletFactory {
         baseUrlAsString = baseUrl.toExternalForm();
         faceletResourceSuffixes = Util.getFaceletResourceSuffixes(facesContext);
         this.idMappers = MojarraContextParam.USE_FACELETS_ID.isEnabled(facesContext) ? null : new Cache<>(new IdMapperFactory());
+        int expressionCacheSize = MojarraContextParam.FACELETS_EXPRESSION_CACHE_SIZE.getInt(facesContext);
+        this.expressionCache = expressionCacheSize > 0 ? new ExpressionCache(expressionCacheSize) : null;
         this.refreshPeriodInMillis = refreshPeriodInSeconds >= 0 ? refreshPeriodInSeconds * 1000 : -1;
         if (log.isLoggable(Level.FINE)) {
             log.log(Level.FINE, "Using ResourceResolver: {0}", resolver);
@@ -499,11 +504,16 @@ public class DefaultFaceletFactory {
         log.fine(() -> "Creating Metadata Facelet for: " + url);
 
         String alias = '/' + url.getFile().replaceFirst(quote(baseUrl.getFile()), "");
+
+        // Only compile the full facelet along with the metadata facelet when it is not cached already.
+        FacesContext context = FacesContext.getCurrentInstance();
+        boolean compileFacelet = context != null && !getCache(context).isFaceletCached(url);
+
         try {
             return new DefaultFacelet(this,
                 compiler.createExpressionFactory(),
                 url, alias,
-                compiler.metadataCompile(url, alias));
+                compiler.metadataCompile(url, alias, compileFacelet));
         } catch (FileNotFoundException fnfe) {
             throw new FileNotFoundException("Facelet " + alias + " not found at: " + url.toExternalForm());
         }
@@ -514,6 +524,14 @@ public class DefaultFaceletFactory {
         return refreshPeriodInMillis;
     }
 
+    /**
+     * @return the cache of value expressions shared by the builds of all views, or {@code null} when it is disabled
+     * @see MojarraContextParam#FACELETS_EXPRESSION_CACHE_SIZE
+     */
+    public ExpressionCache getExpressionCache() {
+        return expressionCache;
+    }
+
 
     // ---------------------------------------------------------- Nested Classes
 
@@ -21,6 +21,7 @@ import jakarta.faces.view.facelets.FaceletCache;
 import jakarta.faces.view.facelets.FaceletCacheFactory;
 
 import org.glassfish.mojarra.config.FacesContextParam;
+import org.glassfish.mojarra.config.MojarraContextParam;
 
 /**
  * Default implementation of {@link FaceletCacheFactory}.
@@ -33,8 +34,13 @@ public class FaceletCacheFactoryImpl extends FaceletCacheFactory {
 
     @Override
     public FaceletCache<DefaultFacelet> getFaceletCache() {
-        int refreshPeriodInSeconds = FacesContextParam.FACELETS_REFRESH_PERIOD.getInt(FacesContext.getCurrentInstance());
-        FaceletCache<DefaultFacelet> result = new DefaultFaceletCache(refreshPeriodInSeconds);
+        FacesContext context = FacesContext.getCurrentInstance();
+        int refreshPeriodInSeconds = FacesContextParam.FACELETS_REFRESH_PERIOD.getInt(context);
+        long maxWeight = MojarraContextParam.FACELET_CACHE_MAX_WEIGHT.getLong(context);
+        FaceletWatcher watcher = refreshPeriodInSeconds > 0 && MojarraContextParam.FACELETS_REFRESH_WATCH.isEnabled(context)
+                ? FaceletWatcher.getInstance(context)
+                : null;
+        FaceletCache<DefaultFacelet> result = new DefaultFaceletCache(refreshPeriodInSeconds, maxWeight, watcher);
         return result;
     }
 }
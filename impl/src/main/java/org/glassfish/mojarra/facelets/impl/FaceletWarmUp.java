@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets.impl;
+
+import static java.text.MessageFormat.format;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.INFO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import jakarta.faces.application.Resource;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.context.FacesContextWrapper;
+
+import org.glassfish.mojarra.application.ApplicationAssociate;
+import org.glassfish.mojarra.config.FacesContextParam;
+import org.glassfish.mojarra.util.FacesLogger;
+import org.glassfish.mojarra.util.MojarraThreadFactory;
+import org.glassfish.mojarra.util.Util;
+
+/**
+ * <p>
+ * Compiles the facelets of the application at startup, so that the first request to each page does not pay for
+ * parsing it, constructing its tag handlers and parsing its expressions. Every view found by
+ * {@link jakarta.faces.application.ViewHandler#getViews(FacesContext, String, jakarta.faces.application.ViewVisitOption...)}
+ * is compiled into both the facelet cache and the metadata facelet cache of the {@link DefaultFaceletFactory}, and every
+ * composite component of the resource libraries in the web application and in its <code>/WEB-INF/lib</code> JARs into
+ * the facelet cache.
+ * </p>
+ *
+ * <p>
+ * The facelets are compiled concurrently on a bounded executor, which uses virtual threads when the runtime has them.
+ * Startup waits for them at most as long as it is told to in {@link #await(long)}, after which the remainder is
+ * compiled in the background until done or {@link #cancel()}. A facelet which cannot be compiled without a request is
+ * left to be compiled on first use, as before.
+ * </p>
+ *
+ * @since 5.0
+ * @see org.glassfish.mojarra.config.MojarraContextParam#FACELETS_WARM_UP
+ */
+public final class FaceletWarmUp {
+
+    private static final Logger LOGGER = FacesLogger.FACELETS_FACTORY.getLogger();
+
+    private static final String WEB_INF_LIB = "/WEB-INF/lib";
+    private static final String META_INF_RESOURCES = "META-INF/resources/";
+
+    private final ExecutorService executor;
+    private final AtomicInteger remaining;
+    private final long started;
+
+    // ------------------------------------------------------------ Constructors
+
+    private FaceletWarmUp(FacesContext context, DefaultFaceletFactory factory, Map<String, Compilation> compilations) {
+        int threads = Math.max(1, Math.min(compilations.size(), Runtime.getRuntime().availableProcessors()));
+        executor = Executors.newFixedThreadPool(threads, createThreadFactory());
+        remaining = new AtomicInteger(compilations.size());
+        started = System.nanoTime();
+
+        compilations.forEach((name, compilation) -> executor.execute(() -> compile(context, factory, name, compilation)));
+        executor.shutdown();
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Starts compiling the facelets of the application in the background.
+     *
+     * @param context the {@link FacesContext} of the application startup
+     * @return the started warm-up, or <code>null</code> when the application has no facelets to compile
+     */
+    public static FaceletWarmUp start(FacesContext context) {
+        ApplicationAssociate associate = ApplicationAssociate.getInstance(context.getExternalContext());
+        DefaultFaceletFactory factory = associate != null ? associate.getFaceletFactory() : null;
+
+        if (factory == null) {
+            return null;
+        }
+
+        Map<String, Compilation> compilations = new LinkedHashMap<>();
+        collectViews(context, factory, compilations);
+        collectCompositeComponents(context, factory, compilations);
+
+        if (compilations.isEmpty()) {
+            return null;
+        }
+
+        LOGGER.log(FINE, "Warming up {0} facelets", compilations.size());
+        return new FaceletWarmUp(context, factory, compilations);
+    }
+
+    /**
+     * Waits until every facelet is compiled or the given budget is spent, whichever comes first. The facelets which are
+     * not compiled by then are compiled in the background.
+     *
+     * @param timeout the amount of milliseconds to wait at most
+     * @return whether every facelet is compiled
+     */
+    public boolean await(long timeout) {
+        try {
+            if (executor.awaitTermination(timeout, MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        LOGGER.log(INFO, "Continuing to warm up {0} facelets in the background", remaining.get());
+        return false;
+    }
+
+    /**
+     * Drops the facelets which are not compiled yet.
+     */
+    public void cancel() {
+        executor.shutdownNow();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static void collectViews(FacesContext context, DefaultFaceletFactory factory, Map<String, Compilation> compilations) {
+        String resourcesDirectory = FacesContextParam.WEBAPP_RESOURCES_DIRECTORY.getString(context);
+        String resourcesPath = (resourcesDirectory.startsWith("/") ? "" : "/") + resourcesDirectory + "/";
+
+        context.getApplication().getViewHandler().getViews(context, "/").forEach(viewId -> {
+            if (viewId.startsWith(resourcesPath)) {
+                // A composite component, whose metadata is taken from the full facelet rather than the metadata one.
+                compilations.put(viewId, $ -> factory.getFacelet($, viewId));
+            } else {
+                compilations.put(viewId, $ -> {
+                    factory.getMetadataFacelet($, viewId);
+                    factory.getFacelet($, viewId);
+                });
+            }
+        });
+    }
+
+    private static void collectCompositeComponents(FacesContext context, DefaultFaceletFactory factory, Map<String, Compilation> compilations) {
+        ExternalContext externalContext = context.getExternalContext();
+        Set<String> jars = externalContext.getResourcePaths(WEB_INF_LIB);
+
+        if (jars == null) {
+            return;
+        }
+
+        String[] suffixes = Util.getFaceletResourceSuffixes(context);
+
+        for (String jar : jars) {
+            if (!jar.endsWith(".jar")) {
+                continue;
+            }
+
+            try (InputStream input = externalContext.getResourceAsStream(jar)) {
+                if (input == null) {
+                    continue;
+                }
+
+                for (String[] libraryAndName : getCompositeComponents(new ZipInputStream(input), suffixes)) {
+                    String library = libraryAndName[0];
+                    String name = libraryAndName[1];
+
+                    compilations.putIfAbsent(jar + "!/" + META_INF_RESOURCES + library + "/" + name, $ -> {
+                        Resource resource = $.getApplication().getResourceHandler().createResource(name, library);
+
+                        if (resource != null) {
+                            factory.getFacelet($, resource.getURL());
+                        }
+                    });
+                }
+            } catch (IOException e) {
+                LOGGER.log(FINE, e, () -> "Unable to inspect " + jar + " for composite components");
+            }
+        }
+    }
+
+    /**
+     * Returns the library and the name of every composite component in the given JAR, that is, of every facelet directly
+     * within a library directory of <code>META-INF/resources</code>.
+     */
+    static List<String[]> getCompositeComponents(ZipInputStream jar, String[] suffixes) throws IOException {
+        List<String[]> compositeComponents = new ArrayList<>();
+
+        for (ZipEntry entry = jar.getNextEntry(); entry != null; entry = jar.getNextEntry()) {
+            String entryName = entry.getName();
+
+            if (entry.isDirectory() || !entryName.startsWith(META_INF_RESOURCES) || !endsWithOneOf(entryName, suffixes)) {
+                continue;
+            }
+
+            String[] libraryAndName = entryName.substring(META_INF_RESOURCES.length()).split("/");
+
+            if (libraryAndName.length == 2 && !libraryAndName[0].isEmpty()) {
+                compositeComponents.add(libraryAndName);
+            }
+        }
+
+        return compositeComponents;
+    }
+
+    private static boolean endsWithOneOf(String name, String[] suffixes) {
+        for (String suffix : suffixes) {
+            if (name.endsWith(suffix)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void compile(FacesContext initContext, DefaultFaceletFactory factory, String name, Compilation compilation) {
+        WarmUpFacesContext context = new WarmUpFacesContext(initContext);
+        long start = System.nanoTime();
+
+        try {
+            compilation.compile(context);
+            LOGGER.log(FINE, "Warmed up {0} in {1} ms", new Object[] { name, NANOSECONDS.toMillis(System.nanoTime() - start) });
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(FINE, e, () -> format("Unable to warm up {0}, it will be compiled on first use", name));
+        } finally {
+            context.release();
+
+            if (remaining.decrementAndGet() == 0) {
+                LOGGER.log(INFO, "Warmed up the facelets in {0} ms", NANOSECONDS.toMillis(System.nanoTime() - started));
+            }
+        }
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        try {
+            // Thread.ofVirtual().factory(), as far as the runtime has it.
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return new MojarraThreadFactory("FaceletWarmUp");
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    @FunctionalInterface
+    private interface Compilation {
+        void compile(FacesContext context) throws IOException;
+    }
+
+    /**
+     * The {@link FacesContext} of a single compilation, which shares the application startup one but not its attributes,
+     * into which the compiler saves the DOCTYPE and XML declaration of the facelet.
+     */
+    private static final class WarmUpFacesContext extends FacesContextWrapper {
+
+        private final Map<Object, Object> attributes = new HashMap<>();
+
+        WarmUpFacesContext(FacesContext wrapped) {
+            super(wrapped);
+            setCurrentInstance(this);
+        }
+
+        @Override
+        public Map<Object, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public List<String> getResourceLibraryContracts() {
+            return emptyList();
+        }
+
+        @Override
+        public void release() {
+            attributes.clear();
+            setCurrentInstance(null);
+        }
+    }
+
+    // TEST: org.glassfish.mojarra.facelets.impl.FaceletWarmUpTest
+}
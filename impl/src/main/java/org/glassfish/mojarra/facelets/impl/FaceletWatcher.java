@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets.impl;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import jakarta.faces.application.Application;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.event.PreDestroyApplicationEvent;
+import jakarta.faces.event.SystemEvent;
+import jakarta.faces.event.SystemEventListener;
+
+import org.glassfish.mojarra.util.FacesLogger;
+import org.glassfish.mojarra.util.MojarraThreadFactory;
+
+/**
+ * <p>
+ * Watches the directories of the facelets which were compiled from the file system, so that {@link DefaultFaceletCache}
+ * can tell whether such a facelet was modified by merely looking it up, rather than by asking the file system for its
+ * last modified time on the request thread.
+ * </p>
+ *
+ * <p>
+ * Every change reported by the {@link WatchService} advances a version, and is recorded as the version at which the file
+ * last changed. A facelet compiled at a given version is modified when its file changed at a later version. When the
+ * {@link WatchService} reports that it lost events, every facelet compiled before then counts as modified. The same goes
+ * when more than {@value #MAX_CHANGES} files changed, after which the recorded changes are forgotten, so that they do not
+ * pile up in a long running application.
+ * </p>
+ *
+ * @since 5.0
+ * @see org.glassfish.mojarra.config.MojarraContextParam#FACELETS_REFRESH_WATCH
+ */
+final class FaceletWatcher implements Closeable {
+
+    private static final Logger LOGGER = FacesLogger.FACELETS_FACTORY.getLogger();
+
+    private static final String INSTANCE_KEY = FaceletWatcher.class.getName();
+
+    static final int MAX_CHANGES = 4096;
+
+    private final WatchService watchService;
+    private final ConcurrentMap<Path, Boolean> directories = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Path, Long> changes = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile long overflowVersion;
+
+    // ------------------------------------------------------------ Constructors
+
+    FaceletWatcher() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        new MojarraThreadFactory("FaceletWatcher").newThread(this::run).start();
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Returns the watcher of the application, which is closed along with the application.
+     *
+     * @param context the involved faces context
+     * @return the watcher of the application, or <code>null</code> when the file system cannot be watched
+     */
+    static FaceletWatcher getInstance(FacesContext context) {
+        Map<String, Object> applicationMap = context.getExternalContext().getApplicationMap();
+
+        synchronized (FaceletWatcher.class) {
+            FaceletWatcher watcher = (FaceletWatcher) applicationMap.get(INSTANCE_KEY);
+
+            if (watcher == null) {
+                try {
+                    watcher = new FaceletWatcher();
+                } catch (IOException | UnsupportedOperationException e) {
+                    LOGGER.log(WARNING, "Unable to watch the facelets for modifications, falling back to polling them", e);
+                    return null;
+                }
+
+                applicationMap.put(INSTANCE_KEY, watcher);
+                context.getApplication().subscribeToEvent(PreDestroyApplicationEvent.class, Application.class, new CloseListener(watcher));
+            }
+
+            return watcher;
+        }
+    }
+
+    /**
+     * Starts watching the file the given URL points to, if it is a file at all. This must happen before the file is read,
+     * so that no modification goes unnoticed.
+     *
+     * @param url the URL of a facelet
+     * @return the watched file, or <code>null</code> when it cannot be watched and must be polled instead
+     */
+    Path watch(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+
+        Path file;
+
+        try {
+            file = Path.of(url.toURI()).normalize();
+        } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            return null;
+        }
+
+        Path directory = file.getParent();
+        return directory != null && directories.computeIfAbsent(directory, this::register) ? file : null;
+    }
+
+    /**
+     * @return the current version, to be remembered along with whatever is about to be read from a watched file.
+     */
+    long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @param file a watched file
+     * @param sinceVersion the version returned by {@link #getVersion()} before the file was read
+     * @return whether the file changed since
+     */
+    boolean isModified(Path file, long sinceVersion) {
+        // The changes go first, as they are only forgotten after the overflow version is advanced.
+        return changes.getOrDefault(file, 0L) > sinceVersion || overflowVersion > sinceVersion;
+    }
+
+    /**
+     * Records that the given file changed, at a new version.
+     *
+     * @param file the file which changed, or <code>null</code> when events were lost
+     */
+    void changed(Path file) {
+        long changed = version.incrementAndGet();
+
+        if (file == null || changes.size() >= MAX_CHANGES) {
+            overflowVersion = changed;
+            changes.clear();
+        } else {
+            changes.put(file, changed);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private Boolean register(Path directory) {
+        try {
+            directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            return true;
+        } catch (IOException | ClosedWatchServiceException | UnsupportedOperationException e) {
+            LOGGER.log(FINE, e, () -> "Unable to watch " + directory + ", falling back to polling the facelets in it");
+            return false;
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path directory = (Path) key.watchable();
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed(event.kind() == OVERFLOW ? null : directory.resolve((Path) event.context()));
+                }
+
+                if (!key.reset()) {
+                    // The directory is gone, so a facelet compiled from it later on has to register it again.
+                    directories.remove(directory);
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            LOGGER.log(FINE, "Stopped watching the facelets for modifications");
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class CloseListener implements SystemEventListener {
+
+        private final FaceletWatcher watcher;
+
+        CloseListener(FaceletWatcher watcher) {
+            this.watcher = watcher;
+        }
+
+        @Override
+        public boolean isListenerForSource(Object source) {
+            return source instanceof Application;
+        }
+
+        @Override
+        public void processEvent(SystemEvent event) {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                LOGGER.log(FINE, "Unable to stop watching the facelets for modifications", e);
+            }
+        }
+    }
+
+    // TEST: org.glassfish.mojarra.facelets.impl.FaceletWatcherTest
+}
@@ -37,6 +37,7 @@ import org.glassfish.mojarra.el.ELUtils;
 import org.glassfish.mojarra.facelets.el.ContextualCompositeMethodExpression;
 import org.glassfish.mojarra.facelets.el.ContextualCompositeValueExpression;
 import org.glassfish.mojarra.facelets.el.ELText;
+import org.glassfish.mojarra.facelets.el.ExpressionCache;
 import org.glassfish.mojarra.facelets.el.TagMethodExpression;
 import org.glassfish.mojarra.facelets.el.TagValueExpression;
 import org.glassfish.mojarra.util.MessageUtils;
@@ -296,6 +297,8 @@ public class TagAttributeImpl extends TagAttribute {
                 }
             }
         } else {
+            // The value is evaluated into the tree being built, so another request may well build another tree.
+            TagHandlerImpl.markUncloneableBuild(ctx);
             ValueExpression ve = this.getValueExpression(ctx, type);
             try {
                 return ve.getValue(ctx);
@@ -347,7 +350,7 @@ public class TagAttributeImpl extends TagAttribute {
     public ValueExpression getValueExpression(FaceletContext ctx, String expr, Class<?> type) {
         try {
             ExpressionFactory f = ctx.getExpressionFactory();
-            ValueExpression delegate = f.createValueExpression(ctx, expr, type);
+            ValueExpression delegate = ExpressionCache.createValueExpression(ctx, f, expr, type);
             // Reuse the value classified in the constructor when called for this attribute's own value (the common
             // path via getValueExpression(ctx, type)); only a foreign expr needs the on-the-fly check.
             if (expr == value ? compositeComponentExpr : ELUtils.isCompositeComponentExpr(expr)) {
@@ -19,12 +19,17 @@ package org.glassfish.mojarra.facelets.tag;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
+import jakarta.faces.view.facelets.BehaviorHandler;
+import jakarta.faces.view.facelets.ComponentHandler;
 import jakarta.faces.view.facelets.CompositeFaceletHandler;
+import jakarta.faces.view.facelets.ConverterHandler;
 import jakarta.faces.view.facelets.FaceletContext;
 import jakarta.faces.view.facelets.FaceletHandler;
 import jakarta.faces.view.facelets.TagConfig;
 import jakarta.faces.view.facelets.TagHandler;
+import jakarta.faces.view.facelets.ValidatorHandler;
 
 import org.glassfish.mojarra.RIConstants;
 
@@ -34,6 +39,11 @@ import org.glassfish.mojarra.RIConstants;
  */
 public abstract class TagHandlerImpl extends TagHandler {
 
+    private static final String IMPLEMENTATION_PACKAGE = "org.glassfish.mojarra.";
+
+    private static final Set<Class<?>> CLONEABLE_API_HANDLERS = Set.of(ComponentHandler.class, ConverterHandler.class, ValidatorHandler.class,
+            BehaviorHandler.class);
+
     public TagHandlerImpl(TagConfig config) {
         super(config);
     }
@@ -50,6 +60,32 @@ public abstract class TagHandlerImpl extends TagHandler {
         ctx.getFacesContext().getAttributes().put(RIConstants.DYNAMIC_TRANSIENT_BUILD, Boolean.TRUE);
     }
 
+    /**
+     * Flag the current view build as one whose component tree cannot be copied into the next builds of the same view,
+     * because this handler has an effect outside the tree. Build-time-dynamic handlers need not call this, as
+     * {@link #markDynamicTransientBuild(FaceletContext)} implies it.
+     *
+     * @param ctx the {@link FaceletContext} for the current build
+     */
+    public static void markUncloneableBuild(FaceletContext ctx) {
+        ctx.getFacesContext().getAttributes().put(RIConstants.UNCLONEABLE_BUILD, Boolean.TRUE);
+    }
+
+    /**
+     * Tells whether the given handler is known to flag the builds in which it has an effect outside the component tree
+     * with {@link #markUncloneableBuild(FaceletContext)}. Only the handlers of this implementation and the plain
+     * component, converter, validator and behavior handlers of the API are, so the build of a facelet with any other
+     * handler, such as a custom {@code handler-class} of a tag library, is never copied.
+     *
+     * @param handler the handler a tag was compiled into
+     * @return {@code true} if the tree built by the handler may be copied into the next builds of the same view
+     * @since 5.0
+     */
+    public static boolean isKnownCloneable(FaceletHandler handler) {
+        Class<?> type = handler.getClass();
+        return type.getName().startsWith(IMPLEMENTATION_PACKAGE) || CLONEABLE_API_HANDLERS.contains(type);
+    }
+
     /**
      * Searches child handlers, starting at the 'nextHandler' for all instances of the passed type. This process will stop
      * searching a branch if an instance is found.
@@ -43,9 +43,12 @@ import jakarta.faces.component.UniqueIdVendor;
 import jakarta.faces.component.ValueHolder;
 import jakarta.faces.component.behavior.ClientBehaviorHolder;
 import jakarta.faces.context.FacesContext;
+import jakarta.faces.view.AttachedObjectHandler;
 import jakarta.faces.view.facelets.ComponentConfig;
 import jakarta.faces.view.facelets.ComponentHandler;
+import jakarta.faces.view.facelets.CompositeFaceletHandler;
 import jakarta.faces.view.facelets.FaceletContext;
+import jakarta.faces.view.facelets.FaceletHandler;
 import jakarta.faces.view.facelets.MetaRuleset;
 import jakarta.faces.view.facelets.TagAttribute;
 import jakarta.faces.view.facelets.TagException;
@@ -54,11 +57,20 @@ import jakarta.faces.view.facelets.TagHandlerDelegate;
 import org.glassfish.mojarra.component.CompositeComponentStackManager;
 import org.glassfish.mojarra.component.behavior.AjaxBehaviors;
 import org.glassfish.mojarra.component.validator.ComponentValidators;
+import org.glassfish.mojarra.config.MojarraContextParam;
 import org.glassfish.mojarra.context.StateContext;
+import org.glassfish.mojarra.facelets.FaceletContextImplBase;
 import org.glassfish.mojarra.facelets.UniqueIdSlot;
+import org.glassfish.mojarra.facelets.component.LazyBuildPanel;
 import org.glassfish.mojarra.facelets.impl.IdMapper;
 import org.glassfish.mojarra.facelets.tag.MetaRulesetImpl;
+import org.glassfish.mojarra.facelets.tag.TagHandlerImpl;
+import org.glassfish.mojarra.facelets.tag.faces.core.AttributeHandler;
+import org.glassfish.mojarra.facelets.tag.faces.core.AttributesHandler;
+import org.glassfish.mojarra.facelets.tag.faces.core.EventHandler;
 import org.glassfish.mojarra.facelets.tag.faces.core.FacetHandler;
+import org.glassfish.mojarra.facelets.tag.faces.core.PassThroughAttributeHandler;
+import org.glassfish.mojarra.facelets.tag.faces.core.PassThroughAttributesHandler;
 import org.glassfish.mojarra.util.FacesLogger;
 import org.glassfish.mojarra.util.Util;
 
@@ -68,6 +80,8 @@ public class ComponentTagHandlerDelegateImpl extends TagHandlerDelegate {
 
     private final static Logger log = FacesLogger.FACELETS_COMPONENT.getLogger();
 
+    private static final String LAZY_BUILD = "lazyBuild";
+
     private final TagAttribute binding;
 
     protected String componentType;
@@ -76,6 +90,15 @@ public class ComponentTagHandlerDelegateImpl extends TagHandlerDelegate {
 
     private final String rendererType;
 
+    private final TagAttribute lazyBuild;
+
+    /**
+     * The handlers nested in this tag, when it has a {@value #LAZY_BUILD} attribute: those which configure the component
+     * itself, and those which add children to it, which are deferred.
+     */
+    private final FaceletHandler[] componentHandlers;
+    private final FaceletHandler[] childHandlers;
+
     private CreateComponentDelegate createCompositeComponentDelegate;
 
     /**
@@ -94,6 +117,17 @@ public class ComponentTagHandlerDelegateImpl extends TagHandlerDelegate {
         rendererType = config.getRendererType();
         id = owner.getTagAttribute("id");
         binding = owner.getTagAttribute("binding");
+        lazyBuild = owner.getTagAttribute(LAZY_BUILD);
+
+        if (lazyBuild != null) {
+            FaceletHandler next = config.getNextHandler();
+            List<FaceletHandler> handlers = next instanceof CompositeFaceletHandler composite ? List.of(composite.getHandlers()) : List.of(next);
+            componentHandlers = handlers.stream().filter(ComponentTagHandlerDelegateImpl::isAppliedToComponent).toArray(FaceletHandler[]::new);
+            childHandlers = handlers.stream().filter(handler -> !isAppliedToComponent(handler)).toArray(FaceletHandler[]::new);
+        } else {
+            componentHandlers = null;
+            childHandlers = null;
+        }
 
     }
 
@@ -201,7 +235,9 @@ public class ComponentTagHandlerDelegateImpl extends TagHandlerDelegate {
         }
         try {
             // first allow c to get populated
-            owner.applyNextHandler(ctx, c);
+            if (lazyBuild == null || !applyNextHandlerLazily(ctx, parent, c, id, componentFound)) {
+                owner.applyNextHandler(ctx, c);
+            }
         } finally {
             if (flipped) {
                 if (previousFreshSubtree != null) {
@@ -315,6 +351,10 @@ public class ComponentTagHandlerDelegateImpl extends TagHandlerDelegate {
         // ignore standard component attributes
         m.ignore("binding").ignore("id");
 
+        if (lazyBuild != null && isLazyBuildEnabled(FacesContext.getCurrentInstance())) {
+            m.ignore(LAZY_BUILD);
+        }
+
         // add auto wiring for attributes
         m.addRule(ComponentRule.Instance);
 
@@ -435,13 +475,13 @@ public class ComponentTagHandlerDelegateImpl extends TagHandlerDelegate {
             String mid = mapper != null ? mapper.getAliasedId(id) : id;
             UIComponent ancestorNamingContainer = parent.getNamingContainer();
             if (ancestorNamingContainer instanceof UniqueIdVendor) {
-                c.setId(((UniqueIdVendor) ancestorNamingContainer).createUniqueId(ctx.getFacesContext(), mid));
+                c.setId(idSlot.createComponentId(ctx.getFacesContext(), (UniqueIdVendor) ancestorNamingContainer, mid));
             } else {
                 // No UniqueIdVendor ancestor: fall back to the view root. getViewRoot walks the parent chain,
                 // so resolve it only on this branch instead of unconditionally for every component.
                 UIViewRoot root = ComponentSupport.getViewRoot(ctx, parent);
                 if (root != null) {
-                    c.setId(root.createUniqueId(ctx.getFacesContext(), mid));
+                    c.setId(idSlot.createComponentId(ctx.getFacesContext(), root, mid));
                 }
             }
         }
@@ -604,6 +644,135 @@ public class ComponentTagHandlerDelegateImpl extends TagHandlerDelegate {
         return (String) parent.getAttributes().get(FacetHandler.KEY);
     }
 
+    /**
+     * When this tag has a {@value #LAZY_BUILD} attribute which evaluates to <code>true</code>, applies the handlers nested
+     * in it which configure the given component itself, and puts the children the other handlers build in a
+     * {@link LazyBuildPanel}, which builds them when they are first needed. They are built through a context scoped to
+     * the given id of the component, so they get the same ids whenever they are built. A refresh of the view builds them
+     * again in the panel, through the same scope, once they were built.
+     *
+     * @return whether the nested handlers were applied or deferred, or else they are to be applied as usual.
+     */
+    private boolean applyNextHandlerLazily(FaceletContext ctx, UIComponent parent, UIComponent c, String id, boolean componentFound) throws IOException {
+        LazyBuildPanel panel = componentFound ? findLazyBuildPanel(c) : null;
+
+        if (componentFound ? panel == null : !canBuildLazily(ctx, parent, c)) {
+            return false;
+        }
+
+        FaceletContextImplBase scopedContext = ctx instanceof FaceletContextImplBase base ? base.createScopedContext(id) : null;
+
+        if (scopedContext == null) {
+            return false;
+        }
+
+        for (FaceletHandler handler : componentHandlers) {
+            handler.apply(ctx, c);
+        }
+
+        if (panel == null) {
+            panel = new LazyBuildPanel();
+            panel.setId(UIViewRoot.UNIQUE_ID_PREFIX + id + "_lazy");
+            c.getChildren().add(panel);
+            // A copy of the tree would come without the builder, which only lasts for this request.
+            TagHandlerImpl.markUncloneableBuild(ctx);
+        }
+
+        if (panel.isBuilt() && !panel.isBuildPending()) {
+            applyChildHandlers(scopedContext, panel, false);
+        } else {
+            panel.setBuilder((context, lazyBuildPanel) -> {
+                if (context != scopedContext.getFacesContext()) {
+                    throw new IllegalStateException("The children of " + lazyBuildPanel.getClientId(context) + " can only be built during the request which built the view");
+                }
+
+                applyChildHandlers(scopedContext, lazyBuildPanel, true);
+            });
+        }
+
+        return true;
+    }
+
+    /**
+     * A subtree can only be built later on the same way as it would have been right away when it is not iterated over nor
+     * part of a composite component, and only be left unbuilt when the state of the view tells whether it was built,
+     * which rules out a transient view and one without partial state saving. A component which does not take its
+     * children as one run of content, see {@link LazyBuildPanel#isSupportedParent(UIComponent)}, is rejected.
+     *
+     * @throws TagException if the attribute evaluates to <code>true</code> on a component which cannot hold the panel
+     */
+    private boolean canBuildLazily(FaceletContext ctx, UIComponent parent, UIComponent c) {
+        FacesContext context = ctx.getFacesContext();
+
+        if (!isLazyBuildEnabled(context) || createCompositeComponentDelegate != null || isIterating(ctx)
+                || CompositeComponentStackManager.getManager(context).peek(TreeCreation) != null) {
+            return false;
+        }
+
+        UIViewRoot root = ComponentSupport.getViewRoot(ctx, parent);
+
+        if (root == null || root.isTransient() || !StateContext.getStateContext(context).isPartialStateSaving(context, root.getViewId())
+                || !lazyBuild.getBoolean(ctx)) {
+            return false;
+        }
+
+        if (!LazyBuildPanel.isSupportedParent(c)) {
+            throw new TagException(owner.getTag(), "The " + LAZY_BUILD + " attribute is not supported on " + c.getClass().getName()
+                    + ", only on a panel other than a panel grid, a form or a naming container");
+        }
+
+        return true;
+    }
+
+    private void applyChildHandlers(FaceletContextImplBase scopedContext, UIComponent panel, boolean freshSubtree) throws IOException {
+        Map<Object, Object> attributes = scopedContext.getFacesContext().getAttributes();
+        Object previousContext = attributes.put(FaceletContext.FACELET_CONTEXT_KEY, scopedContext);
+        Object previousFreshSubtree = attributes.put(ComponentSupport.BUILDING_FRESH_SUBTREE, freshSubtree);
+
+        try {
+            for (FaceletHandler handler : childHandlers) {
+                handler.apply(scopedContext, panel);
+            }
+        } finally {
+            restoreAttribute(attributes, FaceletContext.FACELET_CONTEXT_KEY, previousContext);
+            restoreAttribute(attributes, ComponentSupport.BUILDING_FRESH_SUBTREE, previousFreshSubtree);
+        }
+    }
+
+    private static void restoreAttribute(Map<Object, Object> attributes, String name, Object previousValue) {
+        if (previousValue != null) {
+            attributes.put(name, previousValue);
+        } else {
+            attributes.remove(name);
+        }
+    }
+
+    private static LazyBuildPanel findLazyBuildPanel(UIComponent c) {
+        if (c.getChildCount() > 0) {
+            for (UIComponent child : c.getChildren()) {
+                if (child instanceof LazyBuildPanel panel) {
+                    return panel;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return whether the given nested handler configures the component of its parent tag, rather than adds children to
+     * it.
+     */
+    private static boolean isAppliedToComponent(FaceletHandler handler) {
+        return handler instanceof FacetHandler || handler instanceof AttachedObjectHandler || handler instanceof AttributeHandler
+                || handler instanceof AttributesHandler || handler instanceof PassThroughAttributeHandler || handler instanceof PassThroughAttributesHandler
+                || handler instanceof EventHandler;
+    }
+
+    private static boolean isLazyBuildEnabled(FacesContext context) {
+        return context != null && MojarraContextParam.LAZY_BUILD.isEnabled(context);
+    }
+
     interface CreateComponentDelegate {
 
         UIComponent createComponent(FaceletContext ctx);
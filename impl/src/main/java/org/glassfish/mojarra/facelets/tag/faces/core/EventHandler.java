@@ -29,6 +29,7 @@ import jakarta.faces.context.FacesContext;
 import jakarta.faces.event.AbortProcessingException;
 import jakarta.faces.event.ComponentSystemEvent;
 import jakarta.faces.event.ComponentSystemEventListener;
+import jakarta.faces.event.PostAddToViewEvent;
 import jakarta.faces.event.PostRenderViewEvent;
 import jakarta.faces.event.PreRenderViewEvent;
 import jakarta.faces.event.SystemEvent;
@@ -39,6 +40,7 @@ import jakarta.faces.view.facelets.TagConfig;
 import jakarta.faces.view.facelets.TagHandler;
 
 import org.glassfish.mojarra.application.ApplicationAssociate;
+import org.glassfish.mojarra.facelets.tag.TagHandlerImpl;
 
 /**
  * This is the TagHandler for the f:event tag.
@@ -63,6 +65,13 @@ public class EventHandler extends TagHandler {
             if (null != viewRoot && (PreRenderViewEvent.class == eventClass || PostRenderViewEvent.class == eventClass) && parent != viewRoot) {
                 parent = viewRoot;
             }
+            if (eventClass == PostAddToViewEvent.class) {
+                // The listener runs while the tree is built, so a copy of the tree would skip it.
+                TagHandlerImpl.markUncloneableBuild(ctx);
+            } else if (parent == viewRoot && PreRenderViewEvent.class != eventClass && PostRenderViewEvent.class != eventClass) {
+                // A copy of the tree only carries over the listeners of the view root for the events of the view itself.
+                TagHandlerImpl.markUncloneableBuild(ctx);
+            }
             if (eventClass != null) {
                 parent.subscribeToEvent(eventClass,
                         new DeclarativeSystemEventListener(listener.getMethodExpression(ctx, Object.class, new Class<?>[] { ComponentSystemEvent.class }),
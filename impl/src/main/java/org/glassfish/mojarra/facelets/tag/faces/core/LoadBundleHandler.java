@@ -203,6 +203,8 @@ public final class LoadBundleHandler extends TagHandlerImpl {
             // instead of skipped (see refreshTransientBuildOnPSS) to re-resolve the bundle under var.
             markDynamicTransientBuild(ctx);
         }
+        // The bundle is put in the request scope rather than in the tree.
+        markUncloneableBuild(ctx);
         UIViewRoot root = ComponentSupport.getViewRoot(ctx, parent);
         ResourceBundle bundle = null;
         try {
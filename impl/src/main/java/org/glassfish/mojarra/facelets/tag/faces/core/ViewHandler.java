@@ -100,6 +100,11 @@ public final class ViewHandler extends TagHandlerImpl {
             // (see refreshTransientBuildOnPSS), otherwise a value changed by a postback would not take effect.
             markDynamicTransientBuild(ctx);
         }
+        if (locale != null || renderKitId != null || contentType != null || encoding != null || contracts != null) {
+            // These are applied to the request as well, or to view root properties which the request had set already,
+            // which a copy of the tree would not tell apart.
+            markUncloneableBuild(ctx);
+        }
         UIViewRoot root = ComponentSupport.getViewRoot(ctx, parent);
         if (root != null) {
             if (renderKitId != null) {
@@ -16,13 +16,17 @@
 
 package org.glassfish.mojarra.facelets.tag.jstl.core;
 
+import java.util.List;
+
 import jakarta.el.ELContext;
 import jakarta.el.ValueExpression;
 
+import org.glassfish.mojarra.facelets.el.ExpressionCache;
+
 /**
  * @author Jacob Hookom
  */
-public final class IndexedValueExpression extends ValueExpression {
+public final class IndexedValueExpression extends ValueExpression implements ExpressionCache.Fingerprinted {
 
     /**
      *
@@ -151,4 +155,10 @@ public final class IndexedValueExpression extends ValueExpression {
         return false;
     }
 
+    @Override
+    public Object getFingerprint(ExpressionCache cache) {
+        Object origFingerprint = cache.getFingerprint(orig);
+        return origFingerprint != null ? List.of(IndexedValueExpression.class, origFingerprint, i) : null;
+    }
+
 }
@@ -18,13 +18,16 @@ package org.glassfish.mojarra.facelets.tag.jstl.core;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
 import jakarta.el.ELContext;
 import jakarta.el.ELException;
 import jakarta.el.PropertyNotWritableException;
 import jakarta.el.ValueExpression;
 
-public final class IteratedValueExpression extends ValueExpression {
+import org.glassfish.mojarra.facelets.el.ExpressionCache;
+
+public final class IteratedValueExpression extends ValueExpression implements ExpressionCache.Fingerprinted {
 
     private static final long serialVersionUID = 1L;
 
@@ -155,4 +158,10 @@ public final class IteratedValueExpression extends ValueExpression {
         return false;
     }
 
+    @Override
+    public Object getFingerprint(ExpressionCache cache) {
+        Object origFingerprint = cache.getFingerprint(orig);
+        return origFingerprint != null ? List.of(IteratedValueExpression.class, origFingerprint, start, index) : null;
+    }
+
 }
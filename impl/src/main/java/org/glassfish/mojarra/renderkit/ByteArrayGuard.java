@@ -16,6 +16,11 @@
 
 package org.glassfish.mojarra.renderkit;
 
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
@@ -24,9 +29,7 @@ import java.util.Base64;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
-import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.KeyGenerator;
 import javax.crypto.Mac;
 import javax.crypto.NoSuchPaddingException;
@@ -42,6 +45,7 @@ import jakarta.servlet.http.HttpSession;
 
 import org.glassfish.mojarra.RIConstants;
 import org.glassfish.mojarra.util.FacesLogger;
+import org.glassfish.mojarra.util.ObjectPool;
 
 /**
  * <p>
@@ -65,6 +69,7 @@ public final class ByteArrayGuard {
     private static final int MAC_LENGTH = 32;
     private static final int KEY_LENGTH = 128;
     private static final int IV_LENGTH = 16;
+    private static final int CHUNK_LENGTH = 8192;
 
     private static final String KEY_ALGORITHM = "AES";
     private static final String CIPHER_CODE = "AES/CBC/PKCS5Padding";
@@ -72,6 +77,17 @@ public final class ByteArrayGuard {
     private static final String SK_SESSION_KEY = RIConstants.RI_PREFIX + "SK";
     private SecretKey sk;
 
+    /**
+     * Shared rather than created per request, since seeding a <code>SecureRandom</code> is not cheap either.
+     */
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Looking up the providers of the <code>Cipher</code> and <code>Mac</code>, and scheduling the key of the
+     * <code>Mac</code>, costs more than encrypting a small state, hence they are pooled rather than created per request.
+     */
+    private final ObjectPool<Primitives> pool = new ObjectPool<>(Runtime.getRuntime().availableProcessors() * 2, Primitives::new, $ -> {});
+
     // ------------------------------------------------------------ Constructors
 
     public ByteArrayGuard() {
@@ -82,101 +98,91 @@ public final class ByteArrayGuard {
             if (LOGGER.isLoggable(Level.SEVERE)) {
                 LOGGER.log(Level.SEVERE, "Unexpected exception initializing encryption." + "  No encryption will be performed.", e);
             }
-            System.err.println("ERROR: Initializing Ciphers");
         }
     }
 
     // ---------------------------------------------------------- Public Methods
 
     /**
-     * This method: Encrypts bytes using a cipher. Generates MAC for intialization vector of the cipher Generates MAC for
-     * encrypted data Returns a byte array consisting of the following concatenated together: |MAC for cnrypted Data | MAC
-     * for Init Vector | Encrypted Data |
+     * Encrypts the bytes as they are written rather than once all of them are known. Since the MAC is only known once all
+     * bytes are encrypted, the returned stream writes the following concatenated together: | Init Vector | Encrypted Data
+     * | MAC for Init Vector and Encrypted Data |, which is what {@link #decrypt(FacesContext, byte[], int)} expects.
      *
-     * @param bytes The byte array to be encrypted.
-     * @return the encrypted byte array.
+     * @param facesContext the Faces context.
+     * @param out the stream to write the encrypted bytes to.
+     * @return the stream to write the bytes to be encrypted to, which must be closed in order to write the MAC.
+     * @throws IOException if the cipher cannot be initialized or the init vector cannot be written.
      */
-    public byte[] encrypt(FacesContext facesContext, byte[] bytes) {
-        byte[] securedata = null;
+    public OutputStream encrypt(FacesContext facesContext, OutputStream out) throws IOException {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        Primitives primitives = pool.acquire();
         try {
-            // Generate IV
-            SecureRandom rand = new SecureRandom();
-            byte[] iv = new byte[16];
-            rand.nextBytes(iv);
-            IvParameterSpec ivspec = new IvParameterSpec(iv);
-            Cipher encryptCipher = Cipher.getInstance(CIPHER_CODE);
             SecretKey secKey = getSecretKey(facesContext);
-            encryptCipher.init(Cipher.ENCRYPT_MODE, secKey, ivspec);
-            Mac encryptMac = Mac.getInstance(MAC_CODE);
-            encryptMac.init(secKey);
-            encryptMac.update(iv);
-            // encrypt the plaintext
-            byte[] encdata = encryptCipher.doFinal(bytes);
-            byte[] macBytes = encryptMac.doFinal(encdata);
-            byte[] tmp = concatBytes(macBytes, iv);
-            securedata = concatBytes(tmp, encdata);
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException | InvalidAlgorithmParameterException | IllegalStateException
-                | IllegalBlockSizeException | BadPaddingException e) {
-            if (LOGGER.isLoggable(Level.SEVERE)) {
-                LOGGER.log(Level.SEVERE, "Unexpected exception initializing encryption." + "  No encryption will be performed.", e);
-            }
-            return null;
+            primitives.cipher.init(Cipher.ENCRYPT_MODE, secKey, new IvParameterSpec(iv));
+            primitives.mac(secKey).update(iv);
+            out.write(iv);
+            EncryptingOutputStream encrypting = new EncryptingOutputStream(out, primitives);
+            primitives = null;
+            return encrypting;
+        } catch (InvalidKeyException | InvalidAlgorithmParameterException e) {
+            throw new IOException(e);
+        } finally {
+            release(primitives);
         }
-        return securedata;
     }
 
     /**
-     * This method decrypts the provided byte array. The decryption is only performed if the regenerated MAC is the same as
-     * the MAC for the received value.
+     * Decrypts the bytes written by {@link #encrypt(FacesContext, OutputStream)} as they are read rather than all at once.
+     * The decryption is only performed if the regenerated MAC is the same as the MAC for the received value.
      *
-     * @param bytes Encrypted byte array to be decrypted.
-     * @return Decrypted byte array.
+     * @param facesContext the Faces context.
+     * @param bytes the encrypted bytes, which must not be modified until the returned stream is closed.
+     * @param length the amount of encrypted bytes, starting at index 0.
+     * @return the stream to read the decrypted bytes from, which should be closed in order to return its resources, or
+     * <code>null</code> if the MAC did not verify.
      */
-    public byte[] decrypt(FacesContext facesContext, byte[] bytes) {
-        try {
-            // Extract MAC
-            byte[] macBytes = new byte[MAC_LENGTH];
-            System.arraycopy(bytes, 0, macBytes, 0, macBytes.length);
-
-            // Extract IV
-            byte[] iv = new byte[IV_LENGTH];
-            System.arraycopy(bytes, macBytes.length, iv, 0, iv.length);
-
-            // Extract encrypted data
-            byte[] encdata = new byte[bytes.length - macBytes.length - iv.length];
-            System.arraycopy(bytes, macBytes.length + iv.length, encdata, 0, encdata.length);
+    public InputStream decrypt(FacesContext facesContext, byte[] bytes, int length) {
+        if (length < IV_LENGTH + MAC_LENGTH) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Encrypted bytes are too short to hold a MAC, {0} bytes", length);
+            }
+            return null;
+        }
 
-            IvParameterSpec ivspec = new IvParameterSpec(iv);
+        int end = length - MAC_LENGTH;
+        Primitives primitives = pool.acquire();
+        try {
             SecretKey secKey = getSecretKey(facesContext);
-            Cipher decryptCipher = Cipher.getInstance(CIPHER_CODE);
-            decryptCipher.init(Cipher.DECRYPT_MODE, secKey, ivspec);
 
             // verify MAC by regenerating it and comparing it with the received value
-            Mac decryptMac = Mac.getInstance(MAC_CODE);
-            decryptMac.init(secKey);
-            decryptMac.update(iv);
-            decryptMac.update(encdata);
-            byte[] macBytesCalculated = decryptMac.doFinal();
-            if (areArrayEqualsConstantTime(macBytes, macBytesCalculated)) {
-                // continue only if the MAC was valid
-                // System.out.println("Valid MAC found!");
-                byte[] plaindata = decryptCipher.doFinal(encdata);
-                return plaindata;
-            } else {
-                System.err.println("ERROR: MAC did not verify!");
+            Mac decryptMac = primitives.mac(secKey);
+            decryptMac.update(bytes, 0, end);
+            if (!areArrayEqualsConstantTime(decryptMac.doFinal(), bytes, end)) {
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.fine("MAC did not verify");
+                }
                 return null;
             }
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException | InvalidAlgorithmParameterException | IllegalStateException
-                | IllegalBlockSizeException | BadPaddingException e) {
-            System.err.println("ERROR: Decrypting:" + e.getCause());
+
+            primitives.cipher.init(Cipher.DECRYPT_MODE, secKey, new IvParameterSpec(bytes, 0, IV_LENGTH));
+            DecryptingInputStream decrypting = new DecryptingInputStream(bytes, IV_LENGTH, end, primitives);
+            primitives = null;
+            return decrypting;
+        } catch (InvalidKeyException | InvalidAlgorithmParameterException e) {
+            if (LOGGER.isLoggable(Level.SEVERE)) {
+                LOGGER.log(Level.SEVERE, "Unexpected exception initializing decryption.", e);
+            }
             return null; // Signal to Faces runtime
+        } finally {
+            release(primitives);
         }
     }
 
-    private boolean areArrayEqualsConstantTime(byte[] array1, byte[] array2) {
+    private boolean areArrayEqualsConstantTime(byte[] array1, byte[] array2, int offset2) {
         boolean result = true;
         for (int i = 0; i < array1.length; i++) {
-            if (array1[i] != array2[i]) {
+            if (array1[i] != array2[offset2 + i]) {
                 result = false;
             }
         }
@@ -217,22 +223,12 @@ public final class ByteArrayGuard {
         }
     }
 
-    /**
-     * This method concatenates two byte arrays
-     *
-     * @return a byte array of array1||array2
-     * @param array1 first byte array to be concatenated
-     * @param array2 second byte array to be concatenated
-     */
-    private static byte[] concatBytes(byte[] array1, byte[] array2) {
-        byte[] cBytes = new byte[array1.length + array2.length];
-        try {
-            System.arraycopy(array1, 0, cBytes, 0, array1.length);
-            System.arraycopy(array2, 0, cBytes, array1.length, array2.length);
-        } catch (Exception e) {
-            throw new FacesException(e);
+    private void release(Primitives primitives) {
+        if (primitives != null) {
+            // Discards whatever an exception left behind, the cipher is initialized again on every use anyway.
+            primitives.mac.reset();
+            pool.release(primitives);
         }
-        return cBytes;
     }
 
     private SecretKey getSecretKey(FacesContext facesContext) {
@@ -253,4 +249,189 @@ public final class ByteArrayGuard {
         }
         return result;
     }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * Encrypts and MACs the bytes written to it chunk by chunk, and writes the MAC once closed.
+     */
+    private final class EncryptingOutputStream extends FilterOutputStream {
+
+        private final Primitives primitives;
+        private byte[] buffer = new byte[0];
+        private boolean closed;
+
+        private EncryptingOutputStream(OutputStream out, Primitives primitives) {
+            super(out);
+            this.primitives = primitives;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+
+            int outputSize = primitives.cipher.getOutputSize(len);
+            if (buffer.length < outputSize) {
+                buffer = new byte[outputSize];
+            }
+
+            try {
+                int encrypted = primitives.cipher.update(b, off, len, buffer, 0);
+                primitives.mac.update(buffer, 0, encrypted);
+                out.write(buffer, 0, encrypted);
+            } catch (GeneralSecurityException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+
+            try {
+                byte[] encrypted = primitives.cipher.doFinal();
+                primitives.mac.update(encrypted);
+                out.write(encrypted);
+                out.write(primitives.mac.doFinal());
+            } catch (GeneralSecurityException e) {
+                throw new IOException(e);
+            } finally {
+                release(primitives);
+            }
+
+            out.close();
+        }
+    }
+
+    /**
+     * Decrypts the bytes whose MAC was verified chunk by chunk as they are read.
+     */
+    private final class DecryptingInputStream extends InputStream {
+
+        private final byte[] bytes;
+        private final int end;
+        private final Primitives primitives;
+        private final byte[] buffer = new byte[CHUNK_LENGTH + IV_LENGTH];
+        private int offset;
+        private int position;
+        private int limit;
+        private boolean finished;
+        private boolean closed;
+
+        private DecryptingInputStream(byte[] bytes, int offset, int end, Primitives primitives) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.end = end;
+            this.primitives = primitives;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return fill() ? buffer[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+
+            if (!fill()) {
+                return -1;
+            }
+
+            int read = Math.min(len, limit - position);
+            System.arraycopy(buffer, position, b, off, read);
+            position += read;
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return limit - position;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(primitives);
+            }
+        }
+
+        /**
+         * @return whether there are decrypted bytes left to read.
+         */
+        private boolean fill() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+
+            while (position == limit) {
+                if (finished) {
+                    return false;
+                }
+
+                int length = Math.min(CHUNK_LENGTH, end - offset);
+                position = 0;
+
+                try {
+                    if (length > 0) {
+                        limit = primitives.cipher.update(bytes, offset, length, buffer, 0);
+                        offset += length;
+                    } else {
+                        limit = primitives.cipher.doFinal(buffer, 0);
+                        finished = true;
+                    }
+                } catch (GeneralSecurityException e) {
+                    throw new IOException(e);
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * A <code>Cipher</code> and a <code>Mac</code> which one thread at a time encrypts or decrypts with.
+     */
+    private static final class Primitives {
+
+        private final Cipher cipher;
+        private final Mac mac;
+
+        /**
+         * The key the <code>Mac</code> is initialized with, which may differ per session.
+         */
+        private SecretKey macKey;
+
+        private Primitives() {
+            try {
+                cipher = Cipher.getInstance(CIPHER_CODE);
+                mac = Mac.getInstance(MAC_CODE);
+            } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private Mac mac(SecretKey key) throws InvalidKeyException {
+            if (!key.equals(macKey)) {
+                mac.init(key);
+                macKey = key;
+            }
+
+            return mac;
+        }
+    }
 }
@@ -24,8 +24,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InvalidClassException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.io.OptionalDataException;
 import java.io.OutputStream;
 import java.io.Writer;
@@ -40,8 +40,8 @@ import jakarta.faces.FacesException;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.context.ResponseWriter;
 
-import org.glassfish.mojarra.RIConstants;
 import org.glassfish.mojarra.config.MojarraContextParam;
+import org.glassfish.mojarra.renderkit.html_basic.HtmlResponseWriter;
 import org.glassfish.mojarra.util.DebugObjectOutputStream;
 import org.glassfish.mojarra.util.DebugUtil;
 import org.glassfish.mojarra.util.FacesLogger;
@@ -108,6 +108,25 @@ public class ClientSideStateHelper extends StateHelper {
     private boolean debugSerializedState;
     private boolean enableViewStateIdRendering;
 
+    /**
+     * <p>
+     * Flag indicating whether the view state is written by {@link CompactStateOutputStream} rather than with Java
+     * serialization.
+     * </p>
+     *
+     * @see {@link org.glassfish.mojarra.config.MojarraContextParam#COMPACT_CLIENT_STATE}
+     */
+    private boolean compactClientState;
+
+    /**
+     * <p>
+     * The dictionary the view state is compressed with rather than with GZIP, or <code>null</code> when there is none.
+     * </p>
+     *
+     * @see {@link org.glassfish.mojarra.config.MojarraContextParam#ENABLE_CLIENT_STATE_DICTIONARY}
+     */
+    private ClientStateDictionary dictionary;
+
     // ------------------------------------------------------------ Constructors
 
     /**
@@ -153,9 +172,14 @@ public class ClientSideStateHelper extends StateHelper {
                 String viewStateId = Util.getViewStateId(ctx);
                 writer.writeAttribute("id", viewStateId, null);
             }
-            StringBuilder stateBuilder = new StringBuilder();
-            doWriteState(ctx, state, new StringBuilderWriter(stateBuilder));
-            writer.writeAttribute("value", stateBuilder.toString(), null);
+            if (writer instanceof HtmlResponseWriter) {
+                // Base64 needs no escaping, so the encoded state can go straight into the response.
+                ((HtmlResponseWriter) writer).writeStreamedAttribute("value", out -> doWriteState(ctx, state, out));
+            } else {
+                StringBuilder stateBuilder = new StringBuilder();
+                doWriteState(ctx, state, new StringBuilderWriter(stateBuilder));
+                writer.writeAttribute("value", stateBuilder.toString(), null);
+            }
             writeViewStateAutocompleteAttribute(writer);
             writer.endElement("input");
 
@@ -164,6 +188,41 @@ public class ClientSideStateHelper extends StateHelper {
         }
     }
 
+    /**
+     * <p>
+     * Writes the Base64 encoded state straight to the provided <code>Writer</code>, without holding it as a String first.
+     * </p>
+     *
+     * @see StateHelper#writeViewState(jakarta.faces.context.FacesContext, java.lang.Object, java.io.Writer)
+     */
+    @Override
+    public void writeViewState(FacesContext ctx, Object state, Writer writer) throws IOException {
+
+        doWriteState(ctx, state, writer);
+
+    }
+
+    /**
+     * <p>
+     * Serializes, compresses and encrypts the provided <code>state</code> into a byte array, so that only its Base64
+     * encoding is left to do when it is written.
+     * </p>
+     *
+     * @see StateHelper#prepareState(jakarta.faces.context.FacesContext, java.lang.Object)
+     */
+    @Override
+    public Object prepareState(FacesContext ctx, Object state) throws IOException {
+
+        if (state == null || state instanceof EncodedState || ctx.getViewRoot().isTransient()) {
+            return state;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(csBuffSize);
+        encodeState(ctx, state, bytes);
+        return new EncodedState(bytes.toByteArray());
+
+    }
+
     /**
      * <p>
      * Inspects the incoming request parameters for the standardized state parameter name. In this case, the parameter value
@@ -207,29 +266,27 @@ public class ClientSideStateHelper extends StateHelper {
             return null;
         }
 
-        ObjectInputStream ois = null;
+        ObjectInput ois = null;
         InputStream bis = null;
         try {
-            if (guard != null) {
-                byte[] bytes = stateString.getBytes(RIConstants.CHAR_ENCODING);
-                byte[] decodedBytes = Base64.getDecoder().decode(bytes);
+            // Decode straight from the String rather than from a copy of its bytes.
+            byte[] bytes = new byte[(int) ((long) stateString.length() * 3 / 4)];
+            int length = Base64.getDecoder().wrap(new AsciiInputStream(stateString)).readNBytes(bytes, 0, bytes.length);
 
-                bytes = guard.decrypt(ctx, decodedBytes);
-                if (bytes == null) {
+            if (guard != null) {
+                bis = guard.decrypt(ctx, bytes, length);
+                if (bis == null) {
                     return null;
                 }
-                bis = new ByteArrayInputStream(bytes);
+            } else {
+                bis = new ByteArrayInputStream(bytes, 0, length);
             }
 
-            if (null != bis && compressViewState) {
-                bis = new GZIPInputStream(bis);
+            if (compressViewState) {
+                bis = dictionary != null ? dictionary.decompress(bis) : new GZIPInputStream(bis);
             }
 
-            if (null == bis) {
-                throw new FacesException("Unable to encode stateString");
-            }
-
-            ois = serialProvider.createObjectInputStream(bis);
+            ois = compactClientState ? new CompactStateInputStream(bis, serialProvider) : serialProvider.createObjectInputStream(bis);
 
             long stateTime = 0;
             if (stateTimeoutEnabled) {
@@ -275,13 +332,15 @@ public class ClientSideStateHelper extends StateHelper {
             }
             throw new FacesException(iox);
         } finally {
-            if (ois != null) {
-                try {
+            try {
+                if (ois != null) {
                     ois.close();
-                } catch (IOException ioe) {
-                    if (LOGGER.isLoggable(Level.FINEST)) {
-                        LOGGER.log(Level.FINEST, "Closing stream", ioe);
-                    }
+                } else if (bis != null) {
+                    bis.close();
+                }
+            } catch (IOException ioe) {
+                if (LOGGER.isLoggable(Level.FINEST)) {
+                    LOGGER.log(Level.FINEST, "Closing stream", ioe);
                 }
             }
         }
@@ -303,18 +362,50 @@ public class ClientSideStateHelper extends StateHelper {
             return;
         }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        final OutputStream base;
-        if (compressViewState) {
-            base = new GZIPOutputStream(baos, csBuffSize);
+        // Serialize, compress, encrypt and Base64 encode chunk by chunk straight into the writer, rather than
+        // holding a copy of the complete state after each step.
+        AsciiOutputStream chars = new AsciiOutputStream(writer, csBuffSize);
+        OutputStream base = Base64.getEncoder().wrap(chars);
+
+        if (state instanceof EncodedState) {
+            base.write(((EncodedState) state).bytes);
+            base.close();
         } else {
-            base = baos;
+            encodeState(facesContext, state, base);
+        }
+
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Client State: total number of characters written: {0}", chars.getCount());
+        }
+    }
+
+    /**
+     * Serializes, compresses and encrypts the provided <code>state</code> to the provided stream, and closes it.
+     *
+     * @param facesContext the Faces context.
+     * @param state view state
+     * @param base the stream to write the state to
+     * @throws IOException if an error occurs writing the state
+     */
+    private void encodeState(FacesContext facesContext, Object state, OutputStream base) throws IOException {
+
+        if (guard != null) {
+            // this will MAC
+            base = guard.encrypt(facesContext, base);
         }
 
-        ObjectOutputStream oos = null;
+        if (compressViewState) {
+            base = dictionary != null ? dictionary.compress(base, csBuffSize) : new GZIPOutputStream(base, csBuffSize);
+        }
+
+        ObjectOutput oos = null;
 
         try {
-            oos = serialProvider.createObjectOutputStream(new BufferedOutputStream(base));
+            if (compactClientState) {
+                oos = new CompactStateOutputStream(new BufferedOutputStream(base), serialProvider);
+            } else {
+                oos = serialProvider.createObjectOutputStream(new BufferedOutputStream(base));
+            }
 
             if (stateTimeoutEnabled) {
                 oos.writeLong(System.currentTimeMillis());
@@ -354,22 +445,6 @@ public class ClientSideStateHelper extends StateHelper {
             oos.flush();
             oos.close();
             oos = null;
-
-            // get bytes for encrypting
-            byte[] bytes = baos.toByteArray();
-
-            if (guard != null) {
-                // this will MAC
-                bytes = guard.encrypt(facesContext, bytes);
-            }
-
-            // Base 64 encode
-            String encodedBytes = new String(Base64.getEncoder().encode(bytes));
-            writer.write(encodedBytes);
-
-            if (LOGGER.isLoggable(Level.FINE)) {
-                LOGGER.log(Level.FINE, "Client State: total number of characters written: {0}", encodedBytes.length());
-            }
         } finally {
             if (oos != null) {
                 try {
@@ -443,6 +518,11 @@ public class ClientSideStateHelper extends StateHelper {
 
         debugSerializedState = MojarraContextParam.ENABLE_CLIENT_STATE_DEBUGGING.isEnabled(context);
         enableViewStateIdRendering = MojarraContextParam.ENABLE_VIEW_STATE_ID_RENDERING.isEnabled(context);
+        compactClientState = MojarraContextParam.COMPACT_CLIENT_STATE.isEnabled(context);
+
+        if (compressViewState && MojarraContextParam.ENABLE_CLIENT_STATE_DICTIONARY.isEnabled(context)) {
+            dictionary = new ClientStateDictionary();
+        }
     }
 
     /**
@@ -472,6 +552,21 @@ public class ClientSideStateHelper extends StateHelper {
 
     // ----------------------------------------------------------- Inner Classes
 
+    /**
+     * The state as it is serialized, compressed and encrypted, but not yet Base64 encoded.
+     */
+    private static final class EncodedState {
+
+        private final byte[] bytes;
+
+        private EncodedState(byte[] bytes) {
+
+            this.bytes = bytes;
+
+        }
+
+    } // END EncodedState
+
     /**
      * A simple <code>Writer</code> implementation to encapsulate a <code>StringBuilder</code> instance.
      */
@@ -513,7 +608,7 @@ public class ClientSideStateHelper extends StateHelper {
         @Override
         public void write(String str, int off, int len) throws IOException {
 
-            sb.append(str.toCharArray(), off, len);
+            sb.append(str, off, off + len);
 
         }
 
@@ -563,4 +658,138 @@ public class ClientSideStateHelper extends StateHelper {
         }
 
     } // END StringBuilderWriter
+
+    /**
+     * An <code>OutputStream</code> which writes the ASCII bytes written to it, such as those of Base64, as chars to a
+     * <code>Writer</code>.
+     */
+    private static final class AsciiOutputStream extends OutputStream {
+
+        private final Writer writer;
+        private final char[] buffer;
+        private int position;
+        private long count;
+
+        // -------------------------------------------------------- Constructors
+
+        private AsciiOutputStream(Writer writer, int bufferSize) {
+
+            this.writer = writer;
+            this.buffer = new char[bufferSize];
+
+        }
+
+        // ------------------------------------------- Methods from OutputStream
+
+        @Override
+        public void write(int b) throws IOException {
+
+            if (position == buffer.length) {
+                flush();
+            }
+
+            buffer[position++] = (char) b;
+
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+
+            while (len > 0) {
+                if (position == buffer.length) {
+                    flush();
+                }
+
+                int length = Math.min(len, buffer.length - position);
+                for (int i = 0; i < length; i++) {
+                    buffer[position++] = (char) b[off++];
+                }
+                len -= length;
+            }
+
+        }
+
+        /**
+         * Writes the buffered chars to the writer, without flushing the writer itself.
+         */
+        @Override
+        public void flush() throws IOException {
+
+            writer.write(buffer, 0, position);
+            count += position;
+            position = 0;
+
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            flush();
+
+        }
+
+        private long getCount() {
+
+            return count + position;
+
+        }
+
+    } // END AsciiOutputStream
+
+    /**
+     * An <code>InputStream</code> which reads the chars of an ASCII <code>String</code>, such as a Base64 encoded one,
+     * as bytes.
+     */
+    private static final class AsciiInputStream extends InputStream {
+
+        private final String string;
+        private int position;
+
+        // -------------------------------------------------------- Constructors
+
+        private AsciiInputStream(String string) {
+
+            this.string = string;
+
+        }
+
+        // -------------------------------------------- Methods from InputStream
+
+        @Override
+        public int read() throws IOException {
+
+            if (position == string.length()) {
+                return -1;
+            }
+
+            char c = string.charAt(position++);
+            // Anything outside ASCII is mapped to a byte which is invalid in Base64 as well.
+            return c < 0x80 ? c : 0xFF;
+
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+
+            if (position == string.length()) {
+                return len == 0 ? 0 : -1;
+            }
+
+            int length = Math.min(len, string.length() - position);
+            for (int i = 0; i < length; i++) {
+                char c = string.charAt(position++);
+                b[off + i] = (byte) (c < 0x80 ? c : 0xFF);
+            }
+            return length;
+
+        }
+
+        @Override
+        public int available() {
+
+            return string.length() - position;
+
+        }
+
+    } // END AsciiInputStream
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.renderkit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Adler32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.glassfish.mojarra.util.ObjectPool;
+
+/**
+ * <p>
+ * Compresses the client side view state with deflate and a preset dictionary, rather than with GZIP, which is what
+ * {@link ClientSideStateHelper} uses when <code>org.glassfish.mojarra.enableClientStateDictionary</code> is set. A
+ * small state compresses poorly on its own, since deflate can only refer back to what it has already seen, whereas with
+ * the dictionary the class names, property names and stream markers found in about every state are available to refer
+ * back to from the first byte on.
+ * </p>
+ *
+ * <p>
+ * The compressed state starts with the {@link #VERSION} of the dictionary, followed by a zlib stream which carries the
+ * checksum of the dictionary as well, so that a state compressed with another dictionary is reported as expired rather
+ * than misread. The dictionary is therefore fixed rather than trained from the states of the running application, since
+ * every node of a cluster and every restart must agree on it.
+ * </p>
+ *
+ * <p>
+ * The {@link Deflater} and {@link Inflater} instances, which hold native memory, are pooled rather than created per
+ * request.
+ * </p>
+ *
+ * @since 5.0
+ */
+final class ClientStateDictionary {
+
+    /**
+     * The version of the dictionary, which must be incremented on every change of {@link #DICTIONARY}.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Ordered from the least to the most common, since deflate reaches the end of the dictionary with the shortest
+     * distances.
+     */
+    private static final String[] WORDS = {
+        "jakarta.faces.component.html.HtmlSelectOneMenu$PropertyKeys", "jakarta.faces.component.html.HtmlCommandButton$PropertyKeys",
+        "jakarta.faces.component.html.HtmlOutputText$PropertyKeys", "jakarta.faces.component.html.HtmlInputText$PropertyKeys",
+        "jakarta.faces.component.html.HtmlForm$PropertyKeys", "jakarta.faces.component.UIViewRoot$PropertyKeys",
+        "jakarta.faces.component.UIData$PropertyKeys", "jakarta.faces.component.UICommand$PropertyKeys",
+        "jakarta.faces.component.UIOutput$PropertyKeys", "jakarta.faces.component.UIInput$PropertyKeys",
+        "jakarta.faces.component.UIComponentBase$PropertyKeys", "jakarta.faces.component.UIComponent$PropertyKeys",
+        "jakarta.faces.component.AttachedObjectListHolder", "jakarta.faces.component.StateHolderSaver",
+        "jakarta.faces.component.ComponentStateHelper", "java.util.ArrayList", "java.lang.Enum", "java.lang.String",
+        "[Ljava.io.Serializable;", "onclick", "onchange", "styleClass", "style", "title", "label", "disabled", "readonly",
+        "required", "immediate", "converter", "validators", "behaviors", "action", "actionExpression", "attributes",
+        "bindings", "rendererType", "rendered", "localValueSet", "submittedValue", "valid", "value", "ADD", "REMOVE",
+        "jakarta.faces.ViewState", "org.glassfish.mojarra.", "j_id", "form:", };
+
+    private static final byte[] DICTIONARY = createDictionary();
+    private static final int DICTIONARY_ADLER = adler(DICTIONARY);
+
+    private final ObjectPool<Deflater> deflaters;
+    private final ObjectPool<Inflater> inflaters;
+
+    // ------------------------------------------------------------ Constructors
+
+    ClientStateDictionary() {
+        int capacity = Runtime.getRuntime().availableProcessors() * 2;
+        deflaters = new ObjectPool<>(capacity, () -> new Deflater(Deflater.DEFAULT_COMPRESSION), Deflater::end);
+        inflaters = new ObjectPool<>(capacity, Inflater::new, Inflater::end);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param out the stream to write the compressed state to
+     * @param bufferSize the size of the buffer holding the compressed bytes before they are written
+     * @return the stream to write the state to, which must be closed in order to finish the compressed state
+     * @throws IOException if the version cannot be written
+     */
+    OutputStream compress(OutputStream out, int bufferSize) throws IOException {
+        out.write(VERSION);
+        Deflater deflater = deflaters.acquire();
+        deflater.setDictionary(DICTIONARY);
+
+        return new DeflaterOutputStream(out, deflater, bufferSize) {
+
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+
+                closed = true;
+
+                try {
+                    super.close();
+                } finally {
+                    deflater.reset();
+                    deflaters.release(deflater);
+                }
+            }
+        };
+    }
+
+    /**
+     * @param in the stream to read the compressed state from
+     * @return the stream to read the state from, which should be closed in order to return its resources
+     * @throws InvalidClassException if the state was compressed with another dictionary, which the caller treats as an
+     * expired state just like a state written by another version of a class
+     * @throws IOException if the version cannot be read
+     */
+    InputStream decompress(InputStream in) throws IOException {
+        int version = in.read();
+
+        if (version != VERSION) {
+            throw new InvalidClassException("Unsupported client state dictionary version " + version);
+        }
+
+        Inflater inflater = inflaters.acquire();
+
+        return new InflaterInputStream(in, inflater) {
+
+            private boolean closed;
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int read = super.read(b, off, len);
+
+                if (read == -1 && inflater.needsDictionary()) {
+                    if (inflater.getAdler() != DICTIONARY_ADLER) {
+                        throw new InvalidClassException("Client state was compressed with another dictionary");
+                    }
+
+                    inflater.setDictionary(DICTIONARY);
+                    read = super.read(b, off, len);
+                }
+
+                return read;
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+
+                closed = true;
+
+                try {
+                    super.close();
+                } finally {
+                    inflater.reset();
+                    inflaters.release(inflater);
+                }
+            }
+        };
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    /**
+     * The dictionary starts with the Java serialization of a state shaped like the one of partial state saving, which
+     * covers the stream header and the class descriptors of the arrays, maps and boxed primitives, and ends with the
+     * {@link #WORDS}.
+     */
+    private static byte[] createDictionary() {
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream(4096);
+        Map<String, Object> componentStates = new HashMap<>(1);
+        componentStates.put("form:j_id1", new Object[] { new Object[] { "value", Boolean.TRUE, 0 }, new Serializable[] { null } });
+
+        try (ObjectOutputStream oos = new ObjectOutputStream(dictionary)) {
+            oos.writeLong(0L);
+            oos.writeObject(null);
+            oos.writeObject(new Object[] { null, componentStates });
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        for (String word : WORDS) {
+            dictionary.writeBytes(word.getBytes(UTF_8));
+        }
+
+        return dictionary.toByteArray();
+    }
+
+    private static int adler(byte[] bytes) {
+        Adler32 adler = new Adler32();
+        adler.update(bytes);
+        return (int) adler.getValue();
+    }
+
+    // TEST: org.glassfish.mojarra.renderkit.ClientStateDictionaryTest
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.renderkit;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.glassfish.mojarra.spi.SerializationProvider;
+import org.glassfish.mojarra.util.Util;
+
+/**
+ * Reads the view state written by {@link CompactStateOutputStream}.
+ *
+ * @since 5.0
+ */
+final class CompactStateInputStream extends DataInputStream implements ObjectInput {
+
+    /**
+     * The version of the format, which is the first byte of the stream. It differs from the first byte of a Java
+     * serialization stream, so that a state written before the format was enabled is recognized as well.
+     */
+    static final int VERSION = 1;
+
+    static final int NULL = 0;
+    static final int TRUE = 1;
+    static final int FALSE = 2;
+    static final int INTEGER = 3;
+    static final int LONG = 4;
+    static final int SHORT = 5;
+    static final int BYTE = 6;
+    static final int CHARACTER = 7;
+    static final int FLOAT = 8;
+    static final int DOUBLE = 9;
+    static final int STRING = 10;
+    static final int OBJECT_ARRAY = 11;
+    static final int TYPED_ARRAY = 12;
+    static final int BYTE_ARRAY = 13;
+    static final int HASH_MAP = 14;
+    static final int ARRAY_LIST = 15;
+    static final int ENUM = 16;
+    static final int SERIALIZED = 17;
+    static final int REFERENCE = 18;
+
+    private final SerializationProvider serialProvider;
+    private final List<String> strings = new ArrayList<>();
+    private final List<Object> handles = new ArrayList<>();
+    private BlockInputStream serialized;
+    private ObjectInputStream deserializer;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Construct a new <code>CompactStateInputStream</code> instance, which reads the format version right away.
+     *
+     * @param in the stream to read from
+     * @param serialProvider the provider reading the values this format does not cover
+     * @throws InvalidClassException if the stream was written in another format, which the caller treats as an expired
+     * state just like a state written by another version of a class
+     * @throws IOException if the format version cannot be read
+     */
+    CompactStateInputStream(InputStream in, SerializationProvider serialProvider) throws IOException {
+        super(in);
+        this.serialProvider = serialProvider;
+        int version = readUnsignedByte();
+
+        if (version != VERSION) {
+            throw new InvalidClassException("Unsupported compact view state version " + version);
+        }
+    }
+
+    // --------------------------------------------------- Methods from ObjectInput
+
+    /**
+     * Reads the next value along with everything it references.
+     *
+     * @return the value
+     * @throws ClassNotFoundException if the class of an array, enum or serialized value cannot be found
+     * @throws IOException if the value cannot be read
+     */
+    @Override
+    public Object readObject() throws IOException, ClassNotFoundException {
+        int tag = readUnsignedByte();
+
+        switch (tag) {
+        case NULL:
+            return null;
+        case TRUE:
+            return Boolean.TRUE;
+        case FALSE:
+            return Boolean.FALSE;
+        case INTEGER:
+            return (int) readSignedVarLong();
+        case LONG:
+            return readSignedVarLong();
+        case SHORT:
+            return (short) readSignedVarLong();
+        case BYTE:
+            return readByte();
+        case CHARACTER:
+            return readChar();
+        case FLOAT:
+            return readFloat();
+        case DOUBLE:
+            return readDouble();
+        case STRING:
+            return readString();
+        case OBJECT_ARRAY:
+            return readArray(share(new Object[readLength()]));
+        case TYPED_ARRAY:
+            Class<?> componentType = Util.loadClass(readString(), this);
+            return readArray(share((Object[]) Array.newInstance(componentType, readLength())));
+        case BYTE_ARRAY:
+            byte[] bytes = share(new byte[readLength()]);
+            readFully(bytes);
+            return bytes;
+        case HASH_MAP:
+            int size = readLength();
+            Map<Object, Object> map = share(new HashMap<>(Math.max(size * 4 / 3 + 1, 16)));
+
+            for (int i = 0; i < size; i++) {
+                map.put(readObject(), readObject());
+            }
+
+            return map;
+        case ARRAY_LIST:
+            int length = readLength();
+            List<Object> list = share(new ArrayList<>(length));
+
+            for (int i = 0; i < length; i++) {
+                list.add(readObject());
+            }
+
+            return list;
+        case ENUM:
+            return readEnum(Util.loadClass(readString(), this), readString());
+        case SERIALIZED:
+            return share(readSerialized());
+        case REFERENCE:
+            long handle = readVarLong();
+
+            if (handle >= handles.size()) {
+                throw new StreamCorruptedException("Invalid compact view state reference " + handle);
+            }
+
+            return handles.get((int) handle);
+        default:
+            throw new StreamCorruptedException("Invalid compact view state tag " + tag);
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    /**
+     * Registers the value under the next handle, in the order {@link CompactStateOutputStream} registered it, which is
+     * before the content of an array, map or list is read.
+     */
+    private <T> T share(T value) {
+        handles.add(value);
+        return value;
+    }
+
+    /**
+     * Reads the next block written by the object stream of {@link CompactStateOutputStream}, with an object stream which
+     * likewise reads all blocks of the state in turn.
+     */
+    private Object readSerialized() throws IOException, ClassNotFoundException {
+        byte[] block = new byte[readLength()];
+        readFully(block);
+
+        if (deserializer == null) {
+            // The first block starts with the header of the object stream.
+            serialized = new BlockInputStream(block);
+            deserializer = serialProvider.createObjectInputStream(serialized);
+        } else {
+            serialized.setBlock(block);
+        }
+
+        Object value = deserializer.readObject();
+
+        if (serialized.available() > 0) {
+            throw new StreamCorruptedException("Invalid compact view state serialized block");
+        }
+
+        return value;
+    }
+
+    private Object[] readArray(Object[] array) throws IOException, ClassNotFoundException {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = readObject();
+        }
+
+        return array;
+    }
+
+    private String readString() throws IOException {
+        long header = readVarLong();
+
+        if ((header & 1) == 0) {
+            long index = header >>> 1;
+
+            if (index >= strings.size()) {
+                throw new StreamCorruptedException("Invalid compact view state string reference " + index);
+            }
+
+            return strings.get((int) index);
+        }
+
+        char[] chars = new char[toLength(header >>> 1)];
+
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) readVarLong();
+        }
+
+        String string = new String(chars);
+        strings.add(string);
+        return string;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object readEnum(Class<?> enumType, String name) throws InvalidClassException {
+        if (!enumType.isEnum()) {
+            throw new InvalidClassException(enumType.getName(), "Not an enum");
+        }
+
+        return Enum.valueOf((Class) enumType, name);
+    }
+
+    private int readLength() throws IOException {
+        return toLength(readVarLong());
+    }
+
+    private static int toLength(long length) throws StreamCorruptedException {
+        if (length > Integer.MAX_VALUE) {
+            throw new StreamCorruptedException("Invalid compact view state length " + length);
+        }
+
+        return (int) length;
+    }
+
+    private long readSignedVarLong() throws IOException {
+        long zigzag = readVarLong();
+        return zigzag >>> 1 ^ -(zigzag & 1);
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new StreamCorruptedException("Invalid compact view state variable length integer");
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * The serialized blocks of the state, of which only the current one can be read.
+     */
+    private static final class BlockInputStream extends InputStream {
+
+        private byte[] block;
+        private int position;
+
+        BlockInputStream(byte[] block) {
+            setBlock(block);
+        }
+
+        void setBlock(byte[] block) {
+            this.block = block;
+            position = 0;
+        }
+
+        @Override
+        public int read() {
+            return position < block.length ? block[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+
+            int read = Math.min(length, block.length - position);
+
+            if (read <= 0) {
+                return -1;
+            }
+
+            System.arraycopy(block, position, bytes, offset, read);
+            position += read;
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return block.length - position;
+        }
+    }
+
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.renderkit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.glassfish.mojarra.spi.SerializationProvider;
+
+/**
+ * <p>
+ * Writes the view state in a compact binary format rather than with Java serialization, which is what
+ * {@link ClientSideStateHelper} uses when <code>org.glassfish.mojarra.compactClientState</code> is set. The state
+ * written by partial state saving consists almost entirely of arrays, maps, lists, strings, boxed primitives and the
+ * property key enums of the components, and for those Java serialization spends more bytes on class descriptors and
+ * stream bookkeeping than on the values themselves.
+ * </p>
+ *
+ * <p>
+ * Every value starts with a one byte tag from {@link CompactStateInputStream}, followed by its content, where integral
+ * values and lengths are written as variable length integers. Every string, which includes the names of array component
+ * types and enum types, is written once and referenced by its index in a table from then on, since client ids and class
+ * names repeat throughout the state. Any other value is written with Java serialization of the
+ * {@link SerializationProvider}, as a length prefixed block of its own. All those blocks are written by one and the same
+ * object stream, so that the class descriptors of such values, such as those of the savers of attached objects, are
+ * written only once per state, as with Java serialization of the whole state.
+ * </p>
+ *
+ * <p>
+ * As with Java serialization, every array, map, list and serialized value is written once and referenced by its index
+ * in a table of handles from then on, so that a value referenced twice is restored as one and the same instance, and a
+ * cycle is written as a reference back to the value it started at. Such a value written at the top level is not shared
+ * with the same value found inside a serialized value though, since the object stream keeps handles of its own.
+ * </p>
+ *
+ * <p>
+ * The format is not stable across releases, and a state in an unknown format is reported as expired by
+ * {@link CompactStateInputStream}.
+ * </p>
+ *
+ * @since 5.0
+ */
+final class CompactStateOutputStream extends DataOutputStream implements ObjectOutput {
+
+    private final SerializationProvider serialProvider;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<Object, Integer> handles = new IdentityHashMap<>();
+    private ByteArrayOutputStream serialized;
+    private ObjectOutputStream serializer;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Construct a new <code>CompactStateOutputStream</code> instance, which writes the format version right away.
+     *
+     * @param out the stream to write to
+     * @param serialProvider the provider writing the values this format does not cover
+     * @throws IOException if the format version cannot be written
+     */
+    CompactStateOutputStream(OutputStream out, SerializationProvider serialProvider) throws IOException {
+        super(out);
+        this.serialProvider = serialProvider;
+        writeByte(CompactStateInputStream.VERSION);
+    }
+
+    // -------------------------------------------------- Methods from ObjectOutput
+
+    /**
+     * Writes the value along with everything it references.
+     *
+     * @param value the value to write
+     * @throws IOException if the value cannot be written, such as when it is not serializable
+     */
+    @Override
+    public void writeObject(Object value) throws IOException {
+        if (value == null) {
+            writeTag(CompactStateInputStream.NULL);
+        } else if (value instanceof String) {
+            writeTag(CompactStateInputStream.STRING);
+            writeString((String) value);
+        } else if (value instanceof Boolean) {
+            writeTag((Boolean) value ? CompactStateInputStream.TRUE : CompactStateInputStream.FALSE);
+        } else if (value instanceof Integer) {
+            writeTag(CompactStateInputStream.INTEGER);
+            writeSignedVarLong((Integer) value);
+        } else if (value instanceof Enum) {
+            Enum<?> constant = (Enum<?>) value;
+            writeTag(CompactStateInputStream.ENUM);
+            writeString(constant.getDeclaringClass().getName());
+            writeString(constant.name());
+        } else if (value instanceof Long) {
+            writeTag(CompactStateInputStream.LONG);
+            writeSignedVarLong((Long) value);
+        } else if (value instanceof Short) {
+            writeTag(CompactStateInputStream.SHORT);
+            writeSignedVarLong((Short) value);
+        } else if (value instanceof Byte) {
+            writeTag(CompactStateInputStream.BYTE);
+            writeByte((Byte) value);
+        } else if (value instanceof Character) {
+            writeTag(CompactStateInputStream.CHARACTER);
+            writeChar((Character) value);
+        } else if (value instanceof Double) {
+            writeTag(CompactStateInputStream.DOUBLE);
+            writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            writeTag(CompactStateInputStream.FLOAT);
+            writeFloat((Float) value);
+        } else {
+            Integer handle = handles.get(value);
+
+            if (handle != null) {
+                writeTag(CompactStateInputStream.REFERENCE);
+                writeVarLong(handle);
+            } else {
+                // Registered before its content is written, so that a cycle ends in a reference to it.
+                handles.put(value, handles.size());
+                writeShared(value);
+            }
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void writeTag(int tag) throws IOException {
+        writeByte(tag);
+    }
+
+    /**
+     * Writes a value of which the identity matters, since it is mutable or of an unknown class.
+     */
+    private void writeShared(Object value) throws IOException {
+        if (value instanceof Object[]) {
+            writeArray((Object[]) value);
+        } else if (value.getClass() == HashMap.class) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            writeTag(CompactStateInputStream.HASH_MAP);
+            writeVarLong(map.size());
+
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeObject(entry.getKey());
+                writeObject(entry.getValue());
+            }
+        } else if (value.getClass() == ArrayList.class) {
+            ArrayList<?> list = (ArrayList<?>) value;
+            writeTag(CompactStateInputStream.ARRAY_LIST);
+            writeVarLong(list.size());
+
+            for (Object element : list) {
+                writeObject(element);
+            }
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            writeTag(CompactStateInputStream.BYTE_ARRAY);
+            writeVarLong(bytes.length);
+            write(bytes);
+        } else {
+            writeSerialized(value);
+        }
+    }
+
+    private void writeArray(Object[] array) throws IOException {
+        Class<?> componentType = array.getClass().getComponentType();
+
+        if (componentType == Object.class) {
+            writeTag(CompactStateInputStream.OBJECT_ARRAY);
+        } else {
+            // The component type matters, e.g. StateHolderSaver casts its saved state to Serializable[].
+            writeTag(CompactStateInputStream.TYPED_ARRAY);
+            writeString(componentType.getName());
+        }
+
+        writeVarLong(array.length);
+
+        for (Object element : array) {
+            writeObject(element);
+        }
+    }
+
+    private void writeString(String string) throws IOException {
+        Integer index = strings.get(string);
+
+        if (index != null) {
+            // An even number is a reference to a previous string, an odd number the length of a new one.
+            writeVarLong((long) index << 1);
+            return;
+        }
+
+        strings.put(string, strings.size());
+        writeVarLong(((long) string.length() << 1) | 1);
+
+        // Char by char rather than as UTF-8, which would not survive unpaired surrogates.
+        for (int i = 0; i < string.length(); i++) {
+            writeVarLong(string.charAt(i));
+        }
+    }
+
+    private void writeSerialized(Object value) throws IOException {
+        if (!(value instanceof Serializable)) {
+            throw new NotSerializableException(value.getClass().getName());
+        }
+
+        if (serializer == null) {
+            // The first block starts with the header of the object stream.
+            serialized = new ByteArrayOutputStream(256);
+            serializer = serialProvider.createObjectOutputStream(serialized);
+        }
+
+        serializer.writeObject(value);
+        serializer.flush();
+
+        writeTag(CompactStateInputStream.SERIALIZED);
+        writeVarLong(serialized.size());
+        serialized.writeTo(this);
+        serialized.reset();
+    }
+
+    /**
+     * Writes the value after zigzag encoding it, so that small negative values are as short as small positive ones.
+     */
+    private void writeSignedVarLong(long value) throws IOException {
+        writeVarLong(value << 1 ^ value >> 63);
+    }
+
+    /**
+     * Writes the value in as many bytes as it needs, 7 bits per byte, least significant first.
+     */
+    private void writeVarLong(long value) throws IOException {
+        long remaining = value;
+
+        while ((remaining & ~0x7FL) != 0) {
+            writeByte((int) (remaining & 0x7F | 0x80));
+            remaining >>>= 7;
+        }
+
+        writeByte((int) remaining);
+    }
+
+    // TEST: org.glassfish.mojarra.renderkit.CompactStateStreamTest
+}
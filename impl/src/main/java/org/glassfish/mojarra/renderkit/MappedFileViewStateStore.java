@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.renderkit;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.logging.Level.FINE;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.faces.FacesException;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.config.MojarraContextParam;
+import org.glassfish.mojarra.spi.SerializationProvider;
+import org.glassfish.mojarra.spi.SerializationProviderFactory;
+import org.glassfish.mojarra.spi.ViewStateStore;
+import org.glassfish.mojarra.util.ConcurrentLRUCache;
+import org.glassfish.mojarra.util.FacesLogger;
+
+/**
+ * <p>
+ * A {@link ViewStateStore} which keeps the serialized view states in a memory mapped file of a fixed size in the
+ * directory referenced by the context attribute <code>jakarta.servlet.context.tempdir</code>, and only a small
+ * {@link Slot} per view state in the HTTP session. It is enabled by setting
+ * <code>org.glassfish.mojarra.viewStateStore</code> to the name of this class, and the size of the file is configured
+ * by <code>org.glassfish.mojarra.viewStateStoreFileSize</code>.
+ * </p>
+ *
+ * <p>
+ * The file is used as a ring buffer: every view state is appended after the previous one, and once the end of the file
+ * is reached the oldest view states are overwritten. A view state which has been overwritten is reported as not
+ * available, which yields a <code>ViewExpiredException</code> just as eviction from the session would. The file must
+ * therefore be sized for the amount of view states which must survive, which is roughly the amount of concurrently
+ * active sessions times the size of their recent view states.
+ * </p>
+ *
+ * <p>
+ * The file is local to the node and does not survive a restart. A session which fails over to another node, or which
+ * was persisted across a restart, keeps its slots but they are recognized as belonging to another file and reported as
+ * not available, rather than replicating the view states themselves.
+ * </p>
+ *
+ * @since 5.0
+ */
+public class MappedFileViewStateStore implements ViewStateStore {
+
+    private static final Logger LOGGER = FacesLogger.RENDERKIT.getLogger();
+
+    /**
+     * The session attribute holding the slots. It holds one entry per stateful page, and each of those holds one slot
+     * per view state of that page.
+     */
+    public static final String STATEFUL_PAGE_MAP = MappedFileViewStateStore.class.getName() + ".StatefulPageMap";
+
+    /**
+     * Every record starts with the logical position it was written at, followed by the length of the serialized state.
+     */
+    private static final int RECORD_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private static final byte[] NO_STRUCTURE = {};
+
+    private final int numberOfStatefulPages;
+    private final int numberOfViewStatesPerPage;
+    private final SerializationProvider serialProvider;
+    private final boolean compressViewState;
+
+    /**
+     * Tells the slots of this file apart from those of another node or of a previous run.
+     */
+    private final long fileId;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    /**
+     * The logical position at which the next record is written, which only ever grows. The physical position in the
+     * file is the logical one modulo the capacity.
+     */
+    private final AtomicLong position = new AtomicLong();
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Construct a new <code>MappedFileViewStateStore</code> instance, which creates and maps its file.
+     *
+     * @throws FacesException when the file cannot be created.
+     */
+    public MappedFileViewStateStore() {
+        FacesContext context = FacesContext.getCurrentInstance();
+        ExternalContext externalContext = context.getExternalContext();
+        numberOfStatefulPages = MojarraContextParam.NUMBER_OF_STATEFUL_PAGES_PER_SESSION.getInt(context);
+        numberOfViewStatesPerPage = MojarraContextParam.NUMBER_OF_VIEW_STATES_PER_STATEFUL_PAGE.getInt(context);
+        serialProvider = SerializationProviderFactory.createInstance(externalContext);
+        compressViewState = MojarraContextParam.COMPRESS_VIEW_STATE.isEnabled(context);
+        capacity = (int) Math.min(Integer.MAX_VALUE, MojarraContextParam.VIEW_STATE_STORE_FILE_SIZE.getInt(context) * 1024L * 1024L);
+        fileId = new SecureRandom().nextLong();
+
+        File servletTmpDir = (File) externalContext.getApplicationMap().get("jakarta.servlet.context.tempdir");
+        if (servletTmpDir == null || !servletTmpDir.isDirectory()) {
+            throw new FacesException("File (" + servletTmpDir + ") referenced by jakarta.servlet.context.tempdir attribute is null, or is not a directory.");
+        }
+
+        try {
+            Path file = Files.createTempFile(servletTmpDir.toPath(), "mojarra-viewstate-", ".bin");
+
+            try (FileChannel channel = FileChannel.open(file, READ, WRITE)) {
+                buffer = channel.map(READ_WRITE, 0, capacity);
+            }
+
+            try {
+                // The mapping stays valid after the file is unlinked, this way nothing is left behind on undeploy.
+                Files.delete(file);
+            } catch (IOException e) {
+                LOGGER.log(FINE, "Unable to delete mapped view state file while in use, deleting it on exit instead", e);
+                file.toFile().deleteOnExit();
+            }
+        } catch (IOException e) {
+            throw new FacesException(e);
+        }
+    }
+
+    // --------------------------------------------- Methods from ViewStateStore
+
+    /**
+     * With <code>jakarta.faces.SERIALIZE_SERVER_STATE</code>, the component state arrives serialized, and compressed as
+     * configured, already. Those bytes are then stored as they are, after the length and the serialization of the tree
+     * structure, rather than serialized once more along with it.
+     */
+    @Override
+    public void putState(FacesContext context, String statefulPageId, String viewStateId, Object[] state) {
+        byte[][] parts;
+
+        if (state[1] instanceof byte[] serializedState) {
+            byte[] structure = state[0] != null ? serialize(state[0]) : NO_STRUCTURE;
+            parts = new byte[][] { ByteBuffer.allocate(Integer.BYTES).putInt(structure.length).array(), structure, serializedState };
+        } else {
+            parts = new byte[][] { serialize(state) };
+        }
+
+        int bodyLength = 0;
+
+        for (byte[] part : parts) {
+            bodyLength += part.length;
+        }
+
+        long length = (long) RECORD_HEADER_SIZE + bodyLength;
+
+        if (length > capacity) {
+            throw new FacesException("View state of " + length + " bytes does not fit in a view state store file of " + capacity + " bytes.");
+        }
+
+        long start = position.getAndAdd(length);
+        write(start, ByteBuffer.allocate(RECORD_HEADER_SIZE).putLong(start).putInt(bodyLength).array());
+        long offset = start + RECORD_HEADER_SIZE;
+
+        for (byte[] part : parts) {
+            write(offset, part);
+            offset += part.length;
+        }
+
+        ExternalContext externalContext = context.getExternalContext();
+        ConcurrentLRUCache<String, ConcurrentLRUCache<String, Slot>> pageMap = SessionViewStateStore.getStatefulPageMap(externalContext, STATEFUL_PAGE_MAP,
+                numberOfStatefulPages, true);
+        pageMap.computeIfAbsent(statefulPageId, $ -> new ConcurrentLRUCache<>(numberOfViewStatesPerPage)).put(viewStateId,
+                new Slot(fileId, start, bodyLength, parts.length > 1));
+
+        // always call put/setAttribute as we may be in a clustered environment.
+        externalContext.getSessionMap().put(STATEFUL_PAGE_MAP, pageMap);
+    }
+
+    @Override
+    public boolean containsStatefulPage(FacesContext context, String statefulPageId) {
+        ConcurrentLRUCache<String, ConcurrentLRUCache<String, Slot>> pageMap = SessionViewStateStore.getStatefulPageMap(context.getExternalContext(),
+                STATEFUL_PAGE_MAP, numberOfStatefulPages, false);
+        return pageMap != null && pageMap.containsKey(statefulPageId);
+    }
+
+    @Override
+    public Object[] getState(FacesContext context, String statefulPageId, String viewStateId) {
+        ConcurrentLRUCache<String, ConcurrentLRUCache<String, Slot>> pageMap = SessionViewStateStore.getStatefulPageMap(context.getExternalContext(),
+                STATEFUL_PAGE_MAP, numberOfStatefulPages, false);
+        ConcurrentLRUCache<String, Slot> stateMap = pageMap != null ? pageMap.get(statefulPageId) : null;
+        Slot slot = stateMap != null ? stateMap.get(viewStateId) : null;
+
+        if (slot == null || slot.fileId != fileId || isOverwritten(slot)) {
+            return null;
+        }
+
+        ByteBuffer header = ByteBuffer.wrap(read(slot.position, RECORD_HEADER_SIZE));
+        long body = slot.position + RECORD_HEADER_SIZE;
+        byte[] bytes;
+        byte[] serializedState = null;
+
+        if (slot.serializedState) {
+            int structureLength = ByteBuffer.wrap(read(body, Integer.BYTES)).getInt();
+
+            if (structureLength < 0 || structureLength > slot.length - Integer.BYTES) {
+                // Only a concurrent writer can have garbled the length, which the check below then catches.
+                structureLength = 0;
+            }
+
+            bytes = read(body + Integer.BYTES, structureLength);
+            serializedState = read(body + Integer.BYTES + structureLength, slot.length - Integer.BYTES - structureLength);
+        } else {
+            bytes = read(body, slot.length);
+        }
+
+        // Checking again after reading, since a concurrent writer may have wrapped around over the record meanwhile.
+        if (isOverwritten(slot) || header.getLong() != slot.position || header.getInt() != slot.length) {
+            LOGGER.log(FINE, "View state {0}:{1} was overwritten in the view state store file", new Object[] { statefulPageId, viewStateId });
+            return null;
+        }
+
+        if (slot.serializedState) {
+            return new Object[] { bytes.length > 0 ? deserialize(bytes) : null, serializedState };
+        }
+
+        return (Object[]) deserialize(bytes);
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private boolean isOverwritten(Slot slot) {
+        return position.get() - slot.position > capacity;
+    }
+
+    private void write(long logicalPosition, byte[] bytes) {
+        int offset = (int) (logicalPosition % capacity);
+        int head = Math.min(bytes.length, capacity - offset);
+        buffer.put(offset, bytes, 0, head);
+
+        if (head < bytes.length) {
+            buffer.put(0, bytes, head, bytes.length - head);
+        }
+    }
+
+    private byte[] read(long logicalPosition, int length) {
+        byte[] bytes = new byte[length];
+        int offset = (int) (logicalPosition % capacity);
+        int head = Math.min(length, capacity - offset);
+        buffer.get(offset, bytes, 0, head);
+
+        if (head < length) {
+            buffer.get(0, bytes, head, length - head);
+        }
+
+        return bytes;
+    }
+
+    private byte[] serialize(Object state) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
+
+        try (ObjectOutputStream oos = serialProvider.createObjectOutputStream(compressViewState ? new GZIPOutputStream(baos, 1024) : baos)) {
+            oos.writeObject(state);
+        } catch (IOException e) {
+            throw new FacesException(e);
+        }
+
+        return baos.toByteArray();
+    }
+
+    private Object deserialize(byte[] bytes) {
+        ByteArrayInputStream bais = new ByteArrayInputStream(bytes);
+
+        try (ObjectInputStream ois = serialProvider.createObjectInputStream(compressViewState ? new GZIPInputStream(bais, 1024) : bais)) {
+            return ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new FacesException(e);
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * What the session holds per view state: where its record starts in which file, how long it is, and whether it holds
+     * the component state as it was serialized by <code>ServerSideStateHelper</code>.
+     */
+    private static final class Slot implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long fileId;
+        private final long position;
+        private final int length;
+        private final boolean serializedState;
+
+        private Slot(long fileId, long position, int length, boolean serializedState) {
+            this.fileId = fileId;
+            this.position = position;
+            this.length = length;
+            this.serializedState = serializedState;
+        }
+    }
+
+}
@@ -19,6 +19,7 @@ package org.glassfish.mojarra.renderkit;
 import static org.glassfish.mojarra.util.RequestStateManager.FACES_VIEW_STATE;
 
 import java.io.IOException;
+import java.io.Writer;
 
 import jakarta.faces.FacesException;
 import jakarta.faces.application.StateManager.StateSavingMethod;
@@ -101,6 +102,34 @@ public class ResponseStateManagerImpl extends ResponseStateManager {
         return sb.toString();
     }
 
+    /**
+     * Writes the view state for the given state straight to the given writer, without holding it as a String first as
+     * {@link #getViewState(FacesContext, Object)} does.
+     *
+     * @param context the Faces context.
+     * @param state the state.
+     * @param writer the writer to write the view state to.
+     * @throws IOException when an I/O error occurs.
+     * @since 5.0
+     */
+    public void writeViewState(FacesContext context, Object state, Writer writer) throws IOException {
+        helper.writeViewState(context, state, writer);
+    }
+
+    /**
+     * Does the part of writing the given state which may fail, such as serializing it, so that it can be done before any
+     * of the response is written. The result is to be written in place of the state.
+     *
+     * @param context the Faces context.
+     * @param state the state.
+     * @return the state to write.
+     * @throws IOException when an I/O error occurs.
+     * @since 5.0
+     */
+    public Object prepareState(FacesContext context, Object state) throws IOException {
+        return helper.prepareState(context, state);
+    }
+
     /**
      * @param facesContext the Faces context.
      * @param viewId the view id.
@@ -28,7 +28,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.security.SecureRandom;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
@@ -43,10 +43,11 @@ import jakarta.faces.context.ResponseWriter;
 
 import org.glassfish.mojarra.config.FacesContextParam;
 import org.glassfish.mojarra.config.MojarraContextParam;
+import org.glassfish.mojarra.spi.ViewStateStore;
+import org.glassfish.mojarra.spi.ViewStateStoreFactory;
+import org.glassfish.mojarra.util.ConcurrentLRUCache;
 import org.glassfish.mojarra.util.FacesLogger;
-import org.glassfish.mojarra.util.LRUMap;
 import org.glassfish.mojarra.util.RequestStateManager;
-import org.glassfish.mojarra.util.TypedCollections;
 import org.glassfish.mojarra.util.Util;
 
 /**
@@ -64,7 +65,9 @@ public class ServerSideStateHelper extends StateHelper {
 
     /**
      * The top level attribute name for storing the state structures within the session. It holds one entry per stateful
-     * page, and each of those holds one entry per view state of that page.
+     * page, and each of those holds one entry per view state of that page. Both levels are a {@link ConcurrentLRUCache},
+     * so that concurrent requests of the same session do not need to lock the session in order to save or restore state.
+     * It is only used by the default {@link SessionViewStateStore}.
      */
     public static final String STATEFUL_PAGE_MAP = ServerSideStateHelper.class.getName() + ".StatefulPageMap";
 
@@ -93,11 +96,22 @@ public class ServerSideStateHelper extends StateHelper {
      */
     protected final boolean serializeServerState;
 
+    /**
+     * Flag determining whether a serialized state of partial state saving is serialized per component, so that the
+     * {@link SessionViewStateStore} can keep it as the difference with its predecessor.
+     */
+    protected final boolean serializeComponentStates;
+
     /**
      * Used to generate unique server state IDs.
      */
     protected final SecureRandom random;
 
+    /**
+     * Where the view states are kept. These are pluggable via the MojarraContextParam#VIEW_STATE_STORE.
+     */
+    protected final ViewStateStore viewStateStore;
+
     // ------------------------------------------------------------ Constructors
 
     /**
@@ -110,6 +124,9 @@ public class ServerSideStateHelper extends StateHelper {
         generateUniqueStateIds = MojarraContextParam.GENERATE_UNIQUE_SERVER_STATE_IDS.isEnabled(context);
         enableViewStateIdRendering = MojarraContextParam.ENABLE_VIEW_STATE_ID_RENDERING.isEnabled(context);
         serializeServerState = FacesContextParam.SERIALIZE_SERVER_STATE.isEnabled(context);
+        viewStateStore = ViewStateStoreFactory.createInstance(context.getExternalContext());
+        serializeComponentStates = serializeServerState && viewStateStore instanceof SessionViewStateStore
+                && MojarraContextParam.ENABLE_SERVER_STATE_DELTAS.isEnabled(context);
         if (generateUniqueStateIds) {
             // Construct secure RNG.
             random = new SecureRandom();
@@ -141,7 +158,6 @@ public class ServerSideStateHelper extends StateHelper {
      * <code>StringBuilder</code> without any markup included or any content written to the client.
      */
     @Override
-    @SuppressWarnings("rawtypes")
     public void writeState(FacesContext ctx, Object state, StringBuilder stateCapture) throws IOException {
         notNull("context", ctx);
 
@@ -153,54 +169,27 @@ public class ServerSideStateHelper extends StateHelper {
             if (!ctx.getAttributes().containsKey("org.glassfish.mojarra.ViewStateValue")) {
                 notNull("state", state);
                 Object[] stateToWrite = (Object[]) state;
-                ExternalContext externalContext = ctx.getExternalContext();
-                Object sessionObj = externalContext.getSession(true);
-                Map<String, Object> sessionMap = externalContext.getSessionMap();
-
-                synchronized (getMutex(sessionObj)) {
-                    Map<String, Map> pageMap = TypedCollections.dynamicallyCastMap((Map) sessionMap.get(STATEFUL_PAGE_MAP), String.class, Map.class);
-                    if (pageMap == null) {
-                        pageMap = Collections.synchronizedMap(new LRUMap<String, Map>(numberOfStatefulPages));
-                        sessionMap.put(STATEFUL_PAGE_MAP, pageMap);
-                    }
-
-                    Object structure = stateToWrite[0];
-                    Object savedState = handleSaveState(stateToWrite[1]);
-
-                    String idInPageMap = (String) RequestStateManager.get(ctx, RequestStateManager.STATEFUL_PAGE_MAP);
-                    if (idInPageMap == null) {
-                        idInPageMap = generateUniqueStateIds ? createRandomId() : createIncrementalRequestId(ctx);
-                    }
-                    String idInStateMap = null;
-                    if (ctx.getPartialViewContext().isPartialRequest()) {
-                        // If partial request, do not change actual view Id, because page not actually changed.
-                        // Otherwise partial requests will soon overflow cache with values that would be never used.
-                        idInStateMap = (String) RequestStateManager.get(ctx, RequestStateManager.VIEW_STATE_MAP);
-                    }
-                    if (null == idInStateMap) {
-                        idInStateMap = generateUniqueStateIds ? createRandomId() : createIncrementalRequestId(ctx);
-                    }
-                    Map<String, Object[]> stateMap = TypedCollections.dynamicallyCastMap(pageMap.get(idInPageMap), String.class, Object[].class);
-                    if (stateMap == null) {
-                        stateMap = Collections.synchronizedMap(new LRUMap<>(numberOfViewStatesPerPage));
-                        pageMap.put(idInPageMap, stateMap);
-                    }
-
-                    id = idInPageMap + ':' + idInStateMap;
-
-                    Object[] stateArray = stateMap.get(idInStateMap);
-                    // reuse the array if possible
-                    if (stateArray != null) {
-                        stateArray[0] = structure;
-                        stateArray[1] = savedState;
-                    } else {
-                        stateMap.put(idInStateMap, new Object[] { structure, savedState });
-                    }
-
-                    // always call put/setAttribute as we may be in a clustered environment.
-                    sessionMap.put(STATEFUL_PAGE_MAP, pageMap);
-                    ctx.getAttributes().put("org.glassfish.mojarra.ViewStateValue", id);
+                Object structure = stateToWrite[0];
+                Object savedState = handleSaveState(stateToWrite[1]);
+
+                String idInPageMap = (String) RequestStateManager.get(ctx, RequestStateManager.STATEFUL_PAGE_MAP);
+                if (idInPageMap == null) {
+                    idInPageMap = generateUniqueStateIds ? createRandomId() : createIncrementalRequestId(ctx);
+                }
+                String idInStateMap = null;
+                if (ctx.getPartialViewContext().isPartialRequest()) {
+                    // If partial request, do not change actual view Id, because page not actually changed.
+                    // Otherwise partial requests will soon overflow cache with values that would be never used.
+                    idInStateMap = (String) RequestStateManager.get(ctx, RequestStateManager.VIEW_STATE_MAP);
+                }
+                if (null == idInStateMap) {
+                    idInStateMap = generateUniqueStateIds ? createRandomId() : createIncrementalRequestId(ctx);
                 }
+                id = idInPageMap + ':' + idInStateMap;
+
+                // Never reuse the previous array, a concurrent request of the same page may be reading it.
+                viewStateStore.putState(ctx, idInPageMap, idInStateMap, new Object[] { structure, savedState });
+                ctx.getAttributes().put("org.glassfish.mojarra.ViewStateValue", id);
             } else {
                 id = (String) ctx.getAttributes().get("org.glassfish.mojarra.ViewStateValue");
             }
@@ -270,29 +259,22 @@ public class ServerSideStateHelper extends StateHelper {
             return null;
         }
 
-        synchronized (getMutex(sessionObj)) {
-            @SuppressWarnings("unchecked")
-            Map<String, Map<String, Object[]>> pageMap = (Map<String, Map<String, Object[]>>) externalCtx.getSessionMap().get(STATEFUL_PAGE_MAP);
-            if (pageMap != null) {
-                Map<String, Object[]> stateMap = pageMap.get(idInPageMap);
-                if (stateMap != null) {
-                    RequestStateManager.set(ctx, RequestStateManager.STATEFUL_PAGE_MAP, idInPageMap);
-
-                    Object[] restoredState = new Object[2];
-                    Object[] state = stateMap.get(idInStateMap);
-                    if (state != null) {
-                        restoredState[0] = state[0];
-                        restoredState[1] = state[1];
-
-                        RequestStateManager.set(ctx, RequestStateManager.VIEW_STATE_MAP, idInStateMap);
-                        if (state.length == 2 && state[1] != null) {
-                            restoredState[1] = handleRestoreState(state[1]);
-                        }
-                    }
-
-                    return restoredState;
+        if (viewStateStore.containsStatefulPage(ctx, idInPageMap)) {
+            RequestStateManager.set(ctx, RequestStateManager.STATEFUL_PAGE_MAP, idInPageMap);
+
+            Object[] restoredState = new Object[2];
+            Object[] state = viewStateStore.getState(ctx, idInPageMap, idInStateMap);
+            if (state != null) {
+                restoredState[0] = state[0];
+                restoredState[1] = state[1];
+
+                RequestStateManager.set(ctx, RequestStateManager.VIEW_STATE_MAP, idInStateMap);
+                if (state.length == 2 && state[1] != null) {
+                    restoredState[1] = handleRestoreState(state[1]);
                 }
             }
+
+            return restoredState;
         }
 
         return null;
@@ -305,16 +287,55 @@ public class ServerSideStateHelper extends StateHelper {
     /**
      * @param state the object returned from <code>UIView.processSaveState</code>
      * @return If option <code>SerializeServerState</code> is <code>true</code>, serialize and return the state, otherwise, return <code>state</code> unchanged.
+     * The component states of partial state saving are serialized one by one when server state deltas are enabled.
      */
     protected Object handleSaveState(Object state) {
         if (!serializeServerState) {
             return state;
         }
 
+        if (serializeComponentStates && state instanceof Map<?, ?> componentStates) {
+            // Not compressed, as each of them is too small for that to pay off.
+            Map<Object, Object> serializedStates = new HashMap<>();
+
+            for (Map.Entry<?, ?> entry : componentStates.entrySet()) {
+                serializedStates.put(entry.getKey(), serialize(entry.getValue(), false));
+            }
+
+            return serializedStates;
+        }
+
+        return serialize(state, compressViewState);
+    }
+
+    /**
+     * @param state the state as it was stored in the session
+     * @return an object that can be passed to <code>UIViewRoot.processRestoreState</code>. If option <code>SerializeServerState</code> true
+     * de-serialize the state prior to returning it, otherwise return <code>state</code> as is.
+     */
+    protected Object handleRestoreState(Object state) {
+        if (!serializeServerState) {
+            return state;
+        }
+
+        if (state instanceof Map<?, ?> serializedStates) {
+            Map<Object, Object> componentStates = new HashMap<>();
+
+            for (Map.Entry<?, ?> entry : serializedStates.entrySet()) {
+                componentStates.put(entry.getKey(), deserialize((byte[]) entry.getValue(), false));
+            }
+
+            return componentStates;
+        }
+
+        return deserialize((byte[]) state, compressViewState);
+    }
+
+    private byte[] serialize(Object state, boolean compress) {
         ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
         ObjectOutputStream oas = null;
         try {
-            oas = serialProvider.createObjectOutputStream(compressViewState ? new GZIPOutputStream(baos, 1024) : baos);
+            oas = serialProvider.createObjectOutputStream(compress ? new GZIPOutputStream(baos, 1024) : baos);
             oas.writeObject(state);
             oas.flush();
         } catch (Exception e) {
@@ -332,18 +353,9 @@ public class ServerSideStateHelper extends StateHelper {
         return baos.toByteArray();
     }
 
-    /**
-     * @param state the state as it was stored in the session
-     * @return an object that can be passed to <code>UIViewRoot.processRestoreState</code>. If option <code>SerializeServerState</code> true
-     * de-serialize the state prior to returning it, otherwise return <code>state</code> as is.
-     */
-    protected Object handleRestoreState(Object state) {
-        if (!serializeServerState) {
-            return state;
-        }
-
-        try (ByteArrayInputStream bais = new ByteArrayInputStream((byte[]) state);
-            ObjectInputStream ois = serialProvider.createObjectInputStream(compressViewState ? new GZIPInputStream(bais, 1024) : bais);) {
+    private Object deserialize(byte[] state, boolean compressed) {
+        try (ByteArrayInputStream bais = new ByteArrayInputStream(state);
+            ObjectInputStream ois = serialProvider.createObjectInputStream(compressed ? new GZIPInputStream(bais, 1024) : bais);) {
             return ois.readObject();
         } catch (Exception e) {
             throw new FacesException(e);
@@ -358,7 +370,11 @@ public class ServerSideStateHelper extends StateHelper {
         Map<String, Object> sessionMap = ctx.getExternalContext().getSessionMap();
         AtomicInteger idgen = (AtomicInteger) sessionMap.get(STATEMANAGED_SERIAL_ID_KEY);
         if (idgen == null) {
-            idgen = new AtomicInteger(1);
+            // Only the very first id of the session gets here, every later one finds the generator without locking.
+            synchronized (getMutex(ctx.getExternalContext().getSession(true))) {
+                sessionMap.putIfAbsent(STATEMANAGED_SERIAL_ID_KEY, new AtomicInteger(1));
+                idgen = (AtomicInteger) sessionMap.get(STATEMANAGED_SERIAL_ID_KEY);
+            }
         }
 
         // always call put/setAttribute as we may be in a clustered environment.
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.renderkit;
+
+import static org.glassfish.mojarra.context.SessionMap.getMutex;
+
+import java.util.Map;
+
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.config.MojarraContextParam;
+import org.glassfish.mojarra.spi.ViewStateStore;
+import org.glassfish.mojarra.util.ConcurrentLRUCache;
+
+/**
+ * The default {@link ViewStateStore}, which keeps the view states in the HTTP session, under
+ * {@link ServerSideStateHelper#STATEFUL_PAGE_MAP}. They are kept as is, unless
+ * <code>org.glassfish.mojarra.enableServerStateDeltas</code> is set, in which case every stateful page keeps them in a
+ * {@link ViewStateDeltaChain}.
+ *
+ * @since 5.0
+ */
+public class SessionViewStateStore implements ViewStateStore {
+
+    /**
+     * The number of stateful pages retained per session, as configured by the user.
+     */
+    protected final int numberOfStatefulPages;
+
+    /**
+     * The number of view states retained per stateful page, as configured by the user.
+     */
+    protected final int numberOfViewStatesPerPage;
+
+    /**
+     * Flag determining whether the view states of a stateful page are kept as the difference with their predecessor.
+     */
+    protected final boolean enableServerStateDeltas;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Construct a new <code>SessionViewStateStore</code> instance.
+     */
+    public SessionViewStateStore() {
+        FacesContext context = FacesContext.getCurrentInstance();
+        numberOfStatefulPages = MojarraContextParam.NUMBER_OF_STATEFUL_PAGES_PER_SESSION.getInt(context);
+        numberOfViewStatesPerPage = MojarraContextParam.NUMBER_OF_VIEW_STATES_PER_STATEFUL_PAGE.getInt(context);
+        enableServerStateDeltas = MojarraContextParam.ENABLE_SERVER_STATE_DELTAS.isEnabled(context);
+    }
+
+    // --------------------------------------------- Methods from ViewStateStore
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void putState(FacesContext context, String statefulPageId, String viewStateId, Object[] state) {
+        ExternalContext externalContext = context.getExternalContext();
+        ConcurrentLRUCache<String, Object> pageMap = getStatefulPageMap(externalContext, ServerSideStateHelper.STATEFUL_PAGE_MAP, numberOfStatefulPages, true);
+        Object stateMap = pageMap.computeIfAbsent(statefulPageId, $ -> newStateMap());
+
+        if (enableServerStateDeltas != stateMap instanceof ViewStateDeltaChain) {
+            // The setting changed while the session was persisted.
+            stateMap = newStateMap();
+            pageMap.put(statefulPageId, stateMap);
+        }
+
+        if (enableServerStateDeltas) {
+            ((ViewStateDeltaChain) stateMap).put(viewStateId, state);
+        } else {
+            ((ConcurrentLRUCache<String, Object[]>) stateMap).put(viewStateId, state);
+        }
+
+        // always call put/setAttribute as we may be in a clustered environment.
+        externalContext.getSessionMap().put(ServerSideStateHelper.STATEFUL_PAGE_MAP, pageMap);
+    }
+
+    @Override
+    public boolean containsStatefulPage(FacesContext context, String statefulPageId) {
+        ConcurrentLRUCache<String, Object> pageMap = getStatefulPageMap(context.getExternalContext(), ServerSideStateHelper.STATEFUL_PAGE_MAP,
+                numberOfStatefulPages, false);
+        return pageMap != null && pageMap.containsKey(statefulPageId);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object[] getState(FacesContext context, String statefulPageId, String viewStateId) {
+        ConcurrentLRUCache<String, Object> pageMap = getStatefulPageMap(context.getExternalContext(), ServerSideStateHelper.STATEFUL_PAGE_MAP,
+                numberOfStatefulPages, false);
+        Object stateMap = pageMap != null ? pageMap.get(statefulPageId) : null;
+
+        if (stateMap instanceof ViewStateDeltaChain) {
+            return ((ViewStateDeltaChain) stateMap).get(viewStateId);
+        }
+
+        return stateMap != null ? ((ConcurrentLRUCache<String, Object[]>) stateMap).get(viewStateId) : null;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private Object newStateMap() {
+        return enableServerStateDeltas ? new ViewStateDeltaChain(numberOfViewStatesPerPage) : new ConcurrentLRUCache<String, Object[]>(numberOfViewStatesPerPage);
+    }
+
+    // ---------------------------------------------------------- Static Methods
+
+    /**
+     * @param externalContext the <code>ExternalContext</code> for the current request
+     * @param name the name of the session attribute holding the stateful page map
+     * @param numberOfStatefulPages the capacity of the stateful page map when it has to be created
+     * @param create whether to create the stateful page map when the session does not hold one yet
+     * @return the stateful page map of the current session, or <code>null</code> when there is none and
+     * <code>create</code> is <code>false</code>
+     */
+    @SuppressWarnings("unchecked")
+    static <T> ConcurrentLRUCache<String, T> getStatefulPageMap(ExternalContext externalContext, String name,
+            int numberOfStatefulPages, boolean create) {
+        Map<String, Object> sessionMap = externalContext.getSessionMap();
+        Object pageMap = sessionMap.get(name);
+
+        if (pageMap instanceof ConcurrentLRUCache) {
+            return (ConcurrentLRUCache<String, T>) pageMap;
+        }
+
+        if (!create) {
+            return null;
+        }
+
+        // Only the very first state of the session gets here, every later one finds the map without locking.
+        synchronized (getMutex(externalContext.getSession(true))) {
+            pageMap = sessionMap.get(name);
+
+            if (!(pageMap instanceof ConcurrentLRUCache)) {
+                pageMap = new ConcurrentLRUCache<String, T>(numberOfStatefulPages);
+                sessionMap.put(name, pageMap);
+            }
+
+            return (ConcurrentLRUCache<String, T>) pageMap;
+        }
+    }
+
+}
@@ -22,6 +22,7 @@ import static org.glassfish.mojarra.renderkit.RenderKitUtils.PredefinedPostbackP
 import static org.glassfish.mojarra.renderkit.RenderKitUtils.PredefinedPostbackParameter.VIEW_STATE_PARAM;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.net.URLEncoder;
 
 import jakarta.faces.context.FacesContext;
@@ -115,8 +116,14 @@ public abstract class StateHelper {
         writer.writeAttribute("autocomplete", viewStateAutocomplete, null);
     }
 
-    public static void createAndStoreCryptographicallyStrongTokenInSession(HttpSession session) {
-        ByteArrayGuardAESCTR guard = new ByteArrayGuardAESCTR();
+    /**
+     * Stores a new token in the given session for protected views to check.
+     *
+     * @param session the session which was just created.
+     * @param guard the guard which encrypts the token, which is expected to be shared by all sessions of the application
+     * as creating one sets up a key and a pool of ciphers.
+     */
+    public static void createAndStoreCryptographicallyStrongTokenInSession(HttpSession session, ByteArrayGuardAESCTR guard) {
         String clearText = String.valueOf(System.currentTimeMillis());
         String result = guard.encrypt(clearText);
         result = URLEncoder.encode(result, UTF_8);
@@ -148,6 +155,41 @@ public abstract class StateHelper {
      */
     public abstract void writeState(FacesContext ctx, Object state, StringBuilder stateCapture) throws IOException;
 
+    /**
+     * <p>
+     * Writes the state without any markup to the provided <code>Writer</code>, as
+     * {@link #writeState(FacesContext, Object, StringBuilder)} does to a <code>StringBuilder</code>.
+     * </p>
+     *
+     * @param ctx the Faces context.
+     * @param state the state.
+     * @param writer the writer to write the state to.
+     * @throws IOException when an I/O error occurs.
+     * @since 5.0
+     */
+    public void writeViewState(FacesContext ctx, Object state, Writer writer) throws IOException {
+        StringBuilder stateCapture = new StringBuilder(32);
+        writeState(ctx, state, stateCapture);
+        writer.append(stateCapture);
+    }
+
+    /**
+     * <p>
+     * Does the part of writing the provided <code>state</code> which may fail, such as serializing it, ahead of writing it
+     * to the response. The result is passed to {@link #writeState(FacesContext, Object, StringBuilder)} in place of the
+     * state. By default the state is returned as is.
+     * </p>
+     *
+     * @param ctx the Faces context.
+     * @param state the state.
+     * @return the state to write.
+     * @throws IOException when an I/O error occurs.
+     * @since 5.0
+     */
+    public Object prepareState(FacesContext ctx, Object state) throws IOException {
+        return state;
+    }
+
     /**
      * @see jakarta.faces.render.ResponseStateManager#getState(jakarta.faces.context.FacesContext, String)
      */
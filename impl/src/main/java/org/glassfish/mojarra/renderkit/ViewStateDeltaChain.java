@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.renderkit;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * The view states of one stateful page, where only the first one is kept as is and every later one as the difference
+ * with its predecessor. This is what {@link SessionViewStateStore} keeps per stateful page when
+ * <code>org.glassfish.mojarra.enableServerStateDeltas</code> is set.
+ * </p>
+ *
+ * <p>
+ * Only the state produced by partial state saving is encoded this way, which maps client ids to component states,
+ * each of them serialized on its own by {@link ServerSideStateHelper} when <code>jakarta.faces.SERIALIZE_SERVER_STATE</code>
+ * is set: the difference is then the client ids whose state is not equal, as per
+ * {@link Objects#deepEquals(Object, Object)}, plus the client ids which are gone. Any other state, such as one of full
+ * state saving, and any state for which the difference would be larger than half of it, is kept as is and starts a new
+ * chain.
+ * </p>
+ *
+ * <p>
+ * Eviction stays least recently accessed first, as with the default store. Removing a state from the middle of the chain
+ * folds its difference into its successor, and removing a state which is kept as is turns its successor into one, so
+ * that every remaining state can still be reconstructed. All operations of one page are guarded by a lock of that page
+ * alone.
+ * </p>
+ *
+ * @since 5.0
+ */
+final class ViewStateDeltaChain implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int maxCapacity;
+    private transient ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * The links in chain order, which means that every link which is not kept as is, is the difference with the one
+     * before it.
+     */
+    private final List<Link> links = new ArrayList<>();
+    private long clock;
+
+    // ------------------------------------------------------------ Constructors
+
+    ViewStateDeltaChain(int maxCapacity) {
+        this.maxCapacity = maxCapacity;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * Stores the view state at the end of the chain, replacing any view state previously stored under the same id, and
+     * evicts the least recently accessed one when the chain grows beyond its capacity for it.
+     *
+     * @param id the id of the view state
+     * @param state the view state, an array of the tree structure and the component state, as it is passed to
+     * {@link SessionViewStateStore#putState(jakarta.faces.context.FacesContext, String, String, Object[])}
+     */
+    void put(String id, Object[] state) {
+        lock.lock();
+
+        try {
+            int existing = indexOf(id);
+
+            if (existing != -1) {
+                remove(existing);
+            }
+
+            Link link = new Link(id, state[0], ++clock);
+            Object savedState = state[1];
+            Map<String, Object> current = componentStates(savedState);
+            Map<String, Object> previous = links.isEmpty() || current == null ? null : componentStates(materialize(links.size() - 1));
+
+            if (previous == null || !link.encode(previous, current)) {
+                link.state = savedState;
+            }
+
+            links.add(link);
+
+            while (links.size() > maxCapacity) {
+                remove(eldest());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param id the id of the view state
+     * @return the view state, reconstructed when it was kept as a difference, or <code>null</code> when there is none.
+     * The view state counts as the most recently accessed one from now on.
+     */
+    Object[] get(String id) {
+        lock.lock();
+
+        try {
+            int index = indexOf(id);
+
+            if (index == -1) {
+                return null;
+            }
+
+            Link link = links.get(index);
+            link.lastAccess = ++clock;
+            return new Object[] { link.structure, materialize(index) };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the current amount of view states.
+     */
+    int size() {
+        lock.lock();
+
+        try {
+            return links.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    /**
+     * The chain is serialized along with the session, which may happen while a request of the same page is using it.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        lock.lock();
+
+        try {
+            out.defaultWriteObject();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        lock = new ReentrantLock();
+    }
+
+    private int indexOf(String id) {
+        for (int i = 0; i < links.size(); i++) {
+            if (links.get(i).id.equals(id)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int eldest() {
+        int eldest = 0;
+
+        for (int i = 1; i < links.size(); i++) {
+            if (links.get(i).lastAccess < links.get(eldest).lastAccess) {
+                eldest = i;
+            }
+        }
+
+        return eldest;
+    }
+
+    /**
+     * Removes the link, after folding it into its successor if that is a difference with it.
+     */
+    private void remove(int index) {
+        if (index + 1 < links.size()) {
+            Link successor = links.get(index + 1);
+
+            if (successor.delta) {
+                Link removed = links.get(index);
+
+                if (!removed.delta) {
+                    successor.state = materialize(index + 1);
+                    successor.delta = false;
+                    successor.changed = null;
+                    successor.gone = null;
+                } else {
+                    Map<String, Object> changed = new HashMap<>(removed.changed);
+                    changed.keySet().removeAll(successor.gone);
+                    changed.putAll(successor.changed);
+                    Set<String> gone = new HashSet<>(removed.gone);
+                    gone.addAll(successor.gone);
+                    gone.removeAll(changed.keySet());
+                    successor.changed = changed;
+                    successor.gone = gone;
+                }
+            }
+        }
+
+        links.remove(index);
+    }
+
+    /**
+     * @return the component state of the link, which is a new map when it has to be reconstructed.
+     */
+    private Object materialize(int index) {
+        Link link = links.get(index);
+
+        if (!link.delta) {
+            return link.state;
+        }
+
+        int start = index;
+
+        while (links.get(start).delta) {
+            start--;
+        }
+
+        Map<String, Object> componentStates = new HashMap<>(componentStates(links.get(start).state));
+
+        for (int i = start + 1; i <= index; i++) {
+            Link delta = links.get(i);
+            componentStates.keySet().removeAll(delta.gone);
+            componentStates.putAll(delta.changed);
+        }
+
+        return componentStates;
+    }
+
+    /**
+     * @return the map of client ids to component states when the state is one produced by partial state saving,
+     * otherwise <code>null</code>.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> componentStates(Object savedState) {
+        return savedState instanceof Map ? (Map<String, Object>) savedState : null;
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class Link implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String id;
+        private final Object structure;
+        private long lastAccess;
+
+        /**
+         * Whether this is the difference with the predecessor, rather than the component state as is.
+         */
+        private boolean delta;
+        private Object state;
+        private Map<String, Object> changed;
+        private Set<String> gone;
+
+        private Link(String id, Object structure, long lastAccess) {
+            this.id = id;
+            this.structure = structure;
+            this.lastAccess = lastAccess;
+        }
+
+        /**
+         * @return <code>true</code> when this link was encoded as the difference, or <code>false</code> when the
+         * difference would not be worth it.
+         */
+        private boolean encode(Map<String, Object> previous, Map<String, Object> current) {
+            Map<String, Object> changed = new HashMap<>();
+
+            for (Map.Entry<String, Object> entry : current.entrySet()) {
+                String clientId = entry.getKey();
+
+                if (!previous.containsKey(clientId) || !Objects.deepEquals(previous.get(clientId), entry.getValue())) {
+                    changed.put(clientId, entry.getValue());
+
+                    if (changed.size() > current.size() / 2) {
+                        return false;
+                    }
+                }
+            }
+
+            Set<String> gone = new HashSet<>(previous.keySet());
+            gone.removeAll(current.keySet());
+
+            this.delta = true;
+            this.changed = changed;
+            this.gone = gone;
+            return true;
+        }
+    }
+
+    // TEST: org.glassfish.mojarra.renderkit.ViewStateDeltaChainTest
+}
@@ -48,6 +48,13 @@ import org.glassfish.mojarra.util.MessageUtils;
  */
 public class HtmlResponseWriter extends ResponseWriter {
 
+    /**
+     * The number of distinct values returned by {@link #getPreRenderingKey()}, not counting <code>-1</code>.
+     *
+     * @since 5.0
+     */
+    public static final int PRE_RENDERING_KEYS = 16;
+
     // Content Type for this Writer.
     //
     private String contentType = "text/html";
@@ -696,6 +703,36 @@ public class HtmlResponseWriter extends ResponseWriter {
 
     }
 
+    /**
+     * <p>
+     * Write an attribute of the currently open element whose value is written straight to the underlying writer by the
+     * given callback, rather than being converted to a String first. The value is not escaped, so the callback must only
+     * write characters which need no escaping in an attribute value, such as the Base64 alphabet.
+     * </p>
+     *
+     * @param name Attribute name to be added
+     * @param value Callback writing the attribute value
+     *
+     * @throws IOException if an input/output error occurs
+     * @throws NullPointerException if <code>name</code> or <code>value</code> is <code>null</code>
+     * @since 5.0
+     */
+    public void writeStreamedAttribute(String name, StreamedAttributeValue value) throws IOException {
+        if (name == null || value == null) {
+            throw new NullPointerException(MessageUtils.getExceptionMessageString(MessageUtils.NULL_PARAMETERS_ERROR_MESSAGE_ID, name == null ? "name" : "value"));
+        }
+
+        if (isCdata || containsPassThroughAttribute(name)) {
+            return;
+        }
+
+        writer.write(' ');
+        writer.write(name);
+        writer.write("=\"");
+        value.writeTo(writer);
+        writer.write('"');
+    }
+
     /**
      * <p>
      * Write a comment string containing the specified text. The text will be converted to a String if necessary. If there
@@ -971,6 +1008,45 @@ public class HtmlResponseWriter extends ResponseWriter {
 
     }
 
+    /**
+     * <p>
+     * Return the key of the configuration which decides how this writer escapes markup. Markup which is rendered from
+     * start to end, with every element it starts also ended, by a writer having some key, is rendered the same by every
+     * other writer having the same key, and may therefore be rendered once and passed to
+     * {@link #writePreRendered(char[])} from then on.
+     * </p>
+     *
+     * @return the key, which is less than {@link #PRE_RENDERING_KEYS}, or <code>-1</code> while this writer is within a
+     * script, style or CDATA section, where markup is not escaped the way it is elsewhere.
+     *
+     * @since 5.0
+     */
+    public int getPreRenderingKey() {
+        if (dontEscape || writingCdata || isCdata || withinScript || withinStyle) {
+            return -1;
+        }
+
+        return (escapeUnicode ? 1 : 0) | (escapeIso ? 2 : 0) | (isScriptInAttributeValueEnabled ? 4 : 0) | (isPartial ? 8 : 0);
+    }
+
+    /**
+     * <p>
+     * Write markup which was rendered by a writer having the same {@link #getPreRenderingKey()} as this one, as is. If
+     * there is an open element that has been created by a call to <code>startElement()</code>, that element will be
+     * closed first.
+     * </p>
+     *
+     * @param markup the rendered markup
+     *
+     * @throws IOException if an input/output error occurs
+     *
+     * @since 5.0
+     */
+    public void writePreRendered(char[] markup) throws IOException {
+        closeStartIfNecessary();
+        writer.write(markup);
+    }
+
     // --------------------------------------------------------- Private Methods
 
     private void ensureTextBufferCapacity(String source) {
@@ -1373,4 +1449,26 @@ public class HtmlResponseWriter extends ResponseWriter {
         }
         flushBuffer();
     }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * Writes the value of an attribute straight to the response.
+     *
+     * @see HtmlResponseWriter#writeStreamedAttribute(String, StreamedAttributeValue)
+     * @since 5.0
+     */
+    @FunctionalInterface
+    public interface StreamedAttributeValue {
+
+        /**
+         * Writes the attribute value to the given writer.
+         *
+         * @param writer the writer of the response
+         * @throws IOException if an input/output error occurs
+         */
+        void writeTo(Writer writer) throws IOException;
+
+    }
+
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.spi;
+
+import jakarta.faces.context.FacesContext;
+
+/**
+ * This interface provides a mechanism to keep the view states of server side state saving elsewhere than in the HTTP
+ * session, which is where the default implementation keeps them.
+ *
+ * <p>
+ * A view state is identified by the stateful page it belongs to and by its own id within that page, which together
+ * form the value of the <code>jakarta.faces.ViewState</code> request parameter. An implementation is expected to honor
+ * <code>org.glassfish.mojarra.numberOfStatefulPagesPerSession</code> and
+ * <code>org.glassfish.mojarra.numberOfViewStatesPerStatefulPage</code>, and to only ever return view states which were
+ * stored by the session of the current request.
+ *
+ * <p>
+ * The implementation of this interface *must* be thread-safe and must have a no-arg constructor, which is invoked once
+ * per application with a current <code>FacesContext</code>.
+ *
+ * @since 5.0
+ */
+public interface ViewStateStore {
+
+    /**
+     * Stores the view state, replacing any view state previously stored under the same ids.
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @param statefulPageId the id of the stateful page the view state belongs to
+     * @param viewStateId the id of the view state within the stateful page
+     * @param state the view state, an array of two elements holding the tree structure and the component state
+     */
+    void putState(FacesContext context, String statefulPageId, String viewStateId, Object[] state);
+
+    /**
+     * Tests whether the session of the current request still has a stateful page of the given id.
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @param statefulPageId the id of the stateful page
+     * @return <code>true</code> if the stateful page is known, <code>false</code> otherwise
+     */
+    boolean containsStatefulPage(FacesContext context, String statefulPageId);
+
+    /**
+     * Returns the view state. This counts as an access of the stateful page, even when the view state itself is no
+     * longer available.
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @param statefulPageId the id of the stateful page the view state belongs to
+     * @param viewStateId the id of the view state within the stateful page
+     * @return the view state as it was stored, or <code>null</code> when it is not available
+     */
+    Object[] getState(FacesContext context, String statefulPageId, String viewStateId);
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.spi;
+
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.faces.context.ExternalContext;
+import jakarta.servlet.ServletContext;
+
+import org.glassfish.mojarra.config.MojarraContextParam;
+import org.glassfish.mojarra.renderkit.SessionViewStateStore;
+import org.glassfish.mojarra.util.FacesLogger;
+import org.glassfish.mojarra.util.Util;
+
+/**
+ * <p>
+ * A factory for creating the <code>ViewStateStore</code> of the application.
+ * </p>
+ */
+public class ViewStateStoreFactory {
+
+    /**
+     * <p>
+     * The application scoped attribute holding the <code>ViewStateStore</code> once created, so that every
+     * <code>ResponseStateManager</code> of the application shares it.
+     * </p>
+     */
+    private static final String VIEW_STATE_STORE = ViewStateStore.class.getName();
+
+    private static final Logger LOGGER = FacesLogger.APPLICATION.getLogger();
+
+    /**
+     * <p>
+     * Returns the instance of the class specified by the <code>org.glassfish.mojarra.viewStateStore</code> context
+     * parameter, creating it on first use. If this parameter is not defined, or does not denote a usable
+     * <code>ViewStateStore</code>, then a {@link SessionViewStateStore} will be returned.
+     * </p>
+     *
+     * @param extContext the ExternalContext for this application
+     * @return an implementation of the <code>ViewStateStore</code> interface
+     */
+    public static ViewStateStore createInstance(ExternalContext extContext) {
+        Map<String, Object> applicationMap = extContext.getApplicationMap();
+        ViewStateStore store = (ViewStateStore) applicationMap.get(VIEW_STATE_STORE);
+
+        if (store == null) {
+            store = getStoreInstance(MojarraContextParam.VIEW_STATE_STORE.getString((ServletContext) extContext.getContext()));
+            applicationMap.put(VIEW_STATE_STORE, store);
+
+            if (store.getClass() != SessionViewStateStore.class && LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "ViewStateStore {0} configured", store.getClass().getName());
+            }
+        }
+
+        return store;
+    }
+
+    private static ViewStateStore getStoreInstance(String className) {
+        if (!className.isEmpty()) {
+            try {
+                Class<?> clazz = Util.loadClass(className, ViewStateStoreFactory.class);
+                if (ViewStateStore.class.isAssignableFrom(clazz)) {
+                    return (ViewStateStore) clazz.getDeclaredConstructor().newInstance();
+                }
+
+                LOGGER.log(Level.SEVERE, "The specified ViewStateStore implementation ''{0}'' does not implement the ViewStateStore interface, falling back to the session", className);
+            } catch (ClassNotFoundException cnfe) {
+                LOGGER.log(Level.SEVERE, "The specified ViewStateStore implementation ''{0}'' cannot be loaded, falling back to the session", className);
+            } catch (IllegalArgumentException | ReflectiveOperationException | SecurityException ie) {
+                LOGGER.log(Level.SEVERE, "The specified ViewStateStore ''{0}'' cannot be instantiated, falling back to the session", className);
+                LOGGER.log(Level.SEVERE, "", ie);
+            }
+        }
+
+        return new SessionViewStateStore();
+    }
+
+}
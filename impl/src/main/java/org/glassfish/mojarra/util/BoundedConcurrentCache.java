@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.util;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.faces.FacesException;
+
+/**
+ * <p>
+ * The bounded counterpart of {@link ExpiringConcurrentCache}. Objects are still created only once per key, by the first
+ * thread which asks for it while the others wait for that, and still expire as told by the
+ * {@link ExpiringConcurrentCache.ExpiryChecker}. Each object however weighs in on the maximum weight of this cache, and
+ * once the total weight exceeds it the entries which are least likely to be asked for again are evicted.
+ * </p>
+ *
+ * <p>
+ * The eviction policy is a segmented LRU: a new entry starts out on probation, and is promoted to protected by the first
+ * time it is asked for again. Entries on probation are evicted first, the least recently accessed ones first, so that a
+ * burst of objects which are asked for only once, such as pages visited by a crawler, cannot push out those which are
+ * repeatedly asked for. The protected entries are kept below four fifths of the maximum weight by demoting the least
+ * recently accessed ones back to probation.
+ * </p>
+ *
+ * <p>
+ * Like {@link ConcurrentLRUCache}, lookups never lock and eviction scans all entries while holding the eviction lock of
+ * this very cache. That scan is negligible next to creating the expensive objects this cache is meant for.
+ * </p>
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ * @since 5.0
+ */
+public final class BoundedConcurrentCache<K, V> extends ConcurrentCache<K, V> {
+
+    private static final Logger LOGGER = FacesLogger.UTIL.getLogger();
+
+    private final ExpiringConcurrentCache.ExpiryChecker<K, V> checker;
+    private final long maxWeight;
+    private final long maxProtectedWeight;
+    private final ToLongFunction<V> weigher;
+    private final ConcurrentMap<K, Node<V>> cache = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong weight = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Constructs this cache.
+     *
+     * @param f used to create new instances of objects that are not already available
+     * @param checker used to check whether an object in the cache has expired
+     * @param maxWeight the maximum total weight of the cached objects, beyond which entries are evicted
+     * @param weigher the weight of a cached object, which should be at least 1
+     * @throws IllegalArgumentException when the maximum weight is less than 1
+     */
+    public BoundedConcurrentCache(Factory<K, V> f, ExpiringConcurrentCache.ExpiryChecker<K, V> checker, long maxWeight, ToLongFunction<V> weigher) {
+        super(f);
+
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("maxWeight must be at least 1, but was " + maxWeight);
+        }
+
+        this.checker = checker;
+        this.maxWeight = maxWeight;
+        this.maxProtectedWeight = maxWeight - maxWeight / 5;
+        this.weigher = weigher;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    @Override
+    public V get(final K key) throws ExecutionException {
+        while (true) {
+            boolean newlyCached = false;
+            Node<V> node = cache.get(key);
+
+            if (node == null) {
+                Node<V> created = new Node<>();
+                created.task = new FutureTask<>(() -> created.complete(getFactory().newInstance(key), weigher, weight));
+                node = cache.putIfAbsent(key, created);
+
+                if (node == null) {
+                    node = created;
+                    created.task.run();
+                    newlyCached = true;
+                }
+            }
+
+            try {
+                V value = node.task.get();
+
+                if (newlyCached) {
+                    misses.increment();
+                    node.lastAccess = clock.incrementAndGet();
+                    evictIfNecessary(node);
+                    return value;
+                }
+
+                if (checker.isExpired(key, value)) {
+                    // Remove by key and value, so that a node added by a different thread after the expiry check survives.
+                    remove(key, node);
+                } else {
+                    hits.increment();
+                    node.lastAccess = clock.incrementAndGet();
+                    node.protect = true;
+                    return value;
+                }
+            } catch (CancellationException e) {
+                LOGGER.log(Level.SEVERE, e.toString(), e);
+                remove(key, node);
+            } catch (ExecutionException e) {
+                remove(key, node);
+                throw e;
+            } catch (InterruptedException e) {
+                throw new FacesException(e);
+            }
+        }
+    }
+
+    @Override
+    public boolean containsKey(final K key) {
+        Node<V> node = cache.get(key);
+
+        if (node == null || !node.task.isDone() || node.task.isCancelled()) {
+            return false;
+        }
+
+        try {
+            if (!checker.isExpired(key, node.task.get(0, TimeUnit.MILLISECONDS))) {
+                return true;
+            }
+
+            remove(key, node);
+        } catch (TimeoutException | ExecutionException e) {
+            // Not cached after all.
+        } catch (CancellationException e) {
+            LOGGER.log(Level.SEVERE, e.toString(), e);
+        } catch (InterruptedException e) {
+            throw new FacesException(e);
+        }
+
+        return false;
+    }
+
+    /**
+     * @return the current amount of entries, including those which are still being created.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return the current total weight of the cached objects.
+     */
+    public long getWeight() {
+        return weight.get();
+    }
+
+    /**
+     * @return the maximum total weight of the cached objects.
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * @return the amount of times an object was found in this cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the amount of times an object had to be created, including after it expired or was evicted.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the amount of entries evicted to honor the maximum weight, which excludes expired ones.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedConcurrentCache[size=" + size() + ", weight=" + getWeight() + "/" + maxWeight + ", hits=" + getHitCount() + ", misses="
+                + getMissCount() + ", evictions=" + getEvictionCount() + "]";
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private boolean remove(K key, Node<V> node) {
+        if (cache.remove(key, node)) {
+            weight.addAndGet(-node.weight);
+            return true;
+        }
+
+        return false;
+    }
+
+    private void evictIfNecessary(Node<V> created) {
+        if (weight.get() <= maxWeight) {
+            return;
+        }
+
+        evictionLock.lock();
+        long evicted = evictions.sum();
+
+        try {
+            while (weight.get() > maxWeight) {
+                Map.Entry<K, Node<V>> victim = null;
+                Map.Entry<K, Node<V>> eldestProtected = null;
+                long protectedWeight = 0;
+
+                for (Map.Entry<K, Node<V>> candidate : cache.entrySet()) {
+                    Node<V> node = candidate.getValue();
+
+                    if (node == created || !node.task.isDone()) {
+                        // Keep the entry which is being added as well as those which are still being created.
+                        continue;
+                    }
+
+                    if (node.protect) {
+                        protectedWeight += node.weight;
+
+                        if (eldestProtected == null || node.lastAccess < eldestProtected.getValue().lastAccess) {
+                            eldestProtected = candidate;
+                        }
+                    } else if (victim == null || node.lastAccess < victim.getValue().lastAccess) {
+                        victim = candidate;
+                    }
+                }
+
+                if (eldestProtected != null && (victim == null || protectedWeight > maxProtectedWeight)) {
+                    // Demote rather than evict, so that it gets another chance on probation.
+                    eldestProtected.getValue().protect = false;
+
+                    if (victim == null) {
+                        continue;
+                    }
+                }
+
+                if (victim == null) {
+                    break;
+                }
+
+                if (remove(victim.getKey(), victim.getValue())) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+
+        if (LOGGER.isLoggable(Level.FINE) && evictions.sum() > evicted) {
+            LOGGER.log(Level.FINE, "Evicted to honor the maximum weight: {0}", this);
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class Node<V> {
+
+        FutureTask<V> task;
+        volatile long lastAccess;
+        volatile boolean protect;
+        volatile long weight;
+
+        V complete(V value, ToLongFunction<V> weigher, AtomicLong totalWeight) {
+            // Weighed before the task completes, so that whoever removes this node afterwards sees its weight.
+            weight = Math.max(1, weigher.applyAsLong(value));
+            totalWeight.addAndGet(weight);
+            return value;
+        }
+    }
+
+    // TEST: org.glassfish.mojarra.util.BoundedConcurrentCacheTest
+}
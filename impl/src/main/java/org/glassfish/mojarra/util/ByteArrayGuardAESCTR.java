@@ -67,6 +67,17 @@ public final class ByteArrayGuardAESCTR {
 
     private Charset utf8;
 
+    /**
+     * Shared rather than created per request, since seeding a <code>SecureRandom</code> is not cheap either.
+     */
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Looking up the provider of the <code>Cipher</code> costs more than encrypting a flash cookie, hence the ciphers are
+     * pooled rather than created per request. They are initialized again on every use, since every use has its own IV.
+     */
+    private final ObjectPool<Cipher> ciphers = new ObjectPool<>(Runtime.getRuntime().availableProcessors() * 2, ByteArrayGuardAESCTR::createCipher, $ -> {});
+
     // ------------------------------------------------------------ Constructors
 
     public ByteArrayGuardAESCTR() {
@@ -94,13 +105,13 @@ public final class ByteArrayGuardAESCTR {
     public String encrypt(String value) {
         String securedata = null;
         byte[] bytes = value.getBytes(utf8);
+        Cipher encryptCipher = null;
         try {
-            SecureRandom rand = new SecureRandom();
             byte[] iv = new byte[16];
-            rand.nextBytes(iv);
+            random.nextBytes(iv);
             IvParameterSpec ivspec = new IvParameterSpec(iv);
 
-            Cipher encryptCipher = Cipher.getInstance(CIPHER_CODE);
+            encryptCipher = ciphers.acquire();
 
             encryptCipher.init(Cipher.ENCRYPT_MODE, sk, ivspec);
             // encrypt the plaintext
@@ -110,12 +121,13 @@ public final class ByteArrayGuardAESCTR {
 
             // Base64 encode the encrypted bytes
             securedata = Base64.getEncoder().encodeToString(temp);
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException | InvalidAlgorithmParameterException | IllegalBlockSizeException
-                | BadPaddingException e) {
+        } catch (IllegalStateException | InvalidKeyException | InvalidAlgorithmParameterException | IllegalBlockSizeException | BadPaddingException e) {
             if (LOGGER.isLoggable(Level.SEVERE)) {
                 LOGGER.log(Level.SEVERE, "Unexpected exception initializing encryption." + "  No encryption will be performed.", e);
             }
             return null;
+        } finally {
+            release(encryptCipher);
         }
         return securedata;
     }
@@ -123,6 +135,7 @@ public final class ByteArrayGuardAESCTR {
     public String decrypt(String value) throws InvalidKeyException {
 
         byte[] bytes = Base64.getDecoder().decode(value);
+        Cipher decryptCipher = null;
 
         try {
             byte[] iv = new byte[16];
@@ -134,7 +147,7 @@ public final class ByteArrayGuardAESCTR {
             System.arraycopy(bytes, 0, iv, 0, iv.length);
             IvParameterSpec ivspec = new IvParameterSpec(iv);
 
-            Cipher decryptCipher = Cipher.getInstance(CIPHER_CODE);
+            decryptCipher = ciphers.acquire();
             decryptCipher.init(Cipher.DECRYPT_MODE, sk, ivspec);
 
             byte[] encBytes = new byte[bytes.length - 16];
@@ -149,14 +162,29 @@ public final class ByteArrayGuardAESCTR {
                 }
             }
             return new String(plaindata, utf8);
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidAlgorithmParameterException | IllegalBlockSizeException
-                | BadPaddingException nsae) {
+        } catch (IllegalStateException | InvalidAlgorithmParameterException | IllegalBlockSizeException | BadPaddingException nsae) {
             throw new InvalidKeyException(nsae);
+        } finally {
+            release(decryptCipher);
         }
     }
 
     // --------------------------------------------------------- Private Methods
 
+    private static Cipher createCipher() {
+        try {
+            return Cipher.getInstance(CIPHER_CODE);
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void release(Cipher cipher) {
+        if (cipher != null) {
+            ciphers.release(cipher);
+        }
+    }
+
     private void setupKeyAndCharset() {
 
         try {
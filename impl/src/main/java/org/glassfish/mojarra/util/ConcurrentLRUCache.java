@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.util;
+
+import static java.util.Comparator.comparingLong;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * A bounded, access ordered cache which may be shared between threads without any external synchronization, and is
+ * therefore the concurrent counterpart of a <code>Collections.synchronizedMap(new LRUMap(...))</code>.
+ * </p>
+ *
+ * <p>
+ * Lookups never lock: every entry carries the tick of a shared clock at which it was last accessed, and a lookup merely
+ * advances it. Only an insertion which grows the cache beyond its capacity takes the eviction lock of this very cache, in
+ * order to remove the entries with the oldest ticks until the capacity is honored again, so that two caches never
+ * contend with each other. The lock is a {@link ReentrantLock} rather than a monitor, so that a virtual thread waiting
+ * for it does not pin its carrier.
+ * </p>
+ *
+ * <p>
+ * Eviction scans all entries. Below a capacity of {@value #BATCH_EVICTION_CAPACITY}, such as the amount of stateful
+ * pages per session, it removes just the eldest entry. From that capacity on, it removes the eldest sixteenth of the
+ * entries at once, so that the cost of the scan is spread over the insertions which fill the cache up again.
+ * </p>
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ * @since 5.0
+ */
+public class ConcurrentLRUCache<K, V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int BATCH_EVICTION_CAPACITY = 256;
+
+    private final int maxCapacity;
+    private final int evictionBatchSize;
+    private final ConcurrentHashMap<K, Entry<V>> entries;
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Constructs this cache.
+     *
+     * @param maxCapacity the maximum amount of entries, beyond which the least recently accessed ones are evicted.
+     * @throws IllegalArgumentException when the maximum capacity is less than 1.
+     */
+    public ConcurrentLRUCache(int maxCapacity) {
+        if (maxCapacity < 1) {
+            throw new IllegalArgumentException("maxCapacity must be at least 1, but was " + maxCapacity);
+        }
+
+        this.maxCapacity = maxCapacity;
+        this.evictionBatchSize = maxCapacity >= BATCH_EVICTION_CAPACITY ? maxCapacity / 16 : 0;
+        this.entries = new ConcurrentHashMap<>(maxCapacity + 1, 1.0f);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param key the key the value is associated with.
+     * @return the value associated with the key, or <code>null</code> when there is none. The entry counts as the most
+     * recently accessed one from now on.
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+
+        if (entry == null) {
+            return null;
+        }
+
+        entry.lastAccess = clock.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Associates the value with the key, replacing any previous value, and evicts the least recently accessed entry when
+     * the cache grows beyond its capacity for it.
+     *
+     * @param key the key to associate the value with.
+     * @param value the value, which may not be <code>null</code>.
+     * @return the previous value associated with the key, or <code>null</code> when there was none.
+     */
+    public V put(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        Entry<V> previous = entries.put(key, new Entry<>(value, clock.incrementAndGet()));
+
+        if (previous == null) {
+            evictIfNecessary();
+            return null;
+        }
+
+        return previous.value;
+    }
+
+    /**
+     * Returns the value associated with the key, or associates the one created by the given factory when there is none.
+     * Unlike {@link ConcurrentHashMap#computeIfAbsent(Object, Function)} the factory is not invoked while holding any
+     * lock, so it may be invoked more than once when threads race, in which case only one of the created values wins.
+     *
+     * @param key the key the value is associated with.
+     * @param factory creates the value when absent, which may not return <code>null</code>.
+     * @return the value associated with the key.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        V value = get(key);
+
+        if (value != null) {
+            return value;
+        }
+
+        Entry<V> created = new Entry<>(Objects.requireNonNull(factory.apply(key), "value"), clock.incrementAndGet());
+        Entry<V> existing = entries.putIfAbsent(key, created);
+
+        if (existing != null) {
+            existing.lastAccess = clock.incrementAndGet();
+            return existing.value;
+        }
+
+        evictIfNecessary();
+        return created.value;
+    }
+
+    /**
+     * @param key the key of the entry to remove.
+     * @return the value which was associated with the key, or <code>null</code> when there was none.
+     */
+    public V remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * @param key the key to look for.
+     * @return whether a value is associated with the key. Unlike {@link #get(Object)} this does not count as an access.
+     */
+    public boolean containsKey(K key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * @return the current amount of entries.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the maximum amount of entries.
+     */
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void evictIfNecessary() {
+        if (entries.size() <= maxCapacity) {
+            return;
+        }
+
+        evictionLock.lock();
+
+        try {
+            while (entries.size() > maxCapacity) {
+                evict(entries.size() - maxCapacity + evictionBatchSize);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void evict(int count) {
+        if (count == 1) {
+            Map.Entry<K, Entry<V>> eldest = null;
+
+            for (Map.Entry<K, Entry<V>> candidate : entries.entrySet()) {
+                if (eldest == null || candidate.getValue().lastAccess < eldest.getValue().lastAccess) {
+                    eldest = candidate;
+                }
+            }
+
+            if (eldest != null) {
+                // Remove by key and value, so that an entry which was replaced in the meanwhile survives.
+                entries.remove(eldest.getKey(), eldest.getValue());
+            }
+
+            return;
+        }
+
+        // The ticks are taken once, as they may advance while sorting.
+        List<Candidate<K, V>> candidates = new ArrayList<>(entries.size());
+
+        for (Map.Entry<K, Entry<V>> candidate : entries.entrySet()) {
+            candidates.add(new Candidate<>(candidate.getKey(), candidate.getValue(), candidate.getValue().lastAccess));
+        }
+
+        candidates.sort(comparingLong(Candidate::lastAccess));
+
+        for (Candidate<K, V> candidate : candidates.subList(0, Math.min(count, candidates.size()))) {
+            entries.remove(candidate.key(), candidate.entry());
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class Entry<V> implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final V value;
+        private volatile long lastAccess;
+
+        private Entry(V value, long lastAccess) {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private record Candidate<K, V>(K key, Entry<V> entry, long lastAccess) {
+    }
+
+    // TEST: org.glassfish.mojarra.util.ConcurrentLRUCacheTest
+}
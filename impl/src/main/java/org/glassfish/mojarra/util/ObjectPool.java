@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * A bounded pool of objects which are expensive to create, such as those holding native memory, which may be shared
+ * between threads without any external synchronization.
+ * </p>
+ *
+ * <p>
+ * Neither acquiring nor releasing ever blocks or locks: acquiring from an empty pool creates a new object, and releasing
+ * to a full pool disposes of the object instead. The pool is therefore sized for the amount of objects in use at the
+ * same time, not for the amount of threads, which is what makes it a fit for virtual threads where a
+ * <code>ThreadLocal</code> would hold one object per virtual thread.
+ * </p>
+ *
+ * @param <T> the type of the pooled objects.
+ * @since 5.0
+ */
+public class ObjectPool<T> {
+
+    private final int maxCapacity;
+    private final Supplier<T> factory;
+    private final Consumer<T> disposer;
+    private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * Constructs this pool.
+     *
+     * @param maxCapacity the maximum amount of idle objects, beyond which released objects are disposed of.
+     * @param factory creates a new object when the pool is empty.
+     * @param disposer disposes of an object which does not fit in the pool anymore.
+     * @throws IllegalArgumentException when the maximum capacity is less than 1.
+     */
+    public ObjectPool(int maxCapacity, Supplier<T> factory, Consumer<T> disposer) {
+        if (maxCapacity < 1) {
+            throw new IllegalArgumentException("maxCapacity must be at least 1, but was " + maxCapacity);
+        }
+
+        this.maxCapacity = maxCapacity;
+        this.factory = factory;
+        this.disposer = disposer;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return an idle object of this pool, or a new one when there is none. The caller owns it until it is
+     * {@link #release(Object) released}.
+     */
+    public T acquire() {
+        T object = idle.poll();
+
+        if (object == null) {
+            return factory.get();
+        }
+
+        size.decrementAndGet();
+        return object;
+    }
+
+    /**
+     * Returns the object to this pool, or disposes of it when this pool is full. The caller must not use it afterwards,
+     * and must have reset it to the state in which {@link #acquire()} is expected to return it.
+     *
+     * @param object the object to return.
+     */
+    public void release(T object) {
+        if (size.incrementAndGet() > maxCapacity) {
+            size.decrementAndGet();
+            disposer.accept(object);
+            return;
+        }
+
+        idle.offer(object);
+    }
+
+    /**
+     * @return the current amount of idle objects.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * @return the maximum amount of idle objects.
+     */
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    // TEST: org.glassfish.mojarra.util.ObjectPoolTest
+}
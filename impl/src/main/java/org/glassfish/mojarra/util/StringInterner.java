@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.util;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * <p>
+ * A pool of strings, which returns one and the same instance for equal strings, so that long lived structures built
+ * from many equal strings, such as compiled facelets, hold only one copy of each.
+ * </p>
+ *
+ * <p>
+ * Unlike {@link String#intern()} the pool is not global, and it references its strings weakly: a string is dropped from
+ * the pool once nothing else references it anymore, such as after the facelets using it were refreshed or evicted.
+ * The pool is striped by hash code so that threads interning different strings at the same time, such as those warming
+ * up the facelets, rarely wait for each other.
+ * </p>
+ *
+ * @since 5.0
+ */
+public final class StringInterner {
+
+    private static final int STRIPES = 16;
+
+    private final Map<String, WeakReference<String>>[] stripes;
+
+    // ------------------------------------------------------------ Constructors
+
+    @SuppressWarnings("unchecked")
+    public StringInterner() {
+        stripes = new Map[STRIPES];
+
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new WeakHashMap<>();
+        }
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param string the string to intern, which may be <code>null</code>.
+     * @return the instance in this pool which equals the given string, or the given string itself when there was none yet,
+     * in which case it is the instance in this pool from now on.
+     */
+    public String intern(String string) {
+        if (string == null || string.isEmpty()) {
+            return string;
+        }
+
+        int hash = string.hashCode();
+        Map<String, WeakReference<String>> stripe = stripes[(hash ^ hash >>> 16) & (STRIPES - 1)];
+
+        synchronized (stripe) {
+            WeakReference<String> reference = stripe.get(string);
+            String interned = reference != null ? reference.get() : null;
+
+            if (interned == null) {
+                stripe.put(string, new WeakReference<>(string));
+                interned = string;
+            }
+
+            return interned;
+        }
+    }
+
+    /**
+     * @return the current amount of strings in this pool, which includes those which are about to be dropped.
+     */
+    public int size() {
+        int size = 0;
+
+        for (Map<String, WeakReference<String>> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+
+        return size;
+    }
+
+    // TEST: org.glassfish.mojarra.util.StringInternerTest
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.resource;
+
+import static jakarta.servlet.http.HttpServletResponse.SC_PARTIAL_CONTENT;
+import static jakarta.servlet.http.HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import jakarta.faces.context.ExternalContext;
+
+import org.glassfish.mojarra.application.resource.ByteRanges.Range;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ByteRangesTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(US_ASCII);
+
+    @Test
+    public void testParse() {
+        assertEquals(List.of(new Range(0, 4)), ByteRanges.parse("bytes=0-4", 10));
+        assertEquals(List.of(new Range(5, 9)), ByteRanges.parse("bytes=5-", 10));
+        assertEquals(List.of(new Range(7, 9)), ByteRanges.parse("bytes=-3", 10));
+        assertEquals(List.of(new Range(0, 9)), ByteRanges.parse("bytes=-30", 10));
+        assertEquals(List.of(new Range(8, 9)), ByteRanges.parse("bytes=8-100", 10));
+        assertEquals(List.of(new Range(0, 1), new Range(5, 6)), ByteRanges.parse("Bytes=5-6, 0-1,", 10));
+    }
+
+    @Test
+    public void testParseCoalescesRanges() {
+        assertEquals(List.of(new Range(0, 6)), ByteRanges.parse("bytes=0-3,2-5,6-6", 10));
+        assertEquals(List.of(new Range(0, 9)), ByteRanges.parse("bytes=0-,0-,0-", 10));
+    }
+
+    @Test
+    public void testParseUnsatisfiable() {
+        assertEquals(List.of(), ByteRanges.parse("bytes=10-", 10));
+        assertEquals(List.of(), ByteRanges.parse("bytes=-0", 10));
+        assertEquals(List.of(), ByteRanges.parse("bytes=0-", 0));
+        assertEquals(List.of(new Range(2, 3)), ByteRanges.parse("bytes=20-30,2-3", 10));
+    }
+
+    @Test
+    public void testParseIgnoresInvalidHeaders() {
+        assertNull(ByteRanges.parse("items=0-4", 10));
+        assertNull(ByteRanges.parse("bytes=4-0", 10));
+        assertNull(ByteRanges.parse("bytes=4", 10));
+        assertNull(ByteRanges.parse("bytes=-", 10));
+        assertNull(ByteRanges.parse("bytes=a-4", 10));
+        assertNull(ByteRanges.parse("bytes=", 10));
+        assertNull(ByteRanges.parse("bytes=" + "0-1,".repeat(ByteRanges.MAX_RANGES) + "2-3", 10));
+    }
+
+    @Test
+    public void testIfRangeMatches() {
+        String lastModified = "Sun, 18 Oct 2026 10:00:00 GMT";
+
+        assertTrue(ByteRanges.ifRangeMatches(null, "\"abc\"", lastModified));
+        assertTrue(ByteRanges.ifRangeMatches("\"abc\"", "\"abc\"", lastModified));
+        assertFalse(ByteRanges.ifRangeMatches("\"xyz\"", "\"abc\"", lastModified));
+        assertFalse(ByteRanges.ifRangeMatches("W/\"abc\"", "W/\"abc\"", lastModified));
+        assertFalse(ByteRanges.ifRangeMatches("\"abc\"", "W/\"abc\"", lastModified));
+        assertTrue(ByteRanges.ifRangeMatches(lastModified, "\"abc\"", lastModified));
+        assertFalse(ByteRanges.ifRangeMatches("Sat, 17 Oct 2026 10:00:00 GMT", "\"abc\"", lastModified));
+    }
+
+    @Test
+    public void testSendSingleRange() throws IOException {
+        ExternalContext extContext = mock(ExternalContext.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        when(extContext.getResponseOutputStream()).thenReturn(out);
+
+        ByteRanges.send(extContext, List.of(new Range(2, 4)), CONTENT.length, "text/plain", this::write);
+
+        verify(extContext).setResponseStatus(SC_PARTIAL_CONTENT);
+        verify(extContext).setResponseHeader("Content-Range", "bytes 2-4/10");
+        verify(extContext).setResponseContentLength(3);
+        assertEquals("234", out.toString(US_ASCII));
+    }
+
+    @Test
+    public void testSendMultipleRanges() throws IOException {
+        ExternalContext extContext = mock(ExternalContext.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        when(extContext.getResponseOutputStream()).thenReturn(out);
+
+        ByteRanges.send(extContext, List.of(new Range(0, 1), new Range(8, 9)), CONTENT.length, "text/plain", this::write);
+
+        ArgumentCaptor<String> contentType = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Integer> contentLength = ArgumentCaptor.forClass(Integer.class);
+        verify(extContext).setResponseStatus(SC_PARTIAL_CONTENT);
+        verify(extContext).setResponseContentType(contentType.capture());
+        verify(extContext).setResponseContentLength(contentLength.capture());
+        assertTrue(contentType.getValue().startsWith("multipart/byteranges; boundary="));
+
+        String boundary = contentType.getValue().substring("multipart/byteranges; boundary=".length());
+        String expected = "\r\n--" + boundary + "\r\nContent-Type: text/plain\r\nContent-Range: bytes 0-1/10\r\n\r\n01"
+                + "\r\n--" + boundary + "\r\nContent-Type: text/plain\r\nContent-Range: bytes 8-9/10\r\n\r\n89"
+                + "\r\n--" + boundary + "--\r\n";
+        assertEquals(expected, out.toString(US_ASCII));
+        assertEquals(out.size(), contentLength.getValue());
+    }
+
+    @Test
+    public void testSendUnsatisfiable() throws IOException {
+        ExternalContext extContext = mock(ExternalContext.class);
+
+        ByteRanges.send(extContext, List.of(), CONTENT.length, "text/plain", this::write);
+
+        verify(extContext).setResponseStatus(SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        verify(extContext).setResponseHeader("Content-Range", "bytes */10");
+        verify(extContext, never()).setResponseContentType(anyString());
+        verify(extContext, never()).getResponseOutputStream();
+    }
+
+    private void write(long offset, long length, OutputStream out) throws IOException {
+        out.write(CONTENT, (int) offset, (int) length);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import jakarta.faces.context.ExternalContext;
+
+import org.junit.jupiter.api.Test;
+
+public class ContentEncodingsTest {
+
+    private static final List<String> CODINGS = List.of("br", "zstd", "gzip");
+
+    @Test
+    public void testNegotiate() {
+        assertEquals("br", negotiate("gzip, deflate, br"));
+        assertEquals("gzip", negotiate("gzip, deflate"));
+        assertEquals("gzip", negotiate("br;q=0.5, gzip"));
+        assertEquals("zstd", negotiate("br;q=0.1, zstd;q=0.9, gzip;q=0.8"));
+        assertEquals("gzip", negotiate("X-GZIP"));
+        assertEquals("br", negotiate("*"));
+        assertEquals("gzip", negotiate("*;q=0.5, gzip"));
+        assertEquals("gzip", negotiate("gzip;q=0.5, identity;q=0.5"));
+        assertEquals("gzip", negotiate("gzip;q=0.5"));
+    }
+
+    @Test
+    public void testNegotiateIdentity() {
+        assertNull(negotiate(null));
+        assertNull(negotiate(""));
+        assertNull(negotiate("deflate"));
+        assertNull(negotiate("gzip;q=0, br;q=0"));
+        assertNull(negotiate("*;q=0"));
+        assertNull(negotiate("gzip;q=0.5, identity"));
+        assertNull(negotiate("gzip;q=2"));
+        assertNull(negotiate("gzip;q=high"));
+        assertNull(ContentEncodings.negotiate(createContext("gzip"), List.of()));
+    }
+
+    @Test
+    public void testParseMultipleValues() {
+        Map<String, Float> accepted = ContentEncodings.parse(new String[] { "gzip;q=0.8", "BR ; Q=0.9" });
+
+        assertEquals(Map.of("gzip", 0.8f, "br", 0.9f), accepted);
+    }
+
+    private static String negotiate(String acceptEncoding) {
+        return ContentEncodings.negotiate(createContext(acceptEncoding), CODINGS);
+    }
+
+    private static ExternalContext createContext(String acceptEncoding) {
+        ExternalContext extContext = mock(ExternalContext.class);
+        when(extContext.getRequestHeaderValuesMap()).thenReturn(acceptEncoding != null ? Map.of("accept-encoding", new String[] { acceptEncoding }) : Map.of());
+        return extContext;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.resource;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.junit.JUnitFacesTestCaseBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ELResourceTemplateTest extends JUnitFacesTestCaseBase {
+
+    private static final ResourceHelper RESOURCE_HELPER = new ResourceHelper() {
+
+        @Override
+        public String getBaseResourcePath() {
+            return "/resources";
+        }
+
+        @Override
+        public String getBaseContractsPath() {
+            return "/contracts";
+        }
+
+        @Override
+        public URL getURL(ResourceInfo resource, FacesContext ctx) {
+            return null;
+        }
+
+        @Override
+        public LibraryInfo findLibrary(String libraryName, String localePrefix, String contract, FacesContext ctx) {
+            return null;
+        }
+
+        @Override
+        public ResourceInfo findResource(LibraryInfo library, String resourceName, String localePrefix, boolean compressable, FacesContext ctx) {
+            return null;
+        }
+
+        @Override
+        protected InputStream getNonCompressedInputStream(ResourceInfo resource, FacesContext ctx) {
+            return null;
+        }
+    };
+
+    private Map<String, String> resources;
+
+    @BeforeEach
+    public void setUpResources() {
+        resources = new HashMap<>();
+        resources.put("bg.png", "/app/bg.png");
+        resources.put("blue:icon.png", "/app/icon.png?con=blue");
+        externalContext.getRequestMap().put("resource", resources);
+    }
+
+    @Test
+    public void testEvaluate() throws IOException {
+        ELResourceTemplate template = parse("a { background: url(#{resource['bg.png']}); } #x{} b { background: url(#{resource['this:icon.png']}); }");
+
+        assertTrue(template.hasExpressions());
+        assertEquals("a { background: url(/app/bg.png); } #x{} b { background: url(/app/icon.png?con=blue); }", evaluate(template));
+    }
+
+    @Test
+    public void testOutputIsReusedWhileResultsAreTheSame() throws IOException {
+        ELResourceTemplate template = parse("a { background: url(#{resource['bg.png']}); }");
+
+        byte[] output = template.evaluate(facesContext, false);
+        assertSame(output, template.evaluate(facesContext, false));
+
+        resources.put("bg.png", "/app/faces/bg.png");
+        assertEquals("a { background: url(/app/faces/bg.png); }", evaluate(template));
+
+        resources.put("bg.png", "/app/bg.png");
+        assertSame(output, template.evaluate(facesContext, false));
+
+        byte[] gzipped = template.evaluate(facesContext, true);
+        assertSame(gzipped, template.evaluate(facesContext, true));
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertEquals("a { background: url(/app/bg.png); }", new String(in.readAllBytes(), ISO_8859_1));
+        }
+    }
+
+    @Test
+    public void testSameOutputAsEvaluatingStream() throws IOException {
+        assertEquals("/app/bg.png#{resource['bg.png']}", evaluate(parse("#{resource['bg.png']}#{resource['bg.png']}")));
+        assertEquals("##{resource['bg.png']}", evaluate(parse("##{resource['bg.png']}")));
+        assertEquals("resource['bg.png']", evaluate(parse("#{resource['bg.png']")));
+    }
+
+    @Test
+    public void testWithoutExpressions() throws IOException {
+        ELResourceTemplate template = parse("a { color: red; }");
+
+        assertFalse(template.hasExpressions());
+        assertEquals("a { color: red; }", evaluate(template));
+    }
+
+    private ELResourceTemplate parse(String content) throws IOException {
+        ClientResourceInfo info = new ClientResourceInfo(new ContractInfo("blue"), "theme.css", null, null, RESOURCE_HELPER, false, true, false, true);
+        return ELResourceTemplate.parse(facesContext, info, new ByteArrayInputStream(content.getBytes(ISO_8859_1)));
+    }
+
+    private String evaluate(ELResourceTemplate template) throws IOException {
+        return new String(template.evaluate(facesContext, false), ISO_8859_1);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.resource;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.junit.JUnitFacesTestCaseBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ResourceBodyCacheTest extends JUnitFacesTestCaseBase {
+
+    @TempDir
+    Path directory;
+
+    private ResourceHelper helper;
+
+    @BeforeEach
+    public void setUpHelper() {
+        externalContext.getApplicationMap().put("jakarta.servlet.context.tempdir", directory.toFile());
+        helper = new ResourceHelper() {
+
+            @Override
+            public String getBaseResourcePath() {
+                return "";
+            }
+
+            @Override
+            public String getBaseContractsPath() {
+                return "/contracts";
+            }
+
+            @Override
+            public URL getURL(ResourceInfo resource, FacesContext ctx) {
+                try {
+                    File file = directory.resolve(resource.getName()).toFile();
+                    return file.exists() ? file.toURI().toURL() : null;
+                } catch (MalformedURLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            @Override
+            public LibraryInfo findLibrary(String libraryName, String localePrefix, String contract, FacesContext ctx) {
+                return null;
+            }
+
+            @Override
+            public ResourceInfo findResource(LibraryInfo library, String resourceName, String localePrefix, boolean compressable, FacesContext ctx) {
+                return null;
+            }
+
+            @Override
+            protected InputStream getNonCompressedInputStream(ResourceInfo resource, FacesContext ctx) {
+                return null;
+            }
+        };
+    }
+
+    @Test
+    public void testBodyIsCached() throws IOException {
+        byte[] content = "body { color: red; }\n".repeat(100).getBytes(UTF_8);
+        Files.write(directory.resolve("style.css"), content);
+        ResourceBodyCache cache = new ResourceBodyCache(1 << 20, -1, 0, "max-age=60");
+        ResourceImpl resource = createResource("style.css", true, false);
+
+        ResourceBodyCache.Body body = cache.get(resource);
+        assertNotNull(body);
+        assertSame(body, cache.get(createResource("style.css", true, false)));
+        assertArrayEquals(content, body.getContent(null));
+        assertEquals("max-age=60", body.getCacheControl());
+        assertNotNull(body.getLastModified());
+
+        assertEquals(Set.of("gzip"), body.getContentEncodings());
+        assertTrue(body.getContent("gzip").length < content.length);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body.getContent("gzip")))) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+
+        String eTag = body.getETag(null);
+        assertTrue(eTag.startsWith("\"") && eTag.endsWith("\""));
+        assertNotEquals(eTag, body.getETag("gzip"));
+    }
+
+    @Test
+    public void testETagFollowsContent() throws IOException {
+        Files.writeString(directory.resolve("a.js"), "var a;");
+        Files.writeString(directory.resolve("b.js"), "var a;");
+        Files.writeString(directory.resolve("c.js"), "var c;");
+        ResourceBodyCache cache = new ResourceBodyCache(1 << 20, -1, 0, "max-age=60");
+
+        String eTag = cache.get(createResource("a.js", false, false)).getETag(null);
+        assertEquals(eTag, cache.get(createResource("b.js", false, false)).getETag(null));
+        assertNotEquals(eTag, cache.get(createResource("c.js", false, false)).getETag(null));
+        assertTrue(cache.get(createResource("a.js", false, false)).getContentEncodings().isEmpty());
+    }
+
+    @Test
+    public void testPrecompressedVariants() throws IOException {
+        byte[] content = "body { color: red; }\n".repeat(100).getBytes(UTF_8);
+        byte[] brotli = "not really brotli".getBytes(UTF_8);
+        byte[] gzip = "not really gzip".getBytes(UTF_8);
+        Files.write(directory.resolve("style.css"), content);
+        Files.write(directory.resolve("style.css.br"), brotli);
+        Files.write(directory.resolve("style.css.gz"), gzip);
+        ResourceBodyCache cache = new ResourceBodyCache(1 << 20, -1, 0, "max-age=60");
+
+        ResourceBodyCache.Body body = cache.get(createResource("style.css", true, false));
+        assertEquals(List.of("br", "gzip"), List.copyOf(body.getContentEncodings()));
+        assertArrayEquals(brotli, body.getContent("br"));
+        assertArrayEquals(gzip, body.getContent("gzip"));
+        assertTrue(body.getETag("br").endsWith("-br\""));
+        assertTrue(body.getETag("gzip").endsWith("-gzip\""));
+    }
+
+    @Test
+    public void testUncacheableResources() throws IOException {
+        Files.writeString(directory.resolve("el.css"), "body { background: url(#{resource['bg.png']}); }");
+        Files.write(directory.resolve("large.js"), new byte[100]);
+        Files.writeString(directory.resolve("small.js"), "var a;");
+        ResourceBodyCache cache = new ResourceBodyCache(1024, -1, 0, "max-age=60");
+
+        assertNull(cache.get(createResource("el.css", false, true)));
+        assertNull(cache.get(createResource("large.js", false, false)));
+        assertNull(cache.get(createResource("missing.js", false, false)));
+        assertNull(cache.get(new ResourceImpl(createInfo("small.js", false, false), "text/javascript", 0, 0) {}));
+        assertNotNull(cache.get(createResource("small.js", false, false)));
+    }
+
+    @Test
+    public void testMatchesETag() {
+        assertTrue(ResourceHandlerImpl.matchesETag("\"abc\"", "\"abc\""));
+        assertTrue(ResourceHandlerImpl.matchesETag("\"xyz\", W/\"abc\"", "\"abc\""));
+        assertTrue(ResourceHandlerImpl.matchesETag("*", "\"abc\""));
+        assertTrue(ResourceHandlerImpl.matchesETag("W/\"10-1000\"", "W/\"10-1000\""));
+        assertFalse(ResourceHandlerImpl.matchesETag("\"abc-gzip\"", "\"abc\""));
+        assertFalse(ResourceHandlerImpl.matchesETag("abc", "\"abc\""));
+    }
+
+    private ResourceImpl createResource(String name, boolean compressible, boolean supportsEL) {
+        return new ResourceImpl(createInfo(name, compressible, supportsEL), "text/plain", 0, 0);
+    }
+
+    private ClientResourceInfo createInfo(String name, boolean compressible, boolean supportsEL) {
+        return new ClientResourceInfo(null, name, null, null, helper, compressible, supportsEL, false, true);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.resource;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.junit.JUnitFacesTestCaseBase;
+import org.glassfish.mojarra.mock.MockHttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ResourceHelperTest extends JUnitFacesTestCaseBase {
+
+    private static final byte[] CONTENT = "body { color: red; }\n".repeat(100).getBytes(UTF_8);
+
+    @TempDir
+    Path directory;
+
+    private ResourceHelper helper;
+
+    @BeforeEach
+    public void setUpHelper() throws IOException {
+        externalContext.getApplicationMap().put("jakarta.servlet.context.tempdir", Files.createDirectory(directory.resolve("tmp")).toFile());
+        helper = new ResourceHelper() {
+
+            @Override
+            public String getBaseResourcePath() {
+                return "";
+            }
+
+            @Override
+            public String getBaseContractsPath() {
+                return "/contracts";
+            }
+
+            @Override
+            public URL getURL(ResourceInfo resource, FacesContext ctx) {
+                try {
+                    File file = directory.resolve(resource.getName()).toFile();
+                    return file.exists() ? file.toURI().toURL() : null;
+                } catch (MalformedURLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            @Override
+            public LibraryInfo findLibrary(String libraryName, String localePrefix, String contract, FacesContext ctx) {
+                return null;
+            }
+
+            @Override
+            public ResourceInfo findResource(LibraryInfo library, String resourceName, String localePrefix, boolean compressable, FacesContext ctx) {
+                return null;
+            }
+
+            @Override
+            protected InputStream getNonCompressedInputStream(ResourceInfo resource, FacesContext ctx) throws IOException {
+                return Files.newInputStream(directory.resolve(resource.getName()));
+            }
+        };
+    }
+
+    @Test
+    public void testPrecompressedGzipIsOnlyServedWhenNegotiated() throws IOException {
+        byte[] gzip = "not really gzip".getBytes(UTF_8);
+        Files.write(directory.resolve("style.css"), CONTENT);
+        Files.write(directory.resolve("style.css.gz"), gzip);
+        ClientResourceInfo info = helper.handleCompression(createInfo("style.css"));
+
+        MockHttpServletResponse identityResponse = new MockHttpServletResponse();
+        assertArrayEquals(CONTENT, read(info, "gzip;q=0.5, identity", identityResponse));
+        assertNull(identityResponse.getHeader("Content-Encoding"));
+
+        MockHttpServletResponse gzipResponse = new MockHttpServletResponse();
+        assertArrayEquals(gzip, read(info, "gzip", gzipResponse));
+        assertEquals("gzip", gzipResponse.getHeader("Content-Encoding"));
+    }
+
+    @Test
+    public void testCompressedContent() throws IOException {
+        Files.write(directory.resolve("style.css"), CONTENT);
+        ClientResourceInfo info = helper.handleCompression(createInfo("style.css"));
+        assertTrue(info.isCompressable());
+
+        MockHttpServletResponse gzipResponse = new MockHttpServletResponse();
+        byte[] compressed = read(info, "gzip, deflate", gzipResponse);
+        assertEquals("gzip", gzipResponse.getHeader("Content-Encoding"));
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(CONTENT, in.readAllBytes());
+        }
+
+        MockHttpServletResponse identityResponse = new MockHttpServletResponse();
+        assertArrayEquals(CONTENT, read(info, "gzip;q=0", identityResponse));
+        assertNull(identityResponse.getHeader("Content-Encoding"));
+    }
+
+    private ClientResourceInfo createInfo(String name) {
+        return new ClientResourceInfo(null, name, null, null, helper, true, false, false, false);
+    }
+
+    private byte[] read(ClientResourceInfo info, String acceptEncoding, MockHttpServletResponse response) throws IOException {
+        FacesContext context = mock(FacesContext.class);
+        ExternalContext extContext = mock(ExternalContext.class);
+        when(context.getExternalContext()).thenReturn(extContext);
+        when(extContext.getRequestHeaderValuesMap()).thenReturn(Map.of("accept-encoding", new String[] { acceptEncoding }));
+        when(extContext.getResponse()).thenReturn(response);
+
+        try (InputStream in = helper.getInputStream(info, context)) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.view;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.el.ExpressionFactory;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIForm;
+import jakarta.faces.component.UIInput;
+import jakarta.faces.component.UIOutput;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.convert.NumberConverter;
+
+import org.glassfish.mojarra.junit.JUnitFacesTestCaseBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Manual performance harness for the builds of a view which {@link ViewPrototype} serves, as exercised by
+ * {@code FaceletViewHandlingStrategy.buildView} when <code>org.glassfish.mojarra.viewPrototypeCacheSize</code> is set.
+ *
+ * <p>Compares building the tree the way applying a facelet does, which creates every component, parses every
+ * expression and wires every attribute and converter, against {@link ViewPrototype#copyTo} and against the former
+ * copy, which deserialized the states of all components for every copy. The tree is a form with N inputs, each with a
+ * value expression, a title expression, a converter and an attribute. Each scenario reports the median ns/op over
+ * {@value #RUNS} measurement runs of {@value #ITERATIONS} iterations each (after {@value #WARMUP} warmup iterations).
+ *
+ * <p>Disabled by default. To run:
+ * {@code mvn -pl impl test -Dtest=ViewPrototypePerfHarness -Dperf=true}.
+ */
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+public class ViewPrototypePerfHarness extends JUnitFacesTestCaseBase {
+
+    private static final int WARMUP = 1_000;
+    private static final int ITERATIONS = 2_000;
+    private static final int RUNS = 5;
+
+    private static boolean headerPrinted = false;
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        if (!headerPrinted) {
+            System.out.println();
+            System.out.println("ViewPrototypePerfHarness (warmup=" + WARMUP + ", iterations=" + ITERATIONS + ", runs=" + RUNS + ")");
+            System.out.println();
+            System.out.printf("%-45s %12s %12s %12s%n", "Scenario", "apply", "copyTo", "serialized");
+            System.out.printf("%-45s %12s %12s %12s%n", "-".repeat(45), "-".repeat(12), "-".repeat(12), "-".repeat(12));
+            headerPrinted = true;
+        }
+    }
+
+    @Test
+    void form_with_20_inputs() {
+        compare(20);
+    }
+
+    @Test
+    void form_with_200_inputs() {
+        compare(200);
+    }
+
+    // -------- Workload helpers ----------------------------------------------
+
+    private void compare(int inputs) {
+        UIViewRoot built = new UIViewRoot();
+        build(built, inputs);
+        ViewPrototype prototype = ViewPrototype.capture(facesContext, null, built, Set.of());
+
+        if (!prototype.isCloneable()) {
+            throw new IllegalStateException("The tree cannot be copied");
+        }
+
+        SerializedTree serialized = new SerializedTree(built);
+
+        Runnable apply = () -> build(new UIViewRoot(), inputs);
+        Runnable copyTo = () -> prototype.copyTo(facesContext, new UIViewRoot());
+        Runnable deserialize = () -> serialized.copyTo(new UIViewRoot());
+
+        warmUp(apply);
+        warmUp(copyTo);
+        warmUp(deserialize);
+
+        System.out.printf("%-45s %12d %12d %12d%n", "form with " + inputs + " inputs", medianRun(apply), medianRun(copyTo), medianRun(deserialize));
+    }
+
+    /**
+     * What the tag handlers of a facelet do: create the components and parse and set their expressions.
+     */
+    private void build(UIViewRoot view, int inputs) {
+        ExpressionFactory expressionFactory = application.getExpressionFactory();
+        UIForm form = new UIForm();
+        form.setId("form");
+        view.getChildren().add(form);
+
+        for (int i = 0; i < inputs; i++) {
+            UIInput input = new UIInput();
+            input.setId("input" + i);
+            input.setValueExpression("value", expressionFactory.createValueExpression(facesContext.getELContext(), "#{bean.values[" + i + "]}", Object.class));
+            input.setValueExpression("title", expressionFactory.createValueExpression(facesContext.getELContext(), "#{bean.titles[" + i + "]}", String.class));
+            input.setConverter(new NumberConverter());
+            input.getAttributes().put("styleClass", "field");
+            form.getChildren().add(input);
+
+            UIOutput label = new UIOutput();
+            label.setId("label" + i);
+            label.setValue("Label " + i);
+            form.getChildren().add(label);
+        }
+    }
+
+    // -------- Former copy ---------------------------------------------------
+
+    /**
+     * What ViewPrototype did before: serialize the states of all components once, and deserialize all of them for every
+     * copy.
+     */
+    private final class SerializedTree {
+
+        private final List<Class<? extends UIComponent>> types = new ArrayList<>();
+        private final List<Integer> childCounts = new ArrayList<>();
+        private final byte[] states;
+
+        SerializedTree(UIViewRoot view) {
+            List<Object> stateList = new ArrayList<>();
+
+            for (UIComponent child : view.getChildren()) {
+                capture(child, stateList);
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(stateList.toArray());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            states = bytes.toByteArray();
+        }
+
+        void copyTo(UIViewRoot view) {
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(states))) {
+                Iterator<Object> stateIterator = Arrays.asList((Object[]) in.readObject()).iterator();
+                Iterator<Class<? extends UIComponent>> typeIterator = types.iterator();
+                Iterator<Integer> childCountIterator = childCounts.iterator();
+
+                while (typeIterator.hasNext()) {
+                    view.getChildren().add(copy(stateIterator, typeIterator, childCountIterator));
+                }
+            } catch (IOException | ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void capture(UIComponent component, List<Object> stateList) {
+            types.add(component.getClass());
+            childCounts.add(component.getChildCount());
+            stateList.add(component.saveState(facesContext));
+
+            for (UIComponent child : component.getChildren()) {
+                capture(child, stateList);
+            }
+        }
+
+        private UIComponent copy(Iterator<Object> stateIterator, Iterator<Class<? extends UIComponent>> typeIterator, Iterator<Integer> childCountIterator)
+                throws ReflectiveOperationException {
+            UIComponent component = typeIterator.next().getConstructor().newInstance();
+            component.restoreState(facesContext, stateIterator.next());
+
+            for (int i = childCountIterator.next(); i > 0; i--) {
+                component.getChildren().add(copy(stateIterator, typeIterator, childCountIterator));
+            }
+
+            return component;
+        }
+    }
+
+    // -------- Timing helpers -----------------------------------------------
+
+    private static void warmUp(Runnable r) {
+        for (int i = 0; i < WARMUP; i++) {
+            r.run();
+        }
+    }
+
+    private static long medianRun(Runnable r) {
+        long[] times = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long t0 = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                r.run();
+            }
+            times[run] = (System.nanoTime() - t0) / ITERATIONS;
+        }
+        Arrays.sort(times);
+        return times[RUNS / 2];
+    }
+
+}
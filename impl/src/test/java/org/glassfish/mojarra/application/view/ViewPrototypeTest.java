@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.application.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.el.ValueExpression;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIForm;
+import jakarta.faces.component.UIOutput;
+import jakarta.faces.component.UIPanel;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.convert.NumberConverter;
+import jakarta.faces.event.ComponentSystemEventListener;
+import jakarta.faces.event.PhaseListener;
+import jakarta.faces.event.PreRenderViewEvent;
+
+import org.glassfish.mojarra.facelets.compiler.UILeaf;
+import org.glassfish.mojarra.facelets.compiler.UILiteralText;
+import org.glassfish.mojarra.junit.JUnitFacesTestCaseBase;
+import org.junit.jupiter.api.Test;
+
+public class ViewPrototypeTest extends JUnitFacesTestCaseBase {
+
+    @Test
+    public void testCopyTo() {
+        UIViewRoot view = new UIViewRoot();
+        UIForm form = add(view, new UIForm(), "form");
+        UIOutput output = add(form, new UIOutput(), "output");
+        output.setValue("value");
+        output.getAttributes().put("facelets.MARK_ID", "j_id1");
+        add(form, new UILiteralText("<hr/>"), "text");
+        UIPanel header = new UIPanel();
+        header.setId("header");
+        form.getFacets().put("header", header);
+        view.getAttributes().put("built", "yes");
+        view.setTransient(true);
+
+        ViewPrototype prototype = ViewPrototype.capture(facesContext, null, view, Set.of());
+        assertTrue(prototype.isCloneable());
+
+        for (int i = 0; i < 2; i++) {
+            UIViewRoot copy = new UIViewRoot();
+            prototype.copyTo(facesContext, copy);
+
+            assertTrue(copy.isTransient());
+            assertEquals("yes", copy.getAttributes().get("built"));
+            assertEquals(1, copy.getChildCount());
+
+            UIComponent copiedForm = copy.getChildren().get(0);
+            assertInstanceOf(UIForm.class, copiedForm);
+            assertNotSame(form, copiedForm);
+            assertEquals("form", copiedForm.getId());
+            assertEquals(2, copiedForm.getChildCount());
+            assertEquals("header", copiedForm.getFacet("header").getId());
+
+            UIOutput copiedOutput = (UIOutput) copiedForm.getChildren().get(0);
+            assertNotSame(output, copiedOutput);
+            assertEquals("output", copiedOutput.getId());
+            assertEquals("value", copiedOutput.getValue());
+            assertEquals("j_id1", copiedOutput.getAttributes().get("facelets.MARK_ID"));
+            assertEquals(copiedForm, copiedOutput.getParent());
+
+            UIComponent copiedText = copiedForm.getChildren().get(1);
+            assertInstanceOf(UILiteralText.class, copiedText);
+            assertEquals("text", copiedText.getId());
+            assertEquals("<hr/>", copiedText.toString());
+        }
+    }
+
+    @Test
+    public void testCopiesDoNotShareState() {
+        UIViewRoot view = new UIViewRoot();
+        UIOutput output = add(view, new UIOutput(), "output");
+        output.getAttributes().put("items", new ArrayList<>(List.of("a")));
+
+        ViewPrototype prototype = ViewPrototype.capture(facesContext, null, view, Set.of());
+        UIViewRoot first = new UIViewRoot();
+        prototype.copyTo(facesContext, first);
+        UIViewRoot second = new UIViewRoot();
+        prototype.copyTo(facesContext, second);
+
+        @SuppressWarnings("unchecked")
+        List<String> firstItems = (List<String>) first.getChildren().get(0).getAttributes().get("items");
+        firstItems.add("b");
+
+        assertEquals(List.of("a"), second.getChildren().get(0).getAttributes().get("items"));
+        assertEquals(List.of("a"), output.getAttributes().get("items"));
+    }
+
+    @Test
+    public void testCopiesShareExpressions() {
+        UIViewRoot view = new UIViewRoot();
+        UIOutput output = add(view, new UIOutput(), "output");
+        ValueExpression expression = application.getExpressionFactory().createValueExpression(facesContext.getELContext(), "#{foo}", String.class);
+        output.setValueExpression("title", expression);
+        output.setConverter(new NumberConverter());
+
+        ViewPrototype prototype = ViewPrototype.capture(facesContext, null, view, Set.of());
+        assertTrue(prototype.isCloneable());
+        UIViewRoot first = new UIViewRoot();
+        prototype.copyTo(facesContext, first);
+        UIViewRoot second = new UIViewRoot();
+        prototype.copyTo(facesContext, second);
+
+        UIOutput firstOutput = (UIOutput) first.getChildren().get(0);
+        UIOutput secondOutput = (UIOutput) second.getChildren().get(0);
+        assertSame(expression, firstOutput.getValueExpression("title"));
+        assertSame(expression, secondOutput.getValueExpression("title"));
+        assertInstanceOf(NumberConverter.class, firstOutput.getConverter());
+        assertNotSame(firstOutput.getConverter(), secondOutput.getConverter());
+        assertNotSame(output.getConverter(), firstOutput.getConverter());
+    }
+
+    @Test
+    public void testCopyToKeepsViewListeners() {
+        UIViewRoot view = new UIViewRoot();
+        add(view, new UIOutput(), "output");
+        PhaseListener phaseListener = mock(PhaseListener.class);
+        view.addPhaseListener(phaseListener);
+        ComponentSystemEventListener preRenderViewListener = event -> {};
+        view.subscribeToEvent(PreRenderViewEvent.class, preRenderViewListener);
+
+        ViewPrototype prototype = ViewPrototype.capture(facesContext, null, view, Set.of());
+        assertTrue(prototype.isCloneable());
+
+        UIViewRoot copy = new UIViewRoot();
+        prototype.copyTo(facesContext, copy);
+
+        assertEquals(List.of(phaseListener), copy.getPhaseListeners());
+        assertEquals(1, copy.getListenersForEventClass(PreRenderViewEvent.class).size());
+    }
+
+    @Test
+    public void testUnserializableState() {
+        UIViewRoot view = new UIViewRoot();
+        add(view, new UIOutput(), "output").getAttributes().put("unserializable", new Object());
+
+        assertFalse(ViewPrototype.capture(facesContext, null, view, Set.of()).isCloneable());
+    }
+
+    @Test
+    public void testUncopyableComponent() {
+        UIViewRoot view = new UIViewRoot();
+        add(add(view, new UIForm(), "form"), new UIOutput() {}, "anonymous");
+
+        assertFalse(ViewPrototype.capture(facesContext, null, view, Set.of()).isCloneable());
+    }
+
+    @Test
+    public void testUncopyableLeaf() {
+        UIViewRoot view = new UIViewRoot();
+        add(view, new UILeaf(), "leaf");
+
+        assertFalse(ViewPrototype.capture(facesContext, null, view, Set.of()).isCloneable());
+    }
+
+    private static <C extends UIComponent> C add(UIComponent parent, C child, String id) {
+        child.setId(id);
+        parent.getChildren().add(child);
+        return child;
+    }
+}
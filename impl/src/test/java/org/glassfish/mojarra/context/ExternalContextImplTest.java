@@ -21,8 +21,10 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -36,6 +38,8 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -243,6 +247,71 @@ public class ExternalContextImplTest {
         assertFalse(container.flushed, "container writer must not be flushed by release()");
     }
 
+    /**
+     * Test that a UTF-8 response is encoded straight to the output stream when so configured, including surrogate pairs
+     * which are split over two writes and characters which straddle the buffer boundary.
+     */
+    @Test
+    public void testUtf8ResponseOutputStream() throws IOException {
+        ByteArrayOutputStream container = new ByteArrayOutputStream();
+        ExternalContextImpl externalContext = createUtf8ExternalContext(container, "UTF-8");
+        Writer writer = externalContext.getResponseOutputWriter();
+        String text = "x".repeat(8190) + "\u00e9\u20ac\ud83d\ude00 <a href=\"#\">caf\u00e9</a>";
+
+        writer.write(text.substring(0, 8193));
+        writer.write(text.charAt(8193));
+        writer.write(text.toCharArray(), 8194, text.length() - 8194);
+        writer.write("\ud800x");
+        writer.close();
+
+        assertEquals(text + "?x", container.toString(UTF_8));
+    }
+
+    /**
+     * Test that responseReset discards render output which is still buffered in the UTF-8 response output writer.
+     */
+    @Test
+    public void testUtf8ResponseOutputStreamResetDiscardsBufferedOutput() throws IOException {
+        ByteArrayOutputStream container = new ByteArrayOutputStream();
+        ExternalContextImpl externalContext = createUtf8ExternalContext(container, "UTF-8");
+        Writer writer = externalContext.getResponseOutputWriter();
+
+        writer.write("aborted");
+        externalContext.responseReset();
+        writer.write("replacement");
+        externalContext.release();
+
+        assertEquals("replacement", container.toString(UTF_8));
+    }
+
+    /**
+     * Test that any other encoding, or a writer which was obtained before, falls back to the writer of the container.
+     */
+    @Test
+    public void testUtf8ResponseOutputStreamFallsBackToWriter() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        StringWriter container = new StringWriter();
+        ExternalContextImpl externalContext = createUtf8ExternalContext(bytes, "ISO-8859-1");
+        when(((HttpServletResponse) externalContext.getResponse()).getWriter()).thenReturn(new PrintWriter(container));
+
+        externalContext.getResponseOutputWriter().write("latin");
+        externalContext.release();
+
+        assertEquals("latin", container.toString());
+        assertEquals(0, bytes.size());
+
+        container = new StringWriter();
+        externalContext = createUtf8ExternalContext(bytes, "UTF-8");
+        HttpServletResponse response = (HttpServletResponse) externalContext.getResponse();
+        when(response.getOutputStream()).thenThrow(new IllegalStateException());
+        when(response.getWriter()).thenReturn(new PrintWriter(container));
+
+        externalContext.getResponseOutputWriter().write("filtered");
+        externalContext.release();
+
+        assertEquals("filtered", container.toString());
+    }
+
     private static class FlushRecordingWriter extends StringWriter {
 
         private boolean flushed;
@@ -263,6 +332,37 @@ public class ExternalContextImplTest {
         return new ExternalContextImpl(servletContext, request, response);
     }
 
+    private ExternalContextImpl createUtf8ExternalContext(ByteArrayOutputStream container, String encoding) throws IOException {
+        ServletContext servletContext = mockServletContext();
+        when(servletContext.getInitParameter("org.glassfish.mojarra.enableUtf8ResponseOutputStream")).thenReturn("true");
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        when(response.getCharacterEncoding()).thenReturn(encoding);
+        when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+
+            @Override
+            public void write(int b) {
+                container.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                container.write(b, off, len);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                // NOOP
+            }
+        });
+        return new ExternalContextImpl(servletContext, request, response);
+    }
+
     /**
      * Verify that the passed consumer throws an UnsupportedOperationException.
      *
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import jakarta.faces.component.UIForm;
+import jakarta.faces.component.UIViewRoot;
+
+import org.glassfish.mojarra.junit.JUnitFacesTestCaseBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The component id of a tag applied under the same include path is handed out again only when the view root creates
+ * it, since it derives the id from the mark id alone, while a form counts the ids it creates.
+ */
+public class UniqueIdSlotTest extends JUnitFacesTestCaseBase {
+
+    @Test
+    public void testViewRootComponentIdIsReused() {
+        UniqueIdSlot slot = new UniqueIdSlot();
+        String markId = new String("123_j_idt1");
+
+        String id = slot.createComponentId(facesContext, new UIViewRoot(), markId);
+        assertEquals(UIViewRoot.UNIQUE_ID_PREFIX + markId, id);
+        assertSame(id, slot.createComponentId(facesContext, new UIViewRoot(), markId));
+
+        String otherMarkId = new String(markId);
+        String otherId = slot.createComponentId(facesContext, new UIViewRoot(), otherMarkId);
+        assertEquals(id, otherId);
+        assertNotSame(id, otherId);
+    }
+
+    @Test
+    public void testOtherVendorIsAlwaysAsked() {
+        UniqueIdSlot slot = new UniqueIdSlot();
+        String markId = "123_j_idt1";
+        UIForm form = new UIForm();
+
+        String id = slot.createComponentId(facesContext, form, markId);
+        assertEquals(UIViewRoot.UNIQUE_ID_PREFIX + markId, id);
+        assertNotSame(id, slot.createComponentId(facesContext, form, markId));
+    }
+}
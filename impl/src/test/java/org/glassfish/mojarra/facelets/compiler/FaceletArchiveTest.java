@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets.compiler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.helpers.DefaultHandler;
+
+public class FaceletArchiveTest {
+
+    private static final String FACELET = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<!DOCTYPE html PUBLIC \"-//W3C//DTD XHTML 1.0 Transitional//EN\" \"http://www.w3.org/TR/xhtml1/DTD/xhtml1-transitional.dtd\">\n"
+            + "<html xmlns=\"http://www.w3.org/1999/xhtml\" xmlns:h=\"jakarta.faces.html\">\n"
+            + "<?php echo 1; ?>\n"
+            + "  <!-- comment -->\n"
+            + "  <h:outputText value=\"#{bean.value}\" escape=\"false\"/>&nbsp;\u00e9\n"
+            + "  <script><![CDATA[ if (a < b) {} ]]></script>\n"
+            + "</html>\n";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testReplayMatchesParse() throws Exception {
+        byte[] source = FACELET.getBytes(UTF_8);
+
+        EventLog parsed = new EventLog();
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
+        SAXParser parser = factory.newSAXParser();
+        parser.getXMLReader().setProperty("http://xml.org/sax/properties/lexical-handler", parsed);
+        parser.parse(new ByteArrayInputStream(source), parsed);
+
+        FaceletArchive.Entry entry = FaceletArchive.record(source);
+        EventLog replayed = new EventLog();
+        entry.replay(replayed);
+
+        assertTrue(parsed.events.contains("endCDATA"), parsed.events.toString());
+        assertEquals(parsed.events, replayed.events);
+        assertTrue(entry.hasDoctype());
+        assertTrue(entry.isRecordedFrom(source));
+        assertFalse(entry.isRecordedFrom(FACELET.replace("comment", "changed").getBytes(UTF_8)));
+    }
+
+    @Test
+    public void testPrecompile() throws Exception {
+        Files.createDirectories(directory.resolve("webapp/WEB-INF"));
+        Files.writeString(directory.resolve("webapp/index.xhtml"), FACELET);
+        Files.writeString(directory.resolve("webapp/WEB-INF/template.xhtml"), "<ui:composition xmlns:ui=\"jakarta.faces.facelets\"/>");
+        Files.writeString(directory.resolve("webapp/broken.xhtml"), "<html>");
+        Files.writeString(directory.resolve("webapp/style.css"), "body {}");
+        Path archivePath = directory.resolve("classes").resolve(FaceletArchive.RESOURCE_NAME);
+
+        assertEquals(2, FaceletPrecompiler.precompile(directory.resolve("webapp"), List.of(".xhtml"), archivePath));
+
+        FaceletArchive archive;
+        try (InputStream in = Files.newInputStream(archivePath)) {
+            archive = FaceletArchive.read(in);
+        }
+
+        assertEquals(2, archive.size());
+        assertTrue(archive.getEntry("/index.xhtml").isRecordedFrom(FACELET.getBytes(UTF_8)));
+        assertFalse(archive.getEntry("/WEB-INF/template.xhtml").hasDoctype());
+        assertNull(archive.getEntry("/broken.xhtml"));
+        assertNull(archive.getEntry("/style.css"));
+    }
+
+    private static final class EventLog extends DefaultHandler implements LexicalHandler {
+
+        private final List<String> events = new ArrayList<>();
+        private Locator locator;
+
+        @Override
+        public InputSource resolveEntity(String publicId, String systemId) {
+            return new InputSource(getClass().getClassLoader().getResource("org/glassfish/mojarra/xhtml/default.dtd").toString());
+        }
+
+        @Override
+        public void setDocumentLocator(Locator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public void startDocument() {
+            events.add("startDocument");
+        }
+
+        @Override
+        public void endDocument() {
+            events.add("endDocument");
+        }
+
+        @Override
+        public void startPrefixMapping(String prefix, String uri) {
+            events.add("startPrefixMapping:" + prefix + "=" + uri);
+        }
+
+        @Override
+        public void endPrefixMapping(String prefix) {
+            events.add("endPrefixMapping:" + prefix);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            StringBuilder event = new StringBuilder("startElement:" + uri + "," + localName + "," + qName + "@" + locator.getLineNumber() + ":"
+                    + locator.getColumnNumber());
+
+            for (int i = 0; i < attributes.getLength(); i++) {
+                event.append(" ").append(attributes.getURI(i)).append(",").append(attributes.getLocalName(i)).append(",")
+                        .append(attributes.getQName(i)).append(",").append(attributes.getType(i)).append("=").append(attributes.getValue(i));
+            }
+
+            events.add(event.toString());
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            events.add("endElement:" + uri + "," + localName + "," + qName + "@" + locator.getLineNumber() + ":" + locator.getColumnNumber());
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            events.add("characters:" + new String(ch, start, length));
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) {
+            events.add("ignorableWhitespace:" + new String(ch, start, length));
+        }
+
+        @Override
+        public void processingInstruction(String target, String data) {
+            events.add("processingInstruction:" + target + " " + data);
+        }
+
+        @Override
+        public void startDTD(String name, String publicId, String systemId) {
+            events.add("startDTD:" + name + "," + publicId + "," + systemId);
+        }
+
+        @Override
+        public void endDTD() {
+            events.add("endDTD");
+        }
+
+        @Override
+        public void startEntity(String name) {
+        }
+
+        @Override
+        public void endEntity(String name) {
+        }
+
+        @Override
+        public void startCDATA() {
+            events.add("startCDATA");
+        }
+
+        @Override
+        public void endCDATA() {
+            events.add("endCDATA");
+        }
+
+        @Override
+        public void comment(char[] ch, int start, int length) {
+            events.add("comment:" + new String(ch, start, length));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.context.ResponseWriter;
+
+import org.glassfish.mojarra.config.FaceletsConfiguration;
+import org.glassfish.mojarra.junit.CurrentFacesContext;
+import org.glassfish.mojarra.renderkit.html_basic.HtmlResponseWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LiteralMarkupInstructionTest {
+
+    private FacesContext context;
+
+    @BeforeEach
+    public void setUp() {
+        CurrentFacesContext.set(null);
+
+        Map<Object, Object> attributes = new HashMap<>();
+        attributes.put("org.glassfish.mojarra.config.FaceletsConfiguration", new FaceletsConfiguration());
+        attributes.put("org.glassfish.mojarra.config.EscapeInlineText", Boolean.TRUE);
+
+        ResponseWriter[] responseWriter = new ResponseWriter[1];
+        context = mock(FacesContext.class);
+        when(context.getAttributes()).thenReturn(attributes);
+        when(context.getResponseWriter()).thenAnswer($ -> responseWriter[0]);
+        doAnswer($ -> responseWriter[0] = $.getArgument(0)).when(context).setResponseWriter(any());
+    }
+
+    @Test
+    public void testMergeBalancedRun() throws Exception {
+        List<Instruction> instructions = List.of(new LiteralTextInstruction("\n"), new StartElementInstruction("div"),
+                new LiteralAttributeInstruction("class", "a&b"), new StartElementInstruction("span"), new LiteralTextInstruction("x < y \u00e9"),
+                new EndElementInstruction("span"), new StartElementInstruction("br"), new EndElementInstruction("br"),
+                new LiteralCommentInstruction(" c "), new EndElementInstruction("div"));
+
+        Instruction[] merged = LiteralMarkupInstruction.merge(instructions);
+
+        assertEquals(1, merged.length);
+        assertTrue(merged[0] instanceof LiteralMarkupInstruction);
+
+        String expected = render(instructions.toArray(new Instruction[0]), "ISO-8859-1");
+        assertEquals("\n<div class=\"a&amp;b\"><span>x &lt; y \u00e9</span><br /><!-- c --></div>", expected);
+        assertEquals(expected, render(merged, "ISO-8859-1"));
+        assertEquals(expected, render(merged, "ISO-8859-1"));
+        assertEquals(render(instructions.toArray(new Instruction[0]), "US-ASCII"), render(merged, "US-ASCII"));
+    }
+
+    @Test
+    public void testMergeLeavesElementsEndedElsewhere() throws Exception {
+        List<Instruction> instructions = List.of(new StartElementInstruction("div"), new LiteralAttributeInstruction("id", "a"),
+                new LiteralTextInstruction("a"), new StartElementInstruction("p"), new LiteralTextInstruction("b"),
+                new EndElementInstruction("p"));
+
+        Instruction[] merged = LiteralMarkupInstruction.merge(instructions);
+
+        assertEquals(3, merged.length);
+        assertTrue(merged[0] instanceof StartElementInstruction);
+        assertTrue(merged[1] instanceof LiteralAttributeInstruction);
+        assertTrue(merged[2] instanceof LiteralMarkupInstruction);
+        assertEquals("<div id=\"a\">a<p>b</p>", render(merged, "UTF-8"));
+    }
+
+    @Test
+    public void testMergeStopsAtScriptAndBody() throws Exception {
+        List<Instruction> instructions = List.of(new StartElementInstruction("p"), new EndElementInstruction("p"),
+                new StartElementInstruction("script"), new LiteralTextInstruction("a < b"), new EndElementInstruction("script"),
+                new EndElementInstruction("body"));
+
+        Instruction[] merged = LiteralMarkupInstruction.merge(instructions);
+
+        assertTrue(merged[0] instanceof LiteralMarkupInstruction);
+        assertTrue(merged[1] instanceof StartElementInstruction);
+        assertTrue(merged[merged.length - 2] instanceof EndElementInstruction);
+        assertTrue(merged[merged.length - 1] instanceof EndElementInstruction);
+    }
+
+    @Test
+    public void testWithinScriptIsNotPreRendered() throws Exception {
+        Instruction[] merged = LiteralMarkupInstruction.merge(List.of(new LiteralTextInstruction("a < b")));
+        StringWriter output = new StringWriter();
+        HtmlResponseWriter writer = new HtmlResponseWriter(output, "text/html", "UTF-8");
+        context.setResponseWriter(writer);
+
+        merged[0].write(context);
+        writer.startElement("script", null);
+        merged[0].write(context);
+        writer.endElement("script");
+
+        assertEquals("a &lt; b<script>a < b</script>", output.toString());
+    }
+
+    private String render(Instruction[] instructions, String encoding) throws Exception {
+        StringWriter output = new StringWriter();
+        HtmlResponseWriter writer = new HtmlResponseWriter(output, "text/html", encoding);
+        context.setResponseWriter(writer);
+
+        for (Instruction instruction : instructions) {
+            instruction.write(context);
+        }
+
+        writer.flush();
+        return output.toString();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.faces.component.UIColumn;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIData;
+import jakarta.faces.component.UIForm;
+import jakarta.faces.component.UINamingContainer;
+import jakarta.faces.component.UIOutput;
+import jakarta.faces.component.UIPanel;
+import jakarta.faces.component.UISelectMany;
+import jakarta.faces.component.UISelectOne;
+import jakarta.faces.component.html.HtmlDataTable;
+import jakarta.faces.component.html.HtmlPanelGrid;
+import jakarta.faces.component.html.HtmlPanelGroup;
+import jakarta.faces.component.html.HtmlSelectOneMenu;
+import jakarta.faces.component.visit.VisitResult;
+
+import org.glassfish.mojarra.component.visit.FullVisitContext;
+import org.glassfish.mojarra.component.visit.PartialVisitContext;
+import org.glassfish.mojarra.context.StateContext;
+import org.glassfish.mojarra.junit.JUnitFacesTestCaseBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class LazyBuildPanelTest extends JUnitFacesTestCaseBase {
+
+    private int builds;
+
+    @BeforeEach
+    public void setUpStateContext() {
+        facesContext.getAttributes().put(StateContext.class.getName() + "_KEY", Mockito.mock(StateContext.class));
+    }
+
+    @Test
+    public void testFullVisitDoesNotBuild() {
+        LazyBuildPanel panel = createPanel("form");
+
+        assertEquals(List.of("form", "form:lazy"), visit(panel.getParent(), null));
+        assertTrue(panel.isBuildPending());
+        assertFalse(panel.isBuilt());
+        assertEquals(0, builds);
+    }
+
+    @Test
+    public void testPartialVisitBuilds() {
+        LazyBuildPanel panel = createPanel("form");
+
+        assertEquals(List.of("form:output"), visit(panel.getParent(), Set.of("form:output")));
+        assertFalse(panel.isBuildPending());
+        assertTrue(panel.isBuilt());
+        assertEquals(1, builds);
+
+        visit(panel.getParent(), Set.of("form:output"));
+        assertEquals(1, builds);
+    }
+
+    @Test
+    public void testPartialVisitOfOtherNamingContainerDoesNotBuild() {
+        LazyBuildPanel panel = createPanel("form");
+
+        visit(panel.getParent(), Set.of("other:output"));
+        assertTrue(panel.isBuildPending());
+    }
+
+    @Test
+    public void testInvokeOnComponentBuilds() {
+        LazyBuildPanel panel = createPanel("form");
+        List<String> invoked = new ArrayList<>();
+
+        assertTrue(panel.getParent().invokeOnComponent(facesContext, "form:output", (context, target) -> invoked.add(target.getId())));
+        assertEquals(List.of("output"), invoked);
+        assertEquals(1, builds);
+    }
+
+    @Test
+    public void testRestoredStateBuilds() {
+        LazyBuildPanel panel = createPanel("form");
+        panel.markInitialState();
+        panel.build(facesContext);
+        assertTrue(panel.getChildren().get(0).initialStateMarked());
+        Object state = panel.saveState(facesContext);
+
+        LazyBuildPanel next = createPanel("form");
+        next.markInitialState();
+        List<String> visited = new ArrayList<>();
+        next.getParent().visitTree(new FullVisitContext(facesContext), (context, target) -> {
+            if (target == next) {
+                next.restoreState(facesContext, state);
+            }
+
+            visited.add(target.getClientId(facesContext));
+            return VisitResult.ACCEPT;
+        });
+
+        assertEquals(List.of("form", "form:lazy", "form:output"), visited);
+        assertEquals(2, builds);
+    }
+
+    @Test
+    public void testSupportedParents() {
+        assertTrue(LazyBuildPanel.isSupportedParent(new UIPanel()));
+        assertTrue(LazyBuildPanel.isSupportedParent(new HtmlPanelGroup()));
+        assertTrue(LazyBuildPanel.isSupportedParent(new UIForm()));
+        assertTrue(LazyBuildPanel.isSupportedParent(new UINamingContainer()));
+    }
+
+    @Test
+    public void testUnsupportedParents() {
+        assertFalse(LazyBuildPanel.isSupportedParent(new HtmlPanelGrid()));
+        assertFalse(LazyBuildPanel.isSupportedParent(new UIData()));
+        assertFalse(LazyBuildPanel.isSupportedParent(new HtmlDataTable()));
+        assertFalse(LazyBuildPanel.isSupportedParent(new UIColumn()));
+        assertFalse(LazyBuildPanel.isSupportedParent(new UISelectOne()));
+        assertFalse(LazyBuildPanel.isSupportedParent(new HtmlSelectOneMenu()));
+        assertFalse(LazyBuildPanel.isSupportedParent(new UISelectMany()));
+        assertFalse(LazyBuildPanel.isSupportedParent(new UIOutput()));
+    }
+
+    private LazyBuildPanel createPanel(String namingContainerId) {
+        UINamingContainer namingContainer = new UINamingContainer();
+        namingContainer.setId(namingContainerId);
+        namingContainer.setRendererType(null);
+        LazyBuildPanel panel = new LazyBuildPanel();
+        panel.setId("lazy");
+        namingContainer.getChildren().add(panel);
+        panel.setBuilder((context, lazyBuildPanel) -> {
+            UIOutput output = new UIOutput();
+            output.setId("output");
+            output.setRendererType(null);
+            lazyBuildPanel.getChildren().add(output);
+            builds++;
+        });
+        return panel;
+    }
+
+    private List<String> visit(UIComponent root, Set<String> clientIds) {
+        List<String> visited = new ArrayList<>();
+        root.visitTree(clientIds == null ? new FullVisitContext(facesContext) : new PartialVisitContext(facesContext, clientIds), (context, target) -> {
+            visited.add(target.getClientId(facesContext));
+            return VisitResult.ACCEPT;
+        });
+        return visited;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets.el;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import jakarta.el.ELContext;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.ValueExpression;
+import jakarta.el.VariableMapper;
+
+import org.glassfish.mojarra.facelets.tag.jstl.core.IndexedValueExpression;
+import org.glassfish.mojarra.facelets.tag.jstl.core.IteratedValueExpression;
+import org.glassfish.mojarra.facelets.tag.jstl.core.MappedValueExpression;
+import org.junit.jupiter.api.Test;
+
+public class ExpressionCacheTest {
+
+    @Test
+    public void testFindVariables() {
+        assertArrayEquals(new String[] { "bean" }, ExpressionCache.findVariables("#{bean.name}"));
+        assertArrayEquals(new String[] { "item", "row" }, ExpressionCache.findVariables("Item #{item.label} of #{row . items[item.index]}"));
+        assertArrayEquals(new String[] { "bean", "arg" }, ExpressionCache.findVariables("#{bean.action(arg)}"));
+        assertArrayEquals(new String[] { "bean" }, ExpressionCache.findVariables("#{not empty bean.list and bean.size gt 0 ? 'item(s)' : \"none\"}"));
+        assertArrayEquals(new String[] { "map" }, ExpressionCache.findVariables("#{map['key.with(parens)'].value}"));
+        assertArrayEquals(new String[0], ExpressionCache.findVariables("\\#{escaped} and text(1)"));
+        assertArrayEquals(new String[] { "x" }, ExpressionCache.findVariables("${x}"));
+    }
+
+    @Test
+    public void testFunctionCallsAreNotCacheable() {
+        String[] notCacheable = ExpressionCache.findVariables("#{fn:length(bean.list)}");
+
+        assertEquals(0, notCacheable.length);
+        assertSame(notCacheable, ExpressionCache.findVariables("#{bean.name} #{format (bean.date)}"));
+        assertNotSame(notCacheable, ExpressionCache.findVariables("#{bean.name}"));
+    }
+
+    @Test
+    public void testFingerprint() {
+        ExpressionCache cache = new ExpressionCache(10);
+        ExpressionFactory factory = mock(ExpressionFactory.class);
+        when(factory.createValueExpression(any(), anyString(), any())).thenAnswer($ -> mock(ValueExpression.class));
+        ValueExpression items = cache.getValueExpression(mock(ELContext.class), factory, "#{bean.items}", Object.class);
+        ValueExpression otherItems = cache.getValueExpression(mock(ELContext.class), factory, "#{bean.otherItems}", Object.class);
+
+        assertEquals(cache.getFingerprint(items), cache.getFingerprint(items));
+        assertNotEquals(cache.getFingerprint(items), cache.getFingerprint(otherItems));
+
+        assertEquals(cache.getFingerprint(new IndexedValueExpression(items, 1)), cache.getFingerprint(new IndexedValueExpression(items, 1)));
+        assertNotEquals(cache.getFingerprint(new IndexedValueExpression(items, 1)), cache.getFingerprint(new IndexedValueExpression(items, 2)));
+        assertNotEquals(cache.getFingerprint(new IndexedValueExpression(items, 1)), cache.getFingerprint(new IndexedValueExpression(otherItems, 1)));
+        assertNotEquals(cache.getFingerprint(new IndexedValueExpression(items, 1)), cache.getFingerprint(new IteratedValueExpression(items, 0, 1)));
+    }
+
+    @Test
+    public void testExpressionsReferringToRequestValuesAreNotCached() {
+        ExpressionCache cache = new ExpressionCache(10);
+        ExpressionFactory factory = mock(ExpressionFactory.class);
+        when(factory.createValueExpression(any(), anyString(), any())).thenAnswer($ -> mock(ValueExpression.class));
+        ValueExpression entry = new MappedValueExpression(null, Map.entry("key", "value"));
+        VariableMapper mapper = mock(VariableMapper.class);
+        when(mapper.resolveVariable("item")).thenReturn(entry);
+        ELContext context = mock(ELContext.class);
+        when(context.getVariableMapper()).thenReturn(mapper);
+
+        assertNull(cache.getFingerprint(entry));
+        assertNull(cache.getFingerprint(new IndexedValueExpression(entry, 1)));
+        assertNotSame(cache.getValueExpression(context, factory, "#{item.value}", Object.class),
+                cache.getValueExpression(context, factory, "#{item.value}", Object.class));
+        assertEquals(0, cache.size());
+
+        ValueExpression cached = cache.getValueExpression(context, factory, "#{bean.value}", Object.class);
+        assertSame(cached, cache.getValueExpression(context, factory, "#{bean.value}", Object.class));
+        assertEquals(1, cache.size());
+    }
+}
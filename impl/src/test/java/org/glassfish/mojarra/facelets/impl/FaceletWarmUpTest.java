@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+public class FaceletWarmUpTest {
+
+    @Test
+    public void testGetCompositeComponents() throws Exception {
+        ByteArrayOutputStream jar = new ByteArrayOutputStream();
+
+        try (ZipOutputStream zip = new ZipOutputStream(jar)) {
+            for (String entry : new String[] { "META-INF/resources/", "META-INF/resources/mylib/", "META-INF/resources/mylib/input.xhtml",
+                    "META-INF/resources/mylib/input.js", "META-INF/resources/mylib/nested/output.xhtml", "META-INF/resources/other.xhtml",
+                    "META-INF/resources/otherlib/output.view.xml", "META-INF/faces-config.xml", "org/example/Bean.class" }) {
+                zip.putNextEntry(new ZipEntry(entry));
+                zip.closeEntry();
+            }
+        }
+
+        List<String[]> compositeComponents = FaceletWarmUp.getCompositeComponents(new ZipInputStream(new ByteArrayInputStream(jar.toByteArray())),
+                new String[] { ".xhtml", ".view.xml" });
+
+        assertEquals(2, compositeComponents.size());
+        assertArrayEquals(new String[] { "mylib", "input.xhtml" }, compositeComponents.get(0));
+        assertArrayEquals(new String[] { "otherlib", "output.view.xml" }, compositeComponents.get(1));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FaceletWatcherTest {
+
+    /** Some platforms have no native watch service, and poll every so many seconds instead. */
+    private static final long TIMEOUT_MILLIS = 30_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testNoticesModification() throws Exception {
+        Path page = Files.writeString(directory.resolve("page.xhtml"), "<html/>");
+        Path other = Files.writeString(directory.resolve("other.xhtml"), "<html/>");
+
+        try (FaceletWatcher watcher = new FaceletWatcher()) {
+            Path watched = watcher.watch(page.toUri().toURL());
+            Path otherWatched = watcher.watch(other.toUri().toURL());
+            long version = watcher.getVersion();
+
+            assertEquals(page.normalize(), watched);
+            assertFalse(watcher.isModified(watched, version));
+
+            Files.writeString(page, "<html><body/></html>");
+            long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+
+            while (!watcher.isModified(watched, version) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertTrue(watcher.isModified(watched, version));
+            assertFalse(watcher.isModified(otherWatched, version));
+            assertFalse(watcher.isModified(watched, watcher.getVersion()));
+        }
+    }
+
+    @Test
+    public void testForgetsChangesOnOverflow() throws Exception {
+        try (FaceletWatcher watcher = new FaceletWatcher()) {
+            Path page = directory.resolve("page.xhtml");
+            long version = watcher.getVersion();
+
+            watcher.changed(page);
+            assertTrue(watcher.isModified(page, version));
+            assertFalse(watcher.isModified(directory.resolve("other.xhtml"), version));
+
+            for (int i = 0; i < FaceletWatcher.MAX_CHANGES; i++) {
+                watcher.changed(directory.resolve("page" + i + ".xhtml"));
+            }
+
+            long overflowed = watcher.getVersion();
+            assertTrue(watcher.isModified(page, version));
+            assertTrue(watcher.isModified(directory.resolve("other.xhtml"), version));
+            assertFalse(watcher.isModified(page, overflowed));
+
+            watcher.changed(page);
+            assertTrue(watcher.isModified(page, overflowed));
+        }
+    }
+
+    @Test
+    public void testDoesNotWatchOutsideFileSystem() throws Exception {
+        try (FaceletWatcher watcher = new FaceletWatcher()) {
+            assertNull(watcher.watch(new URL("jar:file:/application.jar!/META-INF/resources/page.xhtml")));
+        }
+    }
+}
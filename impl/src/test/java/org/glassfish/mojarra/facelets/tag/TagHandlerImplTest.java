@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.facelets.tag;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import jakarta.faces.view.facelets.ComponentHandler;
+import jakarta.faces.view.facelets.ConverterHandler;
+import jakarta.faces.view.facelets.DelegatingMetaTagHandler;
+import jakarta.faces.view.facelets.FaceletHandler;
+import jakarta.faces.view.facelets.TagHandler;
+
+import org.glassfish.mojarra.facelets.tag.faces.core.EventHandler;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Only the handlers known to flag a build with an effect outside the component tree let the tree be copied into the
+ * next builds of the view.
+ */
+class TagHandlerImplTest {
+
+    @Test
+    void implementationHandlersAreKnownCloneable() {
+        assertTrue(TagHandlerImpl.isKnownCloneable(mock(EventHandler.class)));
+    }
+
+    @Test
+    void plainApiHandlersAreKnownCloneable() {
+        assertTrue(TagHandlerImpl.isKnownCloneable(mock(ComponentHandler.class)));
+        assertTrue(TagHandlerImpl.isKnownCloneable(mock(ConverterHandler.class)));
+    }
+
+    @Test
+    void otherHandlersAreNotKnownCloneable() {
+        assertFalse(TagHandlerImpl.isKnownCloneable(mock(TagHandler.class)));
+        assertFalse(TagHandlerImpl.isKnownCloneable(mock(DelegatingMetaTagHandler.class)));
+        assertFalse(TagHandlerImpl.isKnownCloneable(mock(FaceletHandler.class)));
+    }
+}
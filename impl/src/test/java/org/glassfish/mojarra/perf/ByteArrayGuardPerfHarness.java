@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.perf;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.renderkit.ByteArrayGuard;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Manual performance harness for the encryption of client side state, as exercised by
+ * {@code ClientSideStateHelper.doWriteState} and {@code doGetState} through {@link ByteArrayGuard}.
+ *
+ * <p>Compares the former approach, which looked up and initialized a new {@code Cipher} and {@code Mac} and seeded a new
+ * {@code SecureRandom} on every call, against the pooled primitives and streaming methods of {@link ByteArrayGuard},
+ * for states of 1 KB, 16 KB and 64 KB. Every operation is an encrypt followed
+ * by a decrypt of the result. Each scenario reports the median ns/op
+ * over {@value #RUNS} measurement runs of {@value #ITERATIONS} operations per thread (after {@value #WARMUP} warmup
+ * operations).
+ *
+ * <p>Disabled by default. To run:
+ * {@code mvn -pl impl test -Dtest=ByteArrayGuardPerfHarness -Dperf=true}.
+ */
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+public class ByteArrayGuardPerfHarness {
+
+    private static final int WARMUP = 5_000;
+    private static final int ITERATIONS = 10_000;
+    private static final int RUNS = 5;
+
+    @BeforeAll
+    static void printHeader() {
+        System.out.println();
+        System.out.println("ByteArrayGuardPerfHarness (warmup=" + WARMUP + ", iterations=" + ITERATIONS + ", runs=" + RUNS + ")");
+        System.out.println();
+        System.out.printf("%-60s %12s%n", "Scenario", "ns/op");
+        System.out.printf("%-60s %12s%n", "-".repeat(60), "-".repeat(12));
+    }
+
+    @Test
+    void singleThread() throws Exception {
+        compare(1024, 1);
+        compare(16 * 1024, 1);
+        compare(64 * 1024, 1);
+    }
+
+    @Test
+    void eightThreads() throws Exception {
+        compare(1024, 8);
+        compare(16 * 1024, 8);
+        compare(64 * 1024, 8);
+    }
+
+    // -------- Guards --------------------------------------------------------
+
+    private interface Guard {
+        byte[] roundTrip(byte[] bytes) throws Exception;
+    }
+
+    /** What ByteArrayGuard did before: new primitives per call. */
+    private static final class PerCallGuard implements Guard {
+
+        private final SecretKey key;
+
+        PerCallGuard() throws Exception {
+            KeyGenerator generator = KeyGenerator.getInstance("AES");
+            generator.init(128);
+            key = generator.generateKey();
+        }
+
+        @Override
+        public byte[] roundTrip(byte[] bytes) throws Exception {
+            byte[] iv = new byte[16];
+            new SecureRandom().nextBytes(iv);
+            Cipher encryptCipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+            encryptCipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(iv));
+            Mac encryptMac = Mac.getInstance("HmacSHA256");
+            encryptMac.init(key);
+            encryptMac.update(iv);
+            byte[] encrypted = encryptCipher.doFinal(bytes);
+            byte[] mac = encryptMac.doFinal(encrypted);
+
+            Cipher decryptCipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+            decryptCipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(iv));
+            Mac decryptMac = Mac.getInstance("HmacSHA256");
+            decryptMac.init(key);
+            decryptMac.update(iv);
+            decryptMac.update(encrypted);
+
+            if (!Arrays.equals(mac, decryptMac.doFinal())) {
+                throw new IllegalStateException("MAC did not verify");
+            }
+
+            return decryptCipher.doFinal(encrypted);
+        }
+    }
+
+    /** What ByteArrayGuard does now: pooled primitives, encrypting and decrypting chunk by chunk. */
+    private static final class StreamingGuard implements Guard {
+
+        private final ByteArrayGuard guard = new ByteArrayGuard();
+        private final FacesContext context;
+
+        StreamingGuard() {
+            context = mock(FacesContext.class);
+            ExternalContext externalContext = mock(ExternalContext.class);
+            when(context.getExternalContext()).thenReturn(externalContext);
+        }
+
+        @Override
+        public byte[] roundTrip(byte[] bytes) throws Exception {
+            ByteArrayOutputStream encrypted = new ByteArrayOutputStream(bytes.length + 64);
+            try (OutputStream out = guard.encrypt(context, encrypted)) {
+                out.write(bytes);
+            }
+
+            byte[] encryptedBytes = encrypted.toByteArray();
+            try (InputStream in = guard.decrypt(context, encryptedBytes, encryptedBytes.length)) {
+                return in.readAllBytes();
+            }
+        }
+    }
+
+    // -------- Workload helpers ----------------------------------------------
+
+    private static void compare(int size, int threads) throws Exception {
+        byte[] state = new byte[size];
+        new Random(size).nextBytes(state);
+        measure("new Cipher/Mac per call, " + size / 1024 + " KB, threads=" + threads, new PerCallGuard(), state, threads);
+        measure("streaming ByteArrayGuard, " + size / 1024 + " KB, threads=" + threads, new StreamingGuard(), state, threads);
+    }
+
+    private static void measure(String label, Guard guard, byte[] state, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            run(guard, state, threads, WARMUP, executor);
+            long[] times = new long[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                times[run] = run(guard, state, threads, ITERATIONS, executor);
+            }
+            Arrays.sort(times);
+            System.out.printf("%-60s %12d%n", label, times[RUNS / 2]);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * @return the wall clock ns per operation of all threads together.
+     */
+    private static long run(Guard guard, byte[] state, int threads, int iterations, ExecutorService executor) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(threads);
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    if (guard.roundTrip(state).length != state.length) {
+                        throw new IllegalStateException("Round trip failed");
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return (System.nanoTime() - t0) / ((long) iterations * threads);
+    }
+}
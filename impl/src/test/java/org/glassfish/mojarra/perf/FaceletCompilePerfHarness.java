@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.perf;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.xml.parsers.SAXParserFactory;
+
+import org.glassfish.mojarra.facelets.compiler.SAXCompiler;
+import org.glassfish.mojarra.facelets.tag.composite.CompositeLibrary;
+import org.glassfish.mojarra.facelets.tag.faces.core.CoreLibrary;
+import org.glassfish.mojarra.facelets.tag.faces.html.HtmlLibrary;
+import org.glassfish.mojarra.facelets.tag.jstl.core.JstlCoreLibrary;
+import org.glassfish.mojarra.facelets.tag.ui.UILibrary;
+import org.glassfish.mojarra.junit.JUnitFacesTestCaseBase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Manual performance harness for compiling facelets with {@link SAXCompiler}, over the pages of the {@code test/perf}
+ * webapp.
+ *
+ * <p>Reports per page the median ns/op over {@value #RUNS} measurement runs of {@value #ITERATIONS} iterations each
+ * (after {@value #WARMUP} warmup iterations) of compiling the full facelet alone, and of compiling the metadata facelet
+ * followed by the full facelet, as a view is compiled on its first GET request. The latter is parsed only once. A
+ * baseline line reports what constructing a parser costs, which the compiler no longer pays per compilation.
+ *
+ * <p>Also reports the heap retained by the compiled facelets of all pages, when every page is compiled by a compiler
+ * of its own and thus shares no strings with the other pages, and when all pages are compiled by one compiler and thus
+ * share the strings in its {@link SAXCompiler#getStringInterner() pool}, as they do in an application.
+ *
+ * <p>Disabled by default. To run:
+ * {@code mvn -pl impl test -Dtest=FaceletCompilePerfHarness -Dperf=true}.
+ */
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+public class FaceletCompilePerfHarness extends JUnitFacesTestCaseBase {
+
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1_000;
+    private static final int RUNS = 5;
+
+    private static final Path PAGES = Path.of("..", "test", "perf", "src", "main", "webapp");
+
+    @Test
+    public void testCompileThroughput() throws Exception {
+        assumeTrue(Files.isDirectory(PAGES), "test/perf webapp not found at " + PAGES.toAbsolutePath());
+
+        SAXCompiler compiler = createCompiler();
+        List<Path> pages = getPages();
+
+        System.out.println();
+        System.out.println("FaceletCompilePerfHarness (warmup=" + WARMUP + ", iterations=" + ITERATIONS + ", runs=" + RUNS + ")");
+        System.out.println();
+        System.out.printf("%-60s %12s%n", "Scenario", "ns/op");
+        System.out.printf("%-60s %12s%n", "-".repeat(60), "-".repeat(12));
+
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        System.out.printf("%-60s %12d%n", "baseline: new SAXParser", median(() -> factory.newSAXParser()));
+
+        long compileTotal = 0;
+        long viewTotal = 0;
+
+        for (Path page : pages) {
+            URL url = page.toUri().toURL();
+            String alias = "/" + PAGES.relativize(page).toString().replace('\\', '/');
+
+            long compile;
+            long view;
+
+            try {
+                compile = median(() -> compiler.compile(url, alias));
+                view = median(() -> {
+                    compiler.metadataCompile(url, alias, true);
+                    compiler.compile(url, alias);
+                });
+            } catch (Exception e) {
+                System.out.printf("%-60s %12s%n", alias + " (" + e.getClass().getSimpleName() + ")", "-");
+                continue;
+            }
+
+            compileTotal += compile;
+            viewTotal += view;
+            System.out.printf("%-60s %12d%n", alias + " compile", compile);
+            System.out.printf("%-60s %12d%n", alias + " metadataCompile + compile", view);
+        }
+
+        System.out.printf("%-60s %12d%n", "all pages compile", compileTotal);
+        System.out.printf("%-60s %12d%n", "all pages metadataCompile + compile", viewTotal);
+    }
+
+    @Test
+    public void testCompiledFootprint() throws Exception {
+        assumeTrue(Files.isDirectory(PAGES), "test/perf webapp not found at " + PAGES.toAbsolutePath());
+
+        List<Path> pages = getPages();
+        List<Object> retained = new ArrayList<>();
+
+        System.out.println();
+        System.out.println("FaceletCompilePerfHarness footprint (" + pages.size() + " pages)");
+        System.out.println();
+        System.out.printf("%-60s %12s%n", "Scenario", "bytes");
+        System.out.printf("%-60s %12s%n", "-".repeat(60), "-".repeat(12));
+
+        long before = usedHeap();
+        for (Path page : pages) {
+            SAXCompiler compiler = createCompiler();
+            compileQuietly(compiler, page, retained);
+        }
+        System.out.printf("%-60s %12d%n", "compiler per page (no strings shared between pages)", usedHeap() - before);
+
+        retained.clear();
+        SAXCompiler compiler = createCompiler();
+        before = usedHeap();
+        for (Path page : pages) {
+            compileQuietly(compiler, page, retained);
+        }
+        System.out.printf("%-60s %12d%n", "one compiler (strings shared between pages)", usedHeap() - before);
+        System.out.printf("%-60s %12d%n", "one compiler: interned strings", compiler.getStringInterner().size());
+        retained.clear();
+    }
+
+    private static SAXCompiler createCompiler() {
+        SAXCompiler compiler = new SAXCompiler();
+        CoreLibrary.NAMESPACES.forEach(namespace -> compiler.addTagLibrary(new CoreLibrary(namespace)));
+        HtmlLibrary.NAMESPACES.forEach(namespace -> compiler.addTagLibrary(new HtmlLibrary(namespace)));
+        UILibrary.NAMESPACES.forEach(namespace -> compiler.addTagLibrary(new UILibrary(namespace)));
+        JstlCoreLibrary.NAMESPACES.forEach(namespace -> compiler.addTagLibrary(new JstlCoreLibrary(namespace)));
+        CompositeLibrary.NAMESPACES.forEach(namespace -> compiler.addTagLibrary(new CompositeLibrary(namespace)));
+        return compiler;
+    }
+
+    private static List<Path> getPages() throws IOException {
+        try (Stream<Path> files = Files.walk(PAGES)) {
+            return files.filter(file -> file.toString().endsWith(".xhtml") && !file.startsWith(PAGES.resolve("WEB-INF"))).sorted().toList();
+        }
+    }
+
+    private static void compileQuietly(SAXCompiler compiler, Path page, List<Object> retained) throws IOException {
+        String alias = "/" + PAGES.relativize(page).toString().replace('\\', '/');
+
+        try {
+            retained.add(compiler.compile(page.toUri().toURL(), alias));
+        } catch (RuntimeException e) {
+            // Reported by the throughput test.
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long median(Compilation compilation) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            compilation.run();
+        }
+
+        long[] times = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long t0 = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                compilation.run();
+            }
+            times[run] = (System.nanoTime() - t0) / ITERATIONS;
+        }
+        Arrays.sort(times);
+        return times[RUNS / 2];
+    }
+
+    @FunctionalInterface
+    private interface Compilation {
+        void run() throws Exception;
+    }
+}
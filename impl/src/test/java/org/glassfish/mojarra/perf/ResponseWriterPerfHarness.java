@@ -16,14 +16,29 @@
 
 package org.glassfish.mojarra.perf;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.io.Writer;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
 
 import jakarta.faces.context.PartialResponseWriter;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
+import org.glassfish.mojarra.context.ExternalContextImpl;
 import org.glassfish.mojarra.junit.JUnitFacesTestCaseBase;
 import org.glassfish.mojarra.renderkit.html_basic.HtmlResponseWriter;
+import org.glassfish.mojarra.util.HtmlUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
@@ -43,7 +58,13 @@ import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
  * {@code mvn -pl impl test -Dtest=ResponseWriterPerfHarness -Dperf=true}.
  *
  * <p>Scenarios cover both common cases (plain ASCII -- no escape branches hit) and worst cases
- * (text containing every HTML-special character).
+ * (text containing every HTML-special character). The escape scan scenarios call {@link HtmlUtils}
+ * directly with text of 16 to 4096 chars in which 0%, 1% or 10% of the chars is escaped.
+ *
+ * <p>The response output scenarios instead render into {@link ExternalContextImpl#getResponseOutputWriter()} down to a
+ * discarding output stream, once through the writer of the container (emulated by an {@link OutputStreamWriter}, which
+ * encodes through a {@code CharsetEncoder}) and once with {@code org.glassfish.mojarra.enableUtf8ResponseOutputStream},
+ * which encodes UTF-8 itself straight into the output stream.
  */
 @EnabledIfSystemProperty(named = "perf", matches = "true")
 public class ResponseWriterPerfHarness extends JUnitFacesTestCaseBase {
@@ -64,6 +85,7 @@ public class ResponseWriterPerfHarness extends JUnitFacesTestCaseBase {
     private static final String PLAIN_ID         = "form:input123";                // typical client id, no escapes
     private static final String ATTR_WITH_QUOTES = "background: url('x.png'); color: \"red\"";
     private static final String URI_VALUE        = "/app/path?foo=bar&baz=qux#section";
+    private static final String NON_ASCII_TEXT   = "Caf\u00e9 cr\u00e8me br\u00fbl\u00e9e \u2013 \u00a3 4,50 \u2013 \u65e5\u672c\u8a9e \u2013 \u0417\u0434\u0440\u0430\u0432\u0441\u0442\u0432\u0443\u0439\u0442\u0435";
 
     @Override
     @BeforeEach
@@ -166,6 +188,31 @@ public class ResponseWriterPerfHarness extends JUnitFacesTestCaseBase {
         });
     }
 
+    // -------- Escape scan scenarios -----------------------------------------
+
+    @Test
+    void escapeScan_lengthsAndDensities() {
+        for (int length : new int[] { 16, 256, 4096 }) {
+            for (int density : new int[] { 0, 1, 10 }) {
+                char[] text = createText(length, density);
+                measure("HtmlUtils.writeText -- " + length + " chars, " + density + "% escapes", () -> {
+                    try {
+                        HtmlUtils.writeText(sink, false, false, text, 0, length, false);
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+                measure("HtmlUtils.writeAttribute -- " + length + " chars, " + density + "% escapes", () -> {
+                    try {
+                        HtmlUtils.writeAttribute(sink, false, false, text, 0, length, false, false);
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+            }
+        }
+    }
+
     // -------- start/end element scenarios -----------------------------------
 
     @Test
@@ -219,8 +266,78 @@ public class ResponseWriterPerfHarness extends JUnitFacesTestCaseBase {
         });
     }
 
+    // -------- Response output scenarios -------------------------------------
+
+    @Test
+    void responseOutput_containerWriter_ascii() throws IOException {
+        measureResponseOutput("render ASCII via container writer (CharsetEncoder)", false, LONG_PLAIN_TEXT);
+    }
+
+    @Test
+    void responseOutput_utf8OutputStream_ascii() throws IOException {
+        measureResponseOutput("render ASCII via UTF-8 response output stream", true, LONG_PLAIN_TEXT);
+    }
+
+    @Test
+    void responseOutput_containerWriter_nonAscii() throws IOException {
+        measureResponseOutput("render non ASCII via container writer (CharsetEncoder)", false, NON_ASCII_TEXT);
+    }
+
+    @Test
+    void responseOutput_utf8OutputStream_nonAscii() throws IOException {
+        measureResponseOutput("render non ASCII via UTF-8 response output stream", true, NON_ASCII_TEXT);
+    }
+
     // -------- Workload helpers ----------------------------------------------
 
+    /**
+     * Renders the simulated component of {@link #fullElementWithAttributesAndText()} with the given text through the
+     * response output writer of an {@link ExternalContextImpl} in the given mode.
+     */
+    private void measureResponseOutput(String label, boolean utf8ResponseOutputStream, String text) throws IOException {
+        ServletContext servletContext = mock(ServletContext.class);
+        when(servletContext.getInitParameterNames()).thenAnswer(invocation -> Collections.enumeration(Collections.emptyList()));
+        when(servletContext.getInitParameter("org.glassfish.mojarra.enableUtf8ResponseOutputStream")).thenReturn(String.valueOf(utf8ResponseOutputStream));
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        NullOutputStream bytes = new NullOutputStream();
+        when(response.getCharacterEncoding()).thenReturn("UTF-8");
+        when(response.getOutputStream()).thenReturn(bytes);
+        when(response.getWriter()).thenReturn(new PrintWriter(new OutputStreamWriter(bytes, UTF_8)));
+        ExternalContextImpl responseContext = new ExternalContextImpl(servletContext, mock(HttpServletRequest.class), response);
+        HtmlResponseWriter writer = new HtmlResponseWriter(responseContext.getResponseOutputWriter(), "text/html", "UTF-8");
+
+        measure(label, () -> {
+            try {
+                writer.startElement("div", null);
+                writer.writeAttribute("class", "panel", null);
+                writer.startElement("input", null);
+                writer.writeAttribute("id", PLAIN_ID, null);
+                writer.writeAttribute("name", PLAIN_ID, null);
+                writer.writeAttribute("type", "text", null);
+                writer.writeAttribute("value", text, null);
+                writer.endElement("input");
+                writer.writeText(text, null);
+                writer.endElement("div");
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    /**
+     * @return plain ASCII text of the given length in which about the given percentage of the characters is escaped.
+     */
+    private static char[] createText(int length, int density) {
+        char[] text = new char[length];
+        Random random = new Random(length);
+
+        for (int i = 0; i < length; i++) {
+            text[i] = random.nextInt(100) < density ? "<>&\"".charAt(random.nextInt(4)) : LONG_PLAIN_TEXT.charAt(i % LONG_PLAIN_TEXT.length());
+        }
+
+        return text;
+    }
+
     private void startElementOnce(String name) {
         try {
             htmlWriter.startElement(name, null);
@@ -254,6 +371,14 @@ public class ResponseWriterPerfHarness extends JUnitFacesTestCaseBase {
         return times[RUNS / 2];
     }
 
+    /** Discards all bytes -- isolates the cost of encoding from I/O. */
+    private static final class NullOutputStream extends ServletOutputStream {
+        @Override public void write(int b) { /* discard */ }
+        @Override public void write(byte[] b, int off, int len) { /* discard */ }
+        @Override public boolean isReady() { return true; }
+        @Override public void setWriteListener(WriteListener writeListener) { /* no-op */ }
+    }
+
     /** Discards all writes -- isolates encode/escape cost from I/O or buffering. */
     private static final class NullWriter extends Writer {
         @Override public void write(int c) { /* discard */ }
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.perf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.glassfish.mojarra.util.ConcurrentLRUCache;
+import org.glassfish.mojarra.util.LRUMap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Manual performance harness for the session-scoped structure behind server side state saving, as exercised by
+ * {@code ServerSideStateHelper.writeState} and {@code getState} when many requests of one session run at once (several
+ * tabs, concurrent Ajax polls).
+ *
+ * <p>Compares the former layout, two nested {@code Collections.synchronizedMap(new LRUMap(...))} layers accessed under
+ * the session mutex, against the nested {@link ConcurrentLRUCache} layout, with the same 15 pages x 15 states bounds
+ * and a 1 write : 4 read mix spread over a handful of pages. Each scenario reports the median ns/op over {@value #RUNS}
+ * measurement runs of {@value #ITERATIONS} operations per thread (after {@value #WARMUP} warmup operations).
+ *
+ * <p>Disabled by default. To run:
+ * {@code mvn -pl impl test -Dtest=ServerSideStatePerfHarness -Dperf=true}.
+ */
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+public class ServerSideStatePerfHarness {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 500_000;
+    private static final int RUNS = 5;
+
+    private static final int PAGES = 15;
+    private static final int STATES = 15;
+    private static final int ACTIVE_PAGES = 4;
+    private static final Object[] STATE = { "structure", "state" };
+
+    @BeforeAll
+    static void printHeader() {
+        System.out.println();
+        System.out.println("ServerSideStatePerfHarness (warmup=" + WARMUP + ", iterations=" + ITERATIONS + ", runs=" + RUNS + ")");
+        System.out.println();
+        System.out.printf("%-60s %12s%n", "Scenario", "ns/op");
+        System.out.printf("%-60s %12s%n", "-".repeat(60), "-".repeat(12));
+    }
+
+    @Test
+    void singleThread() throws Exception {
+        compare(1);
+    }
+
+    @Test
+    void fourThreads() throws Exception {
+        compare(4);
+    }
+
+    @Test
+    void sixteenThreads() throws Exception {
+        compare(16);
+    }
+
+    // -------- Stores --------------------------------------------------------
+
+    private interface Store {
+        void write(String page, String state);
+        Object[] read(String page, String state);
+    }
+
+    /** The layout ServerSideStateHelper used before: session mutex plus two synchronized LRUMap layers. */
+    private static final class SynchronizedStore implements Store {
+
+        private final Object mutex = new Object();
+        private final Map<String, Map<String, Object[]>> pages = Collections.synchronizedMap(new LRUMap<>(PAGES));
+
+        @Override
+        public void write(String page, String state) {
+            synchronized (mutex) {
+                Map<String, Object[]> states = pages.get(page);
+                if (states == null) {
+                    states = Collections.synchronizedMap(new LRUMap<>(STATES));
+                    pages.put(page, states);
+                }
+                states.put(state, STATE);
+            }
+        }
+
+        @Override
+        public Object[] read(String page, String state) {
+            synchronized (mutex) {
+                Map<String, Object[]> states = pages.get(page);
+                return states != null ? states.get(state) : null;
+            }
+        }
+    }
+
+    /** The layout ServerSideStateHelper uses now. */
+    private static final class ConcurrentStore implements Store {
+
+        private final ConcurrentLRUCache<String, ConcurrentLRUCache<String, Object[]>> pages = new ConcurrentLRUCache<>(PAGES);
+
+        @Override
+        public void write(String page, String state) {
+            pages.computeIfAbsent(page, $ -> new ConcurrentLRUCache<>(STATES)).put(state, STATE);
+        }
+
+        @Override
+        public Object[] read(String page, String state) {
+            ConcurrentLRUCache<String, Object[]> states = pages.get(page);
+            return states != null ? states.get(state) : null;
+        }
+    }
+
+    // -------- Workload helpers ----------------------------------------------
+
+    private static void compare(int threads) throws Exception {
+        measure("synchronized LRUMap under session mutex, threads=" + threads, new SynchronizedStore(), threads);
+        measure("ConcurrentLRUCache, threads=" + threads, new ConcurrentStore(), threads);
+    }
+
+    private static void measure(String label, Store store, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            run(store, threads, WARMUP, executor);
+            long[] times = new long[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                times[run] = run(store, threads, ITERATIONS, executor);
+            }
+            Arrays.sort(times);
+            System.out.printf("%-60s %12d%n", label, times[RUNS / 2]);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * @return the wall clock ns per operation of all threads together, which is what contention makes grow.
+     */
+    private static long run(Store store, int threads, int iterations, ExecutorService executor) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(threads);
+        String[] pageIds = new String[ACTIVE_PAGES];
+        String[] stateIds = new String[STATES];
+        Arrays.setAll(pageIds, i -> "p" + i);
+        Arrays.setAll(stateIds, i -> "s" + i);
+
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    String page = pageIds[(seed + i) % ACTIVE_PAGES];
+                    String state = stateIds[i % STATES];
+                    if (i % 5 == 0) {
+                        store.write(page, state);
+                    } else {
+                        store.read(page, state);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return (System.nanoTime() - t0) / ((long) iterations * threads);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.renderkit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.mock.MockHttpSession;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Validate that ByteArrayGuard keeps round tripping while it reuses its pooled ciphers and macs, including for sessions
+ * holding another key.
+ */
+public class ByteArrayGuardTest {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ByteArrayGuard guard = new ByteArrayGuard();
+        FacesContext context = context(null);
+
+        for (int size : new int[] { 0, 15, 16, 8191, 8193, 200_000 }) {
+            byte[] bytes = randomBytes(size);
+            byte[] encrypted = encrypt(guard, context, bytes);
+
+            try (InputStream decrypted = guard.decrypt(context, encrypted, encrypted.length)) {
+                assertArrayEquals(bytes, decrypted.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    public void testTamperedBytesAreRejected() throws IOException {
+        ByteArrayGuard guard = new ByteArrayGuard();
+        FacesContext context = context(null);
+        byte[] encrypted = encrypt(guard, context, randomBytes(1024));
+
+        assertNull(guard.decrypt(context, encrypted, encrypted.length - 1));
+        assertNull(guard.decrypt(context, encrypted, 16));
+        encrypted[0] ^= 1;
+        assertNull(guard.decrypt(context, encrypted, encrypted.length));
+        encrypted[0] ^= 1;
+
+        try (InputStream decrypted = guard.decrypt(context, encrypted, encrypted.length)) {
+            assertArrayEquals(randomBytes(1024), decrypted.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testKeyOfSession() throws IOException {
+        ByteArrayGuard guard = new ByteArrayGuard();
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("org.glassfish.mojarra.SK", new SecretKeySpec(randomBytes(16), "AES"));
+        FacesContext sessionContext = context(session);
+        FacesContext context = context(null);
+        byte[] bytes = randomBytes(1024);
+        byte[] encrypted = encrypt(guard, sessionContext, bytes);
+
+        try (InputStream decrypted = guard.decrypt(sessionContext, encrypted, encrypted.length)) {
+            assertArrayEquals(bytes, decrypted.readAllBytes());
+        }
+
+        assertNull(guard.decrypt(context, encrypted, encrypted.length));
+
+        // The pooled mac must not carry anything over from the rejected bytes.
+        encrypted = encrypt(guard, context, bytes);
+
+        try (InputStream decrypted = guard.decrypt(context, encrypted, encrypted.length)) {
+            assertArrayEquals(bytes, decrypted.readAllBytes());
+        }
+    }
+
+    private static byte[] encrypt(ByteArrayGuard guard, FacesContext context, byte[] bytes) throws IOException {
+        ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+
+        try (OutputStream out = guard.encrypt(context, encrypted)) {
+            // Written in chunks which do not line up with the cipher blocks.
+            for (int offset = 0; offset < bytes.length; offset += 1000) {
+                out.write(bytes, offset, Math.min(1000, bytes.length - offset));
+            }
+        }
+
+        return encrypted.toByteArray();
+    }
+
+    private static FacesContext context(MockHttpSession session) {
+        FacesContext context = mock(FacesContext.class);
+        ExternalContext externalContext = mock(ExternalContext.class);
+        when(context.getExternalContext()).thenReturn(externalContext);
+        when(externalContext.getSession(false)).thenReturn(session);
+        return context;
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.renderkit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Validate that ClientStateDictionary round trips the state, compresses a small state better than GZIP does, and
+ * rejects a state compressed with another dictionary.
+ */
+public class ClientStateDictionaryTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        ClientStateDictionary dictionary = new ClientStateDictionary();
+        byte[] state = serialize(partialState(20));
+
+        // Twice, so that the second round uses the pooled deflater and inflater.
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream out = dictionary.compress(compressed, 1024)) {
+                out.write(state);
+            }
+
+            try (InputStream in = dictionary.decompress(new ByteArrayInputStream(compressed.toByteArray()))) {
+                assertArrayEquals(state, in.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    public void testSmallerThanGzip() throws Exception {
+        byte[] state = serialize(partialState(2));
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new ClientStateDictionary().compress(compressed, 1024)) {
+            out.write(state);
+        }
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(state);
+        }
+
+        assertTrue(compressed.size() < gzipped.size(), compressed.size() + " bytes with dictionary vs " + gzipped.size() + " bytes gzipped");
+    }
+
+    @Test
+    public void testOtherVersionIsInvalid() {
+        ClientStateDictionary dictionary = new ClientStateDictionary();
+        byte[] gzipped = { 0x1f, (byte) 0x8b, 0 };
+
+        assertThrows(InvalidClassException.class, () -> dictionary.decompress(new ByteArrayInputStream(gzipped)));
+    }
+
+    @Test
+    public void testOtherDictionaryIsInvalid() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        compressed.write(ClientStateDictionary.VERSION);
+        Deflater deflater = new Deflater();
+        deflater.setDictionary("another dictionary".getBytes());
+
+        try (OutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+            out.write(serialize(partialState(2)));
+        } finally {
+            deflater.end();
+        }
+
+        try (InputStream in = new ClientStateDictionary().decompress(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertThrows(InvalidClassException.class, () -> in.readAllBytes());
+        }
+    }
+
+    private static byte[] serialize(Object state) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(null);
+            out.writeObject(state);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static Object[] partialState(int components) {
+        Map<String, Object> componentStates = new HashMap<>();
+
+        for (int i = 0; i < components; i++) {
+            componentStates.put("form:j_id" + i, new Object[] { new Object[] { "value", "text" + i, "rendered", Boolean.TRUE }, null });
+        }
+
+        return new Object[] { null, componentStates };
+    }
+}
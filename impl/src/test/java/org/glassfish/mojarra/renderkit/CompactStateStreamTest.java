@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.renderkit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.spi.SerializationProvider;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Validate that CompactStateOutputStream and CompactStateInputStream round trip the values found in a view state, and
+ * that they write it in fewer bytes than Java serialization does.
+ */
+public class CompactStateStreamTest {
+
+    private static final SerializationProvider JAVA_SERIALIZATION = new SerializationProvider() {
+
+        @Override
+        public ObjectInputStream createObjectInputStream(InputStream source) throws IOException {
+            return new ObjectInputStream(source);
+        }
+
+        @Override
+        public ObjectOutputStream createObjectOutputStream(OutputStream destination) throws IOException {
+            return new ObjectOutputStream(destination);
+        }
+    };
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        Object[] state = (Object[]) roundTrip(partialState(3));
+        Object[] expected = partialState(3);
+
+        assertEquals(expected.length, state.length);
+        assertEquals(expected[0], state[0]);
+        assertEquals(((Map<?, ?>) expected[1]).keySet(), ((Map<?, ?>) state[1]).keySet());
+
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) expected[1]).entrySet()) {
+            assertArrayEquals((Object[]) entry.getValue(), (Object[]) ((Map<?, ?>) state[1]).get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void testScalars() throws Exception {
+        assertNull(roundTrip(null));
+        assertEquals(Boolean.TRUE, roundTrip(true));
+        assertEquals(Boolean.FALSE, roundTrip(false));
+        assertEquals(Integer.MIN_VALUE, roundTrip(Integer.MIN_VALUE));
+        assertEquals(-1, roundTrip(-1));
+        assertEquals(Long.MAX_VALUE, roundTrip(Long.MAX_VALUE));
+        assertEquals((short) -300, roundTrip((short) -300));
+        assertEquals((byte) -7, roundTrip((byte) -7));
+        assertEquals('x', roundTrip('x'));
+        assertEquals(1.5f, roundTrip(1.5f));
+        assertEquals(Double.NaN, roundTrip(Double.NaN));
+        assertEquals(TimeUnit.SECONDS, roundTrip(TimeUnit.SECONDS));
+        assertEquals("\u00e9\u4e2d\ud800", roundTrip("\u00e9\u4e2d\ud800"));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, (byte[]) roundTrip(new byte[] { 1, 2, 3 }));
+    }
+
+    @Test
+    public void testKeepsTypes() throws Exception {
+        Serializable[] tuple = { "state", Boolean.TRUE };
+        Object[] restored = (Object[]) roundTrip(new Object[] { tuple, new ArrayList<>(List.of("a", "b")), new TreeMap<>(Map.of("k", "v")),
+                new BigDecimal("1.10") });
+
+        assertSame(Serializable[].class, restored[0].getClass());
+        assertArrayEquals(tuple, (Object[]) restored[0]);
+        assertSame(ArrayList.class, restored[1].getClass());
+        assertEquals(List.of("a", "b"), restored[1]);
+        assertSame(TreeMap.class, restored[2].getClass());
+        assertEquals(Map.of("k", "v"), restored[2]);
+        assertEquals(new BigDecimal("1.10"), restored[3]);
+    }
+
+    @Test
+    public void testSmallerThanJavaSerialization() throws Exception {
+        Object state = partialState(50);
+        ByteArrayOutputStream compact = new ByteArrayOutputStream();
+        try (CompactStateOutputStream out = new CompactStateOutputStream(compact, JAVA_SERIALIZATION)) {
+            out.writeObject(state);
+        }
+
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(state);
+        }
+
+        assertTrue(compact.size() * 2 < serialized.size(), compact.size() + " bytes compact vs " + serialized.size() + " bytes serialized");
+    }
+
+    @Test
+    public void testSerializedValuesShareClassDescriptors() throws Exception {
+        // The savers of attached objects of dynamically added components, of which the class is package private.
+        Class<?> saverClass = Class.forName("org.glassfish.mojarra.application.view.StateHolderSaver");
+        Constructor<?> saver = saverClass.getConstructor(FacesContext.class, Object.class);
+        Method restore = saverClass.getMethod("restore", FacesContext.class);
+        saver.setAccessible(true);
+        restore.setAccessible(true);
+
+        Object[] state = partialState(50);
+
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) state[1]).entrySet()) {
+            ((Object[]) entry.getValue())[1] = saver.newInstance(null, new BigDecimal(entry.getKey().hashCode()));
+        }
+
+        ByteArrayOutputStream compact = new ByteArrayOutputStream();
+        try (CompactStateOutputStream out = new CompactStateOutputStream(compact, JAVA_SERIALIZATION)) {
+            out.writeObject(state);
+        }
+
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(state);
+        }
+
+        assertTrue(compact.size() < serialized.size(), compact.size() + " bytes compact vs " + serialized.size() + " bytes serialized");
+
+        try (CompactStateInputStream in = new CompactStateInputStream(new ByteArrayInputStream(compact.toByteArray()), JAVA_SERIALIZATION)) {
+            Map<?, ?> componentStates = (Map<?, ?>) ((Object[]) in.readObject())[1];
+            Object restored = ((Object[]) componentStates.get("form:input7"))[1];
+            assertSame(saverClass, restored.getClass());
+            assertEquals(new BigDecimal("form:input7".hashCode()), restore.invoke(restored, (Object) null));
+        }
+    }
+
+    @Test
+    public void testSharedReferences() throws Exception {
+        List<Object> list = new ArrayList<>(List.of("a", "b"));
+        Map<String, Object> map = new HashMap<>(Map.of("list", list));
+        byte[] bytes = { 1, 2, 3 };
+        BigDecimal serialized = new BigDecimal("1.5");
+        Object[] state = (Object[]) roundTrip(new Object[] { list, map, bytes, bytes, serialized, serialized, new Object[] { list } });
+
+        assertSame(state[0], ((Map<?, ?>) state[1]).get("list"));
+        assertSame(state[0], ((Object[]) state[6])[0]);
+        assertSame(state[2], state[3]);
+        assertSame(state[4], state[5]);
+        assertEquals(list, state[0]);
+        assertArrayEquals(bytes, (byte[]) state[2]);
+    }
+
+    @Test
+    public void testCycles() throws Exception {
+        Object[] array = new Object[2];
+        List<Object> list = new ArrayList<>();
+        array[0] = array;
+        array[1] = list;
+        list.add(array);
+        list.add(list);
+
+        Object[] restored = (Object[]) roundTrip(array);
+        List<?> restoredList = (List<?>) restored[1];
+
+        assertSame(restored, restored[0]);
+        assertSame(restored, restoredList.get(0));
+        assertSame(restoredList, restoredList.get(1));
+    }
+
+    @Test
+    public void testNotSerializable() {
+        assertThrows(NotSerializableException.class, () -> roundTrip(new Object()));
+    }
+
+    @Test
+    public void testOtherFormatIsInvalid() throws Exception {
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject("state");
+        }
+
+        assertThrows(InvalidClassException.class, () -> new CompactStateInputStream(new ByteArrayInputStream(serialized.toByteArray()), JAVA_SERIALIZATION));
+    }
+
+    private static Object roundTrip(Object value) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CompactStateOutputStream out = new CompactStateOutputStream(bytes, JAVA_SERIALIZATION)) {
+            out.writeLong(42L);
+            out.writeObject(value);
+        }
+
+        try (CompactStateInputStream in = new CompactStateInputStream(new ByteArrayInputStream(bytes.toByteArray()), JAVA_SERIALIZATION)) {
+            assertEquals(42L, in.readLong());
+            return in.readObject();
+        }
+    }
+
+    /**
+     * Mimics the state of partial state saving, where the components' property keys are enums.
+     */
+    private static Object[] partialState(int components) {
+        Map<String, Object> componentStates = new HashMap<>();
+
+        for (int i = 0; i < components; i++) {
+            Object[] helperState = { TimeUnit.SECONDS, "form:input" + i, TimeUnit.MINUTES, Boolean.TRUE, TimeUnit.HOURS, i };
+            componentStates.put("form:input" + i, new Object[] { helperState, null, -1 });
+        }
+
+        return new Object[] { null, componentStates };
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.renderkit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.Random;
+
+import jakarta.faces.context.FacesContext;
+
+import org.glassfish.mojarra.config.MojarraContextParam;
+import org.glassfish.mojarra.context.ExternalContextImpl;
+import org.glassfish.mojarra.mock.MockFacesContext;
+import org.glassfish.mojarra.mock.MockHttpServletRequest;
+import org.glassfish.mojarra.mock.MockHttpServletResponse;
+import org.glassfish.mojarra.mock.MockHttpSession;
+import org.glassfish.mojarra.mock.MockServletContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Covers the round trip of view states through <code>MappedFileViewStateStore</code>, and that a view state which the
+ * ring buffer overwrote, or which another file wrote, is reported as not available rather than read back.
+ */
+class MappedFileViewStateStoreTest {
+
+    @TempDir
+    File tempDir;
+
+    private MockHttpSession session;
+    private FacesContext context;
+
+    @BeforeEach
+    void setUp() {
+        MockServletContext servletContext = new MockServletContext();
+        servletContext.addInitParameter(MojarraContextParam.VIEW_STATE_STORE_FILE_SIZE.getName(), "1");
+        servletContext.setAttribute("jakarta.servlet.context.tempdir", tempDir);
+        session = new MockHttpSession();
+        context = new MockFacesContext(new ExternalContextImpl(servletContext, new MockHttpServletRequest(session), new MockHttpServletResponse()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.release();
+    }
+
+    @Test
+    void roundTrip() {
+        MappedFileViewStateStore store = new MappedFileViewStateStore();
+        store.putState(context, "p1", "s1", new Object[] { "structure", new Object[] { "state", 42 } });
+
+        assertTrue(store.containsStatefulPage(context, "p1"));
+        assertFalse(store.containsStatefulPage(context, "p2"));
+        assertNull(store.getState(context, "p1", "s2"));
+
+        Object[] state = store.getState(context, "p1", "s1");
+        assertArrayEquals(new Object[] { "structure", new Object[] { "state", 42 } }, state);
+    }
+
+    @Test
+    void sessionOnlyHoldsSlots() {
+        MappedFileViewStateStore store = new MappedFileViewStateStore();
+        store.putState(context, "p1", "s1", new Object[] { "structure", randomBytes(100_000) });
+
+        assertNull(session.getAttribute(ServerSideStateHelper.STATEFUL_PAGE_MAP));
+        assertTrue(session.getAttribute(MappedFileViewStateStore.STATEFUL_PAGE_MAP) != null);
+    }
+
+    @Test
+    void overwrittenStateIsNotAvailable() {
+        MappedFileViewStateStore store = new MappedFileViewStateStore();
+        byte[] first = randomBytes(400_000);
+        store.putState(context, "p1", "s1", new Object[] { null, first });
+        store.putState(context, "p1", "s2", new Object[] { null, randomBytes(400_000) });
+
+        assertArrayEquals(first, (byte[]) store.getState(context, "p1", "s1")[1]);
+
+        // The 1 MB file wraps around and overwrites s1.
+        byte[] third = randomBytes(400_000);
+        store.putState(context, "p1", "s3", new Object[] { null, third });
+
+        assertNull(store.getState(context, "p1", "s1"));
+        assertArrayEquals(third, (byte[]) store.getState(context, "p1", "s3")[1]);
+    }
+
+    @Test
+    void serializedStateIsStoredAsIs() {
+        MappedFileViewStateStore store = new MappedFileViewStateStore();
+        // Only fits the 1 MB file next to the record header and the length of the absent structure when not serialized again.
+        byte[] serializedState = randomBytes(1024 * 1024 - Long.BYTES - Integer.BYTES - Integer.BYTES);
+        store.putState(context, "p1", "s1", new Object[] { null, serializedState });
+
+        assertArrayEquals(new Object[] { null, serializedState }, store.getState(context, "p1", "s1"));
+
+        store.putState(context, "p1", "s2", new Object[] { "structure", new byte[] { 1, 2, 3 } });
+
+        assertArrayEquals(new Object[] { "structure", new byte[] { 1, 2, 3 } }, store.getState(context, "p1", "s2"));
+    }
+
+    @Test
+    void stateOfAnotherFileIsNotAvailable() {
+        new MappedFileViewStateStore().putState(context, "p1", "s1", new Object[] { "structure", "state" });
+
+        MappedFileViewStateStore restarted = new MappedFileViewStateStore();
+        assertTrue(restarted.containsStatefulPage(context, "p1"));
+        assertNull(restarted.getState(context, "p1", "s1"));
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.renderkit;
+
+import static jakarta.faces.render.ResponseStateManager.VIEW_STATE_PARAM;
+import static java.util.Collections.enumeration;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.context.PartialViewContext;
+import jakarta.servlet.ServletContext;
+
+import org.glassfish.mojarra.config.FacesContextParam;
+import org.glassfish.mojarra.config.MojarraContextParam;
+import org.glassfish.mojarra.util.ConcurrentLRUCache;
+import org.glassfish.mojarra.util.RequestStateManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+/**
+ * Validate that every view state ServerSideStateHelper keeps in a ViewStateDeltaChain, in the shape partial state saving
+ * produces, is reconstructed as it was written, whichever states were evicted or replaced in between.
+ */
+public class ViewStateDeltaChainTest {
+
+    private static final String PAGE = "page";
+
+    private final Map<String, String> initParameters = new HashMap<>();
+    private final Map<String, Object> sessionMap = new HashMap<>();
+    private final Map<String, String> requestParameterMap = new HashMap<>();
+    private final Map<Object, Object> attributes = new HashMap<>();
+    private FacesContext facesContext;
+    private PartialViewContext partialViewContext;
+    private MockedStatic<FacesContext> mockedStaticFacesContext;
+
+    @BeforeEach
+    public void setup() {
+        initParameters.put(MojarraContextParam.ENABLE_SERVER_STATE_DELTAS.getName(), "true");
+        ServletContext servletContext = mock(ServletContext.class);
+        when(servletContext.getInitParameterNames()).thenAnswer(invocation -> enumeration(initParameters.keySet()));
+        when(servletContext.getInitParameter(anyString())).thenAnswer(invocation -> initParameters.get(invocation.getArgument(0)));
+        ExternalContext externalContext = mock(ExternalContext.class);
+        when(externalContext.getContext()).thenReturn(servletContext);
+        when(externalContext.getSessionMap()).thenReturn(sessionMap);
+        when(externalContext.getSession(anyBoolean())).thenReturn(sessionMap);
+        when(externalContext.getRequestParameterMap()).thenReturn(requestParameterMap);
+        partialViewContext = mock(PartialViewContext.class);
+        facesContext = mock(FacesContext.class);
+        when(facesContext.getExternalContext()).thenReturn(externalContext);
+        when(facesContext.getViewRoot()).thenReturn(new UIViewRoot());
+        when(facesContext.getAttributes()).thenReturn(attributes);
+        when(facesContext.getPartialViewContext()).thenReturn(partialViewContext);
+        mockedStaticFacesContext = mockStatic(FacesContext.class);
+        mockedStaticFacesContext.when(FacesContext::getCurrentInstance).thenReturn(facesContext);
+    }
+
+    @AfterEach
+    public void teardown() {
+        mockedStaticFacesContext.close();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ServerSideStateHelper helper = new ServerSideStateHelper();
+        Map<String, Object> first = componentStates(100, 0);
+        Map<String, Object> second = changed(componentStates(100, 0), "c3", "c4");
+        Map<String, Object> third = removed(changed(componentStates(100, 0), "c3"), "c9");
+        String s1 = write(helper, first);
+        int firstSize = serialize(getChain()).length;
+        String s2 = write(helper, second);
+        String s3 = write(helper, third);
+
+        assertState(first, read(helper, s1));
+        assertState(second, read(helper, s2));
+        assertState(third, read(helper, s3));
+        assertTrue(serialize(getChain()).length < firstSize * 3 / 2, "later states are kept as differences");
+    }
+
+    @Test
+    public void testRoundTripSerialized() throws IOException {
+        initParameters.put(FacesContextParam.SERIALIZE_SERVER_STATE.getName(), "true");
+        ServerSideStateHelper helper = new ServerSideStateHelper();
+        Map<String, Object> first = componentStates(100, 0);
+        Map<String, Object> second = changed(componentStates(100, 0), "c3", "c4");
+        Map<String, Object> third = removed(changed(componentStates(100, 0), "c3"), "c9");
+        String s1 = write(helper, first);
+        int firstSize = serialize(getChain()).length;
+        String s2 = write(helper, second);
+        String s3 = write(helper, third);
+
+        assertState(first, read(helper, s1));
+        assertState(second, read(helper, s2));
+        assertState(third, read(helper, s3));
+        assertTrue(serialize(getChain()).length < firstSize * 3 / 2, "later states are kept as differences");
+    }
+
+    @Test
+    public void testEvictsBase() {
+        initParameters.put(MojarraContextParam.NUMBER_OF_VIEW_STATES_PER_STATEFUL_PAGE.getName(), "2");
+        ServerSideStateHelper helper = new ServerSideStateHelper();
+        Map<String, Object> second = changed(componentStates(10, 0), "c1");
+        Map<String, Object> third = changed(componentStates(10, 0), "c1", "c2");
+        String s1 = write(helper, componentStates(10, 0));
+        String s2 = write(helper, second);
+        String s3 = write(helper, third);
+
+        assertEquals(2, getChain().size());
+        assertNull(read(helper, s1));
+        assertState(second, read(helper, s2));
+        assertState(third, read(helper, s3));
+    }
+
+    @Test
+    public void testEvictsMiddle() {
+        initParameters.put(MojarraContextParam.NUMBER_OF_VIEW_STATES_PER_STATEFUL_PAGE.getName(), "3");
+        ServerSideStateHelper helper = new ServerSideStateHelper();
+        Map<String, Object> first = componentStates(10, 0);
+        Map<String, Object> third = changed(componentStates(10, 0), "c2");
+        Map<String, Object> fourth = removed(changed(componentStates(10, 0), "c2", "c3"), "c9");
+        String s1 = write(helper, first);
+        String s2 = write(helper, removed(changed(componentStates(10, 0), "c1"), "c8"));
+        String s3 = write(helper, third);
+
+        // Touch the first, so the second becomes the eldest and is folded into the third.
+        assertState(first, read(helper, s1));
+        String s4 = write(helper, fourth);
+
+        assertNull(read(helper, s2));
+        assertState(first, read(helper, s1));
+        assertState(third, read(helper, s3));
+        assertState(fourth, read(helper, s4));
+    }
+
+    @Test
+    public void testPartialRequestReplacesState() {
+        ServerSideStateHelper helper = new ServerSideStateHelper();
+        Map<String, Object> second = changed(componentStates(10, 0), "c1");
+        Map<String, Object> replaced = changed(componentStates(10, 0), "c5");
+        String s1 = write(helper, componentStates(10, 0));
+        String s2 = write(helper, second);
+
+        // An ajax request keeps the view state id of the page it was posted from.
+        read(helper, s1);
+        when(partialViewContext.isPartialRequest()).thenReturn(true);
+        assertEquals(s1, write(helper, replaced));
+
+        assertEquals(2, getChain().size());
+        assertState(replaced, read(helper, s1));
+        assertState(second, read(helper, s2));
+    }
+
+    @Test
+    public void testKeepsOtherStatesAsIs() {
+        ServerSideStateHelper helper = new ServerSideStateHelper();
+        Map<String, Object> mostlyChanged = componentStates(4, 1);
+        Object[] fullState = { "full", "state" };
+        write(helper, componentStates(4, 0));
+        String s2 = write(helper, mostlyChanged);
+        String s3 = write(helper, fullState);
+
+        assertState(mostlyChanged, read(helper, s2));
+        assertArrayEquals(fullState, (Object[]) read(helper, s3));
+    }
+
+    @Test
+    public void testSerializable() throws Exception {
+        ServerSideStateHelper helper = new ServerSideStateHelper();
+        Map<String, Object> first = componentStates(10, 0);
+        Map<String, Object> second = changed(componentStates(10, 0), "c1");
+        String s1 = write(helper, first);
+        String s2 = write(helper, second);
+
+        // As when the session is passivated and activated again.
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialize(sessionMap.get(ServerSideStateHelper.STATEFUL_PAGE_MAP))))) {
+            sessionMap.put(ServerSideStateHelper.STATEFUL_PAGE_MAP, in.readObject());
+        }
+
+        assertState(first, read(helper, s1));
+        assertState(second, read(helper, s2));
+
+        // The lock is not serialized along, but the chain is still usable.
+        Map<String, Object> third = changed(componentStates(10, 0), "c2");
+        String s3 = write(helper, third);
+        assertState(third, read(helper, s3));
+    }
+
+    private String write(ServerSideStateHelper helper, Object componentStates) {
+        attributes.remove("org.glassfish.mojarra.ViewStateValue");
+        RequestStateManager.set(facesContext, RequestStateManager.STATEFUL_PAGE_MAP, PAGE);
+        StringBuilder id = new StringBuilder();
+
+        try {
+            // This is the shape FaceletPartialStateManagementStrategy.saveView returns.
+            helper.writeState(facesContext, new Object[] { null, componentStates }, id);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return id.toString();
+    }
+
+    private Object read(ServerSideStateHelper helper, String id) {
+        requestParameterMap.put(VIEW_STATE_PARAM, id);
+        return ((Object[]) helper.getState(facesContext, "/test.xhtml"))[1];
+    }
+
+    @SuppressWarnings("unchecked")
+    private ViewStateDeltaChain getChain() {
+        ConcurrentLRUCache<String, Object> pageMap = (ConcurrentLRUCache<String, Object>) sessionMap.get(ServerSideStateHelper.STATEFUL_PAGE_MAP);
+        return assertInstanceOf(ViewStateDeltaChain.class, pageMap.get(PAGE));
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private static Map<String, Object> componentStates(int size, int version) {
+        Map<String, Object> componentStates = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            componentStates.put("c" + i, new Object[] { "value" + i, version });
+        }
+
+        return componentStates;
+    }
+
+    private static Map<String, Object> changed(Map<String, Object> componentStates, String... clientIds) {
+        for (String clientId : clientIds) {
+            componentStates.put(clientId, new Object[] { "changed", clientId });
+        }
+
+        return componentStates;
+    }
+
+    private static Map<String, Object> removed(Map<String, Object> componentStates, String... clientIds) {
+        for (String clientId : clientIds) {
+            componentStates.remove(clientId);
+        }
+
+        return componentStates;
+    }
+
+    private static void assertState(Map<String, Object> expected, Object actual) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> actualComponentStates = assertInstanceOf(Map.class, actual);
+        assertEquals(expected.keySet(), actualComponentStates.keySet());
+
+        for (Map.Entry<String, Object> entry : expected.entrySet()) {
+            assertArrayEquals((Object[]) entry.getValue(), (Object[]) actualComponentStates.get(entry.getKey()), entry.getKey());
+        }
+    }
+}
@@ -384,4 +384,24 @@ public class HtmlResponseWriterTest {
         assertEquals(expectedStart + expectedEnd, stringWriter.toString());
         responseWriter.close();
     }
+
+    /**
+     * Test that a streamed attribute is written in place, among the regular attributes.
+     */
+    @Test
+    public void testWriteStreamedAttribute() throws Exception {
+        StringWriter stringWriter = new StringWriter();
+        HtmlResponseWriter responseWriter = new HtmlResponseWriter(stringWriter, "text/html", "UTF-8");
+        responseWriter.startElement("div", null);
+        responseWriter.writeAttribute("id", "state", null);
+        responseWriter.writeStreamedAttribute("title", writer -> {
+            writer.write("abc");
+            writer.write("+/=");
+        });
+        responseWriter.writeAttribute("class", "hidden", null);
+        responseWriter.endElement("div");
+        responseWriter.flush();
+        assertEquals("<div id=\"state\" title=\"abc+/=\" class=\"hidden\"></div>", stringWriter.toString());
+        responseWriter.close();
+    }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class BoundedConcurrentCacheTest {
+
+    private static final ExpiringConcurrentCache.ExpiryChecker<String, String> NEVER_EXPIRED = (key, value) -> false;
+
+    @Test
+    public void testEvictsByWeight() throws Exception {
+        BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<>(key -> key, NEVER_EXPIRED, 10, String::length);
+        cache.get("aaaa");
+        cache.get("bbbb");
+        cache.get("cc");
+
+        assertEquals(10, cache.getWeight());
+        assertEquals(0, cache.getEvictionCount());
+
+        cache.get("d");
+
+        assertEquals(7, cache.getWeight());
+        assertFalse(cache.containsKey("aaaa"));
+        assertTrue(cache.containsKey("bbbb"));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(4, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void testEvictsProbationBeforeProtected() throws Exception {
+        BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<>(key -> key, NEVER_EXPIRED, 3, $ -> 1);
+        cache.get("hot");
+        cache.get("hot");
+
+        // A scan of entries asked for only once does not push out the one which was asked for again.
+        for (String key : new String[] { "one", "two", "three", "four", "five" }) {
+            cache.get(key);
+        }
+
+        assertTrue(cache.containsKey("hot"));
+        assertTrue(cache.containsKey("five"));
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testDemotesProtectedBeyondItsShare() throws Exception {
+        BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<>(key -> key, NEVER_EXPIRED, 5, $ -> 1);
+
+        for (String key : new String[] { "one", "two", "three", "four", "five" }) {
+            cache.get(key);
+            cache.get(key);
+        }
+
+        cache.get("six");
+        cache.get("seven");
+
+        // The protected share is 4 of 5, so "one" was demoted to make room for "six", which in turn was the first on
+        // probation to make room for "seven".
+        assertFalse(cache.containsKey("one"));
+        assertFalse(cache.containsKey("six"));
+        assertTrue(cache.containsKey("two"));
+        assertTrue(cache.containsKey("seven"));
+        assertEquals(5, cache.getWeight());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testExpiredIsCreatedAgain() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<>(key -> key + created.incrementAndGet(), (key, value) -> true, 10,
+                $ -> 2);
+
+        assertEquals("a1", cache.get("a"));
+        assertEquals("a2", cache.get("a"));
+        assertEquals(2, cache.getWeight());
+        assertFalse(cache.containsKey("a"));
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    public void testFailureIsNotCached() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        BoundedConcurrentCache<String, String> cache = new BoundedConcurrentCache<>(key -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException(key);
+            }
+            return key;
+        }, NEVER_EXPIRED, 10, $ -> 1);
+
+        assertThrows(ExecutionException.class, () -> cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals("a", cache.get("a"));
+        assertEquals(1, cache.getWeight());
+    }
+
+    @Test
+    public void testInvalidMaxWeight() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedConcurrentCache<String, String>(key -> key, NEVER_EXPIRED, 0, $ -> 1));
+    }
+
+    @Test
+    public void testCreatesOnceAndStaysBoundedUnderConcurrency() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        BoundedConcurrentCache<Integer, Object> cache = new BoundedConcurrentCache<>(key -> {
+            created.incrementAndGet();
+            return new Object();
+        }, (key, value) -> false, 50, $ -> 1);
+
+        Object shared = cache.get(-1);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                int offset = t * 1_000;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 1_000; i++) {
+                        cache.get(offset + i);
+                        assertSame(shared, cache.get(-1));
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(50, cache.size());
+        assertEquals(50, cache.getWeight());
+        assertEquals(threads * 1_000 + 1, created.get());
+        assertEquals(threads * 1_000 + 1, cache.getMissCount());
+        assertEquals(threads * 1_000 + 1 - 50, cache.getEvictionCount());
+    }
+}
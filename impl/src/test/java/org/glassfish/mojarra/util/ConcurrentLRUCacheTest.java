@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Validate LRU functionality of ConcurrentLRUCache, which must behave like a synchronized LRUMap.
+ */
+public class ConcurrentLRUCacheTest {
+
+    @Test
+    public void testEvictsLeastRecentlyAccessed() {
+        ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<>(3);
+        cache.put("one", "one");
+        cache.put("two", "two");
+        cache.put("three", "three");
+
+        // Touch "one", so "two" becomes the eldest.
+        assertEquals("one", cache.get("one"));
+        cache.put("four", "four");
+
+        assertEquals(3, cache.size());
+        assertFalse(cache.containsKey("two"));
+        assertTrue(cache.containsKey("one"));
+        assertTrue(cache.containsKey("three"));
+        assertTrue(cache.containsKey("four"));
+
+        // Replacing counts as an access as well.
+        cache.put("three", "THREE");
+        cache.put("five", "five");
+
+        assertFalse(cache.containsKey("one"));
+        assertEquals("THREE", cache.get("three"));
+    }
+
+    @Test
+    public void testEvictsInBatchesWhenLarge() {
+        ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<>(1024);
+
+        for (int i = 0; i < 1024; i++) {
+            cache.put(i, i);
+        }
+
+        // Touch 0, so 1 becomes the eldest.
+        cache.get(0);
+        cache.put(1024, 1024);
+
+        assertEquals(1024 - 1024 / 16, cache.size());
+        assertTrue(cache.containsKey(0));
+        assertFalse(cache.containsKey(1));
+        assertFalse(cache.containsKey(65));
+        assertTrue(cache.containsKey(66));
+        assertTrue(cache.containsKey(1024));
+    }
+
+    @Test
+    public void testComputeIfAbsent() {
+        ConcurrentLRUCache<String, List<String>> cache = new ConcurrentLRUCache<>(2);
+        List<String> created = cache.computeIfAbsent("key", $ -> new ArrayList<>());
+
+        assertSame(created, cache.computeIfAbsent("key", $ -> new ArrayList<>()));
+        assertSame(created, cache.remove("key"));
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLRUCache<>(0));
+    }
+
+    @Test
+    public void testBoundedUnderConcurrency() throws Exception {
+        ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<>(15);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                int offset = t * 10_000;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 10_000; i++) {
+                        cache.put(offset + i, i);
+                        cache.get(offset + i / 2);
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(15, cache.size());
+    }
+
+    @Test
+    public void testSerializable() throws Exception {
+        ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<>(2);
+        cache.put("one", "one");
+        cache.put("two", "two");
+        cache.get("one");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(cache);
+        }
+
+        @SuppressWarnings("unchecked")
+        ConcurrentLRUCache<String, String> copy = (ConcurrentLRUCache<String, String>) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        copy.put("three", "three");
+
+        assertEquals(2, copy.size());
+        assertEquals("one", copy.get("one"));
+        assertFalse(copy.containsKey("two"));
+    }
+}
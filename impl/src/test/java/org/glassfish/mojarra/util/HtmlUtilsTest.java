@@ -305,6 +305,21 @@ class HtmlUtilsTest {
         assertEquals("&lt;", sw.toString());
     }
 
+    @Test
+    void writeAttribute_sNotBeginningScriptIsKeptWhenDisabled() throws IOException {
+        // With script:-detection enabled every 's' stops the fast path; those which do not begin
+        // "script:" must neither flush nor drop anything.
+        StringWriter sw = new StringWriter();
+        HtmlUtils.writeAttribute(sw, true, true, "s scripts script sc:ript \"s\"s", new char[1024], false, false);
+        assertEquals("s scripts script sc:ript &quot;s&quot;s", sw.toString());
+    }
+
+    @Test
+    void writeText_escapeAfterLongSafeRun() throws IOException {
+        String run = "x".repeat(1000);
+        assertEquals(run + "&lt;" + run + "&amp;", writeText(run + "<" + run + "&"));
+    }
+
     @Test
     void writeAttribute_iso8859Entity() throws IOException {
         StringWriter sw = new StringWriter();
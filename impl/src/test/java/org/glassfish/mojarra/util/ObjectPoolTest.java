@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Validate that ObjectPool reuses released objects and never holds more than its capacity.
+ */
+public class ObjectPoolTest {
+
+    @Test
+    public void testReusesReleasedObject() {
+        AtomicInteger created = new AtomicInteger();
+        ObjectPool<Object> pool = new ObjectPool<>(2, () -> created.incrementAndGet(), $ -> {});
+
+        Object first = pool.acquire();
+        Object second = pool.acquire();
+        assertNotSame(first, second);
+        assertEquals(2, created.get());
+
+        pool.release(first);
+        assertEquals(1, pool.size());
+        assertSame(first, pool.acquire());
+        assertEquals(0, pool.size());
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void testDisposesBeyondCapacity() {
+        List<Object> disposed = new ArrayList<>();
+        ObjectPool<Object> pool = new ObjectPool<>(2, Object::new, disposed::add);
+
+        Object first = pool.acquire();
+        Object second = pool.acquire();
+        Object third = pool.acquire();
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+
+        assertEquals(2, pool.size());
+        assertEquals(List.of(third), disposed);
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ObjectPool<>(0, Object::new, $ -> {}));
+    }
+}
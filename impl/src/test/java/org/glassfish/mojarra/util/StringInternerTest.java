@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.mojarra.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+public class StringInternerTest {
+
+    @Test
+    public void testInternReturnsFirstInstance() {
+        StringInterner interner = new StringInterner();
+        String first = new String("<div class=\"row\">");
+        String second = new String("<div class=\"row\">");
+        assertNotSame(first, second);
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        assertSame(first, interner.intern(new StringBuilder("<div ").append("class=\"row\">").toString()));
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    public void testInternIgnoresNullAndEmpty() {
+        StringInterner interner = new StringInterner();
+
+        assertNull(interner.intern(null));
+        assertEquals("", interner.intern(""));
+        assertEquals(0, interner.size());
+    }
+
+    @Test
+    public void testUnreferencedStringsAreDropped() throws Exception {
+        StringInterner interner = new StringInterner();
+
+        for (int i = 0; i < 1_000; i++) {
+            interner.intern("value" + i);
+        }
+
+        for (int attempt = 0; attempt < 50 && interner.size() > 0; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, interner.size());
+    }
+}